@@ -0,0 +1,80 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.benchmark;
+
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.sql.gen.model.Author;
+import org.hibernate.sql.gen.model.Book;
+import org.hibernate.sql.orm.internal.mapping.JoinedEntitySimpleTest;
+import org.hibernate.sql.orm.internal.mapping.SingleTableEntitySimpleTest;
+import org.hibernate.sql.orm.internal.mapping.SingleTableEntityWithSecondaryTableTest;
+
+/**
+ * The domain models the benchmarks are run against, along with the query used for each.  The
+ * query's first FromElement is the one used for the table group benchmarks.
+ *
+ * @author Steve Ebersole
+ */
+public enum BenchmarkModel {
+	BOOK_AUTHOR( "select a.name from Author a where a.id = :id", "Author" ) {
+		@Override
+		public void applyMetadataSources(MetadataSources metadataSources) {
+			metadataSources.addAnnotatedClass( Author.class );
+			metadataSources.addAnnotatedClass( Book.class );
+		}
+	},
+	SINGLE_TABLE( "select e.name from SingleTableEntity e where e.id = :id", "SingleTableEntity" ) {
+		@Override
+		public void applyMetadataSources(MetadataSources metadataSources) {
+			metadataSources.addAnnotatedClass( SingleTableEntitySimpleTest.SingleTableEntity.class );
+		}
+	},
+	SECONDARY_TABLE(
+			"select e.name, e.description from SingleTableWithSecondaryTableEntity e where e.id = :id",
+			"SingleTableWithSecondaryTableEntity"
+	) {
+		@Override
+		public void applyMetadataSources(MetadataSources metadataSources) {
+			metadataSources.addAnnotatedClass( SingleTableEntityWithSecondaryTableTest.SingleTableWithSecondaryTableEntity.class );
+		}
+	},
+	JOINED(
+			"select e.name, e.leafSpecificState from JoinedEntityBase e where e.id = :id order by e.name",
+			"JoinedEntityBase"
+	) {
+		@Override
+		public void applyMetadataSources(MetadataSources metadataSources) {
+			metadataSources.addAnnotatedClass( JoinedEntitySimpleTest.JoinedEntityBase.class );
+			metadataSources.addAnnotatedClass( JoinedEntitySimpleTest.JoinedEntityBranch.class );
+			metadataSources.addAnnotatedClass( JoinedEntitySimpleTest.JoinedEntityLeaf.class );
+		}
+	},
+	SYNTHETIC( SyntheticModel.QUERY, SyntheticModel.QUERIED_ENTITY_NAME ) {
+		@Override
+		public void applyMetadataSources(MetadataSources metadataSources) {
+			SyntheticModel.applyMappings( metadataSources );
+		}
+	};
+
+	private final String query;
+	private final String queriedEntityName;
+
+	BenchmarkModel(String query, String queriedEntityName) {
+		this.query = query;
+		this.queriedEntityName = queriedEntityName;
+	}
+
+	public String getQuery() {
+		return query;
+	}
+
+	public String getQueriedEntityName() {
+		return queriedEntityName;
+	}
+
+	public abstract void applyMetadataSources(MetadataSources metadataSources);
+}
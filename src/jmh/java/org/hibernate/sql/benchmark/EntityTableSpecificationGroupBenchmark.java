@@ -0,0 +1,55 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.sql.ast.QuerySpec;
+import org.hibernate.sql.ast.from.EntityTableSpecificationGroup;
+import org.hibernate.sql.gen.internal.FromClauseIndex;
+import org.hibernate.sql.gen.internal.SqlAliasBaseManager;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures building the table group for a root entity reference;
+ * {@link org.hibernate.sql.orm.internal.mapping.ImprovedEntityPersister#getEntityTableSpecificationGroup}.
+ * The per-query structures the method needs are created as part of each invocation, just as each
+ * interpretation creates them.
+ *
+ * @author Steve Ebersole
+ */
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 10, time = 1 )
+@Fork( 1 )
+public class EntityTableSpecificationGroupBenchmark {
+	@Benchmark
+	public EntityTableSpecificationGroup rootGroup(ModelState state) {
+		return state.getPersister().getEntityTableSpecificationGroup(
+				state.getRootFromElement(),
+				new QuerySpec().getFromClause().makeTableSpace(),
+				new SqlAliasBaseManager(),
+				new FromClauseIndex()
+		);
+	}
+
+	@Benchmark
+	public EntityTableSpecificationGroup entityReferenceGroup(ModelState state) {
+		// referencing the entity as a whole pulls in every subclass table
+		final EntityTableSpecificationGroup group = rootGroup( state );
+		state.getPersister().applyEntityReference( group );
+		return group;
+	}
+}
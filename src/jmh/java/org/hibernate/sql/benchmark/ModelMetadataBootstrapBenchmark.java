@@ -0,0 +1,95 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.sql.orm.internal.sqm.model.ModelMetadataImpl;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures building the {@link ModelMetadataImpl} for the {@link SyntheticModel} at various sizes, one
+ * entity at a time ({@link ModelMetadataImpl.BootstrapMode#EAGER}) versus spread over a number of
+ * threads ({@link ModelMetadataImpl.BootstrapMode#PARALLEL}).  The model has
+ * {@code hierarchyCount * SyntheticModel.HIERARCHY_DEPTH} entities.
+ * <p/>
+ * The thread counts beyond the number of available processors only show the cost of over-subscription.
+ *
+ * @author Steve Ebersole
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 10, time = 1 )
+@Fork( 1 )
+public class ModelMetadataBootstrapBenchmark {
+	@State( Scope.Benchmark )
+	public static class SyntheticModelState {
+		@Param( { "10", "50", "200" } )
+		public int hierarchyCount;
+
+		private SessionFactoryImplementor sessionFactory;
+
+		@Setup( Level.Trial )
+		public void setUp() {
+			final StandardServiceRegistry ssr = new StandardServiceRegistryBuilder().build();
+			try {
+				final MetadataSources metadataSources = new MetadataSources( ssr );
+				SyntheticModel.applyMappings( metadataSources, hierarchyCount );
+				sessionFactory = (SessionFactoryImplementor) metadataSources.buildMetadata().buildSessionFactory();
+			}
+			catch (RuntimeException e) {
+				StandardServiceRegistryBuilder.destroy( ssr );
+				throw e;
+			}
+		}
+
+		@TearDown( Level.Trial )
+		public void tearDown() {
+			if ( sessionFactory != null ) {
+				sessionFactory.close();
+			}
+		}
+	}
+
+	@State( Scope.Benchmark )
+	public static class ParallelismState {
+		@Param( { "1", "2", "4", "8" } )
+		public int parallelism;
+	}
+
+	@Benchmark
+	public ModelMetadataImpl eager(SyntheticModelState state) {
+		return new ModelMetadataImpl( state.sessionFactory, ModelMetadataImpl.BootstrapMode.EAGER );
+	}
+
+	@Benchmark
+	public ModelMetadataImpl parallel(SyntheticModelState state, ParallelismState parallelismState) {
+		return new ModelMetadataImpl(
+				state.sessionFactory,
+				ModelMetadataImpl.BootstrapMode.PARALLEL,
+				parallelismState.parallelism
+		);
+	}
+}
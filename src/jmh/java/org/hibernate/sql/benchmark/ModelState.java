@@ -0,0 +1,101 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.benchmark;
+
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.parser.SemanticQueryInterpreter;
+import org.hibernate.sql.gen.QueryOptionsTestingImpl;
+import org.hibernate.sql.gen.sqm.ConsumerContextImpl;
+import org.hibernate.sql.orm.QueryOptions;
+import org.hibernate.sql.orm.internal.mapping.ImprovedEntityPersister;
+import org.hibernate.sql.orm.internal.sqm.model.EntityTypeDescriptorImpl;
+import org.hibernate.sqm.query.SelectStatement;
+import org.hibernate.sqm.query.from.RootEntityFromElement;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmark state shared by the pipeline benchmarks: the SessionFactory built for the
+ * {@link BenchmarkModel} and the artifacts of each pipeline stage for the model's query, so that each
+ * benchmark measures just its own stage.
+ *
+ * @author Steve Ebersole
+ */
+@State( Scope.Benchmark )
+public class ModelState {
+	@Param
+	public BenchmarkModel model;
+
+	private SessionFactoryImplementor sessionFactory;
+	private ConsumerContextImpl consumerContext;
+	private QueryOptions queryOptions;
+
+	private SelectStatement selectStatement;
+	private RootEntityFromElement rootFromElement;
+	private ImprovedEntityPersister persister;
+
+	@Setup( Level.Trial )
+	public void setUp() {
+		final StandardServiceRegistry ssr = new StandardServiceRegistryBuilder().build();
+		try {
+			final MetadataSources metadataSources = new MetadataSources( ssr );
+			model.applyMetadataSources( metadataSources );
+			sessionFactory = (SessionFactoryImplementor) metadataSources.buildMetadata().buildSessionFactory();
+		}
+		catch (RuntimeException e) {
+			StandardServiceRegistryBuilder.destroy( ssr );
+			throw e;
+		}
+
+		consumerContext = new ConsumerContextImpl( sessionFactory );
+		queryOptions = new QueryOptionsTestingImpl();
+
+		selectStatement = (SelectStatement) SemanticQueryInterpreter.interpret( model.getQuery(), consumerContext );
+		rootFromElement = selectStatement.getQuerySpec().getFromClause().getFromElementSpaces().get( 0 ).getRoot();
+		persister = ( (EntityTypeDescriptorImpl) consumerContext.resolveEntityReference( model.getQueriedEntityName() ) )
+				.getPersister();
+	}
+
+	@TearDown( Level.Trial )
+	public void tearDown() {
+		if ( sessionFactory != null ) {
+			sessionFactory.close();
+		}
+	}
+
+	public String getQuery() {
+		return model.getQuery();
+	}
+
+	public ConsumerContextImpl getConsumerContext() {
+		return consumerContext;
+	}
+
+	public QueryOptions getQueryOptions() {
+		return queryOptions;
+	}
+
+	public SelectStatement getSelectStatement() {
+		return selectStatement;
+	}
+
+	public RootEntityFromElement getRootFromElement() {
+		return rootFromElement;
+	}
+
+	public ImprovedEntityPersister getPersister() {
+		return persister;
+	}
+}
@@ -0,0 +1,154 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Session;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.sql.gen.ParameterBinder;
+import org.hibernate.sql.gen.QueryOptionsTestingImpl;
+import org.hibernate.sql.gen.internal.binder.ParameterBinders;
+import org.hibernate.sql.orm.QueryParameter;
+import org.hibernate.sql.orm.QueryParameterBinding;
+import org.hibernate.sql.orm.QueryParameterBindings;
+import org.hibernate.sql.orm.QueryParameterMetadata;
+import org.hibernate.sql.orm.internal.NamedQueryParameter;
+import org.hibernate.type.IntegerType;
+import org.hibernate.type.LongType;
+import org.hibernate.type.StringType;
+import org.hibernate.type.TimestampType;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares binding a typical set of query parameters (long, int, String and timestamp values, 4 of each)
+ * through the type-specialized binders built during interpretation against binding them generically
+ * through {@link org.hibernate.type.Type#nullSafeSet}.  Binds to an H2 PreparedStatement which is never
+ * executed.
+ *
+ * @author Steve Ebersole
+ */
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 10, time = 1 )
+@Fork( 1 )
+@State( Scope.Thread )
+public class ParameterBindingBenchmark {
+	private static final int VALUES_PER_TYPE = 4;
+
+	private SessionFactoryImplementor sessionFactory;
+	private Session session;
+	private Connection connection;
+	private PreparedStatement statement;
+
+	private ParameterBinder[] binders;
+	private QueryParameterBindings bindings;
+	private QueryOptionsTestingImpl queryOptions;
+
+	@Setup( Level.Trial )
+	public void setUp() throws SQLException {
+		final StandardServiceRegistry ssr = new StandardServiceRegistryBuilder().build();
+		try {
+			sessionFactory = (SessionFactoryImplementor) new MetadataSources( ssr ).buildMetadata().buildSessionFactory();
+		}
+		catch (RuntimeException e) {
+			StandardServiceRegistryBuilder.destroy( ssr );
+			throw e;
+		}
+		session = sessionFactory.openSession();
+
+		connection = DriverManager.getConnection( "jdbc:h2:mem:parameter_binding", "sa", "" );
+		final Statement ddl = connection.createStatement();
+		try {
+			ddl.execute( "create table bound_values (l bigint, i integer, s varchar(255), t timestamp)" );
+		}
+		finally {
+			ddl.close();
+		}
+
+		final StringBuilder sql = new StringBuilder( "select * from bound_values where 1=1" );
+		final QueryParameter[] parameters = new QueryParameter[ VALUES_PER_TYPE * 4 ];
+		for ( int i = 0; i < VALUES_PER_TYPE; i++ ) {
+			parameters[i * 4] = new NamedQueryParameter( i * 4, "l" + i, LongType.INSTANCE );
+			parameters[i * 4 + 1] = new NamedQueryParameter( i * 4 + 1, "i" + i, IntegerType.INSTANCE );
+			parameters[i * 4 + 2] = new NamedQueryParameter( i * 4 + 2, "s" + i, StringType.INSTANCE );
+			parameters[i * 4 + 3] = new NamedQueryParameter( i * 4 + 3, "t" + i, TimestampType.INSTANCE );
+			sql.append( " and l = ? and i = ? and s = ? and t = ?" );
+		}
+		statement = connection.prepareStatement( sql.toString() );
+
+		binders = new ParameterBinder[ parameters.length ];
+		for ( int i = 0; i < parameters.length; i++ ) {
+			binders[i] = ParameterBinders.resolveParameterBinder( parameters[i], i + 1 );
+		}
+
+		bindings = new QueryParameterMetadata( parameters ).makeBindings();
+		final Date now = new Date();
+		for ( int i = 0; i < VALUES_PER_TYPE; i++ ) {
+			bindings.getBinding( i * 4 ).setBindValue( (long) i );
+			bindings.getBinding( i * 4 + 1 ).setBindValue( i );
+			bindings.getBinding( i * 4 + 2 ).setBindValue( "value " + i );
+			bindings.getBinding( i * 4 + 3 ).setBindValue( now );
+		}
+		queryOptions = new QueryOptionsTestingImpl();
+		queryOptions.setParameterBindings( bindings );
+	}
+
+	@TearDown( Level.Trial )
+	public void tearDown() throws SQLException {
+		if ( statement != null ) {
+			statement.close();
+		}
+		if ( connection != null ) {
+			connection.close();
+		}
+		if ( session != null ) {
+			session.close();
+		}
+		if ( sessionFactory != null ) {
+			sessionFactory.close();
+		}
+	}
+
+	@Benchmark
+	public void specializedBinders() throws SQLException {
+		for ( ParameterBinder binder : binders ) {
+			binder.bindParameterValue( statement, queryOptions, (SessionImplementor) session );
+		}
+	}
+
+	@Benchmark
+	public void typeNullSafeSet() throws SQLException {
+		for ( int i = 0; i < binders.length; i++ ) {
+			final QueryParameterBinding binding = bindings.getBinding( i );
+			binding.getBindType().nullSafeSet( statement, binding.getBindValue(), i + 1, (SessionImplementor) session );
+		}
+	}
+}
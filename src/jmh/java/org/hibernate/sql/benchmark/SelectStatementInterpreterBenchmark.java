@@ -0,0 +1,37 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.sql.gen.JdbcSelectPlan;
+import org.hibernate.sql.gen.internal.SelectStatementInterpreter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures interpreting the SQM into the SQL AST and rendering the SQL; {@link SelectStatementInterpreter#interpret}.
+ *
+ * @author Steve Ebersole
+ */
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 10, time = 1 )
+@Fork( 1 )
+public class SelectStatementInterpreterBenchmark {
+	@Benchmark
+	public JdbcSelectPlan interpret(ModelState state) {
+		return SelectStatementInterpreter.interpret( state.getSelectStatement(), state.getQueryOptions(), null );
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.UnsupportedEncodingException;
+
+import org.hibernate.HibernateException;
+import org.hibernate.boot.MetadataSources;
+
+/**
+ * A large, generated domain model used to see how the pipeline behaves once the model is of a
+ * realistic (enterprise) size.  The model is made up of {@link #HIERARCHY_COUNT} joined inheritance
+ * hierarchies, each a chain of {@link #HIERARCHY_DEPTH} entities with {@link #ATTRIBUTE_COUNT}
+ * attributes apiece (the number of hierarchies can be varied, see
+ * {@link #applyMappings(MetadataSources, int)}).  The entities are dynamic-map entities mapped through
+ * generated hbm.xml, so no classes need to be generated.
+ *
+ * @author Steve Ebersole
+ */
+public class SyntheticModel {
+	public static final int HIERARCHY_COUNT = 50;
+	public static final int HIERARCHY_DEPTH = 5;
+	public static final int ATTRIBUTE_COUNT = 20;
+
+	public static final String QUERIED_ENTITY_NAME = entityName( HIERARCHY_COUNT / 2, 0 );
+
+	public static final String QUERY = "select e.id, e.l0_attr0, e.l3_attr1 from " + QUERIED_ENTITY_NAME + " e"
+			+ " where e.l0_attr2 = :value and e.l1_attr3 is not null"
+			+ " order by e.l0_attr0";
+
+	private SyntheticModel() {
+	}
+
+	public static void applyMappings(MetadataSources metadataSources) {
+		applyMappings( metadataSources, HIERARCHY_COUNT );
+	}
+
+	/**
+	 * Apply the mappings for a model of the given number of hierarchies, which makes for
+	 * {@code hierarchyCount * HIERARCHY_DEPTH} entities.
+	 *
+	 * @param metadataSources The sources to apply the mappings to
+	 * @param hierarchyCount The number of hierarchies
+	 */
+	public static void applyMappings(MetadataSources metadataSources, int hierarchyCount) {
+		final String mappingXml = generateMappingXml( hierarchyCount );
+		try {
+			metadataSources.addInputStream( new ByteArrayInputStream( mappingXml.getBytes( "UTF-8" ) ) );
+		}
+		catch (UnsupportedEncodingException e) {
+			throw new HibernateException( "Unable to encode synthetic model mapping", e );
+		}
+	}
+
+	private static String entityName(int hierarchy, int level) {
+		return "Synthetic" + hierarchy + "_" + level;
+	}
+
+	private static String generateMappingXml(int hierarchyCount) {
+		final StringBuilder xml = new StringBuilder( hierarchyCount * HIERARCHY_DEPTH * ATTRIBUTE_COUNT * 64 );
+		xml.append( "<?xml version=\"1.0\"?>\n" )
+				.append( "<!DOCTYPE hibernate-mapping PUBLIC \"-//Hibernate/Hibernate Mapping DTD 3.0//EN\"" )
+				.append( " \"http://www.hibernate.org/dtd/hibernate-mapping-3.0.dtd\">\n" )
+				.append( "<hibernate-mapping>\n" );
+
+		for ( int h = 0; h < hierarchyCount; h++ ) {
+			xml.append( "<class entity-name=\"" ).append( entityName( h, 0 ) )
+					.append( "\" table=\"" ).append( tableName( h, 0 ) ).append( "\">\n" );
+			xml.append( "<id name=\"id\" type=\"long\" column=\"id\"/>\n" );
+			appendAttributes( xml, 0 );
+
+			for ( int level = 1; level < HIERARCHY_DEPTH; level++ ) {
+				xml.append( "<joined-subclass entity-name=\"" ).append( entityName( h, level ) )
+						.append( "\" table=\"" ).append( tableName( h, level ) ).append( "\">\n" );
+				xml.append( "<key column=\"id\"/>\n" );
+				appendAttributes( xml, level );
+			}
+			for ( int level = 1; level < HIERARCHY_DEPTH; level++ ) {
+				xml.append( "</joined-subclass>\n" );
+			}
+
+			xml.append( "</class>\n" );
+		}
+
+		xml.append( "</hibernate-mapping>\n" );
+		return xml.toString();
+	}
+
+	private static String tableName(int hierarchy, int level) {
+		return "synthetic_" + hierarchy + "_" + level;
+	}
+
+	private static void appendAttributes(StringBuilder xml, int level) {
+		for ( int i = 0; i < ATTRIBUTE_COUNT; i++ ) {
+			// attribute names need to be unique across the hierarchy
+			xml.append( "<property name=\"l" ).append( level ).append( "_attr" ).append( i )
+					.append( "\" type=\"string\"/>\n" );
+		}
+	}
+}
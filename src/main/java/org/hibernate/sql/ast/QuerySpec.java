@@ -7,16 +7,31 @@
 package org.hibernate.sql.ast;
 
 import org.hibernate.sql.ast.from.FromClause;
+import org.hibernate.sql.ast.predicate.Predicate;
+import org.hibernate.sql.ast.select.SelectClause;
 
 /**
  * @author Steve Ebersole
  */
 public class QuerySpec {
 	private final FromClause fromClause = new FromClause( this );
-	// select clause
-	// where clause
+	private final SelectClause selectClause = new SelectClause();
+
+	private Predicate whereClauseRestrictions;
 
 	public FromClause getFromClause() {
 		return fromClause;
 	}
+
+	public SelectClause getSelectClause() {
+		return selectClause;
+	}
+
+	public Predicate getWhereClauseRestrictions() {
+		return whereClauseRestrictions;
+	}
+
+	public void setWhereClauseRestrictions(Predicate whereClauseRestrictions) {
+		this.whereClauseRestrictions = whereClauseRestrictions;
+	}
 }
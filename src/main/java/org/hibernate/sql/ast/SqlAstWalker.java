@@ -0,0 +1,50 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.ast;
+
+import org.hibernate.sql.ast.expression.AggregateFunction;
+import org.hibernate.sql.ast.expression.BinaryArithmeticExpression;
+import org.hibernate.sql.ast.expression.CaseSearchedExpression;
+import org.hibernate.sql.ast.expression.ColumnReference;
+import org.hibernate.sql.ast.expression.CountStarFunction;
+import org.hibernate.sql.ast.expression.NamedParameter;
+import org.hibernate.sql.ast.expression.PositionalParameter;
+import org.hibernate.sql.ast.expression.QueryLiteral;
+import org.hibernate.sql.ast.expression.SelectionReference;
+import org.hibernate.sql.ast.expression.SqlTuple;
+import org.hibernate.sql.ast.predicate.BetweenPredicate;
+import org.hibernate.sql.ast.predicate.Junction;
+import org.hibernate.sql.ast.predicate.LikePredicate;
+import org.hibernate.sql.ast.predicate.NegatedPredicate;
+import org.hibernate.sql.ast.predicate.NullnessPredicate;
+import org.hibernate.sql.ast.predicate.RelationalPredicate;
+
+/**
+ * Visitor for the expression and predicate nodes of the SQL AST.  The structural parts of the
+ * tree (QuerySpec, FromClause, TableSpace, etc) are walked directly.
+ *
+ * @author Steve Ebersole
+ */
+public interface SqlAstWalker {
+	void visitColumnReference(ColumnReference columnReference);
+	void visitQueryLiteral(QueryLiteral queryLiteral);
+	void visitNamedParameter(NamedParameter namedParameter);
+	void visitPositionalParameter(PositionalParameter positionalParameter);
+	void visitBinaryArithmeticExpression(BinaryArithmeticExpression expression);
+	void visitAggregateFunction(AggregateFunction aggregateFunction);
+	void visitCountStarFunction(CountStarFunction function);
+	void visitTuple(SqlTuple tuple);
+	void visitSelectionReference(SelectionReference selectionReference);
+	void visitCaseSearchedExpression(CaseSearchedExpression expression);
+
+	void visitJunction(Junction junction);
+	void visitNegatedPredicate(NegatedPredicate predicate);
+	void visitRelationalPredicate(RelationalPredicate predicate);
+	void visitNullnessPredicate(NullnessPredicate predicate);
+	void visitBetweenPredicate(BetweenPredicate predicate);
+	void visitLikePredicate(LikePredicate predicate);
+}
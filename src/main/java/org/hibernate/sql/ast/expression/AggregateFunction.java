@@ -0,0 +1,66 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.ast.expression;
+
+import org.hibernate.sql.ast.SqlAstWalker;
+
+/**
+ * Models the standard aggregate functions ({@code avg}, {@code count}, {@code max}, {@code min}, {@code sum})
+ * applied to an argument.  {@code count(*)} is modeled separately as {@link CountStarFunction}.
+ *
+ * @author Steve Ebersole
+ */
+public class AggregateFunction implements Expression {
+	private final String functionName;
+	private final Expression argument;
+	private final boolean distinct;
+
+	public AggregateFunction(String functionName, Expression argument, boolean distinct) {
+		this.functionName = functionName;
+		this.argument = argument;
+		this.distinct = distinct;
+	}
+
+	public String getFunctionName() {
+		return functionName;
+	}
+
+	public Expression getArgument() {
+		return argument;
+	}
+
+	public boolean isDistinct() {
+		return distinct;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if ( this == o ) {
+			return true;
+		}
+		if ( !( o instanceof AggregateFunction ) ) {
+			return false;
+		}
+		final AggregateFunction that = (AggregateFunction) o;
+		return distinct == that.distinct
+				&& functionName.equals( that.functionName )
+				&& argument.equals( that.argument );
+	}
+
+	@Override
+	public int hashCode() {
+		int result = functionName.hashCode();
+		result = 31 * result + argument.hashCode();
+		result = 31 * result + ( distinct ? 1 : 0 );
+		return result;
+	}
+
+	@Override
+	public void accept(SqlAstWalker walker) {
+		walker.visitAggregateFunction( this );
+	}
+}
@@ -0,0 +1,82 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.ast.expression;
+
+import org.hibernate.sql.ast.SqlAstWalker;
+
+/**
+ * @author Steve Ebersole
+ */
+public class BinaryArithmeticExpression implements Expression {
+	public enum Operation {
+		ADD( "+" ),
+		SUBTRACT( "-" ),
+		MULTIPLY( "*" ),
+		DIVIDE( "/" ),
+		QUOT( "/" ),
+		MODULO( "%" );
+
+		private final String operatorSqlText;
+
+		Operation(String operatorSqlText) {
+			this.operatorSqlText = operatorSqlText;
+		}
+
+		public String getOperatorSqlText() {
+			return operatorSqlText;
+		}
+	}
+
+	private final Operation operation;
+	private final Expression leftHandOperand;
+	private final Expression rightHandOperand;
+
+	public BinaryArithmeticExpression(Operation operation, Expression leftHandOperand, Expression rightHandOperand) {
+		this.operation = operation;
+		this.leftHandOperand = leftHandOperand;
+		this.rightHandOperand = rightHandOperand;
+	}
+
+	public Operation getOperation() {
+		return operation;
+	}
+
+	public Expression getLeftHandOperand() {
+		return leftHandOperand;
+	}
+
+	public Expression getRightHandOperand() {
+		return rightHandOperand;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if ( this == o ) {
+			return true;
+		}
+		if ( !( o instanceof BinaryArithmeticExpression ) ) {
+			return false;
+		}
+		final BinaryArithmeticExpression that = (BinaryArithmeticExpression) o;
+		return operation == that.operation
+				&& leftHandOperand.equals( that.leftHandOperand )
+				&& rightHandOperand.equals( that.rightHandOperand );
+	}
+
+	@Override
+	public int hashCode() {
+		int result = operation.hashCode();
+		result = 31 * result + leftHandOperand.hashCode();
+		result = 31 * result + rightHandOperand.hashCode();
+		return result;
+	}
+
+	@Override
+	public void accept(SqlAstWalker walker) {
+		walker.visitBinaryArithmeticExpression( this );
+	}
+}
@@ -0,0 +1,66 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.ast.expression;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.hibernate.sql.ast.SqlAstWalker;
+import org.hibernate.sql.ast.predicate.Predicate;
+
+/**
+ * A searched CASE expression ({@code case when <predicate> then <result> ... else <result> end}).
+ * Predicates do not compare structurally, so neither does this expression; it compares by identity.
+ *
+ * @author Steve Ebersole
+ */
+public class CaseSearchedExpression implements Expression {
+	private final List<WhenFragment> whenFragments = new ArrayList<WhenFragment>();
+	private Expression otherwise;
+
+	public CaseSearchedExpression when(Predicate predicate, Expression result) {
+		whenFragments.add( new WhenFragment( predicate, result ) );
+		return this;
+	}
+
+	public CaseSearchedExpression otherwise(Expression otherwise) {
+		this.otherwise = otherwise;
+		return this;
+	}
+
+	public List<WhenFragment> getWhenFragments() {
+		return Collections.unmodifiableList( whenFragments );
+	}
+
+	public Expression getOtherwise() {
+		return otherwise;
+	}
+
+	@Override
+	public void accept(SqlAstWalker walker) {
+		walker.visitCaseSearchedExpression( this );
+	}
+
+	public static class WhenFragment {
+		private final Predicate predicate;
+		private final Expression result;
+
+		public WhenFragment(Predicate predicate, Expression result) {
+			this.predicate = predicate;
+			this.result = result;
+		}
+
+		public Predicate getPredicate() {
+			return predicate;
+		}
+
+		public Expression getResult() {
+			return result;
+		}
+	}
+}
@@ -0,0 +1,29 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.ast.expression;
+
+import org.hibernate.sql.ast.SqlAstWalker;
+
+/**
+ * @author Steve Ebersole
+ */
+public class CountStarFunction implements Expression {
+	@Override
+	public boolean equals(Object o) {
+		return o instanceof CountStarFunction;
+	}
+
+	@Override
+	public int hashCode() {
+		return CountStarFunction.class.hashCode();
+	}
+
+	@Override
+	public void accept(SqlAstWalker walker) {
+		walker.visitCountStarFunction( this );
+	}
+}
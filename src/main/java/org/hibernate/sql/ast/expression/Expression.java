@@ -6,8 +6,17 @@
  */
 package org.hibernate.sql.ast.expression;
 
+import org.hibernate.sql.ast.SqlAstWalker;
+
 /**
+ * An expression in the SQL AST.
+ * <p/>
+ * Expressions compare structurally : two expressions are equal if they would render the same SQL.  Column
+ * references are unique per column of a TableSpecification and parameters are never equal to one another
+ * (each binds its own value), so both compare by identity.
+ *
  * @author Steve Ebersole
  */
 public interface Expression {
+	void accept(SqlAstWalker walker);
 }
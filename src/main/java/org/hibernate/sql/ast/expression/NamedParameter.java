@@ -0,0 +1,41 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.ast.expression;
+
+import org.hibernate.sql.ast.SqlAstWalker;
+import org.hibernate.sql.orm.internal.NamedQueryParameter;
+import org.hibernate.type.Type;
+
+/**
+ * A reference to a named query parameter
+ *
+ * @author Steve Ebersole
+ */
+public class NamedParameter implements Expression {
+	private final NamedQueryParameter queryParameter;
+
+	public NamedParameter(NamedQueryParameter queryParameter) {
+		this.queryParameter = queryParameter;
+	}
+
+	public NamedQueryParameter getQueryParameter() {
+		return queryParameter;
+	}
+
+	public String getName() {
+		return queryParameter.getName();
+	}
+
+	public Type getExpectedType() {
+		return queryParameter.getExpectedType();
+	}
+
+	@Override
+	public void accept(SqlAstWalker walker) {
+		walker.visitNamedParameter( this );
+	}
+}
@@ -0,0 +1,41 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.ast.expression;
+
+import org.hibernate.sql.ast.SqlAstWalker;
+import org.hibernate.sql.orm.internal.PositionalQueryParameter;
+import org.hibernate.type.Type;
+
+/**
+ * A reference to a positional (JPA-style {@code ?1}) query parameter
+ *
+ * @author Steve Ebersole
+ */
+public class PositionalParameter implements Expression {
+	private final PositionalQueryParameter queryParameter;
+
+	public PositionalParameter(PositionalQueryParameter queryParameter) {
+		this.queryParameter = queryParameter;
+	}
+
+	public PositionalQueryParameter getQueryParameter() {
+		return queryParameter;
+	}
+
+	public int getPosition() {
+		return queryParameter.getPosition();
+	}
+
+	public Type getExpectedType() {
+		return queryParameter.getExpectedType();
+	}
+
+	@Override
+	public void accept(SqlAstWalker walker) {
+		walker.visitPositionalParameter( this );
+	}
+}
@@ -0,0 +1,48 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.ast.expression;
+
+import org.hibernate.sql.ast.SqlAstWalker;
+
+/**
+ * A literal value rendered directly into the SQL
+ *
+ * @author Steve Ebersole
+ */
+public class QueryLiteral implements Expression {
+	private final Object value;
+
+	public QueryLiteral(Object value) {
+		this.value = value;
+	}
+
+	public Object getValue() {
+		return value;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if ( this == o ) {
+			return true;
+		}
+		if ( !( o instanceof QueryLiteral ) ) {
+			return false;
+		}
+		final QueryLiteral that = (QueryLiteral) o;
+		return value == null ? that.value == null : value.equals( that.value );
+	}
+
+	@Override
+	public int hashCode() {
+		return value == null ? 0 : value.hashCode();
+	}
+
+	@Override
+	public void accept(SqlAstWalker walker) {
+		walker.visitQueryLiteral( this );
+	}
+}
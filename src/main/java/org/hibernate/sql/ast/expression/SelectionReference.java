@@ -0,0 +1,44 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.ast.expression;
+
+import org.hibernate.sql.ast.SqlAstWalker;
+import org.hibernate.sql.ast.select.Selection;
+
+/**
+ * A reference (from the ORDER BY clause) to one of the query's selections, rendered as the selection's
+ * SQL alias or (depending on the Dialect) its position rather than repeating the selected expression.
+ *
+ * @author Steve Ebersole
+ */
+public class SelectionReference implements Expression {
+	private final Selection selection;
+	private final int position;
+
+	public SelectionReference(Selection selection, int position) {
+		this.selection = selection;
+		this.position = position;
+	}
+
+	public Selection getSelection() {
+		return selection;
+	}
+
+	/**
+	 * The (1-based) position of the referenced selection in the select clause
+	 *
+	 * @return The position
+	 */
+	public int getPosition() {
+		return position;
+	}
+
+	@Override
+	public void accept(SqlAstWalker walker) {
+		walker.visitSelectionReference( this );
+	}
+}
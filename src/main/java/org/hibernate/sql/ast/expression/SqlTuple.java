@@ -0,0 +1,50 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.ast.expression;
+
+import java.util.List;
+
+import org.hibernate.sql.ast.SqlAstWalker;
+
+/**
+ * A grouping of expressions; e.g. the columns of a multi-column attribute.  Rendered as a row value
+ * constructor ({@code (a, b)}) in predicates and expanded into individual selections in the select clause.
+ *
+ * @author Steve Ebersole
+ */
+public class SqlTuple implements Expression {
+	private final List<Expression> expressions;
+
+	public SqlTuple(List<Expression> expressions) {
+		this.expressions = expressions;
+	}
+
+	public List<Expression> getExpressions() {
+		return expressions;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if ( this == o ) {
+			return true;
+		}
+		if ( !( o instanceof SqlTuple ) ) {
+			return false;
+		}
+		return expressions.equals( ( (SqlTuple) o ).expressions );
+	}
+
+	@Override
+	public int hashCode() {
+		return expressions.hashCode();
+	}
+
+	@Override
+	public void accept(SqlAstWalker walker) {
+		walker.visitTuple( this );
+	}
+}
@@ -12,15 +12,27 @@ import java.util.Map;
 import org.hibernate.sql.ast.expression.ColumnReference;
 
 /**
+ * Base support for TableSpecifications.  ColumnReferences are created on first use and cached so that
+ * each column of the table is always referenced by the same instance.  Columns known to the table's
+ * {@link ColumnDictionary} are held in an array indexed by ordinal; only other columns (if any) need
+ * a map.
+ *
  * @author Steve Ebersole
  */
 public abstract class AbstractTableSpecification implements TableSpecification {
 	private final String alias;
+	private final ColumnDictionary columnDictionary;
 
-	private Map<String,ColumnReferenceImpl> columnReferenceMap;
+	private ColumnReferenceImpl[] columnReferences;
+	private Map<String,ColumnReferenceImpl> undeclaredColumnReferenceMap;
 
 	public AbstractTableSpecification(String alias) {
+		this( alias, ColumnDictionary.EMPTY );
+	}
+
+	public AbstractTableSpecification(String alias, ColumnDictionary columnDictionary) {
 		this.alias = alias;
+		this.columnDictionary = columnDictionary;
 	}
 
 	@Override
@@ -28,21 +40,44 @@ public abstract class AbstractTableSpecification implements TableSpecification {
 		return alias;
 	}
 
+	public ColumnDictionary getColumnDictionary() {
+		return columnDictionary;
+	}
+
 	@Override
 	public ColumnReference getColumnReference(String name) {
+		final int ordinal = columnDictionary.locateColumn( name );
+		if ( ordinal >= 0 ) {
+			return getColumnReference( ordinal );
+		}
+
 		ColumnReferenceImpl columnReference = null;
-		if ( columnReferenceMap == null ) {
-			columnReferenceMap = new HashMap<String, ColumnReferenceImpl>();
+		if ( undeclaredColumnReferenceMap == null ) {
+			undeclaredColumnReferenceMap = new HashMap<String, ColumnReferenceImpl>();
 		}
 		else {
-			columnReference = columnReferenceMap.get( name );
+			columnReference = undeclaredColumnReferenceMap.get( name );
 		}
 
 		if ( columnReference == null ) {
 			columnReference = new ColumnReferenceImpl( this, name );
-			columnReferenceMap.put( name, columnReference );
+			undeclaredColumnReferenceMap.put( name, columnReference );
 		}
 
 		return columnReference;
 	}
+
+	@Override
+	public ColumnReference getColumnReference(int ordinal) {
+		if ( columnReferences == null ) {
+			columnReferences = new ColumnReferenceImpl[ columnDictionary.getColumnCount() ];
+		}
+
+		ColumnReferenceImpl columnReference = columnReferences[ordinal];
+		if ( columnReference == null ) {
+			columnReference = new ColumnReferenceImpl( this, columnDictionary.getColumnName( ordinal ) );
+			columnReferences[ordinal] = columnReference;
+		}
+		return columnReference;
+	}
 }
@@ -10,6 +10,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import org.hibernate.sql.IllegalJoinSpecificationException;
+
 import org.jboss.logging.Logger;
 
 /**
@@ -24,6 +26,8 @@ public abstract class AbstractTableSpecificationGroup implements TableSpecificat
 	private TableSpecification rootTableSpecification;
 	private List<TableSpecificationJoin> tableSpecificationJoins;
 
+	private TableSpecificationRegistry tableSpecificationRegistry;
+
 	public AbstractTableSpecificationGroup(TableSpace tableSpace, String aliasBase) {
 		this.tableSpace = tableSpace;
 		this.aliasBase = aliasBase;
@@ -52,6 +56,7 @@ public abstract class AbstractTableSpecificationGroup implements TableSpecificat
 				this.rootTableSpecification == null ? "<null>" : this.rootTableSpecification
 		);
 		this.rootTableSpecification = rootTableSpecification;
+		register( rootTableSpecification );
 	}
 
 	@Override
@@ -70,5 +75,35 @@ public abstract class AbstractTableSpecificationGroup implements TableSpecificat
 			tableSpecificationJoins = new ArrayList<TableSpecificationJoin>();
 		}
 		tableSpecificationJoins.add( join );
+		register( join.getJoinedTable() );
+	}
+
+	public void replaceTableSpecificationJoin(TableSpecificationJoin existing, TableSpecificationJoin replacement) {
+		log.tracef( "Replacing TableSpecification join [%s] with [%s] in group [%s]", existing, replacement, this );
+		final int position = tableSpecificationJoins == null ? -1 : tableSpecificationJoins.indexOf( existing );
+		if ( position < 0 ) {
+			throw new IllegalJoinSpecificationException( "TableSpecification join to replace is not part of this group" );
+		}
+		tableSpecificationJoins.set( position, replacement );
+		register( replacement.getJoinedTable() );
+	}
+
+	@Override
+	public void setTableSpecificationRegistry(TableSpecificationRegistry registry) {
+		this.tableSpecificationRegistry = registry;
+		if ( rootTableSpecification != null ) {
+			register( rootTableSpecification );
+		}
+		if ( tableSpecificationJoins != null ) {
+			for ( TableSpecificationJoin join : tableSpecificationJoins ) {
+				register( join.getJoinedTable() );
+			}
+		}
+	}
+
+	private void register(TableSpecification tableSpecification) {
+		if ( tableSpecificationRegistry != null ) {
+			tableSpecificationRegistry.registerTableSpecification( tableSpecification, this );
+		}
 	}
 }
@@ -0,0 +1,70 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.ast.from;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable, ordinal-indexed description of the known columns of a table.  Built once per table (per
+ * persister) and shared by every TableSpecification created for the table, which then hold their
+ * ColumnReferences in an array indexed by column ordinal rather than each maintaining a map.
+ *
+ * @author Steve Ebersole
+ */
+public class ColumnDictionary {
+	/**
+	 * A dictionary with no known columns; all column references are resolved by name
+	 */
+	public static final ColumnDictionary EMPTY = new ColumnDictionary( new String[0] );
+
+	private final String[] columnNames;
+	private final Map<String,Integer> ordinalByName;
+
+	/**
+	 * Builds the dictionary.  Duplicate names are ignored (the first occurrence determines the ordinal).
+	 *
+	 * @param columnNames The column names; {@code null} entries (formulas) are ignored
+	 */
+	public ColumnDictionary(String[] columnNames) {
+		final Map<String,Integer> ordinalByName = new HashMap<String, Integer>();
+		final String[] names = new String[columnNames.length];
+		int count = 0;
+		for ( String columnName : columnNames ) {
+			if ( columnName == null || ordinalByName.containsKey( columnName ) ) {
+				continue;
+			}
+			ordinalByName.put( columnName, count );
+			names[count++] = columnName;
+		}
+
+		this.columnNames = new String[count];
+		System.arraycopy( names, 0, this.columnNames, 0, count );
+		this.ordinalByName = Collections.unmodifiableMap( ordinalByName );
+	}
+
+	public int getColumnCount() {
+		return columnNames.length;
+	}
+
+	public String getColumnName(int ordinal) {
+		return columnNames[ordinal];
+	}
+
+	/**
+	 * Locate the ordinal of the named column
+	 *
+	 * @param columnName The column name
+	 *
+	 * @return The ordinal, or {@code -1} if the column is not part of the dictionary
+	 */
+	public int locateColumn(String columnName) {
+		final Integer ordinal = ordinalByName.get( columnName );
+		return ordinal == null ? -1 : ordinal;
+	}
+}
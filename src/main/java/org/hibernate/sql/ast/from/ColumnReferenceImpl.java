@@ -6,6 +6,7 @@
  */
 package org.hibernate.sql.ast.from;
 
+import org.hibernate.sql.ast.SqlAstWalker;
 import org.hibernate.sql.ast.expression.ColumnReference;
 
 /**
@@ -29,4 +30,9 @@ public class ColumnReferenceImpl implements ColumnReference {
 	public String getName() {
 		return name;
 	}
+
+	@Override
+	public void accept(SqlAstWalker walker) {
+		walker.visitColumnReference( this );
+	}
 }
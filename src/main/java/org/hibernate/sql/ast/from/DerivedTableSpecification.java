@@ -19,6 +19,11 @@ public class DerivedTableSpecification extends AbstractTableSpecification implem
 		this.query = query;
 	}
 
+	public DerivedTableSpecification(String query, String alias, ColumnDictionary columnDictionary) {
+		super( alias, columnDictionary );
+		this.query = query;
+	}
+
 	public String getQuery() {
 		return query;
 	}
@@ -9,19 +9,84 @@ package org.hibernate.sql.ast.from;
 import org.hibernate.persister.entity.EntityPersister;
 
 /**
- * A TableSpecificationGroup for an entity reference
+ * A TableSpecificationGroup for an entity reference.
+ * <p/>
+ * Not all of the persister's tables are necessarily part of the group; subclass tables are only
+ * added as they are needed by the query.  The group therefore tracks its TableSpecifications by the
+ * persister's (subclass) table number, to know which tables have been included so far.
  *
  * @author Steve Ebersole
  */
 public class EntityTableSpecificationGroup extends AbstractTableSpecificationGroup {
 	private final EntityPersister persister;
+	private final boolean optional;
 
-	public EntityTableSpecificationGroup(TableSpace tableSpace, String aliasBase, EntityPersister persister) {
+	private final TableSpecification[] tableSpecifications;
+	private final TableSpecificationJoin[] tableSpecificationJoins;
+
+	public EntityTableSpecificationGroup(
+			TableSpace tableSpace,
+			String aliasBase,
+			EntityPersister persister,
+			int tableCount,
+			boolean optional) {
 		super( tableSpace, aliasBase );
 		this.persister = persister;
+		this.optional = optional;
+		this.tableSpecifications = new TableSpecification[tableCount];
+		this.tableSpecificationJoins = new TableSpecificationJoin[tableCount];
 	}
 
 	public EntityPersister getPersister() {
 		return persister;
 	}
+
+	/**
+	 * Is this group optional?  That is, might the group as a whole not produce a row (it is outer
+	 * joined into its TableSpace)?  In that case none of the tables within the group may be inner joined.
+	 *
+	 * @return {@code true} if the group is optional
+	 */
+	public boolean isOptional() {
+		return optional;
+	}
+
+	/**
+	 * Locate the TableSpecification for the given persister table number.
+	 *
+	 * @param tableNumber The persister's (subclass) table number
+	 *
+	 * @return The TableSpecification, or {@code null} if that table is not (yet) part of this group
+	 */
+	public TableSpecification locateTableSpecification(int tableNumber) {
+		return tableSpecifications[tableNumber];
+	}
+
+	/**
+	 * Locate the join for the given persister table number.
+	 *
+	 * @param tableNumber The persister's (subclass) table number
+	 *
+	 * @return The join, or {@code null} if that table is not (yet) joined into this group (or is the root)
+	 */
+	public TableSpecificationJoin locateTableSpecificationJoin(int tableNumber) {
+		return tableSpecificationJoins[tableNumber];
+	}
+
+	public void setRootTableSpecification(int tableNumber, TableSpecification rootTableSpecification) {
+		setRootTableSpecification( rootTableSpecification );
+		tableSpecifications[tableNumber] = rootTableSpecification;
+	}
+
+	public void addTableSpecificationJoin(int tableNumber, TableSpecificationJoin join) {
+		addTableSpecificationJoin( join );
+		tableSpecifications[tableNumber] = join.getJoinedTable();
+		tableSpecificationJoins[tableNumber] = join;
+	}
+
+	public void replaceTableSpecificationJoin(int tableNumber, TableSpecificationJoin join) {
+		replaceTableSpecificationJoin( tableSpecificationJoins[tableNumber], join );
+		tableSpecifications[tableNumber] = join.getJoinedTable();
+		tableSpecificationJoins[tableNumber] = join;
+	}
 }
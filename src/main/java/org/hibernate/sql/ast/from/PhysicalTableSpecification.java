@@ -19,6 +19,11 @@ public class PhysicalTableSpecification extends AbstractTableSpecification imple
 		this.tableName = tableName;
 	}
 
+	public PhysicalTableSpecification(String tableName, String alias, ColumnDictionary columnDictionary) {
+		super( alias, columnDictionary );
+		this.tableName = tableName;
+	}
+
 	public String getTableName() {
 		return tableName;
 	}
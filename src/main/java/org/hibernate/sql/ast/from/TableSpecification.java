@@ -18,4 +18,13 @@ public interface TableSpecification {
 	String getCorrelationName();
 
 	ColumnReference getColumnReference(String name);
+
+	/**
+	 * Get the reference to the column with the given ordinal in the table's {@link ColumnDictionary}
+	 *
+	 * @param ordinal The column ordinal
+	 *
+	 * @return The column reference
+	 */
+	ColumnReference getColumnReference(int ordinal);
 }
@@ -18,4 +18,12 @@ public interface TableSpecificationGroup {
 	String getAliasBase();
 	TableSpecification getRootTableSpecification();
 	List<TableSpecificationJoin> getTableSpecificationJoins();
+
+	/**
+	 * Set the registry to notify of the group's TableSpecifications.  The tables already part of the group
+	 * are registered immediately, any tables added later as they are added.
+	 *
+	 * @param registry The registry, or {@code null} to stop notifying
+	 */
+	void setTableSpecificationRegistry(TableSpecificationRegistry registry);
 }
@@ -0,0 +1,20 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.ast.from;
+
+/**
+ * Gets told about the TableSpecifications of a TableSpecificationGroup as they become part of the group.
+ * Tables are generally added to a group lazily (as the query references them), so this is how something
+ * indexing TableSpecifications (by identity) learns about the tables added after it first saw the group.
+ *
+ * @author Steve Ebersole
+ *
+ * @see TableSpecificationGroup#setTableSpecificationRegistry
+ */
+public interface TableSpecificationRegistry {
+	void registerTableSpecification(TableSpecification tableSpecification, TableSpecificationGroup group);
+}
@@ -0,0 +1,37 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.ast.mutation;
+
+import org.hibernate.sql.ast.expression.Expression;
+
+/**
+ * The assignment of a value to a column of the table being updated ({@code <set clause>} element)
+ *
+ * @author Steve Ebersole
+ */
+public class ColumnAssignment {
+	private final String columnName;
+	private final Expression value;
+
+	public ColumnAssignment(String columnName, Expression value) {
+		this.columnName = columnName;
+		this.value = value;
+	}
+
+	public String getColumnName() {
+		return columnName;
+	}
+
+	/**
+	 * The value to assign.  Any column references are to columns of the table being updated.
+	 *
+	 * @return The value expression
+	 */
+	public Expression getValue() {
+		return value;
+	}
+}
@@ -0,0 +1,60 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.ast.mutation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.hibernate.sql.ast.QuerySpec;
+
+/**
+ * An UPDATE or DELETE of an entity which may span multiple tables (JOINED inheritance, secondary
+ * tables).  The rows to mutate are identified once, by the id selection query; each of the table
+ * mutations is then restricted to the rows whose key is part of that selection.
+ * <p/>
+ * The table mutations are kept in the order they need to be performed.
+ *
+ * @author Steve Ebersole
+ */
+public class MultiTableMutation {
+	private final String entityName;
+	private final QuerySpec idSelection;
+	private final String[] idColumnNames;
+	private final List<TableMutation> tableMutations = new ArrayList<TableMutation>();
+
+	/**
+	 * @param entityName The name of the entity being mutated
+	 * @param idSelection The query selecting the identifier of each affected entity row
+	 * @param idColumnNames The names of the identifier columns, in selection order
+	 */
+	public MultiTableMutation(String entityName, QuerySpec idSelection, String[] idColumnNames) {
+		this.entityName = entityName;
+		this.idSelection = idSelection;
+		this.idColumnNames = idColumnNames;
+	}
+
+	public String getEntityName() {
+		return entityName;
+	}
+
+	public QuerySpec getIdSelection() {
+		return idSelection;
+	}
+
+	public String[] getIdColumnNames() {
+		return idColumnNames;
+	}
+
+	public List<TableMutation> getTableMutations() {
+		return Collections.unmodifiableList( tableMutations );
+	}
+
+	public void addTableMutation(TableMutation tableMutation) {
+		tableMutations.add( tableMutation );
+	}
+}
@@ -0,0 +1,18 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.ast.mutation;
+
+/**
+ * A DELETE from one of the tables of an entity
+ *
+ * @author Steve Ebersole
+ */
+public class TableDelete extends TableMutation {
+	public TableDelete(String tableExpression, String[] keyColumnNames) {
+		super( tableExpression, keyColumnNames );
+	}
+}
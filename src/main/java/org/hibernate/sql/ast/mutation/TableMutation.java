@@ -0,0 +1,41 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.ast.mutation;
+
+/**
+ * An UPDATE or DELETE against one of the tables of an entity, restricted to the rows whose key
+ * is part of the id selection of the {@link MultiTableMutation} it belongs to.
+ *
+ * @author Steve Ebersole
+ */
+public abstract class TableMutation {
+	private final String tableExpression;
+	private final String[] keyColumnNames;
+
+	protected TableMutation(String tableExpression, String[] keyColumnNames) {
+		this.tableExpression = tableExpression;
+		this.keyColumnNames = keyColumnNames;
+	}
+
+	/**
+	 * The name of the table being mutated
+	 *
+	 * @return The table name
+	 */
+	public String getTableExpression() {
+		return tableExpression;
+	}
+
+	/**
+	 * The columns of the table which hold the entity identifier, matched against the id selection
+	 *
+	 * @return The key column names
+	 */
+	public String[] getKeyColumnNames() {
+		return keyColumnNames;
+	}
+}
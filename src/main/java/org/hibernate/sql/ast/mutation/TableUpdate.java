@@ -0,0 +1,32 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.ast.mutation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An UPDATE of one of the tables of an entity
+ *
+ * @author Steve Ebersole
+ */
+public class TableUpdate extends TableMutation {
+	private final List<ColumnAssignment> assignments = new ArrayList<ColumnAssignment>();
+
+	public TableUpdate(String tableExpression, String[] keyColumnNames) {
+		super( tableExpression, keyColumnNames );
+	}
+
+	public List<ColumnAssignment> getAssignments() {
+		return Collections.unmodifiableList( assignments );
+	}
+
+	public void addAssignment(ColumnAssignment assignment) {
+		assignments.add( assignment );
+	}
+}
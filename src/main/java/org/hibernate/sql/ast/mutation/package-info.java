@@ -0,0 +1,15 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+
+/**
+ * Models UPDATE and DELETE statements against the tables of a (possibly multi-table) entity.
+ * <p/>
+ * A {@link org.hibernate.sql.ast.mutation.MultiTableMutation} pairs the selection of the ids of the
+ * affected entity rows with the {@link org.hibernate.sql.ast.mutation.TableMutation} to perform against
+ * each of the entity's tables, restricted by those ids.
+ */
+package org.hibernate.sql.ast.mutation;
@@ -0,0 +1,60 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.ast.predicate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.sql.ast.SqlAstWalker;
+
+/**
+ * @author Steve Ebersole
+ */
+public class Junction implements Predicate {
+	public enum Nature {
+		CONJUNCTION( " and " ),
+		DISJUNCTION( " or " );
+
+		private final String separator;
+
+		Nature(String separator) {
+			this.separator = separator;
+		}
+
+		public String getSeparator() {
+			return separator;
+		}
+	}
+
+	private final Nature nature;
+	private final List<Predicate> predicates = new ArrayList<Predicate>();
+
+	public Junction(Nature nature) {
+		this.nature = nature;
+	}
+
+	public void add(Predicate predicate) {
+		predicates.add( predicate );
+	}
+
+	public Nature getNature() {
+		return nature;
+	}
+
+	public List<Predicate> getPredicates() {
+		return predicates;
+	}
+
+	public boolean isEmpty() {
+		return predicates.isEmpty();
+	}
+
+	@Override
+	public void accept(SqlAstWalker walker) {
+		walker.visitJunction( this );
+	}
+}
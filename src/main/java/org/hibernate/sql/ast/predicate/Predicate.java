@@ -6,8 +6,11 @@
  */
 package org.hibernate.sql.ast.predicate;
 
+import org.hibernate.sql.ast.SqlAstWalker;
+
 /**
  * @author Steve Ebersole
  */
 public interface Predicate {
+	void accept(SqlAstWalker walker);
 }
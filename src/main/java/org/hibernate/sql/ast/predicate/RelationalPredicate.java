@@ -0,0 +1,61 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.ast.predicate;
+
+import org.hibernate.sql.ast.SqlAstWalker;
+import org.hibernate.sql.ast.expression.Expression;
+
+/**
+ * @author Steve Ebersole
+ */
+public class RelationalPredicate implements Predicate {
+	public enum Operator {
+		EQUAL( "=" ),
+		NOT_EQUAL( "<>" ),
+		GREATER_THAN( ">" ),
+		GREATER_THAN_OR_EQUAL( ">=" ),
+		LESS_THAN( "<" ),
+		LESS_THAN_OR_EQUAL( "<=" );
+
+		private final String sqlText;
+
+		Operator(String sqlText) {
+			this.sqlText = sqlText;
+		}
+
+		public String getSqlText() {
+			return sqlText;
+		}
+	}
+
+	private final Operator operator;
+	private final Expression leftHandExpression;
+	private final Expression rightHandExpression;
+
+	public RelationalPredicate(Operator operator, Expression leftHandExpression, Expression rightHandExpression) {
+		this.operator = operator;
+		this.leftHandExpression = leftHandExpression;
+		this.rightHandExpression = rightHandExpression;
+	}
+
+	public Operator getOperator() {
+		return operator;
+	}
+
+	public Expression getLeftHandExpression() {
+		return leftHandExpression;
+	}
+
+	public Expression getRightHandExpression() {
+		return rightHandExpression;
+	}
+
+	@Override
+	public void accept(SqlAstWalker walker) {
+		walker.visitRelationalPredicate( this );
+	}
+}
@@ -0,0 +1,53 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.ast.select;
+
+import org.hibernate.sql.ast.expression.Expression;
+
+/**
+ * A single (SQL) selection - one column of the JDBC ResultSet
+ *
+ * @author Steve Ebersole
+ */
+public class Selection {
+	private final Expression selectExpression;
+	private final String resultVariable;
+
+	private String sqlAlias;
+
+	public Selection(Expression selectExpression, String resultVariable) {
+		this.selectExpression = selectExpression;
+		this.resultVariable = resultVariable;
+	}
+
+	public Expression getSelectExpression() {
+		return selectExpression;
+	}
+
+	/**
+	 * The result variable (HQL/JPQL select alias) the selection is part of, if one.
+	 *
+	 * @return The result variable, or {@code null}
+	 */
+	public String getResultVariable() {
+		return resultVariable;
+	}
+
+	/**
+	 * The alias to render for the selection in the SQL, if one.  Assigned only when the selection is
+	 * referenced from another clause (see {@link org.hibernate.sql.ast.expression.SelectionReference}).
+	 *
+	 * @return The SQL alias, or {@code null}
+	 */
+	public String getSqlAlias() {
+		return sqlAlias;
+	}
+
+	public void setSqlAlias(String sqlAlias) {
+		this.sqlAlias = sqlAlias;
+	}
+}
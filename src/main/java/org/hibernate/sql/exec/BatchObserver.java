@@ -0,0 +1,24 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.exec;
+
+/**
+ * Observer for the JDBC batches executed by a {@link JdbcOperationBatchExecutor}
+ *
+ * @author Steve Ebersole
+ */
+public interface BatchObserver {
+	/**
+	 * Called after each JDBC batch is executed
+	 *
+	 * @param sql The SQL of the batched statement
+	 * @param batchSize The number of executions in the batch
+	 * @param rowCount The number of rows affected by the batch, as far as reported by the driver
+	 * @param elapsedNanos The time taken to execute the batch, in nanoseconds
+	 */
+	void batchExecuted(String sql, int batchSize, long rowCount, long elapsedNanos);
+}
@@ -0,0 +1,398 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.exec;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.HibernateException;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.sql.gen.JdbcOperationPlan;
+import org.hibernate.sql.gen.JdbcSelectedIdsMutationPlan;
+import org.hibernate.sql.gen.ParameterBinder;
+import org.hibernate.sql.orm.QueryOptions;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Executes (non-select) JdbcOperationPlans using JDBC batching.  Executions of the same SQL are
+ * grouped into batches of (at most) the configured batch size, using a single PreparedStatement per
+ * distinct SQL for the life of the executor.
+ * <p/>
+ * Grouping by SQL means the executions are not necessarily performed in the order they were requested:
+ * the batches for the distinct SQL statements are executed in the order each SQL was first seen.  The
+ * executor is therefore meant for executions which are independent of one another, such as the same
+ * update applied to many different rows.  Call {@link #flush()} wherever ordering matters.
+ * <p/>
+ * A {@link JdbcSelectedIdsMutationPlan} is executed by selecting the ids first (after flushing the
+ * pending batches), then batching each of its table mutations for all of the ids, one table after the
+ * other.
+ * <p/>
+ * If given a {@link QueryResultCache}, the tables written are {@link QueryResultCache#preInvalidate
+ * pre-invalidated} when first written, and {@link QueryResultCache#invalidateAfterCompletion invalidated
+ * again} once the session's transaction completes.  Without a transaction in progress the writes are
+ * committed as they execute, and the tables are invalidated again when the executor is closed.
+ * <p/>
+ * Not thread-safe; the executor is bound to the session whose connection it uses.  Always
+ * {@link #close()} the executor, which executes any pending batches and releases the statements.
+ *
+ * @author Steve Ebersole
+ */
+public class JdbcOperationBatchExecutor {
+	private static final Logger log = Logger.getLogger( JdbcOperationBatchExecutor.class );
+
+	/**
+	 * The batch size used if none is configured (see {@link org.hibernate.cfg.AvailableSettings#STATEMENT_BATCH_SIZE})
+	 */
+	public static final int DEFAULT_BATCH_SIZE = 50;
+
+	private final SessionImplementor session;
+	private final int batchSize;
+	private final BatchObserver observer;
+	private final QueryResultCache resultCache;
+
+	private final Map<String,PendingBatch> pendingBatchMap = new LinkedHashMap<String, PendingBatch>();
+
+	// the tables pre-invalidated in the QueryResultCache, still to be invalidated after completion
+	private final Set<String> preInvalidatedTables = new HashSet<String>();
+	private boolean afterCompletionRegistered;
+
+	private long batchCount;
+	private long rowCount;
+
+	/**
+	 * Create an executor using the batch size configured for the SessionFactory
+	 *
+	 * @param session The session to execute with
+	 */
+	public JdbcOperationBatchExecutor(SessionImplementor session) {
+		this( session, resolveBatchSize( session ), null );
+	}
+
+	/**
+	 * @param session The session to execute with
+	 * @param batchSize The maximum number of executions per JDBC batch
+	 * @param observer Optional observer notified of each batch executed
+	 */
+	public JdbcOperationBatchExecutor(SessionImplementor session, int batchSize, BatchObserver observer) {
+		this( session, batchSize, observer, null );
+	}
+
+	/**
+	 * @param session The session to execute with
+	 * @param batchSize The maximum number of executions per JDBC batch
+	 * @param observer Optional observer notified of each batch executed
+	 * @param resultCache Optional cache whose results reading the tables written are invalidated
+	 */
+	public JdbcOperationBatchExecutor(
+			SessionImplementor session,
+			int batchSize,
+			BatchObserver observer,
+			QueryResultCache resultCache) {
+		if ( batchSize < 1 ) {
+			throw new IllegalArgumentException( "JDBC batch size must be positive : " + batchSize );
+		}
+
+		this.session = session;
+		this.batchSize = batchSize;
+		this.observer = observer;
+		this.resultCache = resultCache;
+	}
+
+	private static int resolveBatchSize(SessionImplementor session) {
+		final int configured = session.getFactory().getSessionFactoryOptions().getJdbcBatchSize();
+		return configured > 0 ? configured : DEFAULT_BATCH_SIZE;
+	}
+
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	/**
+	 * The number of JDBC batches executed so far
+	 *
+	 * @return The batch count
+	 */
+	public long getBatchCount() {
+		return batchCount;
+	}
+
+	/**
+	 * The number of rows affected by the batches executed so far, as far as reported by the driver
+	 *
+	 * @return The row count
+	 */
+	public long getRowCount() {
+		return rowCount;
+	}
+
+	/**
+	 * Add the execution of the given plans (in order) to their batches, executing any batch which
+	 * reaches the batch size.
+	 *
+	 * @param plans The plans, as returned from interpreting a single statement
+	 * @param queryOptions The options, and parameter bindings, for this execution
+	 */
+	public void execute(JdbcOperationPlan[] plans, QueryOptions queryOptions) {
+		for ( JdbcOperationPlan plan : plans ) {
+			execute( plan, queryOptions );
+		}
+	}
+
+	/**
+	 * Add the execution of the given plan to its batch, executing the batch if it reaches the batch size.
+	 * <p/>
+	 * The parameter values are bound immediately, so the bindings may be changed (or
+	 * {@link org.hibernate.sql.orm.QueryParameterBindings#reset() reset}) for the next execution as soon as
+	 * this returns.
+	 *
+	 * @param plan The plan
+	 * @param queryOptions The options, and parameter bindings, for this execution
+	 */
+	public void execute(JdbcOperationPlan plan, QueryOptions queryOptions) {
+		if ( plan instanceof JdbcSelectedIdsMutationPlan ) {
+			executeSelectedIds( (JdbcSelectedIdsMutationPlan) plan, queryOptions );
+		}
+		else {
+			addToBatch( plan, queryOptions, null );
+		}
+	}
+
+	private void addToBatch(JdbcOperationPlan plan, QueryOptions queryOptions, Object[] id) {
+		final PendingBatch batch = resolvePendingBatch( plan );
+		if ( resultCache != null && batch.size == 0 ) {
+			preInvalidate( batch.querySpaces );
+		}
+		try {
+			for ( ParameterBinder binder : plan.getParameterBinders() ) {
+				binder.bindParameterValue( batch.statement, queryOptions, session );
+			}
+			if ( id != null ) {
+				// the key restriction follows any other parameters
+				final int keyPosition = plan.getParameterBinders().size() + 1;
+				for ( int i = 0; i < id.length; i++ ) {
+					batch.statement.setObject( keyPosition + i, id[i] );
+				}
+			}
+			batch.statement.addBatch();
+		}
+		catch (SQLException e) {
+			throw convert( e, "Unable to add JDBC operation to batch", batch.sql );
+		}
+
+		if ( ++batch.size >= batchSize ) {
+			executeBatch( batch );
+		}
+	}
+
+	private void executeSelectedIds(JdbcSelectedIdsMutationPlan plan, QueryOptions queryOptions) {
+		// the pending batches may change which ids are selected
+		flush();
+
+		final List<Object[]> ids = selectIds( plan, queryOptions );
+		log.debugf( "Selected %s ids to mutate : %s", ids.size(), plan.getSql() );
+		if ( ids.isEmpty() ) {
+			return;
+		}
+
+		// the table mutations are ordered (e.g. subclass rows deleted before the root row they refer to),
+		// so each table is completed before the next
+		for ( JdbcOperationPlan tableMutationPlan : plan.getTableMutationPlans() ) {
+			for ( Object[] id : ids ) {
+				addToBatch( tableMutationPlan, queryOptions, id );
+			}
+			flush();
+		}
+	}
+
+	private List<Object[]> selectIds(JdbcSelectedIdsMutationPlan plan, QueryOptions queryOptions) {
+		final JdbcCoordinator jdbcCoordinator = getJdbcCoordinator();
+		final PreparedStatement statement = jdbcCoordinator.getStatementPreparer().prepareStatement(
+				plan.getSql(),
+				false
+		);
+		ResultSet resultSet = null;
+		try {
+			for ( ParameterBinder binder : plan.getParameterBinders() ) {
+				binder.bindParameterValue( statement, queryOptions, session );
+			}
+			resultSet = jdbcCoordinator.getResultSetReturn().extract( statement );
+
+			final List<Object[]> ids = new ArrayList<Object[]>();
+			while ( resultSet.next() ) {
+				final Object[] id = new Object[ plan.getIdColumnCount() ];
+				for ( int i = 0; i < id.length; i++ ) {
+					id[i] = resultSet.getObject( i + 1 );
+				}
+				ids.add( id );
+			}
+			return ids;
+		}
+		catch (SQLException e) {
+			throw convert( e, "Unable to select the ids of the rows to mutate", plan.getSql() );
+		}
+		finally {
+			if ( resultSet != null ) {
+				jdbcCoordinator.getResourceRegistry().release( resultSet, statement );
+			}
+			jdbcCoordinator.getResourceRegistry().release( statement );
+		}
+	}
+
+	private void preInvalidate(Set<String> querySpaces) {
+		final List<String> tables = new ArrayList<String>();
+		for ( String table : querySpaces ) {
+			if ( preInvalidatedTables.add( table ) ) {
+				tables.add( table );
+			}
+		}
+		if ( tables.isEmpty() ) {
+			return;
+		}
+
+		if ( !afterCompletionRegistered && session.isTransactionInProgress() && session instanceof EventSource ) {
+			( (EventSource) session ).getActionQueue().registerProcess(
+					new AfterTransactionCompletionProcess() {
+						@Override
+						public void doAfterTransactionCompletion(boolean success, SessionImplementor session) {
+							invalidateAfterCompletion();
+						}
+					}
+			);
+			afterCompletionRegistered = true;
+		}
+		resultCache.preInvalidate( tables );
+	}
+
+	private void invalidateAfterCompletion() {
+		if ( preInvalidatedTables.isEmpty() ) {
+			return;
+		}
+		final List<String> tables = new ArrayList<String>( preInvalidatedTables );
+		preInvalidatedTables.clear();
+		afterCompletionRegistered = false;
+		resultCache.invalidateAfterCompletion( tables );
+	}
+
+	private PendingBatch resolvePendingBatch(JdbcOperationPlan plan) {
+		PendingBatch batch = pendingBatchMap.get( plan.getSql() );
+		if ( batch == null ) {
+			batch = new PendingBatch(
+					plan.getSql(),
+					plan.getQuerySpaces(),
+					getJdbcCoordinator().getStatementPreparer().prepareStatement( plan.getSql(), false )
+			);
+			pendingBatchMap.put( plan.getSql(), batch );
+		}
+		return batch;
+	}
+
+	/**
+	 * Execute all pending batches, in the order their SQL was first seen
+	 */
+	public void flush() {
+		for ( PendingBatch batch : pendingBatchMap.values() ) {
+			if ( batch.size > 0 ) {
+				executeBatch( batch );
+			}
+		}
+	}
+
+	private void executeBatch(PendingBatch batch) {
+		final long start = System.nanoTime();
+		final int[] updateCounts;
+		try {
+			updateCounts = batch.statement.executeBatch();
+		}
+		catch (SQLException e) {
+			throw convert( e, "Unable to execute JDBC batch", batch.sql );
+		}
+		final long elapsedNanos = System.nanoTime() - start;
+
+		long batchRowCount = 0;
+		for ( int updateCount : updateCounts ) {
+			// drivers may report Statement#SUCCESS_NO_INFO rather than a count
+			if ( updateCount > 0 ) {
+				batchRowCount += updateCount;
+			}
+			else if ( updateCount == Statement.EXECUTE_FAILED ) {
+				throw new HibernateException( "JDBC batch execution failed for SQL : " + batch.sql );
+			}
+		}
+
+		batchCount++;
+		rowCount += batchRowCount;
+
+		log.debugf(
+				"Executed JDBC batch of %s (%s rows) in %s ms : %s",
+				batch.size,
+				batchRowCount,
+				TimeUnit.NANOSECONDS.toMillis( elapsedNanos ),
+				batch.sql
+		);
+		if ( observer != null ) {
+			observer.batchExecuted( batch.sql, batch.size, batchRowCount, elapsedNanos );
+		}
+
+		batch.size = 0;
+	}
+
+	/**
+	 * Execute all pending batches and release the statements
+	 */
+	public void close() {
+		try {
+			flush();
+		}
+		finally {
+			final List<PendingBatch> batches = new ArrayList<PendingBatch>( pendingBatchMap.values() );
+			pendingBatchMap.clear();
+			for ( PendingBatch batch : batches ) {
+				getJdbcCoordinator().getResourceRegistry().release( batch.statement );
+			}
+			getJdbcCoordinator().afterStatementExecution();
+
+			if ( !afterCompletionRegistered ) {
+				// no transaction to wait for; the writes are committed
+				invalidateAfterCompletion();
+			}
+		}
+	}
+
+	private JdbcCoordinator getJdbcCoordinator() {
+		return session.getJdbcCoordinator();
+	}
+
+	private HibernateException convert(SQLException e, String message, String sql) {
+		return session.getFactory().getSQLExceptionHelper().convert( e, message, sql );
+	}
+
+	private static class PendingBatch {
+		private final String sql;
+		private final Set<String> querySpaces;
+		private final PreparedStatement statement;
+		private int size;
+
+		private PendingBatch(String sql, Set<String> querySpaces, PreparedStatement statement) {
+			this.sql = sql;
+			this.querySpaces = querySpaces;
+			this.statement = statement;
+		}
+	}
+}
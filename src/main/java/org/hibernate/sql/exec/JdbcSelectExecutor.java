@@ -0,0 +1,221 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.exec;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.hibernate.ScrollMode;
+import org.hibernate.dialect.pagination.LimitHelper;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.spi.RowSelection;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.sql.exec.internal.RowReader;
+import org.hibernate.sql.gen.JdbcSelectPlan;
+import org.hibernate.sql.gen.ParameterBinder;
+import org.hibernate.sql.gen.internal.binder.LimitParameterBinder;
+import org.hibernate.sql.orm.QueryOptions;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Executes JdbcSelectPlans, exposing the results as a {@link ResultCursor} which reads the rows
+ * according to the plan's {@link JdbcSelectPlan#getReturns() returns} as the cursor is moved, or
+ * {@link #list listing} them, in which case the results of {@link QueryOptions#isCacheable() cacheable}
+ * executions are cached in the {@link QueryResultCache}, if one is given.
+ *
+ * @author Steve Ebersole
+ */
+public class JdbcSelectExecutor {
+	private static final Logger log = Logger.getLogger( JdbcSelectExecutor.class );
+
+	private final SessionImplementor session;
+	private final QueryResultCache resultCache;
+
+	public JdbcSelectExecutor(SessionImplementor session) {
+		this( session, null );
+	}
+
+	/**
+	 * @param session The session to execute with
+	 * @param resultCache Optional cache for the results of listed, cacheable executions
+	 */
+	public JdbcSelectExecutor(SessionImplementor session, QueryResultCache resultCache) {
+		this.session = session;
+		this.resultCache = resultCache;
+	}
+
+	/**
+	 * Execute the plan, reading all rows.  If the execution is {@link QueryOptions#isCacheable() cacheable}
+	 * (and the plan {@link QueryResultCache#isCacheable can be cached}) the rows are taken from, or put into,
+	 * the QueryResultCache.
+	 *
+	 * @param plan The plan
+	 * @param queryOptions The options, and parameter bindings, for this execution
+	 *
+	 * @return The rows, as returned by {@link ResultCursor#get()}; unmodifiable if cacheable
+	 */
+	public List<Object> list(JdbcSelectPlan plan, QueryOptions queryOptions) {
+		if ( resultCache == null || !queryOptions.isCacheable() || !resultCache.isCacheable( plan ) ) {
+			return readAll( plan, queryOptions );
+		}
+
+		final QueryResultCacheKey key = QueryResultCacheKey.from( plan, queryOptions, session.getFactory() );
+		final List<Object> cached = resultCache.get( key );
+		if ( cached != null ) {
+			log.tracef( "Query results found in cache : %s", key );
+			return Collections.unmodifiableList( cached );
+		}
+
+		final long timestamp = resultCache.getTimestamp();
+		final List<Object> rows = readAll( plan, queryOptions );
+		resultCache.put( key, plan, rows, timestamp );
+		return Collections.unmodifiableList( rows );
+	}
+
+	private List<Object> readAll(JdbcSelectPlan plan, QueryOptions queryOptions) {
+		final List<Object> rows = new ArrayList<Object>();
+		final ResultCursor cursor = open( plan, queryOptions );
+		try {
+			for ( Object row : cursor ) {
+				rows.add( row );
+			}
+		}
+		finally {
+			cursor.close();
+		}
+		return rows;
+	}
+
+	/**
+	 * Execute the plan.  The ResultSet is of the type indicated by {@link QueryOptions#getScrollMode()}
+	 * ({@link ScrollMode#FORWARD_ONLY} if none); the fetch size and timeout are taken from
+	 * {@link QueryOptions#getRowSelection()}.
+	 * <p/>
+	 * The first row and max rows of the RowSelection are applied in the SQL if the plan was interpreted
+	 * to do so (see {@link LimitParameterBinder}), which it always is for a Dialect able to render them.
+	 * Otherwise (the Dialect cannot, or the plan was interpreted without RowSelection) they are applied
+	 * through {@link java.sql.Statement#setMaxRows} and by skipping the leading rows of the ResultSet in
+	 * memory, as ORM's Loader does; a warning is logged in that case.
+	 * <p/>
+	 * The caller is responsible for closing the returned cursor (unless it is moved past the last row).
+	 *
+	 * @param plan The plan
+	 * @param queryOptions The options, and parameter bindings, for this execution
+	 *
+	 * @return The cursor, positioned before the first row
+	 */
+	public ResultCursor open(JdbcSelectPlan plan, QueryOptions queryOptions) {
+		final ScrollMode scrollMode = queryOptions.getScrollMode() == null
+				? ScrollMode.FORWARD_ONLY
+				: queryOptions.getScrollMode();
+
+		// resolve the readers before acquiring any JDBC resources
+		final RowReader rowReader = RowReader.from( plan.getReturns(), session.getFactory() );
+
+		final JdbcCoordinator jdbcCoordinator = session.getJdbcCoordinator();
+		final PreparedStatement statement = jdbcCoordinator.getStatementPreparer().prepareQueryStatement(
+				plan.getSql(),
+				false,
+				scrollMode
+		);
+
+		ResultSet resultSet = null;
+		try {
+			for ( ParameterBinder binder : plan.getParameterBinders() ) {
+				binder.bindParameterValue( statement, queryOptions, session );
+			}
+			final RowSelection rowSelection = queryOptions.getRowSelection();
+			final boolean limitInSql = isLimitInSql( plan );
+			applyRowSelection( statement, rowSelection, limitInSql );
+
+			resultSet = jdbcCoordinator.getResultSetReturn().extract( statement );
+			rowReader.validate( resultSet );
+			if ( !limitInSql ) {
+				skipLeadingRows( resultSet, rowSelection, scrollMode, plan );
+			}
+
+			log.tracef( "Opened %s ResultCursor : %s", scrollMode, plan.getSql() );
+			return new ResultCursor( session, plan.getSql(), statement, resultSet, rowReader, scrollMode );
+		}
+		catch (SQLException e) {
+			release( statement, resultSet );
+			throw session.getFactory().getSQLExceptionHelper().convert( e, "Unable to execute query", plan.getSql() );
+		}
+		catch (RuntimeException e) {
+			release( statement, resultSet );
+			throw e;
+		}
+	}
+
+	private static boolean isLimitInSql(JdbcSelectPlan plan) {
+		// the plan was interpreted for a RowSelection of the same "shape"; see SelectPlanCacheKey
+		for ( ParameterBinder binder : plan.getParameterBinders() ) {
+			if ( binder instanceof LimitParameterBinder ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static void applyRowSelection(PreparedStatement statement, RowSelection rowSelection, boolean limitInSql)
+			throws SQLException {
+		if ( rowSelection == null ) {
+			return;
+		}
+		if ( rowSelection.getFetchSize() != null ) {
+			statement.setFetchSize( rowSelection.getFetchSize() );
+		}
+		if ( rowSelection.getTimeout() != null ) {
+			statement.setQueryTimeout( rowSelection.getTimeout() );
+		}
+		if ( !limitInSql && LimitHelper.hasMaxRows( rowSelection ) ) {
+			statement.setMaxRows( LimitHelper.getFirstRow( rowSelection ) + rowSelection.getMaxRows() );
+		}
+	}
+
+	private void skipLeadingRows(
+			ResultSet resultSet,
+			RowSelection rowSelection,
+			ScrollMode scrollMode,
+			JdbcSelectPlan plan) throws SQLException {
+		final int firstRow = LimitHelper.getFirstRow( rowSelection );
+		if ( firstRow <= 0 ) {
+			return;
+		}
+
+		log.warnf(
+				"First row not applied in SQL (Dialect [%s] cannot render it, or the plan was interpreted without "
+						+ "RowSelection); skipping %s rows in memory : %s",
+				session.getFactory().getDialect().getClass().getName(),
+				firstRow,
+				plan.getSql()
+		);
+		if ( scrollMode != ScrollMode.FORWARD_ONLY ) {
+			resultSet.absolute( firstRow );
+		}
+		else {
+			int skipped = 0;
+			while ( skipped < firstRow && resultSet.next() ) {
+				skipped++;
+			}
+		}
+	}
+
+	private void release(PreparedStatement statement, ResultSet resultSet) {
+		final JdbcCoordinator jdbcCoordinator = session.getJdbcCoordinator();
+		if ( resultSet != null ) {
+			jdbcCoordinator.getResourceRegistry().release( resultSet, statement );
+		}
+		jdbcCoordinator.getResourceRegistry().release( statement );
+		jdbcCoordinator.afterStatementExecution();
+	}
+}
@@ -0,0 +1,381 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.exec;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.HibernateException;
+import org.hibernate.internal.util.collections.BoundedConcurrentHashMap;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.sql.gen.JdbcSelectPlan;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Caches the (read) results of select plans, keyed by {@link QueryResultCacheKey}, shared across sessions.
+ * <p/>
+ * Each entry is tagged with the plan's {@link JdbcSelectPlan#getQuerySpaces() tables}, and is invalidated
+ * as soon as any of those tables is {@link #invalidate written}; entries reading other tables are
+ * unaffected.
+ * <p/>
+ * Tables written within a transaction are {@link #preInvalidate pre-invalidated} when first written, and
+ * {@link #invalidateAfterCompletion invalidated again} once the transaction completes.  In between, the
+ * tables are "in flight" : results reading them are not cached, since they may have been read before the
+ * transaction commits.  This is the approach of ORM's UpdateTimestampsCache.  Writes performed through a
+ * {@link JdbcOperationBatchExecutor} given this cache are handled this way automatically.
+ * <p/>
+ * Results read concurrently with an invalidation of one of their tables are not cached : callers capture
+ * {@link #getTimestamp()} before executing the query and pass it to {@link #put}, which refuses results
+ * read before the latest invalidation of any of their tables.
+ * <p/>
+ * Rows are copied as they are put into and taken from the cache, so callers never share (array) row
+ * instances with the cache or with each other.
+ * <p/>
+ * The number of entries is bounded (see {@link #MAX_ENTRIES}), evicting according to {@link #EVICTION}.
+ * Plans reading derived tables (subselects) are not cached, since the tables they read are unknown.
+ *
+ * @author Steve Ebersole
+ */
+public class QueryResultCache {
+	private static final Logger log = Logger.getLogger( QueryResultCache.class );
+
+	/**
+	 * Setting for the maximum number of cached results.  Defaults to 1024
+	 */
+	public static final String MAX_ENTRIES = "hibernate.sql.query_cache.max_entries";
+
+	/**
+	 * Setting for the eviction policy applied once the maximum number of results is reached : {@code LRU}
+	 * (the default) or {@code LIRS}
+	 */
+	public static final String EVICTION = "hibernate.sql.query_cache.eviction";
+
+	private static final int DEFAULT_MAX_ENTRIES = 1024;
+
+	private final BoundedConcurrentHashMap<QueryResultCacheKey,CachedResult> results;
+	private final ConcurrentMap<String,Set<QueryResultCacheKey>> keysByTable
+			= new ConcurrentHashMap<String, Set<QueryResultCacheKey>>();
+	private final ConcurrentMap<String,Long> invalidationTimestamps = new ConcurrentHashMap<String, Long>();
+	private final ConcurrentMap<String,AtomicInteger> inFlightCounts = new ConcurrentHashMap<String, AtomicInteger>();
+	private final AtomicLong clock = new AtomicLong();
+
+	private final AtomicLong hitCount = new AtomicLong();
+	private final AtomicLong missCount = new AtomicLong();
+	private final AtomicLong putCount = new AtomicLong();
+	private final AtomicLong invalidationCount = new AtomicLong();
+
+	public QueryResultCache() {
+		this( Collections.emptyMap() );
+	}
+
+	public QueryResultCache(Map settings) {
+		this(
+				ConfigurationHelper.getInt( MAX_ENTRIES, settings, DEFAULT_MAX_ENTRIES ),
+				resolveEviction( ConfigurationHelper.getString( EVICTION, settings, "LRU" ) )
+		);
+	}
+
+	/**
+	 * @param maxEntries The maximum number of cached results
+	 * @param eviction The eviction policy; {@link BoundedConcurrentHashMap.Eviction#LRU LRU} or
+	 * {@link BoundedConcurrentHashMap.Eviction#LIRS LIRS}
+	 */
+	public QueryResultCache(int maxEntries, BoundedConcurrentHashMap.Eviction eviction) {
+		if ( maxEntries < 1 ) {
+			throw new IllegalArgumentException( "Query result cache size must be positive : " + maxEntries );
+		}
+		if ( eviction == BoundedConcurrentHashMap.Eviction.NONE ) {
+			throw new IllegalArgumentException( "Query result cache must define an eviction policy" );
+		}
+
+		this.results = new BoundedConcurrentHashMap<QueryResultCacheKey, CachedResult>(
+				maxEntries,
+				20,
+				eviction,
+				new BoundedConcurrentHashMap.EvictionListener<QueryResultCacheKey, CachedResult>() {
+					@Override
+					public void onEntryEviction(Map<QueryResultCacheKey, CachedResult> evicted) {
+						for ( Map.Entry<QueryResultCacheKey, CachedResult> entry : evicted.entrySet() ) {
+							unindex( entry.getKey(), entry.getValue().querySpaces );
+						}
+					}
+
+					@Override
+					public void onEntryChosenForEviction(CachedResult internalCacheEntry) {
+					}
+				}
+		);
+	}
+
+	private static BoundedConcurrentHashMap.Eviction resolveEviction(String name) {
+		final String normalized = name.trim().toUpperCase( Locale.ROOT );
+		if ( "LRU".equals( normalized ) ) {
+			return BoundedConcurrentHashMap.Eviction.LRU;
+		}
+		if ( "LIRS".equals( normalized ) ) {
+			return BoundedConcurrentHashMap.Eviction.LIRS;
+		}
+		throw new HibernateException( "Unknown query result cache eviction policy [" + EVICTION + "=" + name + "]" );
+	}
+
+	/**
+	 * Can the results of the given plan be cached?
+	 *
+	 * @param plan The plan
+	 *
+	 * @return {@code true} unless the plan reads tables which cannot be tracked for invalidation
+	 */
+	public boolean isCacheable(JdbcSelectPlan plan) {
+		return plan.getComplexity().getDerivedTableCount() == 0 && !plan.getQuerySpaces().isEmpty();
+	}
+
+	/**
+	 * The current timestamp, to be captured before executing a query whose results are to be {@link #put}
+	 *
+	 * @return The timestamp
+	 */
+	public long getTimestamp() {
+		return clock.get();
+	}
+
+	/**
+	 * Get the cached results
+	 *
+	 * @param key The key
+	 *
+	 * @return A copy of the cached rows, or {@code null} if not cached
+	 */
+	public List<Object> get(QueryResultCacheKey key) {
+		final CachedResult result = results.get( key );
+		if ( result == null ) {
+			missCount.incrementAndGet();
+			return null;
+		}
+		hitCount.incrementAndGet();
+		return copy( result.rows );
+	}
+
+	/**
+	 * Cache (a copy of) the results of executing the given plan, unless any of the plan's tables was
+	 * invalidated since the results were read or is currently in flight
+	 *
+	 * @param key The key
+	 * @param plan The plan executed
+	 * @param rows The rows read
+	 * @param timestamp The {@link #getTimestamp() timestamp} captured before executing the plan
+	 *
+	 * @return {@code true} if the results were cached
+	 */
+	public boolean put(QueryResultCacheKey key, JdbcSelectPlan plan, List<Object> rows, long timestamp) {
+		if ( !isCacheable( plan )
+				|| isInFlight( plan.getQuerySpaces() )
+				|| isInvalidatedSince( plan.getQuerySpaces(), timestamp ) ) {
+			return false;
+		}
+
+		final CachedResult result = new CachedResult( plan.getQuerySpaces(), copy( rows ) );
+		for ( String table : result.querySpaces ) {
+			resolveKeys( table ).add( key );
+		}
+		results.put( key, result );
+
+		// an invalidation racing with the put either sees the indexed key, or is seen here
+		if ( isInvalidatedSince( result.querySpaces, timestamp ) ) {
+			if ( results.remove( key, result ) ) {
+				unindex( key, result.querySpaces );
+			}
+			return false;
+		}
+
+		putCount.incrementAndGet();
+		return true;
+	}
+
+	private Set<QueryResultCacheKey> resolveKeys(String table) {
+		Set<QueryResultCacheKey> keys = keysByTable.get( table );
+		if ( keys == null ) {
+			final Set<QueryResultCacheKey> created = Collections.newSetFromMap(
+					new ConcurrentHashMap<QueryResultCacheKey, Boolean>()
+			);
+			keys = keysByTable.putIfAbsent( table, created );
+			if ( keys == null ) {
+				keys = created;
+			}
+		}
+		return keys;
+	}
+
+	private boolean isInFlight(Set<String> querySpaces) {
+		for ( String table : querySpaces ) {
+			final AtomicInteger count = inFlightCounts.get( table );
+			if ( count != null && count.get() > 0 ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean isInvalidatedSince(Set<String> querySpaces, long timestamp) {
+		for ( String table : querySpaces ) {
+			final Long invalidated = invalidationTimestamps.get( table );
+			if ( invalidated != null && invalidated > timestamp ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Invalidate the cached results reading any of the given tables
+	 *
+	 * @param tables The names of the tables written
+	 */
+	public void invalidate(Collection<String> tables) {
+		for ( String table : tables ) {
+			invalidationTimestamps.put( table, clock.incrementAndGet() );
+
+			final Set<QueryResultCacheKey> keys = keysByTable.get( table );
+			if ( keys == null ) {
+				continue;
+			}
+			int invalidated = 0;
+			for ( QueryResultCacheKey key : keys ) {
+				final CachedResult result = results.remove( key );
+				if ( result != null ) {
+					unindex( key, result.querySpaces );
+					invalidated++;
+				}
+				else {
+					// evicted, or a put still in progress (which then sees the invalidation)
+					keys.remove( key );
+				}
+			}
+			if ( invalidated > 0 ) {
+				invalidationCount.addAndGet( invalidated );
+				log.debugf( "Invalidated %s cached query results reading table %s", invalidated, table );
+			}
+		}
+	}
+
+	/**
+	 * Pre-invalidate the given tables, about to be written within a transaction : the cached results reading
+	 * any of them are invalidated and, until {@link #invalidateAfterCompletion}, no results reading them are
+	 * cached.
+	 *
+	 * @param tables The names of the tables being written
+	 */
+	public void preInvalidate(Collection<String> tables) {
+		for ( String table : tables ) {
+			AtomicInteger count = inFlightCounts.get( table );
+			if ( count == null ) {
+				final AtomicInteger created = new AtomicInteger();
+				count = inFlightCounts.putIfAbsent( table, created );
+				if ( count == null ) {
+					count = created;
+				}
+			}
+			count.incrementAndGet();
+		}
+		invalidate( tables );
+	}
+
+	/**
+	 * Invalidate the given tables once the transaction writing them completed, ending the in-flight period
+	 * started by {@link #preInvalidate}.  Must be called exactly once for each call to preInvalidate.
+	 *
+	 * @param tables The names of the tables written
+	 */
+	public void invalidateAfterCompletion(Collection<String> tables) {
+		// invalidate first : results read while the tables were in flight must not be cached once they no
+		// longer are
+		invalidate( tables );
+		for ( String table : tables ) {
+			final AtomicInteger count = inFlightCounts.get( table );
+			if ( count != null ) {
+				count.decrementAndGet();
+			}
+		}
+	}
+
+	private void unindex(QueryResultCacheKey key, Set<String> querySpaces) {
+		for ( String table : querySpaces ) {
+			final Set<QueryResultCacheKey> keys = keysByTable.get( table );
+			if ( keys != null ) {
+				keys.remove( key );
+			}
+		}
+	}
+
+	/**
+	 * Remove all cached results
+	 */
+	public void clear() {
+		for ( String table : keysByTable.keySet() ) {
+			invalidationTimestamps.put( table, clock.incrementAndGet() );
+		}
+		results.clear();
+		keysByTable.clear();
+	}
+
+	/**
+	 * The number of results currently cached
+	 *
+	 * @return The size
+	 */
+	public int size() {
+		return results.size();
+	}
+
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	public long getPutCount() {
+		return putCount.get();
+	}
+
+	/**
+	 * The number of cached results removed because one of their tables was written
+	 *
+	 * @return The invalidation count
+	 */
+	public long getInvalidationCount() {
+		return invalidationCount.get();
+	}
+
+	private static List<Object> copy(List<Object> rows) {
+		final List<Object> copy = new ArrayList<Object>( rows.size() );
+		for ( Object row : rows ) {
+			copy.add( row instanceof Object[] ? ( (Object[]) row ).clone() : row );
+		}
+		return copy;
+	}
+
+	private static final class CachedResult {
+		private final Set<String> querySpaces;
+		private final List<Object> rows;
+
+		private CachedResult(Set<String> querySpaces, List<Object> rows) {
+			this.querySpaces = querySpaces;
+			this.rows = rows;
+		}
+	}
+}
@@ -0,0 +1,171 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.exec;
+
+import java.util.Arrays;
+
+import org.hibernate.engine.spi.RowSelection;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.sql.gen.JdbcSelectPlan;
+import org.hibernate.sql.orm.QueryOptions;
+import org.hibernate.sql.orm.QueryParameterBinding;
+import org.hibernate.sql.orm.QueryParameterBindings;
+import org.hibernate.type.Type;
+
+/**
+ * Identifies the results of one execution of a JdbcSelectPlan in the {@link QueryResultCache} : the plan
+ * SQL, the bound parameter values and the Types they were bound as (by parameter ordinal), the first row
+ * and max rows of the RowSelection and the cache region.  Immutable : like ORM's QueryKey, the values are
+ * copied through {@link Type#deepCopy} (a bound Date may be mutated by the caller after execution) and
+ * compared through their Type.  Values bound without any Type are compared using equals.
+ *
+ * @author Steve Ebersole
+ */
+public final class QueryResultCacheKey {
+	private static final Object[] NO_VALUES = new Object[0];
+	private static final Type[] NO_TYPES = new Type[0];
+
+	/**
+	 * Build the key for executing the plan with the given options
+	 *
+	 * @param plan The plan
+	 * @param queryOptions The options, and parameter bindings, of the execution
+	 * @param factory The SessionFactory
+	 *
+	 * @return The key
+	 */
+	public static QueryResultCacheKey from(
+			JdbcSelectPlan plan,
+			QueryOptions queryOptions,
+			SessionFactoryImplementor factory) {
+		final QueryParameterBindings bindings = queryOptions.getParameterBindings();
+		final Object[] values;
+		final Type[] types;
+		if ( bindings == null || bindings.getParameterMetadata().getParameterCount() == 0 ) {
+			values = NO_VALUES;
+			types = NO_TYPES;
+		}
+		else {
+			values = new Object[ bindings.getParameterMetadata().getParameterCount() ];
+			types = new Type[ values.length ];
+			for ( int i = 0; i < values.length; i++ ) {
+				final QueryParameterBinding binding = bindings.getBinding( i );
+				final Object value = binding.getBindValue();
+				// the Type the value is bound as, resolved the same way TypeParameterBinder resolves it
+				Type type = binding.getBindType();
+				if ( type == null && value != null ) {
+					type = factory.getTypeResolver().heuristicType( value.getClass().getName() );
+				}
+				types[i] = type;
+				values[i] = type == null ? value : type.deepCopy( value, factory );
+			}
+		}
+
+		final RowSelection rowSelection = queryOptions.getRowSelection();
+		return new QueryResultCacheKey(
+				plan.getSql(),
+				values,
+				types,
+				rowSelection == null ? null : rowSelection.getFirstRow(),
+				rowSelection == null ? null : rowSelection.getMaxRows(),
+				queryOptions.getCacheRegion()
+		);
+	}
+
+	private final String sql;
+	private final Object[] values;
+	private final Type[] types;
+	private final Integer firstRow;
+	private final Integer maxRows;
+	private final String cacheRegion;
+	private final int hashCode;
+
+	private QueryResultCacheKey(
+			String sql,
+			Object[] values,
+			Type[] types,
+			Integer firstRow,
+			Integer maxRows,
+			String cacheRegion) {
+		this.sql = sql;
+		this.values = values;
+		this.types = types;
+		this.firstRow = firstRow;
+		this.maxRows = maxRows;
+		this.cacheRegion = cacheRegion;
+
+		int result = sql.hashCode();
+		for ( int i = 0; i < values.length; i++ ) {
+			result = 31 * result + ( types[i] == null ? 0 : types[i].hashCode() );
+			result = 31 * result + hashValue( values[i], types[i] );
+		}
+		result = 31 * result + ( firstRow != null ? firstRow.hashCode() : 0 );
+		result = 31 * result + ( maxRows != null ? maxRows.hashCode() : 0 );
+		result = 31 * result + ( cacheRegion != null ? cacheRegion.hashCode() : 0 );
+		this.hashCode = result;
+	}
+
+	public String getSql() {
+		return sql;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if ( this == o ) {
+			return true;
+		}
+		if ( o == null || getClass() != o.getClass() ) {
+			return false;
+		}
+
+		final QueryResultCacheKey that = (QueryResultCacheKey) o;
+		return hashCode == that.hashCode
+				&& sql.equals( that.sql )
+				&& valuesEqual( that )
+				&& ( firstRow == null ? that.firstRow == null : firstRow.equals( that.firstRow ) )
+				&& ( maxRows == null ? that.maxRows == null : maxRows.equals( that.maxRows ) )
+				&& ( cacheRegion == null ? that.cacheRegion == null : cacheRegion.equals( that.cacheRegion ) );
+	}
+
+	private boolean valuesEqual(QueryResultCacheKey that) {
+		if ( values.length != that.values.length ) {
+			return false;
+		}
+		for ( int i = 0; i < values.length; i++ ) {
+			final Type type = types[i];
+			if ( type == null ? that.types[i] != null : !type.equals( that.types[i] ) ) {
+				return false;
+			}
+			if ( type == null ) {
+				if ( values[i] == null ? that.values[i] != null : !values[i].equals( that.values[i] ) ) {
+					return false;
+				}
+			}
+			else if ( !type.isEqual( values[i], that.values[i] ) ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static int hashValue(Object value, Type type) {
+		if ( value == null ) {
+			return 0;
+		}
+		return type == null ? value.hashCode() : type.getHashCode( value );
+	}
+
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+
+	@Override
+	public String toString() {
+		return "QueryResultCacheKey(" + sql + ", " + Arrays.deepToString( values ) + ")";
+	}
+}
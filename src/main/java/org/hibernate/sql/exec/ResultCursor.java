@@ -0,0 +1,237 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.exec;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.hibernate.HibernateException;
+import org.hibernate.ScrollMode;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.sql.exec.internal.RowReader;
+
+/**
+ * A cursor over the results of a query, reading (and hydrating) one row at a time as it is moved.
+ * No rows are retained by the cursor, so results of any size can be processed with constant memory
+ * (given a driver which itself streams the results; see {@link org.hibernate.engine.spi.RowSelection#getFetchSize()}).
+ * <p/>
+ * The cursor can be used either directly ({@link #next()} + {@link #get()}, along with the scrolling methods
+ * if opened with a scrollable {@link ScrollMode}) or as an {@link Iterable}.  Either way it holds
+ * on to the JDBC statement and ResultSet until closed; the cursor closes itself once moved past the last
+ * row.
+ * <p/>
+ * Not thread-safe.
+ *
+ * @author Steve Ebersole
+ */
+public class ResultCursor implements Iterable<Object> {
+	private final SessionImplementor session;
+	private final String sql;
+	private final PreparedStatement statement;
+	private final ResultSet resultSet;
+	private final RowReader rowReader;
+	private final ScrollMode scrollMode;
+
+	private boolean onRow;
+	private boolean currentRowRead;
+	private Object currentRow;
+	private long rowsRead;
+	private boolean closed;
+
+	ResultCursor(
+			SessionImplementor session,
+			String sql,
+			PreparedStatement statement,
+			ResultSet resultSet,
+			RowReader rowReader,
+			ScrollMode scrollMode) {
+		this.session = session;
+		this.sql = sql;
+		this.statement = statement;
+		this.resultSet = resultSet;
+		this.rowReader = rowReader;
+		this.scrollMode = scrollMode;
+	}
+
+	public ScrollMode getScrollMode() {
+		return scrollMode;
+	}
+
+	public boolean isClosed() {
+		return closed;
+	}
+
+	/**
+	 * The number of rows read (hydrated) so far
+	 *
+	 * @return The row count
+	 */
+	public long getRowsRead() {
+		return rowsRead;
+	}
+
+	/**
+	 * Move to the next row
+	 *
+	 * @return {@code true} if there is a next row; {@code false} if the results are exhausted (in which
+	 * case a forward-only cursor is closed)
+	 */
+	public boolean next() {
+		if ( closed ) {
+			return false;
+		}
+
+		try {
+			return positioned( resultSet.next() );
+		}
+		catch (SQLException e) {
+			throw convert( e, "Unable to advance ResultSet" );
+		}
+	}
+
+	/**
+	 * Move the given number of rows forwards (or backwards if negative).  Requires a scrollable ScrollMode.
+	 *
+	 * @param rows The number of rows to move
+	 *
+	 * @return {@code true} if positioned on a row
+	 */
+	public boolean scroll(int rows) {
+		checkScrollable();
+		try {
+			return positioned( resultSet.relative( rows ) );
+		}
+		catch (SQLException e) {
+			throw convert( e, "Unable to scroll ResultSet" );
+		}
+	}
+
+	/**
+	 * Move to the given (1-based) row.  Requires a scrollable ScrollMode.
+	 *
+	 * @param rowNumber The row number; negative numbers count back from the last row
+	 *
+	 * @return {@code true} if positioned on a row
+	 */
+	public boolean absolute(int rowNumber) {
+		checkScrollable();
+		try {
+			return positioned( resultSet.absolute( rowNumber ) );
+		}
+		catch (SQLException e) {
+			throw convert( e, "Unable to scroll ResultSet" );
+		}
+	}
+
+	private void checkScrollable() {
+		if ( closed ) {
+			throw new IllegalStateException( "ResultCursor is closed" );
+		}
+		if ( scrollMode == ScrollMode.FORWARD_ONLY ) {
+			throw new IllegalStateException( "ResultCursor is forward-only" );
+		}
+	}
+
+	private boolean positioned(boolean onRow) {
+		this.onRow = onRow;
+		this.currentRowRead = false;
+		this.currentRow = null;
+		if ( !onRow && scrollMode == ScrollMode.FORWARD_ONLY ) {
+			close();
+		}
+		return onRow;
+	}
+
+	/**
+	 * The current row : the value of the query's single return, or an {@code Object[]} of the values of
+	 * each return.  The row is read from the ResultSet on the first call for each row.
+	 *
+	 * @return The current row
+	 */
+	public Object get() {
+		if ( !onRow ) {
+			throw new IllegalStateException( "ResultCursor is not positioned on a row" );
+		}
+
+		if ( !currentRowRead ) {
+			try {
+				currentRow = rowReader.readRow( resultSet, session );
+			}
+			catch (SQLException e) {
+				throw convert( e, "Unable to read row" );
+			}
+			currentRowRead = true;
+			rowsRead++;
+		}
+		return currentRow;
+	}
+
+	/**
+	 * Iterate the (remaining) rows.  Each row is read as the iterator is moved to it.
+	 *
+	 * @return The iterator
+	 */
+	@Override
+	public Iterator<Object> iterator() {
+		return new Iterator<Object>() {
+			private boolean advanced;
+			private boolean available;
+
+			@Override
+			public boolean hasNext() {
+				if ( !advanced ) {
+					available = ResultCursor.this.next();
+					advanced = true;
+				}
+				return available;
+			}
+
+			@Override
+			public Object next() {
+				if ( !hasNext() ) {
+					throw new NoSuchElementException();
+				}
+				advanced = false;
+				return get();
+			}
+
+			@Override
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	/**
+	 * Release the JDBC ResultSet and statement.  Safe to call more than once.
+	 */
+	public void close() {
+		if ( closed ) {
+			return;
+		}
+		closed = true;
+		onRow = false;
+		currentRow = null;
+
+		final JdbcCoordinator jdbcCoordinator = session.getJdbcCoordinator();
+		try {
+			jdbcCoordinator.getResourceRegistry().release( resultSet, statement );
+			jdbcCoordinator.getResourceRegistry().release( statement );
+		}
+		finally {
+			jdbcCoordinator.afterStatementExecution();
+		}
+	}
+
+	private HibernateException convert(SQLException e, String message) {
+		return session.getFactory().getSQLExceptionHelper().convert( e, message, sql );
+	}
+}
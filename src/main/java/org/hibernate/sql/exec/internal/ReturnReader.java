@@ -0,0 +1,38 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.exec.internal;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.hibernate.engine.spi.SessionImplementor;
+
+/**
+ * Reads the value of one of the query's returns from the current row of the ResultSet
+ *
+ * @author Steve Ebersole
+ */
+public interface ReturnReader {
+	/**
+	 * The number of columns read
+	 *
+	 * @return The column span
+	 */
+	int getColumnSpan();
+
+	/**
+	 * Read the value from the current row
+	 *
+	 * @param resultSet The ResultSet, positioned on the row to read
+	 * @param session The session
+	 *
+	 * @return The value
+	 *
+	 * @throws SQLException Indicates a problem accessing the ResultSet
+	 */
+	Object read(ResultSet resultSet, SessionImplementor session) throws SQLException;
+}
@@ -0,0 +1,264 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.exec.internal;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.hibernate.QueryException;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.loader.plan.spi.Return;
+import org.hibernate.loader.plan.spi.ScalarReturn;
+import org.hibernate.sql.gen.NotYetImplementedException;
+import org.hibernate.type.DoubleType;
+import org.hibernate.type.IntegerType;
+import org.hibernate.type.LongType;
+import org.hibernate.type.StringType;
+import org.hibernate.type.TimestampType;
+import org.hibernate.type.Type;
+
+/**
+ * Reads the rows of a query's ResultSet according to the query's
+ * {@link org.hibernate.sql.gen.JdbcSelectPlan#getReturns() returns}, one ReturnReader per return.  The
+ * columns are read by position; the readers for the common basic types read the column directly
+ * through the matching ResultSet getter, bypassing {@link Type#nullSafeGet}.
+ * <p/>
+ * A row with a single return is read as that return's value; otherwise as an {@code Object[]}.
+ * <p/>
+ * The readers may cache state resolved from the ResultSet on first use, so a RowReader should not be
+ * shared between ResultSets.
+ *
+ * @author Steve Ebersole
+ */
+public class RowReader {
+	/**
+	 * Build the RowReader for the given returns
+	 *
+	 * @param returns The returns, in selection order
+	 * @param sessionFactory The SessionFactory
+	 *
+	 * @return The RowReader
+	 */
+	public static RowReader from(List<Return> returns, SessionFactoryImplementor sessionFactory) {
+		if ( returns.isEmpty() ) {
+			throw new QueryException( "Query plan describes no returns; unable to read results" );
+		}
+
+		final ReturnReader[] returnReaders = new ReturnReader[ returns.size() ];
+		int position = 1;
+		for ( int i = 0; i < returnReaders.length; i++ ) {
+			returnReaders[i] = resolveReturnReader( returns.get( i ), position, sessionFactory );
+			position += returnReaders[i].getColumnSpan();
+		}
+		return new RowReader( returnReaders, position - 1 );
+	}
+
+	private static ReturnReader resolveReturnReader(
+			Return queryReturn,
+			int position,
+			SessionFactoryImplementor sessionFactory) {
+		if ( !( queryReturn instanceof ScalarReturn ) ) {
+			// todo : entity and collection returns
+			throw new NotYetImplementedException();
+		}
+
+		final Type type = ( (ScalarReturn) queryReturn ).getType();
+		if ( type instanceof LongType ) {
+			return new LongReturnReader( position );
+		}
+		else if ( type instanceof IntegerType ) {
+			return new IntegerReturnReader( position );
+		}
+		else if ( type instanceof StringType ) {
+			return new StringReturnReader( position );
+		}
+		else if ( type instanceof TimestampType ) {
+			return new TimestampReturnReader( position );
+		}
+		else if ( type instanceof DoubleType ) {
+			return new DoubleReturnReader( position );
+		}
+		else {
+			return new TypeReturnReader( type, position, type.getColumnSpan( sessionFactory ) );
+		}
+	}
+
+	private final ReturnReader[] returnReaders;
+	private final int columnSpan;
+
+	private RowReader(ReturnReader[] returnReaders, int columnSpan) {
+		this.returnReaders = returnReaders;
+		this.columnSpan = columnSpan;
+	}
+
+	/**
+	 * The number of columns read per row
+	 *
+	 * @return The column span
+	 */
+	public int getColumnSpan() {
+		return columnSpan;
+	}
+
+	/**
+	 * Verify that the ResultSet has exactly the columns described by the returns
+	 *
+	 * @param resultSet The ResultSet
+	 *
+	 * @throws SQLException Indicates a problem accessing the ResultSet metadata
+	 */
+	public void validate(ResultSet resultSet) throws SQLException {
+		final int columnCount = resultSet.getMetaData().getColumnCount();
+		if ( columnCount != columnSpan ) {
+			throw new QueryException(
+					"Query plan returns describe " + columnSpan + " columns, but the ResultSet has " + columnCount
+							+ " (entity selections cannot be read yet)"
+			);
+		}
+	}
+
+	/**
+	 * Read the current row
+	 *
+	 * @param resultSet The ResultSet, positioned on the row to read
+	 * @param session The session
+	 *
+	 * @return The value of the single return, or an {@code Object[]} of the values of each return
+	 *
+	 * @throws SQLException Indicates a problem accessing the ResultSet
+	 */
+	public Object readRow(ResultSet resultSet, SessionImplementor session) throws SQLException {
+		if ( returnReaders.length == 1 ) {
+			return returnReaders[0].read( resultSet, session );
+		}
+
+		final Object[] row = new Object[ returnReaders.length ];
+		for ( int i = 0; i < returnReaders.length; i++ ) {
+			row[i] = returnReaders[i].read( resultSet, session );
+		}
+		return row;
+	}
+
+	private abstract static class AbstractSingleColumnReader implements ReturnReader {
+		protected final int position;
+
+		protected AbstractSingleColumnReader(int position) {
+			this.position = position;
+		}
+
+		@Override
+		public int getColumnSpan() {
+			return 1;
+		}
+	}
+
+	private static final class LongReturnReader extends AbstractSingleColumnReader {
+		private LongReturnReader(int position) {
+			super( position );
+		}
+
+		@Override
+		public Object read(ResultSet resultSet, SessionImplementor session) throws SQLException {
+			final long value = resultSet.getLong( position );
+			return resultSet.wasNull() ? null : value;
+		}
+	}
+
+	private static final class IntegerReturnReader extends AbstractSingleColumnReader {
+		private IntegerReturnReader(int position) {
+			super( position );
+		}
+
+		@Override
+		public Object read(ResultSet resultSet, SessionImplementor session) throws SQLException {
+			final int value = resultSet.getInt( position );
+			return resultSet.wasNull() ? null : value;
+		}
+	}
+
+	private static final class DoubleReturnReader extends AbstractSingleColumnReader {
+		private DoubleReturnReader(int position) {
+			super( position );
+		}
+
+		@Override
+		public Object read(ResultSet resultSet, SessionImplementor session) throws SQLException {
+			final double value = resultSet.getDouble( position );
+			return resultSet.wasNull() ? null : value;
+		}
+	}
+
+	private static final class StringReturnReader extends AbstractSingleColumnReader {
+		private StringReturnReader(int position) {
+			super( position );
+		}
+
+		@Override
+		public Object read(ResultSet resultSet, SessionImplementor session) throws SQLException {
+			return resultSet.getString( position );
+		}
+	}
+
+	private static final class TimestampReturnReader extends AbstractSingleColumnReader {
+		private TimestampReturnReader(int position) {
+			super( position );
+		}
+
+		@Override
+		public Object read(ResultSet resultSet, SessionImplementor session) throws SQLException {
+			return resultSet.getTimestamp( position );
+		}
+	}
+
+	/**
+	 * Reads the value through {@link Type#nullSafeGet}, which reads columns by name.  The names are the
+	 * labels of the ResultSet columns at the reader's positions, resolved on first read; a label which
+	 * does not uniquely identify its column (e.g. {@code id} selected from 2 tables) cannot be read.
+	 */
+	private static final class TypeReturnReader implements ReturnReader {
+		private final Type type;
+		private final int position;
+		private final int columnSpan;
+
+		private String[] columnLabels;
+
+		private TypeReturnReader(Type type, int position, int columnSpan) {
+			this.type = type;
+			this.position = position;
+			this.columnSpan = columnSpan;
+		}
+
+		@Override
+		public int getColumnSpan() {
+			return columnSpan;
+		}
+
+		@Override
+		public Object read(ResultSet resultSet, SessionImplementor session) throws SQLException {
+			if ( columnLabels == null ) {
+				columnLabels = resolveColumnLabels( resultSet );
+			}
+			return type.nullSafeGet( resultSet, columnLabels, session, null );
+		}
+
+		private String[] resolveColumnLabels(ResultSet resultSet) throws SQLException {
+			final String[] labels = new String[ columnSpan ];
+			for ( int i = 0; i < columnSpan; i++ ) {
+				labels[i] = resultSet.getMetaData().getColumnLabel( position + i );
+				if ( resultSet.findColumn( labels[i] ) != position + i ) {
+					throw new QueryException(
+							"Column label [" + labels[i] + "] at position " + ( position + i )
+									+ " is ambiguous; unable to read value of type [" + type.getName() + "]"
+					);
+				}
+			}
+			return labels;
+		}
+	}
+}
@@ -0,0 +1,16 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+
+/**
+ * Execution of the JDBC operation plans produced by {@link org.hibernate.sql.gen.SqmJdbcInterpreter}.
+ * <p/>
+ * Select plans are executed by {@link org.hibernate.sql.exec.JdbcSelectExecutor}, whose
+ * {@link org.hibernate.sql.exec.ResultCursor} streams the results; mutation plans are executed by
+ * {@link org.hibernate.sql.exec.JdbcOperationBatchExecutor}.  Listed results may be cached in a
+ * {@link org.hibernate.sql.exec.QueryResultCache}, which the mutations invalidate per table.
+ */
+package org.hibernate.sql.exec;
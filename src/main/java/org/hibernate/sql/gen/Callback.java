@@ -10,8 +10,33 @@ package org.hibernate.sql.gen;
  * Callback to allow SQM interpretation to trigger certain things within ORM.  See the current
  * javadocs for {@link org.hibernate.loader.plan.spi.LoadPlan} for details.  Specifically this would
  * encompass things like follow-on locking, follow-on fetching, etc.
+ * <p/>
+ * The callback is also the instrumentation surface of interpretation : it is told how long each
+ * {@link InterpretationPhase} took and how big the produced plan is.  Both are reported once the plan
+ * is complete, keyed by the "query shape" - the plan's SQL, which (since parameters are rendered as
+ * JDBC parameter markers) is the same for every execution of a query regardless of parameter values.
+ * When no callback is passed, interpretation does not time its phases at all.
+ * <p/>
+ * See {@link org.hibernate.sql.gen.stat.StatisticsCollectingCallback} for the default implementation.
  *
  * @author Steve Ebersole
  */
 public interface Callback {
+	/**
+	 * Notification of the time spent in a phase of interpreting a query.  A phase which is entered more
+	 * than once (e.g. for each query spec) is reported once, with the accumulated time.
+	 *
+	 * @param queryShape The query shape (SQL of the plan; statements of multi-statement plans are separated by {@code ;})
+	 * @param phase The phase
+	 * @param durationNanos The time spent in the phase, in nanoseconds
+	 */
+	void phaseCompleted(String queryShape, InterpretationPhase phase, long durationNanos);
+
+	/**
+	 * Notification of a completed plan
+	 *
+	 * @param queryShape The query shape
+	 * @param statistics The size of the plan
+	 */
+	void planGenerated(String queryShape, PlanStatistics statistics);
 }
@@ -0,0 +1,44 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.gen;
+
+/**
+ * The phases of turning a query into a JDBC plan, as reported to a {@link Callback}
+ *
+ * @author Steve Ebersole
+ */
+public enum InterpretationPhase {
+	/**
+	 * Parsing the query string and building the SQM.  Only reported when the SQM is built as part of
+	 * obtaining the plan (see {@link JdbcSelectPlanCache}).
+	 */
+	SQM_BUILD,
+	/**
+	 * Interpreting the from clause : building the TableSpaces and TableSpecificationGroups
+	 */
+	FROM_CLAUSE,
+	/**
+	 * Interpreting the select clause (or the SET clause of an update)
+	 */
+	SELECT_CLAUSE,
+	/**
+	 * Interpreting the where clause
+	 */
+	WHERE_CLAUSE,
+	/**
+	 * Interpreting the order-by clause
+	 */
+	ORDER_BY_CLAUSE,
+	/**
+	 * Rendering the SQL AST into SQL
+	 */
+	RENDERING,
+	/**
+	 * Building the ParameterBinders for the rendered parameters
+	 */
+	BINDER_GENERATION
+}
@@ -7,6 +7,9 @@
 package org.hibernate.sql.gen;
 
 import java.util.List;
+import java.util.Set;
+
+import org.hibernate.sql.orm.QueryParameterMetadata;
 
 /**
  * Represents the information needed to perform a JDBC operation.
@@ -31,4 +34,21 @@ public interface JdbcOperationPlan {
 	List<ParameterBinder> getParameterBinders();
 
 	List<QueryOptionBinder> getQueryOptionBinders();
+
+	/**
+	 * Describes the query parameters, indexed by ordinal.  Shared by all executions of the plan; use
+	 * {@link QueryParameterMetadata#makeBindings()} to create bindings that can be reused from one
+	 * execution to the next.
+	 *
+	 * @return The query parameter metadata
+	 */
+	QueryParameterMetadata getParameterMetadata();
+
+	/**
+	 * The names of the physical tables the operation reads (for a select) or writes (for a mutation); see
+	 * {@link org.hibernate.sql.exec.QueryResultCache}.  Derived tables (subselects) are not included.
+	 *
+	 * @return The table names
+	 */
+	Set<String> getQuerySpaces();
 }
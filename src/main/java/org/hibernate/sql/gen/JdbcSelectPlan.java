@@ -26,4 +26,11 @@ public interface JdbcSelectPlan extends JdbcOperationPlan {
 	 * @return
 	 */
 	List<Return> getReturns();
+
+	/**
+	 * The complexity of the query, as determined from its SQL AST
+	 *
+	 * @return The complexity
+	 */
+	PlanComplexity getComplexity();
 }
@@ -0,0 +1,218 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.gen;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.internal.util.collections.BoundedConcurrentHashMap;
+import org.hibernate.query.parser.ConsumerContext;
+import org.hibernate.query.parser.SemanticQueryInterpreter;
+import org.hibernate.sql.gen.internal.SelectPlanCacheKey;
+import org.hibernate.sql.orm.QueryOptions;
+import org.hibernate.sqm.query.SelectStatement;
+import org.hibernate.sqm.query.Statement;
+
+import org.jboss.logging.Logger;
+
+/**
+ * A bounded, thread-safe cache of {@link JdbcSelectPlan} instances.  Plans are keyed by the (normalized)
+ * query string plus the plan-relevant parts of the {@link QueryOptions} (see {@link SelectPlanCacheKey}).
+ * A hit skips interpretation entirely - both building the SQM and interpreting it into the SQL AST.
+ * <p/>
+ * On a miss, the interpreted plan is also de-duplicated against the plans of other query strings : queries
+ * which differ textually (aliases, formatting of expressions, etc) but interpret to structurally equal plans
+ * (see {@link SelectPlanCacheKey#forPlan}) share a single plan instance.
+ * <p/>
+ * Much like {@link org.hibernate.engine.query.spi.QueryPlanCache}, the cache is backed by a
+ * {@link BoundedConcurrentHashMap} using LIRS eviction.
+ *
+ * @author Steve Ebersole
+ */
+public class JdbcSelectPlanCache {
+	private static final Logger log = Logger.getLogger( JdbcSelectPlanCache.class );
+
+	/**
+	 * The default maximum number of plans held by the cache
+	 */
+	public static final int DEFAULT_MAX_SIZE = 2048;
+
+	private final BoundedConcurrentHashMap<SelectPlanCacheKey,JdbcSelectPlan> planMap;
+	private final BoundedConcurrentHashMap<SelectPlanCacheKey,JdbcSelectPlan> planStructureMap;
+	private final SlowPlanReporter slowPlanReporter;
+
+	private final AtomicLong hitCount = new AtomicLong();
+	private final AtomicLong missCount = new AtomicLong();
+	private final AtomicLong evictionCount = new AtomicLong();
+	private final AtomicLong sharedPlanCount = new AtomicLong();
+
+	public JdbcSelectPlanCache() {
+		this( DEFAULT_MAX_SIZE );
+	}
+
+	public JdbcSelectPlanCache(int maxSize) {
+		this( maxSize, null );
+	}
+
+	/**
+	 * Create a cache which reports the complex plans it interprets
+	 *
+	 * @param maxSize The maximum number of plans held by the cache
+	 * @param slowPlanReporter The reporter passed each newly interpreted plan; {@code null} to not report
+	 */
+	public JdbcSelectPlanCache(int maxSize, SlowPlanReporter slowPlanReporter) {
+		if ( maxSize < 1 ) {
+			throw new IllegalArgumentException( "JdbcSelectPlanCache max size must be positive : " + maxSize );
+		}
+
+		this.planMap = new BoundedConcurrentHashMap<SelectPlanCacheKey, JdbcSelectPlan>(
+				maxSize,
+				20,
+				BoundedConcurrentHashMap.Eviction.LIRS,
+				new EvictionCounter()
+		);
+		this.planStructureMap = new BoundedConcurrentHashMap<SelectPlanCacheKey, JdbcSelectPlan>(
+				maxSize,
+				20,
+				BoundedConcurrentHashMap.Eviction.LIRS
+		);
+		this.slowPlanReporter = slowPlanReporter;
+	}
+
+	/**
+	 * Resolve the JdbcSelectPlan for the given query, interpreting it only if no plan for the
+	 * query (and options) is cached yet.
+	 *
+	 * @param queryString The query string (HQL/JPQL)
+	 * @param queryOptions The options in effect for this execution
+	 * @param callback Callback passed along to interpretation on a miss
+	 * @param consumerContext The context used to build the SQM on a miss
+	 *
+	 * @return The (possibly cached) plan
+	 */
+	public JdbcSelectPlan getSelectPlan(
+			String queryString,
+			QueryOptions queryOptions,
+			Callback callback,
+			ConsumerContext consumerContext) {
+		final SelectPlanCacheKey key = new SelectPlanCacheKey( queryString, queryOptions );
+
+		JdbcSelectPlan plan = planMap.get( key );
+		if ( plan != null ) {
+			hitCount.incrementAndGet();
+			log.tracef( "Located cached JdbcSelectPlan for query : %s", key.getQueryString() );
+			return plan;
+		}
+
+		missCount.incrementAndGet();
+		log.tracef( "Unable to locate cached JdbcSelectPlan for query [%s]; interpreting", key.getQueryString() );
+
+		final long start = callback == null ? 0L : System.nanoTime();
+		final Statement statement = SemanticQueryInterpreter.interpret( queryString, consumerContext );
+		final long sqmBuildNanos = callback == null ? 0L : System.nanoTime() - start;
+		if ( !( statement instanceof SelectStatement ) ) {
+			throw new IllegalArgumentException( "Query [" + queryString + "] is not a select query" );
+		}
+
+		final JdbcSelectPlan interpretedPlan = SqmJdbcInterpreter.interpret(
+				(SelectStatement) statement,
+				queryOptions,
+				callback
+		);
+		if ( callback != null ) {
+			// the query shape (the SQL) is only known once interpreted
+			callback.phaseCompleted( interpretedPlan.getSql(), InterpretationPhase.SQM_BUILD, sqmBuildNanos );
+		}
+
+		if ( slowPlanReporter != null ) {
+			slowPlanReporter.report( queryString, interpretedPlan );
+		}
+
+		plan = sharePlan( interpretedPlan, queryOptions );
+
+		// another thread may have concurrently interpreted the same query - if so, prefer its plan
+		final JdbcSelectPlan existing = planMap.putIfAbsent( key, plan );
+		return existing == null ? plan : existing;
+	}
+
+	private JdbcSelectPlan sharePlan(JdbcSelectPlan plan, QueryOptions queryOptions) {
+		final SelectPlanCacheKey structureKey = SelectPlanCacheKey.forPlan( plan, queryOptions );
+		final JdbcSelectPlan existing = planStructureMap.putIfAbsent( structureKey, plan );
+		if ( existing == null ) {
+			return plan;
+		}
+
+		sharedPlanCount.incrementAndGet();
+		log.tracef( "Sharing structurally equal JdbcSelectPlan : %s", plan.getSql() );
+		return existing;
+	}
+
+	/**
+	 * The number of lookups which found a cached plan
+	 *
+	 * @return The hit count
+	 */
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	/**
+	 * The number of lookups which did not find a cached plan and needed to interpret the query
+	 *
+	 * @return The miss count
+	 */
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	/**
+	 * The number of plans evicted from the cache because its bound was reached
+	 *
+	 * @return The eviction count
+	 */
+	public long getEvictionCount() {
+		return evictionCount.get();
+	}
+
+	/**
+	 * The number of misses whose interpreted plan was structurally equal to the (already cached) plan of
+	 * a different query string, and so was replaced by that plan
+	 *
+	 * @return The shared plan count
+	 */
+	public long getSharedPlanCount() {
+		return sharedPlanCount.get();
+	}
+
+	/**
+	 * The number of plans currently cached
+	 *
+	 * @return The current size
+	 */
+	public int size() {
+		return planMap.size();
+	}
+
+	/**
+	 * Remove all cached plans.  The hit/miss/eviction counters are not reset.
+	 */
+	public void clear() {
+		planMap.clear();
+		planStructureMap.clear();
+	}
+
+	private class EvictionCounter implements BoundedConcurrentHashMap.EvictionListener<SelectPlanCacheKey,JdbcSelectPlan> {
+		@Override
+		public void onEntryEviction(Map<SelectPlanCacheKey, JdbcSelectPlan> evicted) {
+			evictionCount.addAndGet( evicted.size() );
+		}
+
+		@Override
+		public void onEntryChosenForEviction(JdbcSelectPlan internalCacheEntry) {
+		}
+	}
+}
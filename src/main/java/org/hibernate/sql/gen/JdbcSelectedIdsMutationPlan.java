@@ -0,0 +1,33 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.gen;
+
+import java.util.List;
+
+/**
+ * JdbcOperationPlan for a multi-table mutation performed using {@link MultiTableMutationStrategy#SELECTED_IDS}.
+ * The plan's own SQL (and parameter binders) select the ids of the rows to mutate; the
+ * {@link #getTableMutationPlans() table mutations} are then performed, in order, once per selected id.
+ *
+ * @author Steve Ebersole
+ */
+public interface JdbcSelectedIdsMutationPlan extends JdbcOperationPlan {
+	/**
+	 * The number of columns of the selected ids
+	 *
+	 * @return The id column count
+	 */
+	int getIdColumnCount();
+
+	/**
+	 * The mutation of each table, in the order they need to be performed.  Each is restricted by
+	 * {@code <key> = ?}; the id values are bound after those of the plan's parameter binders.
+	 *
+	 * @return The table mutation plans
+	 */
+	List<JdbcOperationPlan> getTableMutationPlans();
+}
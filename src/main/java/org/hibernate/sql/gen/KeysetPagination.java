@@ -0,0 +1,65 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.gen;
+
+import org.hibernate.sql.orm.QueryParameterBindings;
+
+/**
+ * Support for keyset (seek) pagination : rather than skipping the rows of the previous pages using an
+ * OFFSET (which the database still has to produce, making each page slower than the last), the page
+ * following a given row is selected by restricting the query to the rows sorting after that row.
+ * <p/>
+ * Keyset pagination applies to queries whose order-by clause ends with the identifier of the root entity,
+ * so that the sort key is unique.  With {@link org.hibernate.sql.orm.QueryOptions#isKeysetPage()} the
+ * interpreted plan restricts the query by the sort key of the last row of the previous page, e.g. for
+ * {@code order by o.placed desc, o.id desc} :
+ * <pre>
+ *     (o.placed, o.id) &lt; (?, ?)
+ * </pre>
+ * or, for mixed sort directions or Dialects not supporting row value constructors, the equivalent
+ * expanded predicate.  The values of the sort key are bound as query parameters (see
+ * {@link #getBoundaryParameterName} and {@link #bindBoundary}), so all pages after the first share one
+ * plan.  The page size is applied through {@link org.hibernate.engine.spi.RowSelection#getMaxRows()}; a
+ * first row cannot be combined with keyset pagination.
+ * <p/>
+ * Sort keys other than the identifier are expected to be non-null; rows with a null sort key are not
+ * reached by the boundary predicate.
+ *
+ * @author Steve Ebersole
+ */
+public final class KeysetPagination {
+	/**
+	 * The prefix of the names of the query parameters holding the sort key of the boundary row
+	 */
+	public static final String BOUNDARY_PARAMETER_PREFIX = "keyset_boundary_";
+
+	private KeysetPagination() {
+	}
+
+	/**
+	 * The name of the query parameter holding the boundary row's value of the given sort specification
+	 *
+	 * @param sortPosition The (0-based) position of the sort specification in the order-by clause
+	 *
+	 * @return The query parameter name
+	 */
+	public static String getBoundaryParameterName(int sortPosition) {
+		return BOUNDARY_PARAMETER_PREFIX + sortPosition;
+	}
+
+	/**
+	 * Bind the sort key of the boundary row (the last row of the previous page)
+	 *
+	 * @param bindings The bindings of a keyset page plan
+	 * @param sortKey The boundary row's values of each sort specification, in order-by clause order
+	 */
+	public static void bindBoundary(QueryParameterBindings bindings, Object... sortKey) {
+		for ( int i = 0; i < sortKey.length; i++ ) {
+			bindings.getNamedParameterBinding( getBoundaryParameterName( i ) ).setBindValue( sortKey[i] );
+		}
+	}
+}
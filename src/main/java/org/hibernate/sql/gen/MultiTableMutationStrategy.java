@@ -0,0 +1,76 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.gen;
+
+import java.util.Locale;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.dialect.PostgreSQL92Dialect;
+
+/**
+ * How an UPDATE or DELETE of an entity spanning multiple tables identifies the rows to mutate in
+ * each table.  None of the strategies uses an id table.
+ *
+ * @author Steve Ebersole
+ */
+public enum MultiTableMutationStrategy {
+	/**
+	 * One statement per table, each restricted by {@code key in (<id selection>)}.  The id selection is
+	 * re-evaluated by each statement, which limits the statements that can be expressed: the id
+	 * selection may not depend on a table (or column) mutated by an earlier statement; such mutations
+	 * (e.g. deleting a JOINED subclass) are performed using {@link #SELECTED_IDS} instead.
+	 */
+	IN_SUBQUERY,
+	/**
+	 * The ids are selected once, before any table is mutated, and each table mutation is then performed
+	 * per selected id ({@code <key> = ?}), using JDBC batching.  Any mutation can be expressed on any
+	 * database, at the cost of reading the ids and executing a statement per id and table.
+	 */
+	SELECTED_IDS,
+	/**
+	 * A single statement using data-modifying common table expressions: the ids are selected once in a
+	 * CTE, and each table mutation is its own CTE (the last being the main statement) restricted by it.
+	 * All of the mutations see the same snapshot, so any mutation can be expressed.
+	 */
+	CTE;
+
+	/**
+	 * Setting naming the strategy to use.  Defaults to the strategy best supported by the Dialect
+	 * (see {@link #resolve(Object, Dialect)})
+	 */
+	public static final String STRATEGY = "hibernate.sql.multi_table_mutation_strategy";
+
+	/**
+	 * Resolve the strategy to use
+	 *
+	 * @param setting The {@link #STRATEGY} setting value, if one
+	 * @param dialect The Dialect in effect
+	 *
+	 * @return The strategy
+	 */
+	public static MultiTableMutationStrategy resolve(Object setting, Dialect dialect) {
+		if ( setting instanceof MultiTableMutationStrategy ) {
+			return (MultiTableMutationStrategy) setting;
+		}
+		if ( setting != null ) {
+			return valueOf( setting.toString().trim().toUpperCase( Locale.ROOT ) );
+		}
+
+		// data-modifying statements in WITH are not standard; of the databases we know
+		// PostgreSQL supports them
+		if ( dialect instanceof PostgreSQL92Dialect ) {
+			return CTE;
+		}
+		// MySQL (and MariaDB) do not allow the table being mutated to be referenced by a subquery
+		// ("can't specify target table for update in FROM clause")
+		if ( dialect instanceof MySQLDialect ) {
+			return SELECTED_IDS;
+		}
+		return IN_SUBQUERY;
+	}
+}
@@ -1,15 +1,30 @@
 package org.hibernate.sql.gen;
 
 import java.sql.PreparedStatement;
+import java.sql.SQLException;
 
+import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.sql.orm.QueryOptions;
 
 /**
  * Performs parameter value binding to a JDBC PreparedStatement.
+ * <p/>
+ * Binders are resolved during interpretation, one per JDBC parameter position in the SQL, already
+ * knowing both the position and the query parameter (by ordinal) whose value they bind.
  *
  * @author Steve Ebersole
  * @author John O'Hara
  */
 public interface ParameterBinder {
-	void bindParameterValue(PreparedStatement statement, QueryOptions queryOptions);
+	/**
+	 * Bind the value of the query parameter (from the QueryOptions' parameter bindings) to the statement.
+	 *
+	 * @param statement The statement to bind to
+	 * @param queryOptions The options for the execution, holding the parameter bindings
+	 * @param session The session executing the statement
+	 *
+	 * @throws SQLException Indicates a problem binding the value
+	 */
+	void bindParameterValue(PreparedStatement statement, QueryOptions queryOptions, SessionImplementor session)
+			throws SQLException;
 }
@@ -0,0 +1,126 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.gen;
+
+/**
+ * Complexity metrics of an interpreted query, as determined from its SQL AST once interpretation is
+ * complete.  See {@link SlowPlanReporter} for reporting plans which exceed configured limits.
+ *
+ * @author Steve Ebersole
+ */
+public class PlanComplexity {
+	private final int tableSpaceCount;
+	private final int tableJoinCount;
+	private final int maxEntityTableJoinCount;
+	private final int innerJoinCount;
+	private final int outerJoinCount;
+	private final int derivedTableCount;
+	private final int subqueryDepth;
+	private final int parameterCount;
+
+	public PlanComplexity(
+			int tableSpaceCount,
+			int tableJoinCount,
+			int maxEntityTableJoinCount,
+			int innerJoinCount,
+			int outerJoinCount,
+			int derivedTableCount,
+			int subqueryDepth,
+			int parameterCount) {
+		this.tableSpaceCount = tableSpaceCount;
+		this.tableJoinCount = tableJoinCount;
+		this.maxEntityTableJoinCount = maxEntityTableJoinCount;
+		this.innerJoinCount = innerJoinCount;
+		this.outerJoinCount = outerJoinCount;
+		this.derivedTableCount = derivedTableCount;
+		this.subqueryDepth = subqueryDepth;
+		this.parameterCount = parameterCount;
+	}
+
+	public int getTableSpaceCount() {
+		return tableSpaceCount;
+	}
+
+	/**
+	 * The total number of joins : joins between the table groups of each table space as well as
+	 * joins between the tables within each group
+	 *
+	 * @return The join count
+	 */
+	public int getTableJoinCount() {
+		return tableJoinCount;
+	}
+
+	/**
+	 * The largest number of joins between the tables of a single entity's table group - i.e. the joins
+	 * needed to assemble one entity from its (secondary, superclass and subclass) tables.  This is the
+	 * number which grows with the size of an inheritance hierarchy.
+	 *
+	 * @return The largest per-entity join count
+	 */
+	public int getMaxEntityTableJoinCount() {
+		return maxEntityTableJoinCount;
+	}
+
+	/**
+	 * The number of inner (and cross) joins
+	 *
+	 * @return The inner join count
+	 */
+	public int getInnerJoinCount() {
+		return innerJoinCount;
+	}
+
+	/**
+	 * The number of left, right and full outer joins
+	 *
+	 * @return The outer join count
+	 */
+	public int getOuterJoinCount() {
+		return outerJoinCount;
+	}
+
+	/**
+	 * The number of derived tables (subselect-mapped entities)
+	 *
+	 * @return The derived table count
+	 */
+	public int getDerivedTableCount() {
+		return derivedTableCount;
+	}
+
+	/**
+	 * The nesting depth of subqueries; {@code 0} if the query has none.  A derived table counts as
+	 * one level of nesting.
+	 *
+	 * @return The subquery depth
+	 */
+	public int getSubqueryDepth() {
+		return subqueryDepth;
+	}
+
+	/**
+	 * The number of JDBC parameters
+	 *
+	 * @return The parameter count
+	 */
+	public int getParameterCount() {
+		return parameterCount;
+	}
+
+	@Override
+	public String toString() {
+		return "PlanComplexity(tableSpaces=" + tableSpaceCount
+				+ ", tableJoins=" + tableJoinCount
+				+ ", maxEntityTableJoins=" + maxEntityTableJoinCount
+				+ ", innerJoins=" + innerJoinCount
+				+ ", outerJoins=" + outerJoinCount
+				+ ", derivedTables=" + derivedTableCount
+				+ ", subqueryDepth=" + subqueryDepth
+				+ ", parameters=" + parameterCount + ")";
+	}
+}
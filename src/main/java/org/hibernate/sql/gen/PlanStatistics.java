@@ -0,0 +1,79 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.gen;
+
+/**
+ * Describes the size of an interpreted plan, as reported to {@link Callback#planGenerated}.  For plans
+ * made up of multiple statements the counts are summed over the statements.
+ *
+ * @author Steve Ebersole
+ */
+public class PlanStatistics {
+	private final int statementCount;
+	private final int tableSpaceCount;
+	private final int tableJoinCount;
+	private final int columnCount;
+	private final int parameterCount;
+
+	public PlanStatistics(
+			int statementCount,
+			int tableSpaceCount,
+			int tableJoinCount,
+			int columnCount,
+			int parameterCount) {
+		this.statementCount = statementCount;
+		this.tableSpaceCount = tableSpaceCount;
+		this.tableJoinCount = tableJoinCount;
+		this.columnCount = columnCount;
+		this.parameterCount = parameterCount;
+	}
+
+	public int getStatementCount() {
+		return statementCount;
+	}
+
+	public int getTableSpaceCount() {
+		return tableSpaceCount;
+	}
+
+	/**
+	 * The number of joined tables : joins between TableSpecificationGroups as well as joins of the
+	 * tables within a group.
+	 *
+	 * @return The table join count
+	 */
+	public int getTableJoinCount() {
+		return tableJoinCount;
+	}
+
+	/**
+	 * The number of columns selected (or, for updates, assigned)
+	 *
+	 * @return The column count
+	 */
+	public int getColumnCount() {
+		return columnCount;
+	}
+
+	/**
+	 * The number of JDBC parameters to bind
+	 *
+	 * @return The parameter count
+	 */
+	public int getParameterCount() {
+		return parameterCount;
+	}
+
+	@Override
+	public String toString() {
+		return "PlanStatistics(statements=" + statementCount
+				+ ", tableSpaces=" + tableSpaceCount
+				+ ", tableJoins=" + tableJoinCount
+				+ ", columns=" + columnCount
+				+ ", parameters=" + parameterCount + ")";
+	}
+}
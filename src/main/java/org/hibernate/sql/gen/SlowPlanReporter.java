@@ -0,0 +1,165 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.gen;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.internal.util.collections.BoundedConcurrentHashMap;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Logs (at WARN) the plans whose {@link PlanComplexity} exceeds any of the configured limits, along with
+ * the query string they were interpreted from.  Each query shape (the plan SQL) is logged only once, so
+ * a complex query executed over and over does not flood the log; the shapes already logged are tracked
+ * in a bounded map, so a shape may be logged again once evicted.
+ * <p/>
+ * The limits are read from the settings named by the {@code MAX_*} constants; a limit of {@code -1}
+ * disables that check.  Used by {@link JdbcSelectPlanCache} for the plans it interprets.
+ *
+ * @author Steve Ebersole
+ */
+public class SlowPlanReporter {
+	private static final Logger log = Logger.getLogger( SlowPlanReporter.class );
+
+	/**
+	 * Setting for the maximum number of table spaces (comma-separated from clause entries).  Defaults to 4
+	 */
+	public static final String MAX_TABLE_SPACES = "hibernate.sql.slow_plan.max_table_spaces";
+
+	/**
+	 * Setting for the maximum total number of table joins.  Defaults to 10
+	 */
+	public static final String MAX_TABLE_JOINS = "hibernate.sql.slow_plan.max_table_joins";
+
+	/**
+	 * Setting for the maximum number of table joins needed for a single entity (see
+	 * {@link PlanComplexity#getMaxEntityTableJoinCount()}).  Defaults to 6
+	 */
+	public static final String MAX_ENTITY_TABLE_JOINS = "hibernate.sql.slow_plan.max_entity_table_joins";
+
+	/**
+	 * Setting for the maximum number of outer joins.  Defaults to 6
+	 */
+	public static final String MAX_OUTER_JOINS = "hibernate.sql.slow_plan.max_outer_joins";
+
+	/**
+	 * Setting for the maximum number of derived tables.  Defaults to 2
+	 */
+	public static final String MAX_DERIVED_TABLES = "hibernate.sql.slow_plan.max_derived_tables";
+
+	/**
+	 * Setting for the maximum subquery depth.  Defaults to 2
+	 */
+	public static final String MAX_SUBQUERY_DEPTH = "hibernate.sql.slow_plan.max_subquery_depth";
+
+	/**
+	 * Setting for the maximum number of JDBC parameters.  Defaults to 500
+	 */
+	public static final String MAX_PARAMETERS = "hibernate.sql.slow_plan.max_parameters";
+
+	private static final int MAX_REPORTED_SHAPES = 1024;
+
+	private final int maxTableSpaces;
+	private final int maxTableJoins;
+	private final int maxEntityTableJoins;
+	private final int maxOuterJoins;
+	private final int maxDerivedTables;
+	private final int maxSubqueryDepth;
+	private final int maxParameters;
+
+	private final BoundedConcurrentHashMap<String,Boolean> reportedShapes;
+	private final AtomicLong reportCount = new AtomicLong();
+
+	public SlowPlanReporter() {
+		this( Collections.emptyMap() );
+	}
+
+	public SlowPlanReporter(Map settings) {
+		this.maxTableSpaces = ConfigurationHelper.getInt( MAX_TABLE_SPACES, settings, 4 );
+		this.maxTableJoins = ConfigurationHelper.getInt( MAX_TABLE_JOINS, settings, 10 );
+		this.maxEntityTableJoins = ConfigurationHelper.getInt( MAX_ENTITY_TABLE_JOINS, settings, 6 );
+		this.maxOuterJoins = ConfigurationHelper.getInt( MAX_OUTER_JOINS, settings, 6 );
+		this.maxDerivedTables = ConfigurationHelper.getInt( MAX_DERIVED_TABLES, settings, 2 );
+		this.maxSubqueryDepth = ConfigurationHelper.getInt( MAX_SUBQUERY_DEPTH, settings, 2 );
+		this.maxParameters = ConfigurationHelper.getInt( MAX_PARAMETERS, settings, 500 );
+
+		this.reportedShapes = new BoundedConcurrentHashMap<String, Boolean>(
+				MAX_REPORTED_SHAPES,
+				20,
+				BoundedConcurrentHashMap.Eviction.LRU
+		);
+	}
+
+	/**
+	 * Report the plan if it exceeds any of the limits and its shape was not reported before
+	 *
+	 * @param queryString The query string (HQL/JPQL) the plan was interpreted from
+	 * @param plan The plan
+	 *
+	 * @return {@code true} if the plan was logged
+	 */
+	public boolean report(String queryString, JdbcSelectPlan plan) {
+		final List<String> exceeded = determineExceededLimits( plan.getComplexity() );
+		if ( exceeded.isEmpty() ) {
+			return false;
+		}
+
+		if ( reportedShapes.putIfAbsent( plan.getSql(), Boolean.TRUE ) != null ) {
+			return false;
+		}
+
+		reportCount.incrementAndGet();
+		log.warnf(
+				"Query plan exceeds complexity limits %s : %s%n    query : %s%n    SQL : %s",
+				exceeded,
+				plan.getComplexity(),
+				queryString,
+				plan.getSql()
+		);
+		return true;
+	}
+
+	/**
+	 * Determine which of the limits the given complexity exceeds
+	 *
+	 * @param complexity The complexity
+	 *
+	 * @return The names of the settings whose limit is exceeded; empty if none
+	 */
+	public List<String> determineExceededLimits(PlanComplexity complexity) {
+		final List<String> exceeded = new ArrayList<String>();
+		check( MAX_TABLE_SPACES, maxTableSpaces, complexity.getTableSpaceCount(), exceeded );
+		check( MAX_TABLE_JOINS, maxTableJoins, complexity.getTableJoinCount(), exceeded );
+		check( MAX_ENTITY_TABLE_JOINS, maxEntityTableJoins, complexity.getMaxEntityTableJoinCount(), exceeded );
+		check( MAX_OUTER_JOINS, maxOuterJoins, complexity.getOuterJoinCount(), exceeded );
+		check( MAX_DERIVED_TABLES, maxDerivedTables, complexity.getDerivedTableCount(), exceeded );
+		check( MAX_SUBQUERY_DEPTH, maxSubqueryDepth, complexity.getSubqueryDepth(), exceeded );
+		check( MAX_PARAMETERS, maxParameters, complexity.getParameterCount(), exceeded );
+		return exceeded;
+	}
+
+	private static void check(String setting, int limit, int value, List<String> exceeded) {
+		if ( limit >= 0 && value > limit ) {
+			exceeded.add( setting );
+		}
+	}
+
+	/**
+	 * The number of plans logged so far
+	 *
+	 * @return The report count
+	 */
+	public long getReportCount() {
+		return reportCount.get();
+	}
+}
@@ -1,11 +1,16 @@
 package org.hibernate.sql.gen;
 
+import org.hibernate.sql.gen.internal.MutationStatementInterpreter;
+import org.hibernate.sql.gen.internal.SelectStatementInterpreter;
 import org.hibernate.sql.orm.QueryOptions;
 import org.hibernate.sqm.query.NonSelectStatement;
 import org.hibernate.sqm.query.SelectStatement;
 
 /**
  * Interprets a Semantic Query Model (SQM) into a group of JdbcOperationPlan objects.
+ * <p/>
+ * Note that the methods here always perform a full interpretation.  Callers executing the same queries
+ * repeatedly should go through a {@link JdbcSelectPlanCache} instead.
  *
  * @author Steve Ebersole
  * @author John O'Hara
@@ -22,11 +27,22 @@ public class SqmJdbcInterpreter {
 	 * @return The JdbcSelectPlan describing the select query execution
 	 */
 	public static JdbcSelectPlan interpret(SelectStatement statement, QueryOptions queryOptions, Callback callback) {
-		throw new NotYetImplementedException();
+		return SelectStatementInterpreter.interpret( statement, queryOptions, callback );
 	}
 
+	/**
+	 * Responsible for interpreting an UPDATE or DELETE statement into the JdbcOperationPlans describing
+	 * how to perform it.  Entities spanning multiple tables need one plan per table unless the
+	 * {@link MultiTableMutationStrategy} in effect performs the mutation as a single statement.
+	 *
+	 * @param statement The UPDATE or DELETE statement to interpret
+	 * @param queryOptions Any options
+	 * @param callback Callback for various
+	 *
+	 * @return The JdbcOperationPlans, in the order they need to be executed
+	 */
 	public static JdbcOperationPlan[] interpret(NonSelectStatement statement, QueryOptions queryOptions, Callback callback) {
-		throw new NotYetImplementedException();
+		return MutationStatementInterpreter.interpret( statement, queryOptions, callback );
 	}
 
 }
@@ -0,0 +1,88 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.gen.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.sql.ast.expression.Expression;
+
+/**
+ * Hash-consing of the SQL AST expressions of a single query : structurally equal expressions are
+ * resolved to one canonical instance, so that each distinct expression exists once in the tree no
+ * matter how often (or in which clauses) it occurs.  Since operands are interned before the expression
+ * built from them, comparing two candidates only ever compares their operands by identity.
+ * <p/>
+ * Expressions occurring more than once are the query's common subexpressions; see
+ * {@link #getCommonSubexpressions()}.
+ *
+ * @author Steve Ebersole
+ */
+public class ExpressionInterner {
+	private final Map<Expression, Expression> canonicalExpressions = new HashMap<Expression, Expression>();
+	private Map<Expression, Integer> reuseCounts;
+
+	/**
+	 * Resolve the canonical instance of the given expression
+	 *
+	 * @param expression The (just built) expression
+	 * @param <T> The expression type
+	 *
+	 * @return The canonical instance; the given expression if it is the first of its kind
+	 */
+	@SuppressWarnings("unchecked")
+	public <T extends Expression> T intern(T expression) {
+		final Expression existing = canonicalExpressions.get( expression );
+		if ( existing == null ) {
+			canonicalExpressions.put( expression, expression );
+			return expression;
+		}
+
+		if ( reuseCounts == null ) {
+			reuseCounts = new LinkedHashMap<Expression, Integer>();
+		}
+		final Integer count = reuseCounts.get( existing );
+		reuseCounts.put( existing, count == null ? 1 : count + 1 );
+		return (T) existing;
+	}
+
+	/**
+	 * Is the given (canonical) expression used more than once in the query?
+	 *
+	 * @param expression The expression
+	 *
+	 * @return {@code true} if the expression is a common subexpression
+	 */
+	public boolean isCommonSubexpression(Expression expression) {
+		return reuseCounts != null && reuseCounts.containsKey( expression );
+	}
+
+	/**
+	 * The expressions used more than once in the query, in order of first reuse
+	 *
+	 * @return The common subexpressions
+	 */
+	public List<Expression> getCommonSubexpressions() {
+		if ( reuseCounts == null ) {
+			return Collections.emptyList();
+		}
+		return new ArrayList<Expression>( reuseCounts.keySet() );
+	}
+
+	/**
+	 * The number of distinct expressions interned
+	 *
+	 * @return The count
+	 */
+	public int size() {
+		return canonicalExpressions.size();
+	}
+}
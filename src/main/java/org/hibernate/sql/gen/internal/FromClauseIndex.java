@@ -6,57 +6,66 @@
  */
 package org.hibernate.sql.gen.internal;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
-import java.util.Stack;
 
+import org.hibernate.sql.ast.expression.ColumnReference;
+import org.hibernate.sql.ast.expression.Expression;
 import org.hibernate.sql.ast.from.FromClause;
+import org.hibernate.sql.ast.from.TableSpecification;
 import org.hibernate.sql.ast.from.TableSpecificationGroup;
+import org.hibernate.sql.ast.from.TableSpecificationJoin;
+import org.hibernate.sql.ast.from.TableSpecificationRegistry;
 import org.hibernate.sqm.query.from.FromElement;
 
 import org.jboss.logging.Logger;
 
 /**
- * An index of various FROM CLAUSE resolutions.
+ * An index of various FROM CLAUSE resolutions.  All lookups are constant time, so interpreting
+ * expressions never needs to scan the from clauses :<ul>
+ *     <li>FromElement to TableSpecificationGroup, and back</li>
+ *     <li>ColumnReference to the TableSpecificationGroup (and so the FromElement) its table belongs to</li>
+ *     <li>FromElement plus attribute name to the already resolved attribute expression</li>
+ * </ul>
+ * FromElements, groups and TableSpecifications are keyed by identity; a cross-referenced group registers
+ * its TableSpecifications with the index as they are added to it.  Not thread-safe; an index is used by
+ * a single interpretation.
  *
  * @author Steve Ebersole
  */
-public class FromClauseIndex {
+public class FromClauseIndex implements TableSpecificationRegistry {
 	private static final Logger log = Logger.getLogger( FromClauseIndex.class );
 
-	private final Stack<FromClauseStackNode> fromClauseStackNodes = new Stack<FromClauseStackNode>();
+	private final Deque<FromClauseStackNode> fromClauseStackNodes = new ArrayDeque<FromClauseStackNode>();
 
 	private final Map<FromElement, TableSpecificationGroup> fromElementTableSpecificationGroupXref =
-			new HashMap<FromElement, TableSpecificationGroup>();
+			new IdentityHashMap<FromElement, TableSpecificationGroup>();
+	private final Map<TableSpecificationGroup, FromElement> tableSpecificationGroupFromElementXref =
+			new IdentityHashMap<TableSpecificationGroup, FromElement>();
+	private final Map<TableSpecification, TableSpecificationGroup> tableSpecificationTableSpecificationGroupXref =
+			new IdentityHashMap<TableSpecification, TableSpecificationGroup>();
+
+	private Map<FromElement, Map<String, Expression>> attributeExpressionXref;
 
 	public void pushFromClause(FromClause fromClause) {
-		final FromClauseStackNode parent = fromClauseStackNodes.peek();
-		FromClauseStackNode node = new FromClauseStackNode( parent, fromClause );
-		fromClauseStackNodes.push( node );
+		fromClauseStackNodes.push( new FromClauseStackNode( fromClauseStackNodes.peek(), fromClause ) );
 	}
 
 	public FromClause popFromClause() {
-		final FromClauseStackNode node = fromClauseStackNodes.pop();
-		if ( node == null ) {
-			return null;
-		}
-		else {
-			return node.getCurrentFromClause();
-		}
+		final FromClauseStackNode node = fromClauseStackNodes.poll();
+		return node == null ? null : node.getCurrentFromClause();
 	}
 
 	public FromClause currentFromClause() {
-		final FromClauseStackNode currentNode = fromClauseStackNodes.peek();
-		if ( currentNode == null ) {
-			return null;
-		}
-		else {
-			return currentNode.getCurrentFromClause();
-		}
+		final FromClauseStackNode node = fromClauseStackNodes.peek();
+		return node == null ? null : node.getCurrentFromClause();
 	}
 
 	public void crossReference(FromElement fromElement, TableSpecificationGroup tableSpecificationGroup) {
-		TableSpecificationGroup old = fromElementTableSpecificationGroupXref.put( fromElement, tableSpecificationGroup );
+		final TableSpecificationGroup old = fromElementTableSpecificationGroupXref.put( fromElement, tableSpecificationGroup );
 		if ( old != null ) {
 			log.debugf(
 					"FromElement [%s] was already cross-referenced to TableSpecificationGroup - old : [%s]; new : [%s]",
@@ -64,7 +73,92 @@ public class FromClauseIndex {
 					old,
 					tableSpecificationGroup
 			);
+			tableSpecificationGroupFromElementXref.remove( old );
+			old.setTableSpecificationRegistry( null );
+			if ( old.getRootTableSpecification() != null ) {
+				tableSpecificationTableSpecificationGroupXref.remove( old.getRootTableSpecification() );
+			}
+			for ( TableSpecificationJoin join : old.getTableSpecificationJoins() ) {
+				tableSpecificationTableSpecificationGroupXref.remove( join.getJoinedTable() );
+			}
+			if ( attributeExpressionXref != null ) {
+				// resolved against the old group
+				attributeExpressionXref.remove( fromElement );
+			}
+		}
+		tableSpecificationGroupFromElementXref.put( tableSpecificationGroup, fromElement );
+		tableSpecificationGroup.setTableSpecificationRegistry( this );
+	}
+
+	@Override
+	public void registerTableSpecification(TableSpecification tableSpecification, TableSpecificationGroup group) {
+		tableSpecificationTableSpecificationGroupXref.put( tableSpecification, group );
+	}
+
+	public TableSpecificationGroup findResolvedTableSpecificationGroup(FromElement fromElement) {
+		return fromElementTableSpecificationGroupXref.get( fromElement );
+	}
+
+	/**
+	 * Reverse of {@link #findResolvedTableSpecificationGroup}
+	 *
+	 * @param tableSpecificationGroup The group
+	 *
+	 * @return The FromElement the group was built for, or {@code null}
+	 */
+	public FromElement findFromElement(TableSpecificationGroup tableSpecificationGroup) {
+		return tableSpecificationGroupFromElementXref.get( tableSpecificationGroup );
+	}
+
+	/**
+	 * Find the group containing the table of the given column reference
+	 *
+	 * @param columnReference The column reference
+	 *
+	 * @return The group, or {@code null} if the column's table is not part of an indexed group
+	 */
+	public TableSpecificationGroup findTableSpecificationGroup(ColumnReference columnReference) {
+		return tableSpecificationTableSpecificationGroupXref.get( columnReference.getTable() );
+	}
+
+	/**
+	 * Find the FromElement whose group contains the table of the given column reference
+	 *
+	 * @param columnReference The column reference
+	 *
+	 * @return The FromElement, or {@code null}
+	 */
+	public FromElement findFromElement(ColumnReference columnReference) {
+		final TableSpecificationGroup group = findTableSpecificationGroup( columnReference );
+		return group == null ? null : findFromElement( group );
+	}
+
+	/**
+	 * Find the previously resolved expression for an attribute (path) of the given FromElement
+	 *
+	 * @param fromElement The FromElement
+	 * @param attributeName The attribute name
+	 *
+	 * @return The resolved expression, or {@code null}
+	 */
+	public Expression findResolvedAttributeExpression(FromElement fromElement, String attributeName) {
+		if ( attributeExpressionXref == null ) {
+			return null;
+		}
+		final Map<String, Expression> attributeExpressions = attributeExpressionXref.get( fromElement );
+		return attributeExpressions == null ? null : attributeExpressions.get( attributeName );
+	}
+
+	public void crossReference(FromElement fromElement, String attributeName, Expression expression) {
+		if ( attributeExpressionXref == null ) {
+			attributeExpressionXref = new IdentityHashMap<FromElement, Map<String, Expression>>();
+		}
+		Map<String, Expression> attributeExpressions = attributeExpressionXref.get( fromElement );
+		if ( attributeExpressions == null ) {
+			attributeExpressions = new HashMap<String, Expression>();
+			attributeExpressionXref.put( fromElement, attributeExpressions );
 		}
+		attributeExpressions.put( attributeName, expression );
 	}
 
 	public static class FromClauseStackNode {
@@ -1,85 +1,59 @@
 package org.hibernate.sql.gen.internal;
 
 import org.hibernate.sql.gen.JdbcOperationPlan;
-import org.hibernate.sql.gen.NotYetImplementedException;
 import org.hibernate.sql.gen.ParameterBinder;
 import org.hibernate.sql.gen.QueryOptionBinder;
+import org.hibernate.sql.orm.QueryParameterMetadata;
 
 import java.util.List;
+import java.util.Set;
 
 /**
+ * @author Steve Ebersole
  * @author John O'Hara
  */
 public class JdbcOperationPlanImpl implements JdbcOperationPlan {
+	private final String sql;
+	private final List<ParameterBinder> parameterBinders;
+	private final List<QueryOptionBinder> queryOptionBinders;
+	private final QueryParameterMetadata parameterMetadata;
+	private final Set<String> querySpaces;
+
+	public JdbcOperationPlanImpl(
+			String sql,
+			List<ParameterBinder> parameterBinders,
+			List<QueryOptionBinder> queryOptionBinders,
+			QueryParameterMetadata parameterMetadata,
+			Set<String> querySpaces) {
+		this.sql = sql;
+		this.parameterBinders = parameterBinders;
+		this.queryOptionBinders = queryOptionBinders;
+		this.parameterMetadata = parameterMetadata;
+		this.querySpaces = querySpaces;
+	}
+
 	@Override
 	public String getSql() {
-		throw new NotYetImplementedException();
+		return sql;
 	}
 
 	@Override
 	public List<ParameterBinder> getParameterBinders() {
-		throw new NotYetImplementedException();
+		return parameterBinders;
 	}
 
 	@Override
 	public List<QueryOptionBinder> getQueryOptionBinders() {
-		throw new NotYetImplementedException();
+		return queryOptionBinders;
+	}
+
+	@Override
+	public QueryParameterMetadata getParameterMetadata() {
+		return parameterMetadata;
+	}
+
+	@Override
+	public Set<String> getQuerySpaces() {
+		return querySpaces;
 	}
-//
-//	public void generateSqlPlan() {
-//
-//		StringBuilder sqlBuilder = new StringBuilder(  );
-//
-//		sqlBuilder.append( generateSelectClause() );
-//
-//		sqlBuilder.append( generateFromClause());
-//
-//		if(selectStatement.getQuerySpec().getWhereClause() != null){
-//
-//			sqlBuilder.append( generateWhereClause());
-//		}
-//
-//		sqlStatments.add( sqlBuilder.toString() );
-//
-//	}
-//
-//	private String generateSelectClause() {
-//		StringBuilder selectStatementBuilder = new StringBuilder();
-//
-////		TODO: remove hard coded literal
-//		selectStatementBuilder.append( "select  ");
-//
-//		for (Selection selection : selectStatement.getQuerySpec().getSelectClause().getSelections()) {
-//			selectStatementBuilder.append( selection.getExpression().getTypeDescriptor().getTypeName() );
-//		}
-//		return selectStatementBuilder.toString();
-//
-//	}
-//
-//	private String generateFromClause() {
-//
-//		StringBuilder fromClauseBuilder = new StringBuilder();
-//
-////		TODO: remove hard coded literal
-//		fromClauseBuilder.append( " from " );
-//
-//		for (FromElementSpace fromElementSpace : selectStatement.getQuerySpec().getFromClause().getFromElementSpaces()) {
-////			TODO: map to table name
-//			fromClauseBuilder.append( fromElementSpace.getRoot().getEntityName());
-//		}
-//
-//		return fromClauseBuilder.toString();
-//
-//	}
-//
-//	private String generateWhereClause() {
-//		StringBuilder wherelauseBuilder = new StringBuilder();
-//
-////		TODO: remove hard coded literal
-//		wherelauseBuilder.append( " where " );
-//
-//		wherelauseBuilder.append( PredicateGenerator.generatePredicateClause( selectStatement.getQuerySpec().getWhereClause().getPredicate() ) );
-//
-//		return wherelauseBuilder.toString();
-//	}
 }
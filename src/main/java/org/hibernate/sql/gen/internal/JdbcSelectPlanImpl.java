@@ -1,11 +1,14 @@
 package org.hibernate.sql.gen.internal;
 
 import java.util.List;
+import java.util.Set;
 
 import org.hibernate.loader.plan.spi.Return;
 import org.hibernate.sql.gen.JdbcSelectPlan;
 import org.hibernate.sql.gen.ParameterBinder;
+import org.hibernate.sql.gen.PlanComplexity;
 import org.hibernate.sql.gen.QueryOptionBinder;
+import org.hibernate.sql.orm.QueryParameterMetadata;
 
 /**
  * @author Steve Ebersole
@@ -15,18 +18,27 @@ public class JdbcSelectPlanImpl implements JdbcSelectPlan {
 	private final String sql;
 	private final List<ParameterBinder> parameterBinders;
 	private final List<QueryOptionBinder> queryOptionBinders;
+	private final QueryParameterMetadata parameterMetadata;
+	private final Set<String> querySpaces;
 	private final List<Return> returnDescriptors;
+	private final PlanComplexity complexity;
 
 	public JdbcSelectPlanImpl(
 			String sql,
 			List<ParameterBinder> parameterBinders,
 			List<QueryOptionBinder> queryOptionBinders,
-			List<Return> returnDescriptors) {
+			QueryParameterMetadata parameterMetadata,
+			Set<String> querySpaces,
+			List<Return> returnDescriptors,
+			PlanComplexity complexity) {
 
 		this.sql = sql;
 		this.parameterBinders = parameterBinders;
 		this.queryOptionBinders = queryOptionBinders;
+		this.parameterMetadata = parameterMetadata;
+		this.querySpaces = querySpaces;
 		this.returnDescriptors = returnDescriptors;
+		this.complexity = complexity;
 	}
 
 	@Override
@@ -34,6 +46,11 @@ public class JdbcSelectPlanImpl implements JdbcSelectPlan {
 		return returnDescriptors;
 	}
 
+	@Override
+	public PlanComplexity getComplexity() {
+		return complexity;
+	}
+
 	@Override
 	public String getSql() {
 		return sql;
@@ -48,4 +65,14 @@ public class JdbcSelectPlanImpl implements JdbcSelectPlan {
 	public List<QueryOptionBinder> getQueryOptionBinders() {
 		return queryOptionBinders;
 	}
+
+	@Override
+	public QueryParameterMetadata getParameterMetadata() {
+		return parameterMetadata;
+	}
+
+	@Override
+	public Set<String> getQuerySpaces() {
+		return querySpaces;
+	}
 }
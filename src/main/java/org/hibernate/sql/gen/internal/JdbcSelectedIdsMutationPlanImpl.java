@@ -0,0 +1,47 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.gen.internal;
+
+import java.util.List;
+import java.util.Set;
+
+import org.hibernate.sql.gen.JdbcOperationPlan;
+import org.hibernate.sql.gen.JdbcSelectedIdsMutationPlan;
+import org.hibernate.sql.gen.ParameterBinder;
+import org.hibernate.sql.gen.QueryOptionBinder;
+import org.hibernate.sql.orm.QueryParameterMetadata;
+
+/**
+ * @author Steve Ebersole
+ */
+public class JdbcSelectedIdsMutationPlanImpl extends JdbcOperationPlanImpl implements JdbcSelectedIdsMutationPlan {
+	private final int idColumnCount;
+	private final List<JdbcOperationPlan> tableMutationPlans;
+
+	public JdbcSelectedIdsMutationPlanImpl(
+			String idSelectionSql,
+			List<ParameterBinder> parameterBinders,
+			List<QueryOptionBinder> queryOptionBinders,
+			QueryParameterMetadata parameterMetadata,
+			Set<String> querySpaces,
+			int idColumnCount,
+			List<JdbcOperationPlan> tableMutationPlans) {
+		super( idSelectionSql, parameterBinders, queryOptionBinders, parameterMetadata, querySpaces );
+		this.idColumnCount = idColumnCount;
+		this.tableMutationPlans = tableMutationPlans;
+	}
+
+	@Override
+	public int getIdColumnCount() {
+		return idColumnCount;
+	}
+
+	@Override
+	public List<JdbcOperationPlan> getTableMutationPlans() {
+		return tableMutationPlans;
+	}
+}
@@ -0,0 +1,606 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.gen.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.hibernate.AssertionFailure;
+import org.hibernate.sql.SqlTreeException;
+import org.hibernate.sql.ast.QuerySpec;
+import org.hibernate.sql.ast.SqlAstWalker;
+import org.hibernate.sql.ast.expression.AggregateFunction;
+import org.hibernate.sql.ast.expression.BinaryArithmeticExpression;
+import org.hibernate.sql.ast.expression.CaseSearchedExpression;
+import org.hibernate.sql.ast.expression.ColumnReference;
+import org.hibernate.sql.ast.expression.CountStarFunction;
+import org.hibernate.sql.ast.expression.Expression;
+import org.hibernate.sql.ast.expression.NamedParameter;
+import org.hibernate.sql.ast.expression.PositionalParameter;
+import org.hibernate.sql.ast.expression.QueryLiteral;
+import org.hibernate.sql.ast.expression.SelectionReference;
+import org.hibernate.sql.ast.expression.SqlTuple;
+import org.hibernate.sql.ast.from.EntityTableSpecificationGroup;
+import org.hibernate.sql.ast.from.TableSpecificationJoin;
+import org.hibernate.sql.ast.mutation.ColumnAssignment;
+import org.hibernate.sql.ast.mutation.MultiTableMutation;
+import org.hibernate.sql.ast.mutation.TableDelete;
+import org.hibernate.sql.ast.mutation.TableMutation;
+import org.hibernate.sql.ast.mutation.TableUpdate;
+import org.hibernate.sql.ast.predicate.BetweenPredicate;
+import org.hibernate.sql.ast.predicate.Junction;
+import org.hibernate.sql.ast.predicate.LikePredicate;
+import org.hibernate.sql.ast.predicate.NegatedPredicate;
+import org.hibernate.sql.ast.predicate.NullnessPredicate;
+import org.hibernate.sql.ast.predicate.Predicate;
+import org.hibernate.sql.ast.predicate.RelationalPredicate;
+import org.hibernate.sql.ast.select.Selection;
+import org.hibernate.sql.gen.Callback;
+import org.hibernate.sql.gen.InterpretationPhase;
+import org.hibernate.sql.gen.JdbcOperationPlan;
+import org.hibernate.sql.gen.JdbcSelectedIdsMutationPlan;
+import org.hibernate.sql.gen.MultiTableMutationStrategy;
+import org.hibernate.sql.gen.ParameterBinder;
+import org.hibernate.sql.gen.PlanComplexity;
+import org.hibernate.sql.gen.PlanStatistics;
+import org.hibernate.sql.gen.internal.binder.ParameterBinders;
+import org.hibernate.sql.orm.QueryOptions;
+import org.hibernate.sql.orm.QueryParameterMetadata;
+import org.hibernate.sql.orm.internal.mapping.EntityPersisterMetadata;
+import org.hibernate.sql.orm.internal.mapping.ImprovedEntityPersister;
+import org.hibernate.sqm.query.DeleteStatement;
+import org.hibernate.sqm.query.NonSelectStatement;
+import org.hibernate.sqm.query.UpdateStatement;
+import org.hibernate.sqm.query.expression.AttributeReferenceExpression;
+import org.hibernate.sqm.query.from.RootEntityFromElement;
+import org.hibernate.sqm.query.predicate.WhereClause;
+import org.hibernate.sqm.query.set.Assignment;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Interprets an UPDATE or DELETE statement into the JdbcOperationPlans performing it against each of the
+ * entity's tables.
+ * <p/>
+ * The rows to mutate are identified by an id selection query (the statement's restriction applied to
+ * the entity's table group); each table mutation is restricted to the rows whose key is part of that
+ * selection.  No id table is used - how the id selection is applied depends on the
+ * {@link MultiTableMutationStrategy}:<ul>
+ *     <li>
+ *         {@link MultiTableMutationStrategy#IN_SUBQUERY} - one plan per table, each with the id selection
+ *         as an IN subquery.  Since each statement re-evaluates the id selection, no table mutation may
+ *         change what a later statement's id selection selects; the table mutations are ordered to avoid
+ *         that where possible, and {@link MultiTableMutationStrategy#SELECTED_IDS} is used where it is not
+ *         (e.g. deleting a JOINED subclass, whose id selection needs the subclass table deleted first).
+ *     </li>
+ *     <li>
+ *         {@link MultiTableMutationStrategy#SELECTED_IDS} - a single {@link JdbcSelectedIdsMutationPlan}
+ *         selecting the ids once, before any table mutation is performed per id
+ *     </li>
+ *     <li>
+ *         {@link MultiTableMutationStrategy#CTE} - a single plan selecting the ids once in a CTE
+ *     </li>
+ * </ul>
+ *
+ * @author Steve Ebersole
+ */
+public class MutationStatementInterpreter extends SelectStatementInterpreter {
+	private static final Logger log = Logger.getLogger( MutationStatementInterpreter.class );
+
+	/**
+	 * Interpret the statement using the MultiTableMutationStrategy configured for (or best supported by)
+	 * the SessionFactory.
+	 *
+	 * @param statement The UPDATE or DELETE statement
+	 * @param queryOptions Any options
+	 * @param callback Callback for various
+	 *
+	 * @return The plans, in the order they need to be executed
+	 */
+	public static JdbcOperationPlan[] interpret(
+			NonSelectStatement statement,
+			QueryOptions queryOptions,
+			Callback callback) {
+		return interpret( statement, queryOptions, callback, null );
+	}
+
+	/**
+	 * Interpret the statement using the given MultiTableMutationStrategy
+	 *
+	 * @param statement The UPDATE or DELETE statement
+	 * @param queryOptions Any options
+	 * @param callback Callback for various
+	 * @param strategy The strategy to use; {@code null} indicates to use the one configured for (or best
+	 * supported by) the SessionFactory
+	 *
+	 * @return The plans, in the order they need to be executed
+	 */
+	public static JdbcOperationPlan[] interpret(
+			NonSelectStatement statement,
+			QueryOptions queryOptions,
+			Callback callback,
+			MultiTableMutationStrategy strategy) {
+		final MutationStatementInterpreter walker = new MutationStatementInterpreter( queryOptions, callback );
+
+		final MultiTableMutation mutation;
+		if ( statement instanceof UpdateStatement ) {
+			mutation = walker.visitUpdateStatement( (UpdateStatement) statement );
+		}
+		else if ( statement instanceof DeleteStatement ) {
+			mutation = walker.visitDeleteStatement( (DeleteStatement) statement );
+		}
+		else {
+			throw new AssertionFailure( "Unexpected NonSelectStatement type : " + statement.getClass().getName() );
+		}
+
+		if ( strategy == null ) {
+			strategy = MultiTableMutationStrategy.resolve(
+					walker.getSessionFactory().getProperties().get( MultiTableMutationStrategy.STRATEGY ),
+					walker.getDialect()
+			);
+		}
+
+		final JdbcOperationPlan[] plans = walker.buildOperationPlans( mutation, strategy );
+
+		if ( callback != null ) {
+			final StringBuilder queryShape = new StringBuilder();
+			int parameterCount = 0;
+			for ( JdbcOperationPlan plan : plans ) {
+				if ( queryShape.length() > 0 ) {
+					queryShape.append( "; " );
+				}
+				queryShape.append( plan.getSql() );
+				parameterCount += plan.getParameterBinders().size();
+			}
+
+			final QuerySpec idSelection = mutation.getIdSelection();
+			final PlanComplexity idSelectionComplexity = PlanComplexityAnalyzer.analyze( idSelection );
+			walker.getPhaseTimer().report( callback, queryShape.toString() );
+			callback.planGenerated(
+					queryShape.toString(),
+					new PlanStatistics(
+							plans.length,
+							idSelectionComplexity.getTableSpaceCount(),
+							idSelectionComplexity.getTableJoinCount(),
+							idSelection.getSelectClause().getSelections().size(),
+							parameterCount
+					)
+			);
+		}
+
+		return plans;
+	}
+
+	// describes why the mutation cannot be performed using MultiTableMutationStrategy#IN_SUBQUERY, if it cannot
+	private String inSubqueryConflict;
+
+	protected MutationStatementInterpreter(QueryOptions queryOptions, Callback callback) {
+		super( queryOptions, callback );
+	}
+
+
+	// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// walker
+
+	@Override
+	public MultiTableMutation visitDeleteStatement(DeleteStatement statement) {
+		final RootEntityFromElement root = statement.getEntityFromElement();
+		final ImprovedEntityPersister persister = resolvePersister( root );
+		final EntityPersisterMetadata metadata = persister.getMetadata();
+
+		final QuerySpec idSelection = new QuerySpec();
+		final EntityTableSpecificationGroup group;
+		getFromClauseIndex().pushFromClause( idSelection.getFromClause() );
+		try {
+			final long start = getPhaseTimer().start();
+			group = applyIdSelection( root, idSelection, metadata );
+			getPhaseTimer().stop( InterpretationPhase.FROM_CLAUSE, start );
+
+			applyRestriction( idSelection, statement.getWhereClause() );
+		}
+		finally {
+			getFromClauseIndex().popFromClause();
+		}
+
+		final MultiTableMutation mutation = new MultiTableMutation(
+				metadata.getEntityName(),
+				idSelection,
+				metadata.getIdentifierColumnNames()
+		);
+
+		// delete the rows of the subclass (and secondary) tables before the rows they refer to, which
+		// means ending with the root table
+		final Set<String> idSelectionTables = collectTableExpressions( group );
+		for ( int i = metadata.getTableCount() - 1; i >= 0; i-- ) {
+			final String tableExpression = resolveMutableTableExpression( metadata, i );
+			if ( i > 0 && idSelectionTables.contains( tableExpression ) ) {
+				inSubqueryConflict = "the id selection refers to table [" + tableExpression
+						+ "] whose rows are deleted before those of the root table";
+			}
+			mutation.addTableMutation( new TableDelete( tableExpression, metadata.getTableKeyColumns( i ) ) );
+		}
+
+		return mutation;
+	}
+
+	@Override
+	public MultiTableMutation visitUpdateStatement(UpdateStatement statement) {
+		final RootEntityFromElement root = statement.getEntityFromElement();
+		final ImprovedEntityPersister persister = resolvePersister( root );
+		final EntityPersisterMetadata metadata = persister.getMetadata();
+
+		final QuerySpec idSelection = new QuerySpec();
+		final TableUpdate[] tableUpdates = new TableUpdate[ metadata.getTableCount() ];
+		getFromClauseIndex().pushFromClause( idSelection.getFromClause() );
+		try {
+			long start = getPhaseTimer().start();
+			applyIdSelection( root, idSelection, metadata );
+			getPhaseTimer().stop( InterpretationPhase.FROM_CLAUSE, start );
+
+			// the SET clause is timed as the SELECT_CLAUSE phase
+			start = getPhaseTimer().start();
+			for ( Assignment assignment : statement.getSetClause().getAssignments() ) {
+				applyAssignment( assignment, metadata, tableUpdates );
+			}
+			getPhaseTimer().stop( InterpretationPhase.SELECT_CLAUSE, start );
+
+			applyRestriction( idSelection, statement.getWhereClause() );
+		}
+		finally {
+			getFromClauseIndex().popFromClause();
+		}
+
+		final MultiTableMutation mutation = new MultiTableMutation(
+				metadata.getEntityName(),
+				idSelection,
+				metadata.getIdentifierColumnNames()
+		);
+
+		// an update of a column the restriction refers to changes the rows selected by the id selection
+		// of any later statement, so it needs to be performed last
+		final Set<String> restrictionColumns = collectColumnReferences( idSelection.getWhereClauseRestrictions() );
+		TableUpdate restrictingUpdate = null;
+		for ( TableUpdate tableUpdate : tableUpdates ) {
+			if ( tableUpdate == null ) {
+				continue;
+			}
+
+			if ( updatesAnyOf( tableUpdate, restrictionColumns ) ) {
+				if ( restrictingUpdate != null ) {
+					inSubqueryConflict = "the restriction refers to updated columns of both table ["
+							+ restrictingUpdate.getTableExpression() + "] and table [" + tableUpdate.getTableExpression() + "]";
+					mutation.addTableMutation( restrictingUpdate );
+				}
+				restrictingUpdate = tableUpdate;
+			}
+			else {
+				mutation.addTableMutation( tableUpdate );
+			}
+		}
+		if ( restrictingUpdate != null ) {
+			mutation.addTableMutation( restrictingUpdate );
+		}
+
+		return mutation;
+	}
+
+	private EntityTableSpecificationGroup applyIdSelection(
+			RootEntityFromElement root,
+			QuerySpec idSelection,
+			EntityPersisterMetadata metadata) {
+		final EntityTableSpecificationGroup group = applyRootEntityFromElement(
+				root,
+				idSelection.getFromClause().makeTableSpace()
+		);
+		for ( int ordinal : metadata.getIdentifierColumnOrdinals() ) {
+			idSelection.getSelectClause().selection(
+					new Selection( group.getRootTableSpecification().getColumnReference( ordinal ), null )
+			);
+		}
+		return group;
+	}
+
+	private void applyRestriction(QuerySpec idSelection, WhereClause whereClause) {
+		if ( whereClause != null ) {
+			final long start = getPhaseTimer().start();
+			idSelection.setWhereClauseRestrictions( visitWhereClause( whereClause ) );
+			getPhaseTimer().stop( InterpretationPhase.WHERE_CLAUSE, start );
+		}
+	}
+
+	private void applyAssignment(Assignment assignment, EntityPersisterMetadata metadata, TableUpdate[] tableUpdates) {
+		final AttributeReferenceExpression stateField = assignment.getStateField();
+		final String attributeName = stateField.getAttributeDescriptor().getName();
+
+		final int attributePosition = metadata.locateAttribute( attributeName );
+		if ( attributePosition < 0 ) {
+			throw new SqlTreeException(
+					"Attribute [" + attributeName + "] of entity [" + metadata.getEntityName() + "] cannot be assigned"
+			);
+		}
+
+		final String[] columnNames = metadata.getAttributeColumnNames( attributePosition );
+		if ( columnNames.length != 1 || columnNames[0] == null ) {
+			// todo : multi-column attributes (components, composite FKs) need SqlTuple values
+			throw new SqlTreeException(
+					"Assignment of multi-column or formula attribute [" + attributeName + "] is not supported"
+			);
+		}
+
+		final int tableNumber = metadata.getAttributeTableNumber( attributePosition );
+		if ( tableUpdates[tableNumber] == null ) {
+			tableUpdates[tableNumber] = new TableUpdate(
+					resolveMutableTableExpression( metadata, tableNumber ),
+					metadata.getTableKeyColumns( tableNumber )
+			);
+		}
+
+		tableUpdates[tableNumber].addAssignment(
+				new ColumnAssignment( columnNames[0], interpretOperand( assignment.getValue(), stateField ) )
+		);
+	}
+
+	private static String resolveMutableTableExpression(EntityPersisterMetadata metadata, int tableNumber) {
+		final String tableExpression = metadata.getTableExpression( tableNumber );
+		if ( tableExpression.startsWith( "(" ) ) {
+			throw new SqlTreeException(
+					"Entity [" + metadata.getEntityName() + "] is mapped to a derived table (subselect) and cannot be mutated"
+			);
+		}
+		return tableExpression;
+	}
+
+	private JdbcOperationPlan[] buildOperationPlans(MultiTableMutation mutation, MultiTableMutationStrategy strategy) {
+		final QueryParameterMetadata parameterMetadata = getParameterMetadata();
+
+		if ( strategy == MultiTableMutationStrategy.CTE ) {
+			final long start = getPhaseTimer().start();
+			final SqlAstRenderer renderer = SqlAstRenderer.renderCteMutation( mutation, getDialect() );
+			getPhaseTimer().stop( InterpretationPhase.RENDERING, start );
+			final Set<String> querySpaces = new HashSet<String>();
+			for ( TableMutation tableMutation : mutation.getTableMutations() ) {
+				querySpaces.add( tableMutation.getTableExpression() );
+			}
+			return new JdbcOperationPlan[] {
+					makeOperationPlan( renderer, parameterMetadata, Collections.unmodifiableSet( querySpaces ) )
+			};
+		}
+
+		if ( strategy == MultiTableMutationStrategy.IN_SUBQUERY && inSubqueryConflict != null ) {
+			log.debugf(
+					"Mutation of entity [%s] cannot be performed using strategy %s (%s); using %s",
+					mutation.getEntityName(),
+					MultiTableMutationStrategy.IN_SUBQUERY,
+					inSubqueryConflict,
+					MultiTableMutationStrategy.SELECTED_IDS
+			);
+			strategy = MultiTableMutationStrategy.SELECTED_IDS;
+		}
+
+		if ( strategy == MultiTableMutationStrategy.SELECTED_IDS ) {
+			return new JdbcOperationPlan[] { buildSelectedIdsPlan( mutation, parameterMetadata ) };
+		}
+
+		final List<TableMutation> tableMutations = mutation.getTableMutations();
+		final JdbcOperationPlan[] plans = new JdbcOperationPlan[ tableMutations.size() ];
+		for ( int i = 0; i < plans.length; i++ ) {
+			final long start = getPhaseTimer().start();
+			final SqlAstRenderer renderer = SqlAstRenderer.renderTableMutation(
+					tableMutations.get( i ),
+					mutation.getIdSelection(),
+					getDialect()
+			);
+			getPhaseTimer().stop( InterpretationPhase.RENDERING, start );
+			plans[i] = makeOperationPlan(
+					renderer,
+					parameterMetadata,
+					Collections.singleton( tableMutations.get( i ).getTableExpression() )
+			);
+		}
+
+		log.debugf(
+				"Interpreted mutation of entity [%s] into %s statements using strategy %s",
+				mutation.getEntityName(),
+				plans.length,
+				strategy
+		);
+
+		return plans;
+	}
+
+	private JdbcSelectedIdsMutationPlan buildSelectedIdsPlan(
+			MultiTableMutation mutation,
+			QueryParameterMetadata parameterMetadata) {
+		long start = getPhaseTimer().start();
+		final SqlAstRenderer idSelectionRenderer = SqlAstRenderer.renderIdSelection( mutation.getIdSelection(), getDialect() );
+		getPhaseTimer().stop( InterpretationPhase.RENDERING, start );
+
+		final List<JdbcOperationPlan> tableMutationPlans = new ArrayList<JdbcOperationPlan>();
+		final Set<String> querySpaces = new HashSet<String>();
+		for ( TableMutation tableMutation : mutation.getTableMutations() ) {
+			start = getPhaseTimer().start();
+			final SqlAstRenderer renderer = SqlAstRenderer.renderKeyedTableMutation( tableMutation, getDialect() );
+			getPhaseTimer().stop( InterpretationPhase.RENDERING, start );
+			tableMutationPlans.add(
+					makeOperationPlan(
+							renderer,
+							parameterMetadata,
+							Collections.singleton( tableMutation.getTableExpression() )
+					)
+			);
+			querySpaces.add( tableMutation.getTableExpression() );
+		}
+
+		start = getPhaseTimer().start();
+		final List<ParameterBinder> parameterBinders = ParameterBinders.buildParameterBinders(
+				idSelectionRenderer.getParameterExpressions()
+		);
+		getPhaseTimer().stop( InterpretationPhase.BINDER_GENERATION, start );
+
+		return new JdbcSelectedIdsMutationPlanImpl(
+				idSelectionRenderer.getSql(),
+				parameterBinders,
+				getOptionBinders(),
+				parameterMetadata,
+				Collections.unmodifiableSet( querySpaces ),
+				mutation.getIdColumnNames().length,
+				Collections.unmodifiableList( tableMutationPlans )
+		);
+	}
+
+	private JdbcOperationPlan makeOperationPlan(
+			SqlAstRenderer renderer,
+			QueryParameterMetadata parameterMetadata,
+			Set<String> querySpaces) {
+		final long start = getPhaseTimer().start();
+		final List<ParameterBinder> parameterBinders = ParameterBinders.buildParameterBinders(
+				renderer.getParameterExpressions()
+		);
+		getPhaseTimer().stop( InterpretationPhase.BINDER_GENERATION, start );
+
+		return new JdbcOperationPlanImpl(
+				renderer.getSql(),
+				parameterBinders,
+				getOptionBinders(),
+				parameterMetadata,
+				querySpaces
+		);
+	}
+
+	private static Set<String> collectTableExpressions(EntityTableSpecificationGroup group) {
+		final Set<String> tableExpressions = new HashSet<String>();
+		tableExpressions.add( group.getRootTableSpecification().getTableExpression() );
+		for ( TableSpecificationJoin join : group.getTableSpecificationJoins() ) {
+			tableExpressions.add( join.getJoinedTable().getTableExpression() );
+		}
+		return tableExpressions;
+	}
+
+	private static Set<String> collectColumnReferences(Predicate predicate) {
+		final ColumnReferenceCollector collector = new ColumnReferenceCollector();
+		if ( predicate != null ) {
+			predicate.accept( collector );
+		}
+		return collector.qualifiedColumnNames;
+	}
+
+	private static boolean updatesAnyOf(TableUpdate tableUpdate, Set<String> qualifiedColumnNames) {
+		for ( ColumnAssignment assignment : tableUpdate.getAssignments() ) {
+			if ( qualifiedColumnNames.contains( qualify( tableUpdate.getTableExpression(), assignment.getColumnName() ) ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static String qualify(String tableExpression, String columnName) {
+		return tableExpression + '.' + columnName;
+	}
+
+	/**
+	 * Collects the (table qualified) names of the columns referenced by a predicate
+	 */
+	private static class ColumnReferenceCollector implements SqlAstWalker {
+		private final Set<String> qualifiedColumnNames = new HashSet<String>();
+
+		@Override
+		public void visitColumnReference(ColumnReference columnReference) {
+			qualifiedColumnNames.add( qualify( columnReference.getTable().getTableExpression(), columnReference.getName() ) );
+		}
+
+		@Override
+		public void visitQueryLiteral(QueryLiteral queryLiteral) {
+		}
+
+		@Override
+		public void visitNamedParameter(NamedParameter namedParameter) {
+		}
+
+		@Override
+		public void visitPositionalParameter(PositionalParameter positionalParameter) {
+		}
+
+		@Override
+		public void visitBinaryArithmeticExpression(BinaryArithmeticExpression expression) {
+			expression.getLeftHandOperand().accept( this );
+			expression.getRightHandOperand().accept( this );
+		}
+
+		@Override
+		public void visitAggregateFunction(AggregateFunction aggregateFunction) {
+			aggregateFunction.getArgument().accept( this );
+		}
+
+		@Override
+		public void visitCountStarFunction(CountStarFunction function) {
+		}
+
+		@Override
+		public void visitTuple(SqlTuple tuple) {
+			for ( Expression expression : tuple.getExpressions() ) {
+				expression.accept( this );
+			}
+		}
+
+		@Override
+		public void visitSelectionReference(SelectionReference selectionReference) {
+		}
+
+		@Override
+		public void visitCaseSearchedExpression(CaseSearchedExpression expression) {
+			for ( CaseSearchedExpression.WhenFragment whenFragment : expression.getWhenFragments() ) {
+				whenFragment.getPredicate().accept( this );
+				whenFragment.getResult().accept( this );
+			}
+			if ( expression.getOtherwise() != null ) {
+				expression.getOtherwise().accept( this );
+			}
+		}
+
+		@Override
+		public void visitJunction(Junction junction) {
+			for ( Predicate predicate : junction.getPredicates() ) {
+				predicate.accept( this );
+			}
+		}
+
+		@Override
+		public void visitNegatedPredicate(NegatedPredicate predicate) {
+			predicate.getPredicate().accept( this );
+		}
+
+		@Override
+		public void visitRelationalPredicate(RelationalPredicate predicate) {
+			predicate.getLeftHandExpression().accept( this );
+			predicate.getRightHandExpression().accept( this );
+		}
+
+		@Override
+		public void visitNullnessPredicate(NullnessPredicate predicate) {
+			predicate.getExpression().accept( this );
+		}
+
+		@Override
+		public void visitBetweenPredicate(BetweenPredicate predicate) {
+			predicate.getExpression().accept( this );
+			predicate.getLowerBound().accept( this );
+			predicate.getUpperBound().accept( this );
+		}
+
+		@Override
+		public void visitLikePredicate(LikePredicate predicate) {
+			predicate.getMatchExpression().accept( this );
+			predicate.getPattern().accept( this );
+			if ( predicate.getEscapeCharacter() != null ) {
+				predicate.getEscapeCharacter().accept( this );
+			}
+		}
+	}
+}
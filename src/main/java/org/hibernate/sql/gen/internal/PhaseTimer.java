@@ -0,0 +1,73 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.gen.internal;
+
+import org.hibernate.sql.gen.Callback;
+import org.hibernate.sql.gen.InterpretationPhase;
+
+/**
+ * Accumulates the time spent in each {@link InterpretationPhase} of a single interpretation, for
+ * reporting to the {@link Callback} once the plan (and so the query shape) is known.  A disabled timer
+ * (no Callback) never reads the clock.
+ * <p/>
+ * Phases may nest (e.g. the from clause of a subquery in the where clause); the time of the nested phase
+ * is then counted in both.
+ *
+ * @author Steve Ebersole
+ */
+public class PhaseTimer {
+	private final boolean enabled;
+	private final long[] phaseNanos = new long[ InterpretationPhase.values().length ];
+	private final boolean[] phaseEntered = new boolean[ InterpretationPhase.values().length ];
+
+	public PhaseTimer(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Start timing a phase
+	 *
+	 * @return The start time, to pass to {@link #stop}
+	 */
+	public long start() {
+		return enabled ? System.nanoTime() : 0L;
+	}
+
+	/**
+	 * Stop timing a phase
+	 *
+	 * @param phase The phase
+	 * @param start The start time, as returned by {@link #start}
+	 */
+	public void stop(InterpretationPhase phase, long start) {
+		if ( enabled ) {
+			phaseNanos[ phase.ordinal() ] += System.nanoTime() - start;
+			phaseEntered[ phase.ordinal() ] = true;
+		}
+	}
+
+	/**
+	 * Report the accumulated time of each entered phase
+	 *
+	 * @param callback The callback to report to
+	 * @param queryShape The query shape
+	 */
+	public void report(Callback callback, String queryShape) {
+		if ( !enabled ) {
+			return;
+		}
+		for ( InterpretationPhase phase : InterpretationPhase.values() ) {
+			if ( phaseEntered[ phase.ordinal() ] ) {
+				callback.phaseCompleted( queryShape, phase, phaseNanos[ phase.ordinal() ] );
+			}
+		}
+	}
+}
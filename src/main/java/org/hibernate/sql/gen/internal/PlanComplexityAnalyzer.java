@@ -0,0 +1,276 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.gen.internal;
+
+import org.hibernate.sql.ast.QuerySpec;
+import org.hibernate.sql.ast.SelectQuery;
+import org.hibernate.sql.ast.SqlAstWalker;
+import org.hibernate.sql.ast.expression.AggregateFunction;
+import org.hibernate.sql.ast.expression.BinaryArithmeticExpression;
+import org.hibernate.sql.ast.expression.CaseSearchedExpression;
+import org.hibernate.sql.ast.expression.ColumnReference;
+import org.hibernate.sql.ast.expression.CountStarFunction;
+import org.hibernate.sql.ast.expression.Expression;
+import org.hibernate.sql.ast.expression.NamedParameter;
+import org.hibernate.sql.ast.expression.PositionalParameter;
+import org.hibernate.sql.ast.expression.QueryLiteral;
+import org.hibernate.sql.ast.expression.SelectionReference;
+import org.hibernate.sql.ast.expression.SqlTuple;
+import org.hibernate.sql.ast.from.DerivedTableSpecification;
+import org.hibernate.sql.ast.from.EntityTableSpecificationGroup;
+import org.hibernate.sql.ast.from.TableSpace;
+import org.hibernate.sql.ast.from.TableSpecification;
+import org.hibernate.sql.ast.from.TableSpecificationGroup;
+import org.hibernate.sql.ast.from.TableSpecificationGroupJoin;
+import org.hibernate.sql.ast.from.TableSpecificationJoin;
+import org.hibernate.sql.ast.predicate.BetweenPredicate;
+import org.hibernate.sql.ast.predicate.Junction;
+import org.hibernate.sql.ast.predicate.LikePredicate;
+import org.hibernate.sql.ast.predicate.NegatedPredicate;
+import org.hibernate.sql.ast.predicate.NullnessPredicate;
+import org.hibernate.sql.ast.predicate.Predicate;
+import org.hibernate.sql.ast.predicate.RelationalPredicate;
+import org.hibernate.sql.ast.select.Selection;
+import org.hibernate.sql.ast.sort.SortSpecification;
+import org.hibernate.sql.gen.PlanComplexity;
+import org.hibernate.sqm.query.JoinType;
+
+/**
+ * Determines the {@link PlanComplexity} of a (completely interpreted) SQL AST in a single walk.
+ * <p/>
+ * The SQL AST does not (yet) model subqueries other than derived tables, whose query is opaque SQL; the
+ * walk tracks the nesting depth of query specs regardless so that subquery expressions only need to
+ * be descended into once they exist.
+ *
+ * @author Steve Ebersole
+ */
+public class PlanComplexityAnalyzer implements SqlAstWalker {
+	/**
+	 * Analyze the given select query
+	 *
+	 * @param selectQuery The select query
+	 *
+	 * @return Its complexity
+	 */
+	public static PlanComplexity analyze(SelectQuery selectQuery) {
+		final PlanComplexityAnalyzer analyzer = new PlanComplexityAnalyzer();
+		analyzer.visitQuerySpec( selectQuery.getQuerySpec() );
+		for ( SortSpecification sortSpecification : selectQuery.getSortSpecifications() ) {
+			sortSpecification.getSortExpression().accept( analyzer );
+		}
+		return analyzer.complexity();
+	}
+
+	/**
+	 * Analyze the given query spec, e.g. the id selection of a mutation
+	 *
+	 * @param querySpec The query spec
+	 *
+	 * @return Its complexity
+	 */
+	public static PlanComplexity analyze(QuerySpec querySpec) {
+		final PlanComplexityAnalyzer analyzer = new PlanComplexityAnalyzer();
+		analyzer.visitQuerySpec( querySpec );
+		return analyzer.complexity();
+	}
+
+	private int tableSpaceCount;
+	private int tableJoinCount;
+	private int maxEntityTableJoinCount;
+	private int innerJoinCount;
+	private int outerJoinCount;
+	private int derivedTableCount;
+	private int subqueryDepth;
+	private int parameterCount;
+
+	// the depth of the query spec being walked; 0 for the top-level one
+	private int depth = -1;
+
+	private PlanComplexityAnalyzer() {
+	}
+
+	private PlanComplexity complexity() {
+		return new PlanComplexity(
+				tableSpaceCount,
+				tableJoinCount,
+				maxEntityTableJoinCount,
+				innerJoinCount,
+				outerJoinCount,
+				derivedTableCount,
+				subqueryDepth,
+				parameterCount
+		);
+	}
+
+	private void visitQuerySpec(QuerySpec querySpec) {
+		depth++;
+		subqueryDepth = Math.max( subqueryDepth, depth );
+		try {
+			for ( TableSpace tableSpace : querySpec.getFromClause().getTableSpaces() ) {
+				visitTableSpace( tableSpace );
+			}
+			for ( Selection selection : querySpec.getSelectClause().getSelections() ) {
+				selection.getSelectExpression().accept( this );
+			}
+			if ( querySpec.getWhereClauseRestrictions() != null ) {
+				querySpec.getWhereClauseRestrictions().accept( this );
+			}
+		}
+		finally {
+			depth--;
+		}
+	}
+
+	private void visitTableSpace(TableSpace tableSpace) {
+		tableSpaceCount++;
+		visitTableSpecificationGroup( tableSpace.getRootTableSpecificationGroup() );
+		for ( TableSpecificationGroupJoin groupJoin : tableSpace.getJoinedTableSpecificationGroups() ) {
+			countJoin( groupJoin.getJoinType() );
+			visitTableSpecificationGroup( groupJoin.getJoinedGroup() );
+			visitPredicate( groupJoin.getPredicate() );
+		}
+	}
+
+	private void visitTableSpecificationGroup(TableSpecificationGroup group) {
+		visitTableSpecification( group.getRootTableSpecification() );
+		for ( TableSpecificationJoin join : group.getTableSpecificationJoins() ) {
+			countJoin( join.getJoinType() );
+			visitTableSpecification( join.getJoinedTable() );
+			visitPredicate( join.getJoinPredicate() );
+		}
+
+		if ( group instanceof EntityTableSpecificationGroup ) {
+			maxEntityTableJoinCount = Math.max( maxEntityTableJoinCount, group.getTableSpecificationJoins().size() );
+		}
+	}
+
+	private void visitTableSpecification(TableSpecification tableSpecification) {
+		if ( tableSpecification instanceof DerivedTableSpecification ) {
+			derivedTableCount++;
+			subqueryDepth = Math.max( subqueryDepth, depth + 1 );
+		}
+	}
+
+	private void countJoin(JoinType joinType) {
+		tableJoinCount++;
+		if ( joinType == JoinType.LEFT || joinType == JoinType.RIGHT || joinType == JoinType.FULL ) {
+			outerJoinCount++;
+		}
+		else {
+			innerJoinCount++;
+		}
+	}
+
+	private void visitPredicate(Predicate predicate) {
+		if ( predicate != null ) {
+			predicate.accept( this );
+		}
+	}
+
+	private void visitExpression(Expression expression) {
+		if ( expression != null ) {
+			expression.accept( this );
+		}
+	}
+
+
+	// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// expressions and predicates
+
+	@Override
+	public void visitColumnReference(ColumnReference columnReference) {
+	}
+
+	@Override
+	public void visitQueryLiteral(QueryLiteral queryLiteral) {
+	}
+
+	@Override
+	public void visitNamedParameter(NamedParameter namedParameter) {
+		parameterCount++;
+	}
+
+	@Override
+	public void visitPositionalParameter(PositionalParameter positionalParameter) {
+		parameterCount++;
+	}
+
+	@Override
+	public void visitBinaryArithmeticExpression(BinaryArithmeticExpression expression) {
+		expression.getLeftHandOperand().accept( this );
+		expression.getRightHandOperand().accept( this );
+	}
+
+	@Override
+	public void visitAggregateFunction(AggregateFunction aggregateFunction) {
+		aggregateFunction.getArgument().accept( this );
+	}
+
+	@Override
+	public void visitCountStarFunction(CountStarFunction function) {
+	}
+
+	@Override
+	public void visitTuple(SqlTuple tuple) {
+		for ( Expression expression : tuple.getExpressions() ) {
+			expression.accept( this );
+		}
+	}
+
+	@Override
+	public void visitSelectionReference(SelectionReference selectionReference) {
+		// the selection itself was already walked as part of the select clause
+	}
+
+	@Override
+	public void visitCaseSearchedExpression(CaseSearchedExpression expression) {
+		for ( CaseSearchedExpression.WhenFragment whenFragment : expression.getWhenFragments() ) {
+			whenFragment.getPredicate().accept( this );
+			whenFragment.getResult().accept( this );
+		}
+		if ( expression.getOtherwise() != null ) {
+			expression.getOtherwise().accept( this );
+		}
+	}
+
+	@Override
+	public void visitJunction(Junction junction) {
+		for ( Predicate predicate : junction.getPredicates() ) {
+			predicate.accept( this );
+		}
+	}
+
+	@Override
+	public void visitNegatedPredicate(NegatedPredicate predicate) {
+		predicate.getPredicate().accept( this );
+	}
+
+	@Override
+	public void visitRelationalPredicate(RelationalPredicate predicate) {
+		predicate.getLeftHandExpression().accept( this );
+		predicate.getRightHandExpression().accept( this );
+	}
+
+	@Override
+	public void visitNullnessPredicate(NullnessPredicate predicate) {
+		predicate.getExpression().accept( this );
+	}
+
+	@Override
+	public void visitBetweenPredicate(BetweenPredicate predicate) {
+		predicate.getExpression().accept( this );
+		predicate.getLowerBound().accept( this );
+		predicate.getUpperBound().accept( this );
+	}
+
+	@Override
+	public void visitLikePredicate(LikePredicate predicate) {
+		predicate.getMatchExpression().accept( this );
+		predicate.getPattern().accept( this );
+		visitExpression( predicate.getEscapeCharacter() );
+	}
+}
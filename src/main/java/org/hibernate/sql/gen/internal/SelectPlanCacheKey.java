@@ -0,0 +1,254 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.gen.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.LockMode;
+import org.hibernate.LockOptions;
+import org.hibernate.dialect.pagination.LimitHelper;
+import org.hibernate.engine.spi.RowSelection;
+import org.hibernate.loader.plan.spi.Return;
+import org.hibernate.loader.plan.spi.ScalarReturn;
+import org.hibernate.sql.gen.JdbcSelectPlan;
+import org.hibernate.sql.orm.QueryOptions;
+import org.hibernate.sql.orm.QueryParameter;
+import org.hibernate.sql.orm.QueryParameterMetadata;
+import org.hibernate.sql.orm.internal.NamedQueryParameter;
+import org.hibernate.sql.orm.internal.PositionalQueryParameter;
+
+/**
+ * Key for {@link org.hibernate.sql.gen.JdbcSelectPlanCache}.  Combines the normalized query string with the
+ * parts of the QueryOptions which influence the generated plan.  Note that only the "shape" of the
+ * RowSelection is part of the key (whether a first-row and/or max-rows is defined) - not the actual
+ * values; every page of the same query shares the same plan.
+ * <p/>
+ * A key can also be built for an interpreted plan (see {@link #forPlan}), in which case the query string
+ * is replaced by the plan's "structure" - its SQL, parameters and returns.  Queries whose (differing) text
+ * interprets to structurally equal plans produce equal keys.
+ *
+ * @author Steve Ebersole
+ */
+public class SelectPlanCacheKey {
+	private final String queryString;
+
+	private final LockMode lockMode;
+	private final int lockTimeout;
+	private final boolean lockScope;
+	private final Map<String,LockMode> aliasLockModes;
+
+	private final boolean hasFirstRow;
+	private final boolean hasMaxRows;
+	private final boolean keysetPage;
+
+	private final List<String> sqlHints;
+	private final String comment;
+
+	private final int hashCode;
+
+	public SelectPlanCacheKey(String queryString, QueryOptions queryOptions) {
+		this.queryString = normalize( queryString );
+
+		final LockOptions lockOptions = queryOptions == null ? null : queryOptions.getLockOptions();
+		if ( lockOptions == null ) {
+			this.lockMode = LockMode.NONE;
+			this.lockTimeout = LockOptions.WAIT_FOREVER;
+			this.lockScope = false;
+			this.aliasLockModes = Collections.emptyMap();
+		}
+		else {
+			this.lockMode = lockOptions.getLockMode();
+			this.lockTimeout = lockOptions.getTimeOut();
+			this.lockScope = lockOptions.getScope();
+			this.aliasLockModes = extractAliasLockModes( lockOptions );
+		}
+
+		final RowSelection rowSelection = queryOptions == null ? null : queryOptions.getRowSelection();
+		// as determined by LimitHelper, which decides how the LimitHandler renders the SQL
+		this.hasFirstRow = LimitHelper.hasFirstRow( rowSelection );
+		this.hasMaxRows = LimitHelper.hasMaxRows( rowSelection );
+		this.keysetPage = queryOptions != null && queryOptions.isKeysetPage();
+
+		final List<String> hints = queryOptions == null ? null : queryOptions.getSqlHints();
+		if ( hints == null || hints.isEmpty() ) {
+			this.sqlHints = Collections.emptyList();
+		}
+		else {
+			this.sqlHints = new ArrayList<String>( hints );
+		}
+
+		this.comment = queryOptions == null ? null : queryOptions.getComment();
+
+		this.hashCode = generateHashCode();
+	}
+
+	/**
+	 * Build the key identifying the structure of an interpreted plan : its SQL, the query parameters
+	 * it binds and the returns it reads, along with the plan-relevant options it was interpreted with.
+	 *
+	 * @param plan The interpreted plan
+	 * @param queryOptions The options the plan was interpreted with
+	 *
+	 * @return The key
+	 */
+	public static SelectPlanCacheKey forPlan(JdbcSelectPlan plan, QueryOptions queryOptions) {
+		final StringBuilder structure = new StringBuilder( plan.getSql() );
+
+		final QueryParameterMetadata parameterMetadata = plan.getParameterMetadata();
+		structure.append( " parameters(" );
+		for ( int i = 0; i < parameterMetadata.getParameterCount(); i++ ) {
+			final QueryParameter parameter = parameterMetadata.getParameter( i );
+			if ( i > 0 ) {
+				structure.append( ", " );
+			}
+			if ( parameter instanceof NamedQueryParameter ) {
+				structure.append( ':' ).append( ( (NamedQueryParameter) parameter ).getName() );
+			}
+			else if ( parameter instanceof PositionalQueryParameter ) {
+				structure.append( '?' ).append( ( (PositionalQueryParameter) parameter ).getPosition() );
+			}
+			if ( parameter.getExpectedType() != null ) {
+				structure.append( ' ' ).append( parameter.getExpectedType().getName() );
+			}
+		}
+		structure.append( ") returns(" );
+		for ( int i = 0; i < plan.getReturns().size(); i++ ) {
+			final Return queryReturn = plan.getReturns().get( i );
+			if ( i > 0 ) {
+				structure.append( ", " );
+			}
+			if ( queryReturn instanceof ScalarReturn ) {
+				structure.append( ( (ScalarReturn) queryReturn ).getType().getName() );
+			}
+			else {
+				structure.append( queryReturn.getClass().getName() );
+			}
+		}
+		structure.append( ')' );
+
+		return new SelectPlanCacheKey( structure.toString(), queryOptions );
+	}
+
+	private static Map<String, LockMode> extractAliasLockModes(LockOptions lockOptions) {
+		Map<String,LockMode> aliasLockModes = null;
+
+		final Iterator<Map.Entry<String,LockMode>> itr = lockOptions.getAliasLockIterator();
+		while ( itr.hasNext() ) {
+			final Map.Entry<String,LockMode> entry = itr.next();
+			if ( aliasLockModes == null ) {
+				aliasLockModes = new HashMap<String, LockMode>();
+			}
+			aliasLockModes.put( entry.getKey(), entry.getValue() );
+		}
+
+		if ( aliasLockModes == null ) {
+			return Collections.emptyMap();
+		}
+		return aliasLockModes;
+	}
+
+	/**
+	 * Normalizes the query string for use as a cache key.  Leading/trailing whitespace is removed and
+	 * any run of whitespace outside of a quoted literal is collapsed to a single space.  That way queries
+	 * differing only in their formatting still share a plan.
+	 *
+	 * @param queryString The query string to normalize
+	 *
+	 * @return The normalized form
+	 */
+	public static String normalize(String queryString) {
+		final String trimmed = queryString.trim();
+		final int length = trimmed.length();
+
+		StringBuilder buffer = null;
+		boolean inQuote = false;
+
+		for ( int i = 0; i < length; i++ ) {
+			final char c = trimmed.charAt( i );
+
+			if ( c == '\'' ) {
+				inQuote = !inQuote;
+			}
+			else if ( !inQuote && Character.isWhitespace( c ) ) {
+				final boolean previousWasWhitespace = Character.isWhitespace( trimmed.charAt( i - 1 ) );
+				if ( previousWasWhitespace || c != ' ' ) {
+					// the query string needs altering; lazily start the buffer
+					if ( buffer == null ) {
+						buffer = new StringBuilder( length );
+						buffer.append( trimmed, 0, i );
+					}
+					if ( !previousWasWhitespace ) {
+						buffer.append( ' ' );
+					}
+					continue;
+				}
+			}
+
+			if ( buffer != null ) {
+				buffer.append( c );
+			}
+		}
+
+		return buffer == null ? trimmed : buffer.toString();
+	}
+
+	private int generateHashCode() {
+		int result = queryString.hashCode();
+		result = 31 * result + lockMode.hashCode();
+		result = 31 * result + lockTimeout;
+		result = 31 * result + ( lockScope ? 1 : 0 );
+		result = 31 * result + aliasLockModes.hashCode();
+		result = 31 * result + ( hasFirstRow ? 1 : 0 );
+		result = 31 * result + ( hasMaxRows ? 1 : 0 );
+		result = 31 * result + ( keysetPage ? 1 : 0 );
+		result = 31 * result + sqlHints.hashCode();
+		result = 31 * result + ( comment != null ? comment.hashCode() : 0 );
+		return result;
+	}
+
+	public String getQueryString() {
+		return queryString;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if ( this == o ) {
+			return true;
+		}
+		if ( o == null || getClass() != o.getClass() ) {
+			return false;
+		}
+
+		final SelectPlanCacheKey that = (SelectPlanCacheKey) o;
+		return hashCode == that.hashCode
+				&& lockTimeout == that.lockTimeout
+				&& lockScope == that.lockScope
+				&& hasFirstRow == that.hasFirstRow
+				&& hasMaxRows == that.hasMaxRows
+				&& keysetPage == that.keysetPage
+				&& lockMode == that.lockMode
+				&& queryString.equals( that.queryString )
+				&& aliasLockModes.equals( that.aliasLockModes )
+				&& sqlHints.equals( that.sqlHints )
+				&& ( comment == null ? that.comment == null : comment.equals( that.comment ) );
+	}
+
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+
+	@Override
+	public String toString() {
+		return "SelectPlanCacheKey(" + queryString + ")";
+	}
+}
@@ -1,21 +1,59 @@
 package org.hibernate.sql.gen.internal;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.hibernate.AssertionFailure;
+import org.hibernate.QueryException;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.pagination.LimitHelper;
+import org.hibernate.engine.spi.RowSelection;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.loader.plan.spi.Return;
+import org.hibernate.loader.plan.spi.ScalarReturn;
+import org.hibernate.persister.entity.Queryable;
 import org.hibernate.sql.ast.SelectQuery;
+import org.hibernate.sql.ast.expression.AggregateFunction;
+import org.hibernate.sql.ast.expression.ColumnReference;
+import org.hibernate.sql.ast.expression.NamedParameter;
+import org.hibernate.sql.ast.expression.PositionalParameter;
+import org.hibernate.sql.ast.expression.QueryLiteral;
+import org.hibernate.sql.ast.expression.SelectionReference;
+import org.hibernate.sql.ast.expression.SqlTuple;
 import org.hibernate.sql.ast.from.EntityTableSpecificationGroup;
+import org.hibernate.sql.ast.from.PhysicalTableSpecification;
 import org.hibernate.sql.ast.from.TableSpace;
+import org.hibernate.sql.ast.from.TableSpecification;
+import org.hibernate.sql.ast.from.TableSpecificationGroup;
+import org.hibernate.sql.ast.from.TableSpecificationGroupJoin;
+import org.hibernate.sql.ast.from.TableSpecificationJoin;
+import org.hibernate.sql.ast.predicate.Junction;
+import org.hibernate.sql.ast.predicate.NullnessPredicate;
+import org.hibernate.sql.ast.predicate.Predicate;
 import org.hibernate.sql.gen.Callback;
+import org.hibernate.sql.gen.InterpretationPhase;
 import org.hibernate.sql.gen.JdbcSelectPlan;
+import org.hibernate.sql.gen.KeysetPagination;
 import org.hibernate.sql.gen.NotYetImplementedException;
 import org.hibernate.sql.gen.ParameterBinder;
+import org.hibernate.sql.gen.PlanStatistics;
 import org.hibernate.sql.gen.QueryOptionBinder;
+import org.hibernate.sql.gen.internal.binder.LimitParameterBinder;
+import org.hibernate.sql.gen.internal.binder.ParameterBinders;
 import org.hibernate.sql.orm.QueryOptions;
+import org.hibernate.sql.orm.QueryParameter;
+import org.hibernate.sql.orm.QueryParameterMetadata;
+import org.hibernate.sql.orm.internal.NamedQueryParameter;
+import org.hibernate.sql.orm.internal.PositionalQueryParameter;
 import org.hibernate.sql.orm.internal.mapping.ImprovedEntityPersister;
+import org.hibernate.sql.orm.internal.sqm.model.AttributeDescriptorImpl;
 import org.hibernate.sql.orm.internal.sqm.model.EntityTypeDescriptorImpl;
 import org.hibernate.sqm.SemanticQueryWalker;
 import org.hibernate.sqm.query.DeleteStatement;
@@ -32,6 +70,7 @@ import org.hibernate.sqm.query.expression.ConstantFieldExpression;
 import org.hibernate.sqm.query.expression.CountFunction;
 import org.hibernate.sqm.query.expression.CountStarFunction;
 import org.hibernate.sqm.query.expression.EntityTypeExpression;
+import org.hibernate.sqm.query.expression.Expression;
 import org.hibernate.sqm.query.expression.FromElementReferenceExpression;
 import org.hibernate.sqm.query.expression.FunctionExpression;
 import org.hibernate.sqm.query.expression.LiteralBigDecimalExpression;
@@ -54,6 +93,7 @@ import org.hibernate.sqm.query.expression.SumFunction;
 import org.hibernate.sqm.query.expression.UnaryOperationExpression;
 import org.hibernate.sqm.query.from.CrossJoinedFromElement;
 import org.hibernate.sqm.query.from.FromClause;
+import org.hibernate.sqm.query.from.FromElement;
 import org.hibernate.sqm.query.from.FromElementSpace;
 import org.hibernate.sqm.query.from.JoinedFromElement;
 import org.hibernate.sqm.query.from.QualifiedAttributeJoinFromElement;
@@ -61,6 +101,7 @@ import org.hibernate.sqm.query.from.QualifiedEntityJoinFromElement;
 import org.hibernate.sqm.query.from.RootEntityFromElement;
 import org.hibernate.sqm.query.from.TreatedJoinedFromElement;
 import org.hibernate.sqm.query.order.OrderByClause;
+import org.hibernate.sqm.query.order.SortOrder;
 import org.hibernate.sqm.query.order.SortSpecification;
 import org.hibernate.sqm.query.predicate.AndPredicate;
 import org.hibernate.sqm.query.predicate.BetweenPredicate;
@@ -80,6 +121,17 @@ import org.hibernate.sqm.query.select.SelectClause;
 import org.hibernate.sqm.query.select.Selection;
 import org.hibernate.sqm.query.set.Assignment;
 import org.hibernate.sqm.query.set.SetClause;
+import org.hibernate.type.BigDecimalType;
+import org.hibernate.type.BigIntegerType;
+import org.hibernate.type.BooleanType;
+import org.hibernate.type.CharacterType;
+import org.hibernate.type.DoubleType;
+import org.hibernate.type.FloatType;
+import org.hibernate.type.IntegerType;
+import org.hibernate.type.LongType;
+import org.hibernate.type.ShortType;
+import org.hibernate.type.StringType;
+import org.hibernate.type.Type;
 
 /**
  * @author Steve Ebersole
@@ -91,13 +143,111 @@ public class SelectStatementInterpreter implements SemanticQueryWalker {
 		final SelectStatementInterpreter walker = new SelectStatementInterpreter( queryOptions, callback );
 		walker.visitSelectStatement( statement );
 
-		return null;
-//		return new JdbcSelectPlanImpl(
-//				walker.getSql(),
-//				walker.getParameterBinders(),
-//				walker.getOptionBinders(),
-//				walker.getReturnDescriptors()
-//		);
+		final PhaseTimer phaseTimer = walker.getPhaseTimer();
+
+		long start = phaseTimer.start();
+		final SqlAstRenderer renderer = SqlAstRenderer.renderSelectQuery( walker.getSelectQuery(), walker.getDialect() );
+
+		String sql = renderer.getSql();
+		final RowSelection rowSelection = queryOptions == null ? null : queryOptions.getRowSelection();
+		final boolean applyLimit = LimitParameterBinder.isApplicable( walker.getDialect(), rowSelection );
+		if ( applyLimit ) {
+			sql = walker.getDialect().getLimitHandler().processSql(
+					sql,
+					LimitParameterBinder.toLimitRowSelection( rowSelection )
+			);
+		}
+		phaseTimer.stop( InterpretationPhase.RENDERING, start );
+
+		start = phaseTimer.start();
+		final List<ParameterBinder> parameterBinders;
+		if ( applyLimit ) {
+			parameterBinders = buildParameterBindersWithLimit(
+					renderer.getParameterExpressions(),
+					walker.getDialect(),
+					rowSelection
+			);
+		}
+		else {
+			parameterBinders = ParameterBinders.buildParameterBinders( renderer.getParameterExpressions() );
+		}
+		phaseTimer.stop( InterpretationPhase.BINDER_GENERATION, start );
+
+		final JdbcSelectPlan plan = new JdbcSelectPlanImpl(
+				sql,
+				parameterBinders,
+				walker.getOptionBinders(),
+				walker.getParameterMetadata(),
+				collectQuerySpaces( walker.getSelectQuery().getQuerySpec() ),
+				walker.getReturnDescriptors(),
+				PlanComplexityAnalyzer.analyze( walker.getSelectQuery() )
+		);
+
+		if ( callback != null ) {
+			phaseTimer.report( callback, plan.getSql() );
+			callback.planGenerated(
+					plan.getSql(),
+					new PlanStatistics(
+							1,
+							plan.getComplexity().getTableSpaceCount(),
+							plan.getComplexity().getTableJoinCount(),
+							walker.getSelectQuery().getQuerySpec().getSelectClause().getSelections().size(),
+							parameterBinders.size()
+					)
+			);
+		}
+
+		return plan;
+	}
+
+	/**
+	 * The query's own binders, shifted past any limit parameters rendered at the start of the query,
+	 * followed by the binder of the limit parameters
+	 */
+	private static List<ParameterBinder> buildParameterBindersWithLimit(
+			List<org.hibernate.sql.ast.expression.Expression> parameterExpressions,
+			Dialect dialect,
+			RowSelection rowSelection) {
+		final int startCount = LimitParameterBinder.getParameterCountAtStartOfQuery( dialect, rowSelection );
+
+		final List<ParameterBinder> parameterBinders = new ArrayList<ParameterBinder>(
+				ParameterBinders.buildParameterBinders( parameterExpressions, startCount + 1 )
+		);
+		parameterBinders.add(
+				new LimitParameterBinder(
+						dialect.getLimitHandler(),
+						startCount > 0,
+						startCount > 0 ? 1 : parameterExpressions.size() + 1
+				)
+		);
+		return Collections.unmodifiableList( parameterBinders );
+	}
+
+	/**
+	 * The names of the physical tables referenced from the query's from clause
+	 */
+	private static Set<String> collectQuerySpaces(org.hibernate.sql.ast.QuerySpec querySpec) {
+		final Set<String> querySpaces = new HashSet<String>();
+		for ( TableSpace tableSpace : querySpec.getFromClause().getTableSpaces() ) {
+			collectQuerySpaces( tableSpace.getRootTableSpecificationGroup(), querySpaces );
+			for ( TableSpecificationGroupJoin groupJoin : tableSpace.getJoinedTableSpecificationGroups() ) {
+				collectQuerySpaces( groupJoin.getJoinedGroup(), querySpaces );
+			}
+		}
+		return Collections.unmodifiableSet( querySpaces );
+	}
+
+	private static void collectQuerySpaces(TableSpecificationGroup group, Set<String> querySpaces) {
+		collectQuerySpace( group.getRootTableSpecification(), querySpaces );
+		for ( TableSpecificationJoin join : group.getTableSpecificationJoins() ) {
+			collectQuerySpace( join.getJoinedTable(), querySpaces );
+		}
+	}
+
+	private static void collectQuerySpace(TableSpecification tableSpecification, Set<String> querySpaces) {
+		if ( tableSpecification instanceof PhysicalTableSpecification ) {
+			querySpaces.add( ( (PhysicalTableSpecification) tableSpecification ).getTableName() );
+		}
 	}
 
 	private final QueryOptions queryOptions;
@@ -108,30 +258,71 @@ public class SelectStatementInterpreter implements SemanticQueryWalker {
 	private SelectQuery sqlAst;
 
 	private final List<Return> returnDescriptors = new ArrayList<Return>();
+
+	// the (non-column) selections of the root query keyed by their expression, for substituting
+	// references to them in the order-by clause
+	private Map<org.hibernate.sql.ast.expression.Expression, org.hibernate.sql.ast.select.Selection> selectionsByExpression;
 	private List<QueryOptionBinder> optionBinders;
-	private List<ParameterBinder> parameterBinders;
 
 	private final SqlAliasBaseManager sqlAliasBaseManager = new SqlAliasBaseManager();
+	private final ExpressionInterner expressionInterner = new ExpressionInterner();
+	private final PhaseTimer phaseTimer;
+
+	// the distinct query parameters, in order of first appearance (ordinal)
+	private final List<QueryParameter> queryParameters = new ArrayList<QueryParameter>();
+	private Map<String,NamedQueryParameter> namedQueryParameterMap;
+	private Map<Integer,PositionalQueryParameter> positionalQueryParameterMap;
 
-	private SelectStatementInterpreter(QueryOptions queryOptions, Callback callback) {
+	// the ORM Type inferred for query parameters from the expression the operand being interpreted is
+	// compared to (if any)
+	private Type inferredParameterType;
+
+	// todo : have the SessionFactory passed in rather than resolving it from the first entity reference
+	private SessionFactoryImplementor sessionFactory;
+
+	protected SelectStatementInterpreter(QueryOptions queryOptions, Callback callback) {
 		this.queryOptions = queryOptions;
 		this.callback = callback;
+		this.phaseTimer = new PhaseTimer( callback != null );
 	}
 
 	public SelectQuery getSelectQuery() {
 		return sqlAst;
 	}
 
-	private List<ParameterBinder> getParameterBinders() {
-		if ( parameterBinders == null ) {
-			return Collections.emptyList();
+	protected SessionFactoryImplementor getSessionFactory() {
+		if ( sessionFactory == null ) {
+			throw new AssertionFailure( "No entity reference found from which to resolve the SessionFactory" );
 		}
-		else {
-			return Collections.unmodifiableList( parameterBinders );
+		return sessionFactory;
+	}
+
+	protected Dialect getDialect() {
+		if ( sessionFactory == null ) {
+			throw new AssertionFailure( "No entity reference found from which to resolve the Dialect" );
 		}
+		return sessionFactory.getDialect();
+	}
+
+	/**
+	 * The interner resolving the canonical instance of each (structurally) distinct expression of the
+	 * query; expressions built by subclasses should be interned too.
+	 *
+	 * @return The interner
+	 */
+	protected ExpressionInterner getExpressionInterner() {
+		return expressionInterner;
 	}
 
-	private List<QueryOptionBinder> getOptionBinders() {
+	protected PhaseTimer getPhaseTimer() {
+		return phaseTimer;
+	}
+
+	protected FromClauseIndex getFromClauseIndex() {
+		return fromClauseIndex;
+	}
+
+	protected List<QueryOptionBinder> getOptionBinders() {
 		if ( optionBinders == null ) {
 			return Collections.emptyList();
 		}
@@ -140,6 +331,13 @@ public class SelectStatementInterpreter implements SemanticQueryWalker {
 		}
 	}
 
+	protected QueryParameterMetadata getParameterMetadata() {
+		if ( queryParameters.isEmpty() ) {
+			return QueryParameterMetadata.EMPTY;
+		}
+		return new QueryParameterMetadata( queryParameters.toArray( new QueryParameter[ queryParameters.size() ] ) );
+	}
+
 	private List<Return> getReturnDescriptors() {
 		return Collections.unmodifiableList( returnDescriptors );
 	}
@@ -168,27 +366,224 @@ public class SelectStatementInterpreter implements SemanticQueryWalker {
 
 		sqlAst = new SelectQuery( visitQuerySpec( statement.getQuerySpec() ) );
 
-		for ( SortSpecification sortSpecification : statement.getOrderByClause().getSortSpecifications() ) {
-			sqlAst.addSortSpecification( visitSortSpecification( sortSpecification ) );
+		if ( statement.getOrderByClause() != null ) {
+			final long start = phaseTimer.start();
+			selectionsByExpression = indexSelections( sqlAst.getQuerySpec().getSelectClause().getSelections() );
+			for ( SortSpecification sortSpecification : statement.getOrderByClause().getSortSpecifications() ) {
+				sqlAst.addSortSpecification( visitSortSpecification( sortSpecification ) );
+			}
+			phaseTimer.stop( InterpretationPhase.ORDER_BY_CLAUSE, start );
+		}
+
+		if ( queryOptions != null && queryOptions.isKeysetPage() ) {
+			final long start = phaseTimer.start();
+			applyKeysetRestriction( statement );
+			phaseTimer.stop( InterpretationPhase.WHERE_CLAUSE, start );
 		}
 
 		return sqlAst;
 	}
 
+	/**
+	 * Restrict the query to the rows sorting after the keyset boundary row, whose sort key is bound to the
+	 * {@link KeysetPagination#getBoundaryParameterName boundary parameters}
+	 */
+	private void applyKeysetRestriction(SelectStatement statement) {
+		if ( statement.getOrderByClause() == null ) {
+			throw new QueryException(
+					"Keyset pagination requires an order-by clause ending with the identifier of the root entity"
+			);
+		}
+		if ( LimitHelper.hasFirstRow( queryOptions.getRowSelection() ) ) {
+			throw new QueryException( "Keyset pagination cannot be combined with a first row (offset)" );
+		}
+
+		final List<SortSpecification> sortSpecifications = statement.getOrderByClause().getSortSpecifications();
+		final List<org.hibernate.sql.ast.sort.SortSpecification> sqlSortSpecifications = sqlAst.getSortSpecifications();
+		final int keyCount = sqlSortSpecifications.size();
+
+		final List<org.hibernate.sql.ast.expression.Expression> sortKeys =
+				new ArrayList<org.hibernate.sql.ast.expression.Expression>( keyCount );
+		final List<org.hibernate.sql.ast.expression.Expression> boundaryValues =
+				new ArrayList<org.hibernate.sql.ast.expression.Expression>( keyCount );
+		boolean uniformSortOrder = true;
+		for ( int i = 0; i < keyCount; i++ ) {
+			// the predicate needs the expression itself; the where-clause cannot refer to a selection alias
+			org.hibernate.sql.ast.expression.Expression sortKey = sqlSortSpecifications.get( i ).getSortExpression();
+			if ( sortKey instanceof SelectionReference ) {
+				sortKey = ( (SelectionReference) sortKey ).getSelection().getSelectExpression();
+			}
+			sortKeys.add( sortKey );
+			boundaryValues.add(
+					new NamedParameter(
+							registerKeysetBoundaryParameter(
+									i,
+									resolveOrmType( sortSpecifications.get( i ).getSortExpression() )
+							)
+					)
+			);
+			uniformSortOrder = uniformSortOrder
+					&& sqlSortSpecifications.get( i ).getSortOrder() == sqlSortSpecifications.get( 0 ).getSortOrder();
+		}
+
+		verifyUniqueSortKey( statement, sortKeys.get( keyCount - 1 ) );
+
+		final Predicate keysetPredicate;
+		if ( uniformSortOrder && getDialect().supportsRowValueConstructorSyntax() ) {
+			keysetPredicate = new org.hibernate.sql.ast.predicate.RelationalPredicate(
+					keysetOperator( sqlSortSpecifications.get( 0 ) ),
+					new SqlTuple( sortKeys ),
+					new SqlTuple( boundaryValues )
+			);
+		}
+		else {
+			// k1 > ?1 or ( k1 = ?1 and ( k2 > ?2 or ( k2 = ?2 and ... ) ) )
+			Predicate expanded = new org.hibernate.sql.ast.predicate.RelationalPredicate(
+					keysetOperator( sqlSortSpecifications.get( keyCount - 1 ) ),
+					sortKeys.get( keyCount - 1 ),
+					boundaryValues.get( keyCount - 1 )
+			);
+			for ( int i = keyCount - 2; i >= 0; i-- ) {
+				final Junction tie = new Junction( Junction.Nature.CONJUNCTION );
+				tie.add(
+						new org.hibernate.sql.ast.predicate.RelationalPredicate(
+								org.hibernate.sql.ast.predicate.RelationalPredicate.Operator.EQUAL,
+								sortKeys.get( i ),
+								boundaryValues.get( i )
+						)
+				);
+				tie.add( expanded );
+
+				final Junction after = new Junction( Junction.Nature.DISJUNCTION );
+				after.add(
+						new org.hibernate.sql.ast.predicate.RelationalPredicate(
+								keysetOperator( sqlSortSpecifications.get( i ) ),
+								sortKeys.get( i ),
+								boundaryValues.get( i )
+						)
+				);
+				after.add( tie );
+				expanded = after;
+			}
+			keysetPredicate = expanded;
+		}
+
+		final org.hibernate.sql.ast.QuerySpec querySpec = sqlAst.getQuerySpec();
+		if ( querySpec.getWhereClauseRestrictions() == null ) {
+			querySpec.setWhereClauseRestrictions( keysetPredicate );
+		}
+		else {
+			final Junction restrictions = new Junction( Junction.Nature.CONJUNCTION );
+			restrictions.add( querySpec.getWhereClauseRestrictions() );
+			restrictions.add( keysetPredicate );
+			querySpec.setWhereClauseRestrictions( restrictions );
+		}
+	}
+
+	private NamedQueryParameter registerKeysetBoundaryParameter(int sortPosition, Type type) {
+		final String name = KeysetPagination.getBoundaryParameterName( sortPosition );
+		if ( namedQueryParameterMap == null ) {
+			namedQueryParameterMap = new HashMap<String, NamedQueryParameter>();
+		}
+		else if ( namedQueryParameterMap.containsKey( name ) ) {
+			throw new QueryException( "Query parameter name [" + name + "] is reserved for keyset pagination" );
+		}
+
+		final NamedQueryParameter queryParameter = new NamedQueryParameter( queryParameters.size(), name, type );
+		namedQueryParameterMap.put( name, queryParameter );
+		queryParameters.add( queryParameter );
+		return queryParameter;
+	}
+
+	/**
+	 * The sort key is only unique (and so the boundary only well defined) if it ends with the identifier of
+	 * the root entity
+	 */
+	private void verifyUniqueSortKey(SelectStatement statement, org.hibernate.sql.ast.expression.Expression lastSortKey) {
+		final RootEntityFromElement root = statement.getQuerySpec().getFromClause().getFromElementSpaces().get( 0 ).getRoot();
+		final String[] identifierColumnNames = resolvePersister( root ).getMetadata().getIdentifierColumnNames();
+		final EntityTableSpecificationGroup group = resolveEntityTableSpecificationGroup( root );
+
+		if ( identifierColumnNames.length != 1
+				|| group == null
+				|| !( lastSortKey instanceof ColumnReference )
+				|| ( (ColumnReference) lastSortKey ).getTable() != group.getRootTableSpecification()
+				|| !identifierColumnNames[0].equals( ( (ColumnReference) lastSortKey ).getName() ) ) {
+			throw new QueryException(
+					"Keyset pagination requires the order-by clause to end with the (single column) identifier of the root entity"
+			);
+		}
+	}
+
+	private static org.hibernate.sql.ast.predicate.RelationalPredicate.Operator keysetOperator(
+			org.hibernate.sql.ast.sort.SortSpecification sortSpecification) {
+		return sortSpecification.getSortOrder() == SortOrder.DESCENDING
+				? org.hibernate.sql.ast.predicate.RelationalPredicate.Operator.LESS_THAN
+				: org.hibernate.sql.ast.predicate.RelationalPredicate.Operator.GREATER_THAN;
+	}
+
 	@Override
 	public OrderByClause visitOrderByClause(OrderByClause orderByClause) {
 		throw new AssertionFailure( "Unexpected visitor call" );
 	}
 
+	private static Map<org.hibernate.sql.ast.expression.Expression, org.hibernate.sql.ast.select.Selection> indexSelections(
+			List<org.hibernate.sql.ast.select.Selection> selections) {
+		final Map<org.hibernate.sql.ast.expression.Expression, org.hibernate.sql.ast.select.Selection> index =
+				new HashMap<org.hibernate.sql.ast.expression.Expression, org.hibernate.sql.ast.select.Selection>();
+		for ( org.hibernate.sql.ast.select.Selection selection : selections ) {
+			// a plain column is as cheap to repeat as to reference
+			if ( selection.getSelectExpression() instanceof ColumnReference ) {
+				continue;
+			}
+			// the first selection wins for duplicated expressions
+			if ( !index.containsKey( selection.getSelectExpression() ) ) {
+				index.put( selection.getSelectExpression(), selection );
+			}
+		}
+		return index;
+	}
+
 	@Override
 	public org.hibernate.sql.ast.sort.SortSpecification visitSortSpecification(SortSpecification sortSpecification) {
 		return new org.hibernate.sql.ast.sort.SortSpecification(
-				(org.hibernate.sql.ast.expression.Expression) sortSpecification.getSortExpression().accept( this ),
+				resolveSortExpression(
+						(org.hibernate.sql.ast.expression.Expression) sortSpecification.getSortExpression().accept( this )
+				),
 				sortSpecification.getCollation(),
 				sortSpecification.getSortOrder()
 		);
 	}
 
+	/**
+	 * Sorting by an expression which is also selected (`select a.b + a.c as s ... order by a.b + a.c`) is
+	 * rendered as a reference to the selection (`order by s`) rather than evaluating the expression again.
+	 * A result variable used as the SQL alias is marked quoted, as it may be a reserved word (`order`, `count`).
+	 */
+	private org.hibernate.sql.ast.expression.Expression resolveSortExpression(
+			org.hibernate.sql.ast.expression.Expression sortExpression) {
+		if ( selectionsByExpression == null ) {
+			return sortExpression;
+		}
+
+		final org.hibernate.sql.ast.select.Selection selection = selectionsByExpression.get( sortExpression );
+		if ( selection == null ) {
+			return sortExpression;
+		}
+
+		final List<org.hibernate.sql.ast.select.Selection> selections =
+				sqlAst.getQuerySpec().getSelectClause().getSelections();
+		final int position = selections.indexOf( selection ) + 1;
+		if ( selection.getSqlAlias() == null ) {
+			selection.setSqlAlias(
+					selection.getResultVariable() == null
+							? "col_" + position + '_'
+							: '`' + selection.getResultVariable() + '`'
+			);
+		}
+		return new SelectionReference( selection, position );
+	}
+
 	@Override
 	public org.hibernate.sql.ast.QuerySpec visitQuerySpec(QuerySpec querySpec) {
 		final org.hibernate.sql.ast.QuerySpec _querySpec = new org.hibernate.sql.ast.QuerySpec();
@@ -197,15 +592,51 @@ public class SelectStatementInterpreter implements SemanticQueryWalker {
 
 		try {
 			// we want to visit the from-clause first
+			long start = phaseTimer.start();
 			visitFromClause( querySpec.getFromClause() );
+			phaseTimer.stop( InterpretationPhase.FROM_CLAUSE, start );
 
-			visitSelectClause( querySpec.getSelectClause() );
-			visitWhereClause( querySpec.getWhereClause() );
+			start = phaseTimer.start();
+			if ( querySpec.getSelectClause() == null ) {
+				applyImplicitSelections( querySpec.getFromClause() );
+			}
+			else {
+				visitSelectClause( querySpec.getSelectClause() );
+			}
+			phaseTimer.stop( InterpretationPhase.SELECT_CLAUSE, start );
+
+			if ( querySpec.getWhereClause() != null ) {
+				start = phaseTimer.start();
+				_querySpec.setWhereClauseRestrictions( visitWhereClause( querySpec.getWhereClause() ) );
+				phaseTimer.stop( InterpretationPhase.WHERE_CLAUSE, start );
+			}
 
 			return _querySpec;
 		}
 		finally {
-			assert fromClauseIndex.popFromClause() == _querySpec.getFromClause();
+			final org.hibernate.sql.ast.from.FromClause popped = fromClauseIndex.popFromClause();
+			assert popped == _querySpec.getFromClause();
+		}
+	}
+
+	private void applyImplicitSelections(FromClause fromClause) {
+		// no select clause means to select each root entity (`from Person p, Address a`)
+		for ( FromElementSpace fromElementSpace : fromClause.getFromElementSpaces() ) {
+			addSelection( resolveEntityExpression( fromElementSpace.getRoot() ), null );
+		}
+	}
+
+	private void addSelection(org.hibernate.sql.ast.expression.Expression expression, String resultVariable) {
+		final org.hibernate.sql.ast.select.SelectClause sqlSelectClause =
+				fromClauseIndex.currentFromClause().getQuerySpec().getSelectClause();
+		if ( expression instanceof SqlTuple ) {
+			// each column becomes its own selection
+			for ( org.hibernate.sql.ast.expression.Expression element : ( (SqlTuple) expression ).getExpressions() ) {
+				sqlSelectClause.selection( new org.hibernate.sql.ast.select.Selection( element, resultVariable ) );
+			}
+		}
+		else {
+			sqlSelectClause.selection( new org.hibernate.sql.ast.select.Selection( expression, resultVariable ) );
 		}
 	}
 
@@ -237,8 +668,26 @@ public class SelectStatementInterpreter implements SemanticQueryWalker {
 
 	@Override
 	public Void visitRootEntityFromElement(RootEntityFromElement rootEntityFromElement) {
+		applyRootEntityFromElement( rootEntityFromElement, tableSpace );
+		return null;
+	}
+
+	/**
+	 * Build the EntityTableSpecificationGroup for the root entity reference, as the root of the given TableSpace
+	 *
+	 * @param rootEntityFromElement The root entity reference
+	 * @param tableSpace The TableSpace
+	 *
+	 * @return The group
+	 */
+	protected EntityTableSpecificationGroup applyRootEntityFromElement(
+			RootEntityFromElement rootEntityFromElement,
+			TableSpace tableSpace) {
 		final EntityTypeDescriptorImpl entityTypeDescriptor = (EntityTypeDescriptorImpl) rootEntityFromElement.getTypeDescriptor();
 		final ImprovedEntityPersister entityPersister = entityTypeDescriptor.getPersister();
+		if ( sessionFactory == null ) {
+			sessionFactory = entityPersister.getEntityPersister().getFactory();
+		}
 
 		final EntityTableSpecificationGroup group = entityPersister.getEntityTableSpecificationGroup(
 				rootEntityFromElement,
@@ -249,17 +698,51 @@ public class SelectStatementInterpreter implements SemanticQueryWalker {
 
 		tableSpace.setRootTableSpecificationGroup( group );
 
+		return group;
+	}
+
+	protected EntityTableSpecificationGroup resolveEntityTableSpecificationGroup(FromElement fromElement) {
+		final TableSpecificationGroup group = fromClauseIndex.findResolvedTableSpecificationGroup( fromElement );
+		if ( group instanceof EntityTableSpecificationGroup ) {
+			return (EntityTableSpecificationGroup) group;
+		}
 		return null;
 	}
 
+	protected ImprovedEntityPersister resolvePersister(FromElement fromElement) {
+		if ( fromElement instanceof TreatedJoinedFromElement ) {
+			// a treated join shares the group of the join it wraps, which was built by the wrapped join's persister
+			return resolvePersister( ( (TreatedJoinedFromElement) fromElement ).getWrapped() );
+		}
+		return ( (EntityTypeDescriptorImpl) fromElement.getTypeDescriptor() ).getPersister();
+	}
+
 	@Override
 	public Object visitCrossJoinedFromElement(CrossJoinedFromElement joinedFromElement) {
 		throw new NotYetImplementedException();
 	}
 
 	@Override
-	public Object visitTreatedJoinFromElement(TreatedJoinedFromElement joinedFromElement) {
-		throw new NotYetImplementedException();
+	public EntityTableSpecificationGroup visitTreatedJoinFromElement(TreatedJoinedFromElement joinedFromElement) {
+		final JoinedFromElement wrapped = joinedFromElement.getWrapped();
+		EntityTableSpecificationGroup group = resolveEntityTableSpecificationGroup( wrapped );
+		if ( group == null ) {
+			wrapped.accept( this );
+			group = resolveEntityTableSpecificationGroup( wrapped );
+			if ( group == null ) {
+				throw new NotYetImplementedException();
+			}
+		}
+
+		// TREAT in the FROM clause restricts the rows of the join to the treat target, so its tables are
+		// inner joined (unless the join is an outer join, see EntityTableSpecificationGroup#isOptional)
+		resolvePersister( wrapped ).applyTreatReference(
+				group,
+				( (EntityTypeDescriptorImpl) joinedFromElement.getTypeDescriptor() ).getPersister(),
+				true
+		);
+		fromClauseIndex.crossReference( joinedFromElement, group );
+		return group;
 	}
 
 	@Override
@@ -268,8 +751,75 @@ public class SelectStatementInterpreter implements SemanticQueryWalker {
 	}
 
 	@Override
-	public Object visitQualifiedAttributeJoinFromElement(QualifiedAttributeJoinFromElement joinedFromElement) {
-		throw new NotYetImplementedException();
+	public EntityTableSpecificationGroup visitQualifiedAttributeJoinFromElement(QualifiedAttributeJoinFromElement joinedFromElement) {
+		// todo : plural attribute (collection) joins, and joins whose lhs is itself a join
+		final FromElement lhs = joinedFromElement.getContainingSpace().getRoot();
+		if ( !( joinedFromElement.getJoinedAttributeDescriptor() instanceof AttributeDescriptorImpl )
+				|| !( joinedFromElement.getTypeDescriptor() instanceof EntityTypeDescriptorImpl ) ) {
+			throw new NotYetImplementedException();
+		}
+		final AttributeDescriptorImpl attributeDescriptor =
+				(AttributeDescriptorImpl) joinedFromElement.getJoinedAttributeDescriptor();
+		if ( attributeDescriptor.getDeclaringType() != lhs.getTypeDescriptor() ) {
+			throw new NotYetImplementedException();
+		}
+
+		final org.hibernate.sql.ast.expression.Expression foreignKey = resolvePersister( lhs ).resolveAttributeExpression(
+				resolveEntityTableSpecificationGroup( lhs ),
+				attributeDescriptor.getName()
+		);
+
+		final EntityTableSpecificationGroup group = resolvePersister( joinedFromElement ).getEntityTableSpecificationGroup(
+				joinedFromElement,
+				tableSpace,
+				sqlAliasBaseManager,
+				fromClauseIndex
+		);
+
+		Predicate joinPredicate = makeForeignKeyPredicate( foreignKey, group, resolvePersister( joinedFromElement ) );
+		if ( joinedFromElement.getOnClausePredicate() != null ) {
+			final Junction conjunction = new Junction( Junction.Nature.CONJUNCTION );
+			conjunction.add( joinPredicate );
+			conjunction.add( (Predicate) joinedFromElement.getOnClausePredicate().accept( this ) );
+			joinPredicate = conjunction;
+		}
+
+		tableSpace.addJoinedTableSpecificationGroup(
+				new TableSpecificationGroupJoin( joinedFromElement.getJoinType(), group, joinPredicate )
+		);
+		return group;
+	}
+
+	/**
+	 * The predicate joining a to-one attribute's foreign key to the identifier of the associated entity.
+	 *
+	 * @todo : property-ref associations (foreign key referencing a unique key rather than the identifier)
+	 */
+	private Predicate makeForeignKeyPredicate(
+			org.hibernate.sql.ast.expression.Expression foreignKey,
+			EntityTableSpecificationGroup group,
+			ImprovedEntityPersister persister) {
+		final int[] identifierColumnOrdinals = persister.getMetadata().getIdentifierColumnOrdinals();
+		if ( identifierColumnOrdinals.length == 1 ) {
+			return new org.hibernate.sql.ast.predicate.RelationalPredicate(
+					org.hibernate.sql.ast.predicate.RelationalPredicate.Operator.EQUAL,
+					foreignKey,
+					group.getRootTableSpecification().getColumnReference( identifierColumnOrdinals[0] )
+			);
+		}
+
+		final List<org.hibernate.sql.ast.expression.Expression> foreignKeyColumns = ( (SqlTuple) foreignKey ).getExpressions();
+		final Junction conjunction = new Junction( Junction.Nature.CONJUNCTION );
+		for ( int i = 0; i < identifierColumnOrdinals.length; i++ ) {
+			conjunction.add(
+					new org.hibernate.sql.ast.predicate.RelationalPredicate(
+							org.hibernate.sql.ast.predicate.RelationalPredicate.Operator.EQUAL,
+							foreignKeyColumns.get( i ),
+							group.getRootTableSpecification().getColumnReference( identifierColumnOrdinals[i] )
+					)
+			);
+		}
+		return conjunction;
 	}
 
 
@@ -292,227 +842,563 @@ public class SelectStatementInterpreter implements SemanticQueryWalker {
 	}
 
 	@Override
-	public Object visitSelectClause(SelectClause selectClause) {
+	public Void visitSelectClause(SelectClause selectClause) {
+		fromClauseIndex.currentFromClause().getQuerySpec().getSelectClause().makeDistinct( selectClause.isDistinct() );
+		for ( Selection selection : selectClause.getSelections() ) {
+			visitSelection( selection );
+		}
 		return null;
 	}
 
 	@Override
-	public Object visitSelection(Selection selection) {
+	public Void visitSelection(Selection selection) {
+		addSelection(
+				(org.hibernate.sql.ast.expression.Expression) selection.getExpression().accept( this ),
+				selection.getAlias()
+		);
+
+		// todo : entity (and dynamic instantiation) returns; until then such a plan describes no returns
+		// 		for its entity selections and cannot be read by the ResultCursor
+		if ( selection.getExpression() instanceof FromElementReferenceExpression ) {
+			return null;
+		}
+
+		final Type selectionType = resolveOrmType( selection.getExpression() );
+		if ( selectionType == null ) {
+			final int position = fromClauseIndex.currentFromClause().getQuerySpec().getSelectClause().getSelections().size();
+			throw new QueryException(
+					"Unable to determine the type of selection [" + position
+							+ ( selection.getAlias() == null ? "" : " (" + selection.getAlias() + ")" ) + "]"
+			);
+		}
+		returnDescriptors.add( new ScalarReturn( selectionType, selection.getAlias() ) );
 		return null;
 	}
 
 	@Override
 	public Object visitDynamicInstantiation(DynamicInstantiation dynamicInstantiation) {
-		return null;
+		throw new NotYetImplementedException();
 	}
 
 	@Override
-	public Object visitWhereClause(WhereClause whereClause) {
-		return null;
+	public Predicate visitWhereClause(WhereClause whereClause) {
+		if ( whereClause.getPredicate() == null ) {
+			return null;
+		}
+		return (Predicate) whereClause.getPredicate().accept( this );
 	}
 
 	@Override
-	public Object visitGroupedPredicate(GroupedPredicate predicate) {
-		return null;
+	public Predicate visitGroupedPredicate(GroupedPredicate predicate) {
+		// the renderer groups nested junctions itself
+		return (Predicate) predicate.getSubPredicate().accept( this );
 	}
 
 	@Override
-	public Object visitAndPredicate(AndPredicate predicate) {
-		return null;
+	public Junction visitAndPredicate(AndPredicate predicate) {
+		final Junction conjunction = new Junction( Junction.Nature.CONJUNCTION );
+		conjunction.add( (Predicate) predicate.getLeftHandPredicate().accept( this ) );
+		conjunction.add( (Predicate) predicate.getRightHandPredicate().accept( this ) );
+		return conjunction;
 	}
 
 	@Override
-	public Object visitOrPredicate(OrPredicate predicate) {
-		return null;
+	public Junction visitOrPredicate(OrPredicate predicate) {
+		final Junction disjunction = new Junction( Junction.Nature.DISJUNCTION );
+		disjunction.add( (Predicate) predicate.getLeftHandPredicate().accept( this ) );
+		disjunction.add( (Predicate) predicate.getRightHandPredicate().accept( this ) );
+		return disjunction;
 	}
 
 	@Override
-	public Object visitRelationalPredicate(RelationalPredicate predicate) {
+	public org.hibernate.sql.ast.predicate.RelationalPredicate visitRelationalPredicate(RelationalPredicate predicate) {
+		return new org.hibernate.sql.ast.predicate.RelationalPredicate(
+				interpretRelationalOperator( predicate.getType() ),
+				interpretOperand( predicate.getLeftHandExpression(), predicate.getRightHandExpression() ),
+				interpretOperand( predicate.getRightHandExpression(), predicate.getLeftHandExpression() )
+		);
+	}
+
+	/**
+	 * Interpret an operand of a comparison (or arithmetic operation), inferring the type of any query parameter
+	 * used as the operand from the other operand.
+	 *
+	 * @param operand The operand to interpret
+	 * @param typeSource The operand it is compared to
+	 *
+	 * @return The interpreted operand
+	 */
+	protected org.hibernate.sql.ast.expression.Expression interpretOperand(Expression operand, Expression typeSource) {
+		final Type previous = inferredParameterType;
+		final Type typeSourceType = resolveOrmType( typeSource );
+		if ( typeSourceType != null ) {
+			inferredParameterType = typeSourceType;
+		}
+		try {
+			return (org.hibernate.sql.ast.expression.Expression) operand.accept( this );
+		}
+		finally {
+			inferredParameterType = previous;
+		}
+	}
+
+	/**
+	 * Resolve the ORM Type of an expression, following the ORM (HQL) typing rules where the expression
+	 * does not carry a type itself
+	 *
+	 * @param expression The expression
+	 *
+	 * @return The Type, or {@code null} if it cannot be determined
+	 */
+	private Type resolveOrmType(Expression expression) {
+		if ( expression instanceof AttributeReferenceExpression ) {
+			final AttributeReferenceExpression attributeReference = (AttributeReferenceExpression) expression;
+			if ( attributeReference.getSource().getTypeDescriptor() instanceof EntityTypeDescriptorImpl ) {
+				return resolvePersister( attributeReference.getSource() ).resolveAttributeType(
+						attributeReference.getAttributeDescriptor().getName()
+				);
+			}
+			return null;
+		}
+		if ( expression instanceof EntityTypeExpression ) {
+			final Queryable persister = (Queryable) resolvePersister(
+					( (EntityTypeExpression) expression ).getFromElement()
+			).getEntityPersister();
+			return persister.getDiscriminatorType();
+		}
+		if ( expression instanceof BinaryArithmeticExpression ) {
+			return resolveArithmeticType(
+					resolveOrmType( ( (BinaryArithmeticExpression) expression ).getLeftHandOperand() ),
+					resolveOrmType( ( (BinaryArithmeticExpression) expression ).getRightHandOperand() )
+			);
+		}
+		if ( expression instanceof NamedParameterExpression ) {
+			final NamedQueryParameter queryParameter = namedQueryParameterMap == null
+					? null
+					: namedQueryParameterMap.get( ( (NamedParameterExpression) expression ).getName() );
+			return queryParameter == null ? null : queryParameter.getExpectedType();
+		}
+		if ( expression instanceof PositionalParameterExpression ) {
+			final PositionalQueryParameter queryParameter = positionalQueryParameterMap == null
+					? null
+					: positionalQueryParameterMap.get( ( (PositionalParameterExpression) expression ).getPosition() );
+			return queryParameter == null ? null : queryParameter.getExpectedType();
+		}
+		if ( expression instanceof CountFunction || expression instanceof CountStarFunction ) {
+			return LongType.INSTANCE;
+		}
+		if ( expression instanceof AvgFunction ) {
+			return DoubleType.INSTANCE;
+		}
+		if ( expression instanceof SumFunction ) {
+			// like the ORM "sum" function : integral sums are Long, floating point sums Double
+			final Type argumentType = resolveOrmType( ( (SumFunction) expression ).getArgument() );
+			if ( argumentType instanceof IntegerType || argumentType instanceof ShortType ) {
+				return LongType.INSTANCE;
+			}
+			if ( argumentType instanceof FloatType ) {
+				return DoubleType.INSTANCE;
+			}
+			return argumentType;
+		}
+		if ( expression instanceof MaxFunction ) {
+			return resolveOrmType( ( (MaxFunction) expression ).getArgument() );
+		}
+		if ( expression instanceof MinFunction ) {
+			return resolveOrmType( ( (MinFunction) expression ).getArgument() );
+		}
+		return resolveLiteralType( expression );
+	}
+
+	/**
+	 * Literals are typed by the Java type of their value
+	 */
+	private static Type resolveLiteralType(Expression expression) {
+		if ( expression instanceof LiteralIntegerExpression ) {
+			return IntegerType.INSTANCE;
+		}
+		if ( expression instanceof LiteralLongExpression ) {
+			return LongType.INSTANCE;
+		}
+		if ( expression instanceof LiteralBigIntegerExpression ) {
+			return BigIntegerType.INSTANCE;
+		}
+		if ( expression instanceof LiteralBigDecimalExpression ) {
+			return BigDecimalType.INSTANCE;
+		}
+		if ( expression instanceof LiteralFloatExpression ) {
+			return FloatType.INSTANCE;
+		}
+		if ( expression instanceof LiteralDoubleExpression ) {
+			return DoubleType.INSTANCE;
+		}
+		if ( expression instanceof LiteralStringExpression ) {
+			return StringType.INSTANCE;
+		}
+		if ( expression instanceof LiteralCharacterExpression ) {
+			return CharacterType.INSTANCE;
+		}
+		if ( expression instanceof LiteralTrueExpression || expression instanceof LiteralFalseExpression ) {
+			return BooleanType.INSTANCE;
+		}
+		// null literals (and anything else) have no type of their own
 		return null;
 	}
 
+	/**
+	 * The type of an arithmetic operation on operands of the given types, as ORM's HQL arithmetic typing
+	 * rules determine it : an operand of unknown type (a null literal, an untyped parameter) takes the
+	 * type of the other operand, otherwise the "widest" numeric type wins.
+	 *
+	 * @return The type, or {@code null} if neither operand type is known or either is not numeric
+	 */
+	private static Type resolveArithmeticType(Type lhsType, Type rhsType) {
+		if ( lhsType == null ) {
+			return rhsType;
+		}
+		if ( rhsType == null ) {
+			return lhsType;
+		}
+
+		final Class lhsClass = lhsType.getReturnedClass();
+		final Class rhsClass = rhsType.getReturnedClass();
+		if ( !Number.class.isAssignableFrom( lhsClass ) || !Number.class.isAssignableFrom( rhsClass ) ) {
+			return null;
+		}
+		if ( lhsClass == Double.class || rhsClass == Double.class ) {
+			return DoubleType.INSTANCE;
+		}
+		if ( lhsClass == Float.class || rhsClass == Float.class ) {
+			return FloatType.INSTANCE;
+		}
+		if ( lhsClass == BigDecimal.class || rhsClass == BigDecimal.class ) {
+			return BigDecimalType.INSTANCE;
+		}
+		if ( lhsClass == BigInteger.class || rhsClass == BigInteger.class ) {
+			return BigIntegerType.INSTANCE;
+		}
+		if ( lhsClass == Long.class || rhsClass == Long.class ) {
+			return LongType.INSTANCE;
+		}
+		return IntegerType.INSTANCE;
+	}
+
+	private static org.hibernate.sql.ast.predicate.RelationalPredicate.Operator interpretRelationalOperator(
+			RelationalPredicate.Type type) {
+		switch ( type ) {
+			case EQUAL: {
+				return org.hibernate.sql.ast.predicate.RelationalPredicate.Operator.EQUAL;
+			}
+			case NOT_EQUAL: {
+				return org.hibernate.sql.ast.predicate.RelationalPredicate.Operator.NOT_EQUAL;
+			}
+			case GT: {
+				return org.hibernate.sql.ast.predicate.RelationalPredicate.Operator.GREATER_THAN;
+			}
+			case GE: {
+				return org.hibernate.sql.ast.predicate.RelationalPredicate.Operator.GREATER_THAN_OR_EQUAL;
+			}
+			case LT: {
+				return org.hibernate.sql.ast.predicate.RelationalPredicate.Operator.LESS_THAN;
+			}
+			case LE: {
+				return org.hibernate.sql.ast.predicate.RelationalPredicate.Operator.LESS_THAN_OR_EQUAL;
+			}
+			default: {
+				throw new AssertionFailure( "Unexpected relational predicate type : " + type );
+			}
+		}
+	}
+
 	@Override
 	public Object visitIsEmptyPredicate(IsEmptyPredicate predicate) {
-		return null;
+		throw new NotYetImplementedException();
 	}
 
 	@Override
-	public Object visitIsNullPredicate(IsNullPredicate predicate) {
-		return null;
+	public NullnessPredicate visitIsNullPredicate(IsNullPredicate predicate) {
+		return new NullnessPredicate(
+				(org.hibernate.sql.ast.expression.Expression) predicate.getExpression().accept( this ),
+				predicate.isNegated()
+		);
 	}
 
 	@Override
-	public Object visitBetweenPredicate(BetweenPredicate predicate) {
-		return null;
+	public org.hibernate.sql.ast.predicate.BetweenPredicate visitBetweenPredicate(BetweenPredicate predicate) {
+		return new org.hibernate.sql.ast.predicate.BetweenPredicate(
+				interpretOperand( predicate.getExpression(), predicate.getLowerBound() ),
+				interpretOperand( predicate.getLowerBound(), predicate.getExpression() ),
+				interpretOperand( predicate.getUpperBound(), predicate.getExpression() ),
+				predicate.isNegated()
+		);
 	}
 
 	@Override
-	public Object visitLikePredicate(LikePredicate predicate) {
-		return null;
+	public org.hibernate.sql.ast.predicate.LikePredicate visitLikePredicate(LikePredicate predicate) {
+		return new org.hibernate.sql.ast.predicate.LikePredicate(
+				interpretOperand( predicate.getMatchExpression(), predicate.getPattern() ),
+				interpretOperand( predicate.getPattern(), predicate.getMatchExpression() ),
+				predicate.getEscapeCharacter() == null
+						? null
+						: (org.hibernate.sql.ast.expression.Expression) predicate.getEscapeCharacter().accept( this ),
+				predicate.isNegated()
+		);
 	}
 
 	@Override
 	public Object visitMemberOfPredicate(MemberOfPredicate predicate) {
-		return null;
+		throw new NotYetImplementedException();
 	}
 
 	@Override
-	public Object visitNegatedPredicate(NegatedPredicate predicate) {
-		return null;
+	public org.hibernate.sql.ast.predicate.NegatedPredicate visitNegatedPredicate(NegatedPredicate predicate) {
+		return new org.hibernate.sql.ast.predicate.NegatedPredicate(
+				(Predicate) predicate.getWrappedPredicate().accept( this )
+		);
 	}
 
 	@Override
 	public Object visitInTupleListPredicate(InTupleListPredicate predicate) {
-		return null;
+		throw new NotYetImplementedException();
 	}
 
 	@Override
 	public Object visitInSubQueryPredicate(InSubQueryPredicate predicate) {
-		return null;
+		throw new NotYetImplementedException();
 	}
 
 	@Override
-	public Object visitPositionalParameterExpression(PositionalParameterExpression expression) {
-		return null;
+	public PositionalParameter visitPositionalParameterExpression(PositionalParameterExpression expression) {
+		if ( positionalQueryParameterMap == null ) {
+			positionalQueryParameterMap = new HashMap<Integer, PositionalQueryParameter>();
+		}
+
+		PositionalQueryParameter queryParameter = positionalQueryParameterMap.get( expression.getPosition() );
+		if ( queryParameter == null ) {
+			// the type inferred from the first reference is the expected type; without one the bind type is
+			// resolved from the parameter binding
+			queryParameter = new PositionalQueryParameter(
+					queryParameters.size(),
+					expression.getPosition(),
+					inferredParameterType
+			);
+			positionalQueryParameterMap.put( expression.getPosition(), queryParameter );
+			queryParameters.add( queryParameter );
+		}
+		return new PositionalParameter( queryParameter );
 	}
 
 	@Override
-	public Object visitNamedParameterExpression(NamedParameterExpression expression) {
-		return null;
+	public NamedParameter visitNamedParameterExpression(NamedParameterExpression expression) {
+		if ( namedQueryParameterMap == null ) {
+			namedQueryParameterMap = new HashMap<String, NamedQueryParameter>();
+		}
+
+		NamedQueryParameter queryParameter = namedQueryParameterMap.get( expression.getName() );
+		if ( queryParameter == null ) {
+			// the type inferred from the first reference is the expected type; without one the bind type is
+			// resolved from the parameter binding
+			queryParameter = new NamedQueryParameter( queryParameters.size(), expression.getName(), inferredParameterType );
+			namedQueryParameterMap.put( expression.getName(), queryParameter );
+			queryParameters.add( queryParameter );
+		}
+		return new NamedParameter( queryParameter );
 	}
 
 	@Override
-	public Object visitEntityTypeExpression(EntityTypeExpression expression) {
-		return null;
+	public org.hibernate.sql.ast.expression.Expression visitEntityTypeExpression(EntityTypeExpression expression) {
+		final EntityTableSpecificationGroup group = resolveEntityTableSpecificationGroup( expression.getFromElement() );
+		if ( group == null ) {
+			throw new NotYetImplementedException();
+		}
+		return resolvePersister( expression.getFromElement() ).resolveTypeExpression( group );
 	}
 
 	@Override
 	public Object visitUnaryOperationExpression(UnaryOperationExpression expression) {
-		return null;
+		throw new NotYetImplementedException();
 	}
 
 	@Override
-	public Object visitAttributeReferenceExpression(AttributeReferenceExpression expression) {
-		return null;
+	public org.hibernate.sql.ast.expression.Expression visitAttributeReferenceExpression(AttributeReferenceExpression expression) {
+		final String attributeName = expression.getAttributeDescriptor().getName();
+		final org.hibernate.sql.ast.expression.Expression resolved =
+				fromClauseIndex.findResolvedAttributeExpression( expression.getSource(), attributeName );
+		if ( resolved != null ) {
+			return resolved;
+		}
+
+		final EntityTableSpecificationGroup group = resolveEntityTableSpecificationGroup( expression.getSource() );
+		if ( group == null ) {
+			throw new NotYetImplementedException();
+		}
+		final org.hibernate.sql.ast.expression.Expression attributeExpression =
+				resolvePersister( expression.getSource() ).resolveAttributeExpression( group, attributeName );
+		fromClauseIndex.crossReference( expression.getSource(), attributeName, attributeExpression );
+		return attributeExpression;
 	}
 
 	@Override
-	public Object visitFromElementReferenceExpression(FromElementReferenceExpression expression) {
-		return null;
+	public org.hibernate.sql.ast.expression.Expression visitFromElementReferenceExpression(FromElementReferenceExpression expression) {
+		return resolveEntityExpression( expression.getFromElement() );
+	}
+
+	private org.hibernate.sql.ast.expression.Expression resolveEntityExpression(FromElement fromElement) {
+		final EntityTableSpecificationGroup group = resolveEntityTableSpecificationGroup( fromElement );
+		if ( group == null ) {
+			throw new NotYetImplementedException();
+		}
+		return resolvePersister( fromElement ).resolveEntityExpression( group );
 	}
 
 	@Override
 	public Object visitFunctionExpression(FunctionExpression expression) {
-		return null;
+		throw new NotYetImplementedException();
 	}
 
 	@Override
-	public Object visitAvgFunction(AvgFunction expression) {
-		return null;
+	public AggregateFunction visitAvgFunction(AvgFunction expression) {
+		return expressionInterner.intern(
+				new AggregateFunction(
+						"avg",
+						(org.hibernate.sql.ast.expression.Expression) expression.getArgument().accept( this ),
+						expression.isDistinct()
+				)
+		);
 	}
 
 	@Override
-	public Object visitCountStarFunction(CountStarFunction expression) {
-		return null;
+	public org.hibernate.sql.ast.expression.CountStarFunction visitCountStarFunction(CountStarFunction expression) {
+		return expressionInterner.intern( new org.hibernate.sql.ast.expression.CountStarFunction() );
 	}
 
 	@Override
-	public Object visitCountFunction(CountFunction expression) {
-		return null;
+	public AggregateFunction visitCountFunction(CountFunction expression) {
+		return expressionInterner.intern(
+				new AggregateFunction(
+						"count",
+						(org.hibernate.sql.ast.expression.Expression) expression.getArgument().accept( this ),
+						expression.isDistinct()
+				)
+		);
 	}
 
 	@Override
-	public Object visitMaxFunction(MaxFunction expression) {
-		return null;
+	public AggregateFunction visitMaxFunction(MaxFunction expression) {
+		return expressionInterner.intern(
+				new AggregateFunction(
+						"max",
+						(org.hibernate.sql.ast.expression.Expression) expression.getArgument().accept( this ),
+						expression.isDistinct()
+				)
+		);
 	}
 
 	@Override
-	public Object visitMinFunction(MinFunction expression) {
-		return null;
+	public AggregateFunction visitMinFunction(MinFunction expression) {
+		return expressionInterner.intern(
+				new AggregateFunction(
+						"min",
+						(org.hibernate.sql.ast.expression.Expression) expression.getArgument().accept( this ),
+						expression.isDistinct()
+				)
+		);
 	}
 
 	@Override
-	public Object visitSumFunction(SumFunction expression) {
-		return null;
+	public AggregateFunction visitSumFunction(SumFunction expression) {
+		return expressionInterner.intern(
+				new AggregateFunction(
+						"sum",
+						(org.hibernate.sql.ast.expression.Expression) expression.getArgument().accept( this ),
+						expression.isDistinct()
+				)
+		);
 	}
 
 	@Override
-	public Object visitLiteralStringExpression(LiteralStringExpression expression) {
-		return null;
+	public QueryLiteral visitLiteralStringExpression(LiteralStringExpression expression) {
+		return expressionInterner.intern( new QueryLiteral( expression.getLiteralValue() ) );
 	}
 
 	@Override
-	public Object visitLiteralCharacterExpression(LiteralCharacterExpression expression) {
-		return null;
+	public QueryLiteral visitLiteralCharacterExpression(LiteralCharacterExpression expression) {
+		return expressionInterner.intern( new QueryLiteral( expression.getLiteralValue() ) );
 	}
 
 	@Override
-	public Object visitLiteralDoubleExpression(LiteralDoubleExpression expression) {
-		return null;
+	public QueryLiteral visitLiteralDoubleExpression(LiteralDoubleExpression expression) {
+		return expressionInterner.intern( new QueryLiteral( expression.getLiteralValue() ) );
 	}
 
 	@Override
-	public Object visitLiteralIntegerExpression(LiteralIntegerExpression expression) {
-		return null;
+	public QueryLiteral visitLiteralIntegerExpression(LiteralIntegerExpression expression) {
+		return expressionInterner.intern( new QueryLiteral( expression.getLiteralValue() ) );
 	}
 
 	@Override
-	public Object visitLiteralBigIntegerExpression(LiteralBigIntegerExpression expression) {
-		return null;
+	public QueryLiteral visitLiteralBigIntegerExpression(LiteralBigIntegerExpression expression) {
+		return expressionInterner.intern( new QueryLiteral( expression.getLiteralValue() ) );
 	}
 
 	@Override
-	public Object visitLiteralBigDecimalExpression(LiteralBigDecimalExpression expression) {
-		return null;
+	public QueryLiteral visitLiteralBigDecimalExpression(LiteralBigDecimalExpression expression) {
+		return expressionInterner.intern( new QueryLiteral( expression.getLiteralValue() ) );
 	}
 
 	@Override
-	public Object visitLiteralFloatExpression(LiteralFloatExpression expression) {
-		return null;
+	public QueryLiteral visitLiteralFloatExpression(LiteralFloatExpression expression) {
+		return expressionInterner.intern( new QueryLiteral( expression.getLiteralValue() ) );
 	}
 
 	@Override
-	public Object visitLiteralLongExpression(LiteralLongExpression expression) {
-		return null;
+	public QueryLiteral visitLiteralLongExpression(LiteralLongExpression expression) {
+		return expressionInterner.intern( new QueryLiteral( expression.getLiteralValue() ) );
 	}
 
 	@Override
-	public Object visitLiteralTrueExpression(LiteralTrueExpression expression) {
-		return null;
+	public QueryLiteral visitLiteralTrueExpression(LiteralTrueExpression expression) {
+		return expressionInterner.intern( new QueryLiteral( Boolean.TRUE ) );
 	}
 
 	@Override
-	public Object visitLiteralFalseExpression(LiteralFalseExpression expression) {
-		return null;
+	public QueryLiteral visitLiteralFalseExpression(LiteralFalseExpression expression) {
+		return expressionInterner.intern( new QueryLiteral( Boolean.FALSE ) );
 	}
 
 	@Override
-	public Object visitLiteralNullExpression(LiteralNullExpression expression) {
-		return null;
+	public QueryLiteral visitLiteralNullExpression(LiteralNullExpression expression) {
+		return expressionInterner.intern( new QueryLiteral( null ) );
 	}
 
 	@Override
 	public Object visitConcatExpression(ConcatExpression expression) {
-		return null;
+		throw new NotYetImplementedException();
 	}
 
 	@Override
 	public Object visitConstantEnumExpression(ConstantEnumExpression expression) {
-		return null;
+		throw new NotYetImplementedException();
 	}
 
 	@Override
 	public Object visitConstantFieldExpression(ConstantFieldExpression expression) {
-		return null;
+		throw new NotYetImplementedException();
 	}
 
 	@Override
-	public Object visitBinaryArithmeticExpression(BinaryArithmeticExpression expression) {
-		return null;
+	public org.hibernate.sql.ast.expression.BinaryArithmeticExpression visitBinaryArithmeticExpression(BinaryArithmeticExpression expression) {
+		return expressionInterner.intern(
+				new org.hibernate.sql.ast.expression.BinaryArithmeticExpression(
+						org.hibernate.sql.ast.expression.BinaryArithmeticExpression.Operation.valueOf( expression.getOperation().name() ),
+						interpretOperand( expression.getLeftHandOperand(), expression.getRightHandOperand() ),
+						interpretOperand( expression.getRightHandOperand(), expression.getLeftHandOperand() )
+				)
+		);
 	}
 
 	@Override
 	public Object visitSubQueryExpression(SubQueryExpression expression) {
-		return null;
+		throw new NotYetImplementedException();
 	}
 }
@@ -6,7 +6,7 @@
  */
 package org.hibernate.sql.gen.internal;
 
-import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
 
 import org.hibernate.AssertionFailure;
@@ -14,53 +14,74 @@ import org.hibernate.internal.util.StringHelper;
 import org.hibernate.sqm.query.from.FromElement;
 
 /**
+ * Generates the SQL alias bases for the FromElements of a query (called a base because a FromElement
+ * can encompass multiple physical tables, each aliased as the base plus a table suffix).
+ * <p/>
+ * An alias base is the entity's acronym - a single lower-case ASCII letter - followed by the number
+ * of times that acronym has been used so far in the query; e.g. {@code p1}, {@code a1}, {@code p2}.
+ * The acronym is a pure function of the entity name and is computed once per persister (see
+ * {@link org.hibernate.sql.orm.internal.mapping.EntityPersisterMetadata#getSqlAliasAcronym()}), and the
+ * counts only depend on the order in which FromElements are encountered, so interpreting the same query
+ * always produces the same aliases, and therefore byte-identical SQL, in any JVM.
+ *
  * @author Steve Ebersole
  */
 public class SqlAliasBaseManager {
+	private static final char DEFAULT_ACRONYM = 't';
+
 	// an overall dictionary; used to ensure that a given FromElement instance always
-	// resolves to the same alias-base (its called base because a FromElement can encompass
-	// multiple physical tables).
-	private Map<FromElement,String> fromElementAliasMap = new HashMap<FromElement, String>();
+	// resolves to the same alias-base
+	private Map<FromElement,String> fromElementAliasMap;
 
-	// work dictionary used to map a FromElement type name to its acronym
-	private Map<String,String> typeNameAcronymMap = new HashMap<String, String>();
-	// wok dictionary used to map an acronym to the number of times it has been used.
-	private Map<String,Integer> acronymCountMap = new HashMap<String, Integer>();
+	// the number of times each acronym ('a' through 'z') has been used
+	private final int[] acronymCounts = new int[26];
 
 	public String getSqlAliasBase(FromElement fromElement) {
-		String aliasBase = fromElementAliasMap.get( fromElement );
-		if ( aliasBase == null ) {
-			aliasBase = generateAliasBase( fromElement );
-			fromElementAliasMap.put( fromElement, aliasBase );
-		}
-		return aliasBase;
+		return getSqlAliasBase( fromElement, determineAcronym( fromElement.getTypeDescriptor().getTypeName() ) );
 	}
 
-	private String generateAliasBase(FromElement fromElement) {
-		final String entityName = fromElement.getTypeDescriptor().getTypeName();
-		final String acronym = determineAcronym( entityName );
-
-		Integer acronymCount = acronymCountMap.get( acronym );
-		if ( acronymCount == null ) {
-			acronymCount = 0;
+	/**
+	 * Get the alias base for the given FromElement, using the given (precomputed) acronym if the
+	 * FromElement has not been assigned an alias base yet.
+	 *
+	 * @param fromElement The FromElement
+	 * @param acronym The acronym, as determined by {@link #determineAcronym}
+	 *
+	 * @return The alias base
+	 */
+	public String getSqlAliasBase(FromElement fromElement, char acronym) {
+		if ( fromElementAliasMap == null ) {
+			fromElementAliasMap = new IdentityHashMap<FromElement, String>();
+		}
+		else {
+			final String aliasBase = fromElementAliasMap.get( fromElement );
+			if ( aliasBase != null ) {
+				return aliasBase;
+			}
 		}
-		acronymCount++;
-		acronymCountMap.put( acronym, acronymCount );
 
-		return acronym + acronymCount;
+		final String aliasBase = generateAliasBase( acronym );
+		fromElementAliasMap.put( fromElement, aliasBase );
+		return aliasBase;
 	}
 
-	private String determineAcronym(String entityName) {
-		String acronym = typeNameAcronymMap.get( entityName );
-		if ( acronym == null ) {
-			acronym = entityNameToAcronym( entityName );
-			typeNameAcronymMap.put( entityName, acronym );
+	private String generateAliasBase(char acronym) {
+		if ( acronym < 'a' || acronym > 'z' ) {
+			throw new AssertionFailure( "Invalid SQL alias acronym [" + acronym + "]" );
 		}
-
-		return acronym;
+		final int count = ++acronymCounts[ acronym - 'a' ];
+		return new StringBuilder( 4 ).append( acronym ).append( count ).toString();
 	}
 
-	private String entityNameToAcronym(String entityName) {
+	/**
+	 * Determine the acronym used as the base of the SQL aliases for the given entity : the lower-cased
+	 * first letter of its (unqualified) name, if an ASCII letter; {@code t} otherwise.
+	 *
+	 * @param entityName The entity name
+	 *
+	 * @return The acronym
+	 */
+	public static char determineAcronym(String entityName) {
 		String simpleName = StringHelper.unqualify( entityName );
 		if ( simpleName.contains( "$" ) ) {
 			// inner class
@@ -70,14 +91,18 @@ public class SqlAliasBaseManager {
 			throw new AssertionFailure( "Could not determine simple name as base for alias [" + entityName + "]" );
 		}
 
-		return simpleNameToAcronym( simpleName );
-	}
-
-	private String simpleNameToAcronym(String simpleName) {
 		// ideally I'd like to build the alias base from acronym form of the name.  E.g.
-		// 'TransportationMethod` becomes 'tm', 'ShippingDestination` becomes 'sd', etc
+		// 'TransportationMethod` becomes 'tm', 'ShippingDestination` becomes 'sd', etc.  But a single
+		// letter keeps the aliases (and the SQL) short and allows the counts to be kept in an array.
 
-		// for now, just use the first letter
-		return Character.toString( Character.toLowerCase( simpleName.charAt( 0 ) ) );
+		// not Character.toLowerCase : the result must not depend on the JVM's (Unicode) tables
+		final char first = simpleName.charAt( 0 );
+		if ( first >= 'a' && first <= 'z' ) {
+			return first;
+		}
+		if ( first >= 'A' && first <= 'Z' ) {
+			return (char) ( first + ( 'a' - 'A' ) );
+		}
+		return DEFAULT_ACRONYM;
 	}
 }
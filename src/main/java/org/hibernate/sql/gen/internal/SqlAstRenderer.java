@@ -0,0 +1,678 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.gen.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.sql.SqlTreeException;
+import org.hibernate.sql.ast.QuerySpec;
+import org.hibernate.sql.ast.SelectQuery;
+import org.hibernate.sql.ast.SqlAstWalker;
+import org.hibernate.sql.ast.expression.AggregateFunction;
+import org.hibernate.sql.ast.expression.BinaryArithmeticExpression;
+import org.hibernate.sql.ast.expression.CaseSearchedExpression;
+import org.hibernate.sql.ast.expression.ColumnReference;
+import org.hibernate.sql.ast.expression.CountStarFunction;
+import org.hibernate.sql.ast.expression.Expression;
+import org.hibernate.sql.ast.expression.NamedParameter;
+import org.hibernate.sql.ast.expression.PositionalParameter;
+import org.hibernate.sql.ast.expression.QueryLiteral;
+import org.hibernate.sql.ast.expression.SelectionReference;
+import org.hibernate.sql.ast.expression.SqlTuple;
+import org.hibernate.sql.ast.from.TableSpace;
+import org.hibernate.sql.ast.from.TableSpecification;
+import org.hibernate.sql.ast.from.TableSpecificationGroup;
+import org.hibernate.sql.ast.from.TableSpecificationGroupJoin;
+import org.hibernate.sql.ast.from.TableSpecificationJoin;
+import org.hibernate.sql.ast.mutation.ColumnAssignment;
+import org.hibernate.sql.ast.mutation.MultiTableMutation;
+import org.hibernate.sql.ast.mutation.TableDelete;
+import org.hibernate.sql.ast.mutation.TableMutation;
+import org.hibernate.sql.ast.mutation.TableUpdate;
+import org.hibernate.sql.ast.predicate.BetweenPredicate;
+import org.hibernate.sql.ast.predicate.Junction;
+import org.hibernate.sql.ast.predicate.LikePredicate;
+import org.hibernate.sql.ast.predicate.NegatedPredicate;
+import org.hibernate.sql.ast.predicate.NullnessPredicate;
+import org.hibernate.sql.ast.predicate.Predicate;
+import org.hibernate.sql.ast.predicate.RelationalPredicate;
+import org.hibernate.sql.ast.select.SelectClause;
+import org.hibernate.sql.ast.select.Selection;
+import org.hibernate.sql.ast.sort.SortSpecification;
+import org.hibernate.sqm.query.JoinType;
+import org.hibernate.sqm.query.order.SortOrder;
+
+/**
+ * Renders the SQL AST into the SQL string.  The tree is walked exactly once, appending directly into a
+ * single buffer pre-sized from the shape of the tree; no intermediate Strings are built for the
+ * individual fragments.
+ * <p/>
+ * The parameter expressions are collected in the order they are rendered, which is the order of
+ * the JDBC parameter positions.
+ * <p/>
+ * Multi-table mutations are rendered per {@link org.hibernate.sql.gen.MultiTableMutationStrategy}: either
+ * one statement per table, each with its own copy of the id selection as an IN subquery (see
+ * {@link #renderTableMutation}), a single statement selecting the ids once in a CTE (see
+ * {@link #renderCteMutation}), or the id selection (see {@link #renderIdSelection}) followed by one
+ * statement per table restricted to a single id (see {@link #renderKeyedTableMutation}).
+ *
+ * @author Steve Ebersole
+ */
+public class SqlAstRenderer implements SqlAstWalker {
+	private static final int ESTIMATED_SELECTION_SIZE = 24;
+	private static final int ESTIMATED_TABLE_SPACE_SIZE = 96;
+	private static final int ESTIMATED_SORT_SIZE = 24;
+	private static final int ESTIMATED_RESTRICTION_SIZE = 64;
+	private static final int ESTIMATED_TABLE_MUTATION_SIZE = 64;
+
+	private static final String ID_SELECTION_CTE_NAME = "mutation_ids";
+	private static final String TABLE_MUTATION_CTE_NAME_PREFIX = "mutation_";
+
+	/**
+	 * Render the given SelectQuery.
+	 *
+	 * @param selectQuery The SQL AST
+	 * @param dialect The Dialect in effect
+	 *
+	 * @return The renderer, from which the SQL and parameters can be obtained
+	 */
+	public static SqlAstRenderer renderSelectQuery(SelectQuery selectQuery, Dialect dialect) {
+		final SqlAstRenderer renderer = new SqlAstRenderer( dialect, estimateSize( selectQuery ) );
+		renderer.visitSelectQuery( selectQuery );
+		return renderer;
+	}
+
+	/**
+	 * Render one of the statements of a multi-table mutation performed using the
+	 * {@link org.hibernate.sql.gen.MultiTableMutationStrategy#IN_SUBQUERY} strategy : the table mutation
+	 * restricted by {@code <key> in (<id selection>)}.
+	 *
+	 * @param tableMutation The table mutation
+	 * @param idSelection The id selection of the multi-table mutation
+	 * @param dialect The Dialect in effect
+	 *
+	 * @return The renderer, from which the SQL and parameters can be obtained
+	 */
+	public static SqlAstRenderer renderTableMutation(TableMutation tableMutation, QuerySpec idSelection, Dialect dialect) {
+		final SqlAstRenderer renderer = new SqlAstRenderer(
+				dialect,
+				ESTIMATED_TABLE_MUTATION_SIZE + estimateSize( idSelection )
+		);
+		renderer.visitTableMutation( tableMutation );
+		renderer.appendKeyRestriction( tableMutation );
+		renderer.visitQuerySpec( idSelection );
+		renderer.sqlBuffer.append( ')' );
+		return renderer;
+	}
+
+	/**
+	 * Render the id selection of a multi-table mutation performed using the
+	 * {@link org.hibernate.sql.gen.MultiTableMutationStrategy#SELECTED_IDS} strategy
+	 *
+	 * @param idSelection The id selection
+	 * @param dialect The Dialect in effect
+	 *
+	 * @return The renderer, from which the SQL and parameters can be obtained
+	 */
+	public static SqlAstRenderer renderIdSelection(QuerySpec idSelection, Dialect dialect) {
+		final SqlAstRenderer renderer = new SqlAstRenderer( dialect, estimateSize( idSelection ) );
+		renderer.visitQuerySpec( idSelection );
+		return renderer;
+	}
+
+	/**
+	 * Render one of the statements of a multi-table mutation performed using the
+	 * {@link org.hibernate.sql.gen.MultiTableMutationStrategy#SELECTED_IDS} strategy : the table mutation
+	 * restricted by {@code <key> = ?}.  The key parameters are not part of the
+	 * {@link #getParameterExpressions() parameter expressions}; they follow them.
+	 *
+	 * @param tableMutation The table mutation
+	 * @param dialect The Dialect in effect
+	 *
+	 * @return The renderer, from which the SQL and parameters can be obtained
+	 */
+	public static SqlAstRenderer renderKeyedTableMutation(TableMutation tableMutation, Dialect dialect) {
+		final SqlAstRenderer renderer = new SqlAstRenderer( dialect, ESTIMATED_TABLE_MUTATION_SIZE );
+		renderer.visitTableMutation( tableMutation );
+		final String[] keyColumnNames = tableMutation.getKeyColumnNames();
+		renderer.sqlBuffer.append( " where " );
+		for ( int i = 0; i < keyColumnNames.length; i++ ) {
+			if ( i > 0 ) {
+				renderer.sqlBuffer.append( " and " );
+			}
+			renderer.sqlBuffer.append( keyColumnNames[i] ).append( " = ?" );
+		}
+		return renderer;
+	}
+
+	/**
+	 * Render a multi-table mutation as a single statement, using the
+	 * {@link org.hibernate.sql.gen.MultiTableMutationStrategy#CTE} strategy : the ids are selected once
+	 * into a CTE and each table mutation but the last is a data-modifying CTE of its own, the last
+	 * being the main statement.
+	 *
+	 * @param mutation The multi-table mutation
+	 * @param dialect The Dialect in effect
+	 *
+	 * @return The renderer, from which the SQL and parameters can be obtained
+	 */
+	public static SqlAstRenderer renderCteMutation(MultiTableMutation mutation, Dialect dialect) {
+		final SqlAstRenderer renderer = new SqlAstRenderer(
+				dialect,
+				mutation.getTableMutations().size() * ESTIMATED_TABLE_MUTATION_SIZE + estimateSize( mutation.getIdSelection() )
+		);
+		renderer.visitCteMutation( mutation );
+		return renderer;
+	}
+
+	private static int estimateSize(SelectQuery selectQuery) {
+		return estimateSize( selectQuery.getQuerySpec() )
+				+ selectQuery.getSortSpecifications().size() * ESTIMATED_SORT_SIZE;
+	}
+
+	private static int estimateSize(QuerySpec querySpec) {
+		return querySpec.getSelectClause().getSelections().size() * ESTIMATED_SELECTION_SIZE
+				+ querySpec.getFromClause().getTableSpaces().size() * ESTIMATED_TABLE_SPACE_SIZE
+				+ ( querySpec.getWhereClauseRestrictions() == null ? 0 : ESTIMATED_RESTRICTION_SIZE );
+	}
+
+	private final Dialect dialect;
+	private final StringBuilder sqlBuffer;
+
+	private List<Expression> parameterExpressions;
+
+	// while rendering the SET clause of a table update, the table being updated; its columns are
+	// rendered unqualified
+	private String assignmentTableExpression;
+
+	private SqlAstRenderer(Dialect dialect, int estimatedSize) {
+		this.dialect = dialect;
+		this.sqlBuffer = new StringBuilder( estimatedSize );
+	}
+
+	public String getSql() {
+		return sqlBuffer.toString();
+	}
+
+	/**
+	 * The rendered parameter expressions ({@link NamedParameter} and {@link PositionalParameter}), in
+	 * JDBC parameter position order.
+	 *
+	 * @return The parameter expressions
+	 */
+	public List<Expression> getParameterExpressions() {
+		if ( parameterExpressions == null ) {
+			return Collections.emptyList();
+		}
+		else {
+			return Collections.unmodifiableList( parameterExpressions );
+		}
+	}
+
+
+	// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// structural parts
+
+	private void visitSelectQuery(SelectQuery selectQuery) {
+		visitQuerySpec( selectQuery.getQuerySpec() );
+
+		final List<SortSpecification> sortSpecifications = selectQuery.getSortSpecifications();
+		if ( !sortSpecifications.isEmpty() ) {
+			sqlBuffer.append( " order by " );
+			for ( int i = 0; i < sortSpecifications.size(); i++ ) {
+				if ( i > 0 ) {
+					sqlBuffer.append( ", " );
+				}
+				visitSortSpecification( sortSpecifications.get( i ) );
+			}
+		}
+	}
+
+	private void visitQuerySpec(QuerySpec querySpec) {
+		visitSelectClause( querySpec.getSelectClause() );
+		visitFromClause( querySpec.getFromClause().getTableSpaces() );
+
+		final Predicate whereClauseRestrictions = querySpec.getWhereClauseRestrictions();
+		if ( whereClauseRestrictions != null && !isEmptyJunction( whereClauseRestrictions ) ) {
+			sqlBuffer.append( " where " );
+			whereClauseRestrictions.accept( this );
+		}
+	}
+
+	private void visitSelectClause(SelectClause selectClause) {
+		sqlBuffer.append( "select " );
+		if ( selectClause.isDistinct() ) {
+			sqlBuffer.append( "distinct " );
+		}
+
+		final List<Selection> selections = selectClause.getSelections();
+		if ( selections.isEmpty() ) {
+			throw new SqlTreeException( "SQL AST defined no selections" );
+		}
+		for ( int i = 0; i < selections.size(); i++ ) {
+			if ( i > 0 ) {
+				sqlBuffer.append( ", " );
+			}
+			final Selection selection = selections.get( i );
+			selection.getSelectExpression().accept( this );
+			if ( selection.getSqlAlias() != null ) {
+				sqlBuffer.append( " as " ).append( dialect.quote( selection.getSqlAlias() ) );
+			}
+		}
+	}
+
+	private void visitFromClause(List<TableSpace> tableSpaces) {
+		sqlBuffer.append( " from " );
+		for ( int i = 0; i < tableSpaces.size(); i++ ) {
+			if ( i > 0 ) {
+				sqlBuffer.append( ", " );
+			}
+			visitTableSpace( tableSpaces.get( i ) );
+		}
+	}
+
+	private void visitTableSpace(TableSpace tableSpace) {
+		visitTableSpecificationGroup( tableSpace.getRootTableSpecificationGroup(), null );
+
+		for ( TableSpecificationGroupJoin groupJoin : tableSpace.getJoinedTableSpecificationGroups() ) {
+			appendJoinType( groupJoin.getJoinType() );
+			visitTableSpecificationGroup( groupJoin.getJoinedGroup(), groupJoin.getPredicate() );
+		}
+	}
+
+	/**
+	 * Render the group's tables.  For a joined group, the group join predicate is the join condition of the
+	 * group's root table and so is rendered right after it, before the group's own (subclass, secondary)
+	 * table joins : {@code join a a1_0 on <group predicate> left outer join a_sub a1_1 on ...}
+	 */
+	private void visitTableSpecificationGroup(TableSpecificationGroup group, Predicate groupJoinPredicate) {
+		renderTableSpecification( group.getRootTableSpecification() );
+		if ( groupJoinPredicate != null ) {
+			sqlBuffer.append( " on " );
+			groupJoinPredicate.accept( this );
+		}
+
+		for ( TableSpecificationJoin join : group.getTableSpecificationJoins() ) {
+			appendJoinType( join.getJoinType() );
+			renderTableSpecification( join.getJoinedTable() );
+			if ( join.getJoinPredicate() != null ) {
+				sqlBuffer.append( " on " );
+				join.getJoinPredicate().accept( this );
+			}
+		}
+	}
+
+	private void renderTableSpecification(TableSpecification tableSpecification) {
+		sqlBuffer.append( tableSpecification.getTableExpression() )
+				.append( ' ' )
+				.append( tableSpecification.getCorrelationName() );
+	}
+
+	private void appendJoinType(JoinType joinType) {
+		switch ( joinType ) {
+			case INNER: {
+				sqlBuffer.append( " inner join " );
+				break;
+			}
+			case LEFT: {
+				sqlBuffer.append( " left outer join " );
+				break;
+			}
+			case RIGHT: {
+				sqlBuffer.append( " right outer join " );
+				break;
+			}
+			case FULL: {
+				sqlBuffer.append( " full outer join " );
+				break;
+			}
+			case CROSS: {
+				sqlBuffer.append( " cross join " );
+				break;
+			}
+			default: {
+				throw new SqlTreeException( "Unexpected join type : " + joinType );
+			}
+		}
+	}
+
+	private void visitSortSpecification(SortSpecification sortSpecification) {
+		sortSpecification.getSortExpression().accept( this );
+		if ( sortSpecification.getCollation() != null ) {
+			sqlBuffer.append( " collate " ).append( sortSpecification.getCollation() );
+		}
+		if ( sortSpecification.getSortOrder() == SortOrder.DESCENDING ) {
+			sqlBuffer.append( " desc" );
+		}
+		else {
+			sqlBuffer.append( " asc" );
+		}
+	}
+
+
+	// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// mutations
+
+	private void visitCteMutation(MultiTableMutation mutation) {
+		final List<TableMutation> tableMutations = mutation.getTableMutations();
+		if ( tableMutations.isEmpty() ) {
+			throw new SqlTreeException( "SQL AST defined no table mutations" );
+		}
+
+		sqlBuffer.append( "with " ).append( ID_SELECTION_CTE_NAME ).append( " (" );
+		appendColumnList( mutation.getIdColumnNames() );
+		sqlBuffer.append( ") as (" );
+		visitQuerySpec( mutation.getIdSelection() );
+		sqlBuffer.append( ')' );
+
+		final int last = tableMutations.size() - 1;
+		for ( int i = 0; i < last; i++ ) {
+			sqlBuffer.append( ", " ).append( TABLE_MUTATION_CTE_NAME_PREFIX ).append( i + 1 ).append( " as (" );
+			visitCteTableMutation( tableMutations.get( i ), mutation.getIdColumnNames() );
+			sqlBuffer.append( ')' );
+		}
+
+		sqlBuffer.append( ' ' );
+		visitCteTableMutation( tableMutations.get( last ), mutation.getIdColumnNames() );
+	}
+
+	private void visitCteTableMutation(TableMutation tableMutation, String[] idColumnNames) {
+		visitTableMutation( tableMutation );
+		appendKeyRestriction( tableMutation );
+		sqlBuffer.append( "select " );
+		appendColumnList( idColumnNames );
+		sqlBuffer.append( " from " ).append( ID_SELECTION_CTE_NAME ).append( ')' );
+	}
+
+	private void visitTableMutation(TableMutation tableMutation) {
+		if ( tableMutation instanceof TableUpdate ) {
+			visitTableUpdate( (TableUpdate) tableMutation );
+		}
+		else if ( tableMutation instanceof TableDelete ) {
+			sqlBuffer.append( "delete from " ).append( tableMutation.getTableExpression() );
+		}
+		else {
+			throw new SqlTreeException( "Unexpected table mutation type : " + tableMutation.getClass().getName() );
+		}
+	}
+
+	private void visitTableUpdate(TableUpdate tableUpdate) {
+		final List<ColumnAssignment> assignments = tableUpdate.getAssignments();
+		if ( assignments.isEmpty() ) {
+			throw new SqlTreeException( "SQL AST defined no assignments for table [" + tableUpdate.getTableExpression() + "]" );
+		}
+
+		sqlBuffer.append( "update " ).append( tableUpdate.getTableExpression() ).append( " set " );
+
+		assignmentTableExpression = tableUpdate.getTableExpression();
+		try {
+			for ( int i = 0; i < assignments.size(); i++ ) {
+				if ( i > 0 ) {
+					sqlBuffer.append( ", " );
+				}
+				sqlBuffer.append( assignments.get( i ).getColumnName() ).append( " = " );
+				assignments.get( i ).getValue().accept( this );
+			}
+		}
+		finally {
+			assignmentTableExpression = null;
+		}
+	}
+
+	private void appendKeyRestriction(TableMutation tableMutation) {
+		final String[] keyColumnNames = tableMutation.getKeyColumnNames();
+		sqlBuffer.append( " where " );
+		if ( keyColumnNames.length == 1 ) {
+			sqlBuffer.append( keyColumnNames[0] );
+		}
+		else {
+			sqlBuffer.append( '(' );
+			appendColumnList( keyColumnNames );
+			sqlBuffer.append( ')' );
+		}
+		sqlBuffer.append( " in (" );
+	}
+
+	private void appendColumnList(String[] columnNames) {
+		for ( int i = 0; i < columnNames.length; i++ ) {
+			if ( i > 0 ) {
+				sqlBuffer.append( ", " );
+			}
+			sqlBuffer.append( columnNames[i] );
+		}
+	}
+
+
+	// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// expressions
+
+	@Override
+	public void visitColumnReference(ColumnReference columnReference) {
+		if ( assignmentTableExpression != null ) {
+			// the SET clause of a table update can only refer to the row being updated
+			if ( !assignmentTableExpression.equals( columnReference.getTable().getTableExpression() ) ) {
+				throw new SqlTreeException(
+						"Assigned value refers to column [" + columnReference.getName() + "] of table ["
+								+ columnReference.getTable().getTableExpression() + "] rather than the table being updated ["
+								+ assignmentTableExpression + "]"
+				);
+			}
+			sqlBuffer.append( columnReference.getName() );
+			return;
+		}
+
+		sqlBuffer.append( columnReference.getTable().getCorrelationName() )
+				.append( '.' )
+				.append( columnReference.getName() );
+	}
+
+	@Override
+	public void visitQueryLiteral(QueryLiteral queryLiteral) {
+		final Object value = queryLiteral.getValue();
+		if ( value == null ) {
+			sqlBuffer.append( "null" );
+		}
+		else if ( value instanceof String || value instanceof Character ) {
+			appendQuoted( value.toString() );
+		}
+		else if ( value instanceof Boolean ) {
+			sqlBuffer.append( dialect.toBooleanValueString( (Boolean) value ) );
+		}
+		else if ( value instanceof Number ) {
+			sqlBuffer.append( value.toString() );
+		}
+		else {
+			throw new SqlTreeException( "Unsupported literal value type : " + value.getClass().getName() );
+		}
+	}
+
+	private void appendQuoted(String value) {
+		sqlBuffer.append( '\'' );
+		for ( int i = 0; i < value.length(); i++ ) {
+			final char c = value.charAt( i );
+			if ( c == '\'' ) {
+				sqlBuffer.append( '\'' );
+			}
+			sqlBuffer.append( c );
+		}
+		sqlBuffer.append( '\'' );
+	}
+
+	@Override
+	public void visitNamedParameter(NamedParameter namedParameter) {
+		renderParameter( namedParameter );
+	}
+
+	@Override
+	public void visitPositionalParameter(PositionalParameter positionalParameter) {
+		renderParameter( positionalParameter );
+	}
+
+	private void renderParameter(Expression parameter) {
+		if ( parameterExpressions == null ) {
+			parameterExpressions = new ArrayList<Expression>();
+		}
+		parameterExpressions.add( parameter );
+		sqlBuffer.append( '?' );
+	}
+
+	@Override
+	public void visitBinaryArithmeticExpression(BinaryArithmeticExpression expression) {
+		renderOperand( expression.getLeftHandOperand() );
+		sqlBuffer.append( ' ' ).append( expression.getOperation().getOperatorSqlText() ).append( ' ' );
+		renderOperand( expression.getRightHandOperand() );
+	}
+
+	private void renderOperand(Expression operand) {
+		// the tree structure defines the precedence; nested arithmetic is grouped explicitly
+		if ( operand instanceof BinaryArithmeticExpression ) {
+			sqlBuffer.append( '(' );
+			operand.accept( this );
+			sqlBuffer.append( ')' );
+		}
+		else {
+			operand.accept( this );
+		}
+	}
+
+	@Override
+	public void visitAggregateFunction(AggregateFunction aggregateFunction) {
+		sqlBuffer.append( aggregateFunction.getFunctionName() ).append( '(' );
+		if ( aggregateFunction.isDistinct() ) {
+			sqlBuffer.append( "distinct " );
+		}
+		aggregateFunction.getArgument().accept( this );
+		sqlBuffer.append( ')' );
+	}
+
+	@Override
+	public void visitCountStarFunction(CountStarFunction function) {
+		sqlBuffer.append( "count(*)" );
+	}
+
+	@Override
+	public void visitTuple(SqlTuple tuple) {
+		final List<Expression> expressions = tuple.getExpressions();
+		if ( expressions.size() == 1 ) {
+			expressions.get( 0 ).accept( this );
+			return;
+		}
+
+		sqlBuffer.append( '(' );
+		for ( int i = 0; i < expressions.size(); i++ ) {
+			if ( i > 0 ) {
+				sqlBuffer.append( ", " );
+			}
+			expressions.get( i ).accept( this );
+		}
+		sqlBuffer.append( ')' );
+	}
+
+	@Override
+	public void visitSelectionReference(SelectionReference selectionReference) {
+		if ( dialect.replaceResultVariableInOrderByClauseWithPosition() ) {
+			sqlBuffer.append( selectionReference.getPosition() );
+		}
+		else {
+			sqlBuffer.append( dialect.quote( selectionReference.getSelection().getSqlAlias() ) );
+		}
+	}
+
+	@Override
+	public void visitCaseSearchedExpression(CaseSearchedExpression expression) {
+		sqlBuffer.append( "case" );
+		for ( CaseSearchedExpression.WhenFragment whenFragment : expression.getWhenFragments() ) {
+			sqlBuffer.append( " when " );
+			whenFragment.getPredicate().accept( this );
+			sqlBuffer.append( " then " );
+			whenFragment.getResult().accept( this );
+		}
+		if ( expression.getOtherwise() != null ) {
+			sqlBuffer.append( " else " );
+			expression.getOtherwise().accept( this );
+		}
+		sqlBuffer.append( " end" );
+	}
+
+
+	// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// predicates
+
+	@Override
+	public void visitJunction(Junction junction) {
+		if ( junction.isEmpty() ) {
+			sqlBuffer.append( junction.getNature() == Junction.Nature.CONJUNCTION ? "1=1" : "0=1" );
+			return;
+		}
+
+		final List<Predicate> predicates = junction.getPredicates();
+		for ( int i = 0; i < predicates.size(); i++ ) {
+			if ( i > 0 ) {
+				sqlBuffer.append( junction.getNature().getSeparator() );
+			}
+			renderGrouped( predicates.get( i ) );
+		}
+	}
+
+	private void renderGrouped(Predicate predicate) {
+		if ( predicate instanceof Junction && ( (Junction) predicate ).getPredicates().size() > 1 ) {
+			sqlBuffer.append( '(' );
+			predicate.accept( this );
+			sqlBuffer.append( ')' );
+		}
+		else {
+			predicate.accept( this );
+		}
+	}
+
+	private static boolean isEmptyJunction(Predicate predicate) {
+		return predicate instanceof Junction && ( (Junction) predicate ).isEmpty();
+	}
+
+	@Override
+	public void visitNegatedPredicate(NegatedPredicate predicate) {
+		sqlBuffer.append( "not (" );
+		predicate.getPredicate().accept( this );
+		sqlBuffer.append( ')' );
+	}
+
+	@Override
+	public void visitRelationalPredicate(RelationalPredicate predicate) {
+		predicate.getLeftHandExpression().accept( this );
+		sqlBuffer.append( ' ' ).append( predicate.getOperator().getSqlText() ).append( ' ' );
+		predicate.getRightHandExpression().accept( this );
+	}
+
+	@Override
+	public void visitNullnessPredicate(NullnessPredicate predicate) {
+		predicate.getExpression().accept( this );
+		sqlBuffer.append( predicate.isNegated() ? " is not null" : " is null" );
+	}
+
+	@Override
+	public void visitBetweenPredicate(BetweenPredicate predicate) {
+		predicate.getExpression().accept( this );
+		sqlBuffer.append( predicate.isNegated() ? " not between " : " between " );
+		predicate.getLowerBound().accept( this );
+		sqlBuffer.append( " and " );
+		predicate.getUpperBound().accept( this );
+	}
+
+	@Override
+	public void visitLikePredicate(LikePredicate predicate) {
+		predicate.getMatchExpression().accept( this );
+		sqlBuffer.append( predicate.isNegated() ? " not like " : " like " );
+		predicate.getPattern().accept( this );
+		if ( predicate.getEscapeCharacter() != null ) {
+			sqlBuffer.append( " escape " );
+			predicate.getEscapeCharacter().accept( this );
+		}
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.gen.internal.binder;
+
+import org.hibernate.QueryException;
+import org.hibernate.sql.gen.ParameterBinder;
+import org.hibernate.sql.orm.QueryOptions;
+import org.hibernate.sql.orm.QueryParameter;
+import org.hibernate.sql.orm.QueryParameterBinding;
+import org.hibernate.sql.orm.internal.NamedQueryParameter;
+import org.hibernate.sql.orm.internal.PositionalQueryParameter;
+
+/**
+ * Base support for ParameterBinder implementations binding the value of a single query parameter to
+ * a single JDBC parameter position, both resolved at interpretation time.
+ *
+ * @author Steve Ebersole
+ */
+public abstract class AbstractParameterBinder implements ParameterBinder {
+	private final QueryParameter queryParameter;
+	private final int jdbcPosition;
+
+	protected AbstractParameterBinder(QueryParameter queryParameter, int jdbcPosition) {
+		this.queryParameter = queryParameter;
+		this.jdbcPosition = jdbcPosition;
+	}
+
+	public QueryParameter getQueryParameter() {
+		return queryParameter;
+	}
+
+	/**
+	 * The (1-based) JDBC parameter position bound by this binder
+	 *
+	 * @return The JDBC position
+	 */
+	public int getJdbcPosition() {
+		return jdbcPosition;
+	}
+
+	protected final QueryParameterBinding resolveBinding(QueryOptions queryOptions) {
+		final QueryParameterBinding binding = queryOptions.getParameterBindings().getBinding( queryParameter.getOrdinal() );
+		if ( binding.getBindValue() == null ) {
+			throw new QueryException( "No value bound for " + describeQueryParameter() );
+		}
+		return binding;
+	}
+
+	/**
+	 * Get the (non-null) bind value as the Java type the binder binds directly
+	 *
+	 * @param binding The parameter binding
+	 * @param javaType The expected Java type of the value
+	 * @param <T> The expected Java type of the value
+	 *
+	 * @return The bind value
+	 *
+	 * @throws QueryException If the bind value is not of the expected Java type
+	 */
+	protected final <T> T getBindValue(QueryParameterBinding binding, Class<T> javaType) {
+		final Object value = binding.getBindValue();
+		if ( !javaType.isInstance( value ) ) {
+			throw new QueryException(
+					"Value of type [" + value.getClass().getName() + "] bound for " + describeQueryParameter()
+							+ " is not of expected type [" + javaType.getName() + "]"
+			);
+		}
+		return javaType.cast( value );
+	}
+
+	private String describeQueryParameter() {
+		final StringBuilder description = new StringBuilder( "query parameter [" );
+		if ( queryParameter instanceof NamedQueryParameter ) {
+			description.append( "name=" ).append( ( (NamedQueryParameter) queryParameter ).getName() ).append( ", " );
+		}
+		else if ( queryParameter instanceof PositionalQueryParameter ) {
+			description.append( "position=" ).append( ( (PositionalQueryParameter) queryParameter ).getPosition() ).append( ", " );
+		}
+		return description.append( "ordinal=" ).append( queryParameter.getOrdinal() )
+				.append( ", jdbcPosition=" ).append( jdbcPosition )
+				.append( ']' )
+				.toString();
+	}
+
+	/**
+	 * Was the type used to bind the parameter value clarified (to something other than the type inferred
+	 * during interpretation) when binding it?  Type-specialized binders defer to
+	 * {@link TypeParameterBinder} in that case.
+	 *
+	 * @param binding The parameter binding
+	 *
+	 * @return {@code true} if the bind type differs from the expected type
+	 */
+	protected final boolean isTypeClarified(QueryParameterBinding binding) {
+		return binding.getBindType() != queryParameter.getExpectedType();
+	}
+}
@@ -0,0 +1,39 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.gen.internal.binder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.sql.orm.QueryOptions;
+import org.hibernate.sql.orm.QueryParameter;
+import org.hibernate.sql.orm.QueryParameterBinding;
+
+/**
+ * Binds the value of a query parameter of type {@link org.hibernate.type.IntegerType} directly through
+ * {@link PreparedStatement#setInt}, bypassing {@link org.hibernate.type.Type#nullSafeSet}.
+ *
+ * @author Steve Ebersole
+ */
+public final class IntegerParameterBinder extends AbstractParameterBinder {
+	public IntegerParameterBinder(QueryParameter queryParameter, int jdbcPosition) {
+		super( queryParameter, jdbcPosition );
+	}
+
+	@Override
+	public void bindParameterValue(PreparedStatement statement, QueryOptions queryOptions, SessionImplementor session)
+			throws SQLException {
+		final QueryParameterBinding binding = resolveBinding( queryOptions );
+		if ( isTypeClarified( binding ) ) {
+			TypeParameterBinder.bind( binding, getJdbcPosition(), statement, session );
+			return;
+		}
+
+		statement.setInt( getJdbcPosition(), getBindValue( binding, Number.class ).intValue() );
+	}
+}
@@ -0,0 +1,132 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.gen.internal.binder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.pagination.AbstractLimitHandler;
+import org.hibernate.dialect.pagination.LimitHandler;
+import org.hibernate.dialect.pagination.LimitHelper;
+import org.hibernate.engine.spi.RowSelection;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.sql.gen.ParameterBinder;
+import org.hibernate.sql.orm.QueryOptions;
+
+/**
+ * Binds the limit and offset of the {@link QueryOptions#getRowSelection() RowSelection} to the JDBC
+ * parameters rendered by the Dialect's {@link LimitHandler}.  The values are read from the RowSelection
+ * of each execution, so all pages of a query share one plan (and one prepared statement).  Paging is
+ * never done in memory for a Dialect able to render the limit.
+ * <p/>
+ * Whether the LimitHandler renders its parameters before or after those of the query itself is resolved
+ * during interpretation (see {@link #getParameterCountAtStartOfQuery}), since the positions of the
+ * query's own binders depend on it.
+ *
+ * @author Steve Ebersole
+ */
+public final class LimitParameterBinder implements ParameterBinder {
+	/**
+	 * Should the given RowSelection be applied in the SQL, through the Dialect's LimitHandler?  Only when the
+	 * LimitHandler supports limits rendered as JDBC parameters (otherwise the rendered SQL would vary per
+	 * page), and supports an offset if the RowSelection defines a first row.  A RowSelection defining just a
+	 * first row is applied with an unbounded limit (see {@link #toLimitRowSelection}).
+	 *
+	 * @param dialect The Dialect
+	 * @param rowSelection The RowSelection; may be {@code null}
+	 *
+	 * @return {@code true} if the SQL should be processed by the LimitHandler and a LimitParameterBinder added
+	 */
+	public static boolean isApplicable(Dialect dialect, RowSelection rowSelection) {
+		final boolean hasFirstRow = LimitHelper.hasFirstRow( rowSelection );
+		if ( !hasFirstRow && !LimitHelper.hasMaxRows( rowSelection ) ) {
+			return false;
+		}
+
+		final LimitHandler limitHandler = dialect.getLimitHandler();
+		if ( !limitHandler.supportsLimit() || ( hasFirstRow && !limitHandler.supportsLimitOffset() ) ) {
+			return false;
+		}
+		if ( limitHandler instanceof AbstractLimitHandler ) {
+			return ( (AbstractLimitHandler) limitHandler ).supportsVariableLimit();
+		}
+		return dialect.supportsVariableLimit();
+	}
+
+	/**
+	 * The RowSelection to hand to the LimitHandler, for rendering as well as binding.  A RowSelection
+	 * defining just a first row gets a max rows that is effectively unbounded, as the LimitHandlers only
+	 * render (and bind) a limit with an offset.  The max rows is chosen so that the last row (first row plus
+	 * max rows, used by some LimitHandlers) does not overflow.
+	 *
+	 * @param rowSelection The RowSelection (for which {@link #isApplicable} is {@code true})
+	 *
+	 * @return The RowSelection defining a max rows
+	 */
+	public static RowSelection toLimitRowSelection(RowSelection rowSelection) {
+		if ( LimitHelper.hasMaxRows( rowSelection ) ) {
+			return rowSelection;
+		}
+
+		final RowSelection limitRowSelection = new RowSelection();
+		limitRowSelection.setFirstRow( rowSelection.getFirstRow() );
+		limitRowSelection.setMaxRows( Integer.MAX_VALUE - LimitHelper.getFirstRow( rowSelection ) );
+		return limitRowSelection;
+	}
+
+	/**
+	 * The number of JDBC parameters the LimitHandler renders before those of the query itself
+	 *
+	 * @param dialect The Dialect
+	 * @param rowSelection The RowSelection (for which {@link #isApplicable} is {@code true})
+	 *
+	 * @return The parameter count; {@code 0} if the limit parameters are rendered at the end of the query
+	 */
+	public static int getParameterCountAtStartOfQuery(Dialect dialect, RowSelection rowSelection) {
+		final LimitHandler limitHandler = dialect.getLimitHandler();
+		final boolean bindFirst = limitHandler instanceof AbstractLimitHandler
+				? ( (AbstractLimitHandler) limitHandler ).bindLimitParametersFirst()
+				: dialect.bindLimitParametersFirst();
+		if ( !bindFirst ) {
+			return 0;
+		}
+		return LimitHelper.hasFirstRow( rowSelection ) && limitHandler.supportsLimitOffset() ? 2 : 1;
+	}
+
+	private final LimitHandler limitHandler;
+	private final boolean atStartOfQuery;
+	private final int jdbcPosition;
+
+	/**
+	 * @param limitHandler The Dialect's LimitHandler
+	 * @param atStartOfQuery Whether the limit parameters are rendered before those of the query itself
+	 * @param jdbcPosition The (1-based) JDBC position of the first limit parameter
+	 */
+	public LimitParameterBinder(LimitHandler limitHandler, boolean atStartOfQuery, int jdbcPosition) {
+		this.limitHandler = limitHandler;
+		this.atStartOfQuery = atStartOfQuery;
+		this.jdbcPosition = jdbcPosition;
+	}
+
+	public int getJdbcPosition() {
+		return jdbcPosition;
+	}
+
+	@Override
+	public void bindParameterValue(PreparedStatement statement, QueryOptions queryOptions, SessionImplementor session)
+			throws SQLException {
+		final RowSelection rowSelection = toLimitRowSelection( queryOptions.getRowSelection() );
+		if ( atStartOfQuery ) {
+			limitHandler.bindLimitParametersAtStartOfQuery( rowSelection, statement, jdbcPosition );
+		}
+		else {
+			limitHandler.bindLimitParametersAtEndOfQuery( rowSelection, statement, jdbcPosition );
+		}
+		limitHandler.setMaxRows( rowSelection, statement );
+	}
+}
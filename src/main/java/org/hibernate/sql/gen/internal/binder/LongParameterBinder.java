@@ -0,0 +1,39 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.gen.internal.binder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.sql.orm.QueryOptions;
+import org.hibernate.sql.orm.QueryParameter;
+import org.hibernate.sql.orm.QueryParameterBinding;
+
+/**
+ * Binds the value of a query parameter of type {@link org.hibernate.type.LongType} directly through
+ * {@link PreparedStatement#setLong}, bypassing {@link org.hibernate.type.Type#nullSafeSet}.
+ *
+ * @author Steve Ebersole
+ */
+public final class LongParameterBinder extends AbstractParameterBinder {
+	public LongParameterBinder(QueryParameter queryParameter, int jdbcPosition) {
+		super( queryParameter, jdbcPosition );
+	}
+
+	@Override
+	public void bindParameterValue(PreparedStatement statement, QueryOptions queryOptions, SessionImplementor session)
+			throws SQLException {
+		final QueryParameterBinding binding = resolveBinding( queryOptions );
+		if ( isTypeClarified( binding ) ) {
+			TypeParameterBinder.bind( binding, getJdbcPosition(), statement, session );
+			return;
+		}
+
+		statement.setLong( getJdbcPosition(), getBindValue( binding, Number.class ).longValue() );
+	}
+}
@@ -0,0 +1,108 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.gen.internal.binder;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.hibernate.AssertionFailure;
+import org.hibernate.sql.ast.expression.Expression;
+import org.hibernate.sql.ast.expression.NamedParameter;
+import org.hibernate.sql.ast.expression.PositionalParameter;
+import org.hibernate.sql.gen.ParameterBinder;
+import org.hibernate.sql.orm.QueryParameter;
+import org.hibernate.type.IntegerType;
+import org.hibernate.type.LongType;
+import org.hibernate.type.StringType;
+import org.hibernate.type.TimestampType;
+import org.hibernate.type.Type;
+
+/**
+ * Resolves the ParameterBinders for a rendered query; one binder per JDBC parameter position, each
+ * specialized for the expected type of its query parameter where possible.
+ *
+ * @author Steve Ebersole
+ */
+public class ParameterBinders {
+	private ParameterBinders() {
+	}
+
+	/**
+	 * Build the binders for the given parameter expressions.
+	 *
+	 * @param parameterExpressions The parameter expressions, in JDBC parameter position order
+	 * (see {@link org.hibernate.sql.gen.internal.SqlAstRenderer#getParameterExpressions()})
+	 *
+	 * @return The binders, in JDBC parameter position order
+	 */
+	public static List<ParameterBinder> buildParameterBinders(List<Expression> parameterExpressions) {
+		return buildParameterBinders( parameterExpressions, 1 );
+	}
+
+	/**
+	 * Build the binders for the given parameter expressions, the first of which is rendered at the given
+	 * JDBC position (e.g. following parameters rendered by the Dialect's LimitHandler).
+	 *
+	 * @param parameterExpressions The parameter expressions, in JDBC parameter position order
+	 * @param firstJdbcPosition The (1-based) JDBC position of the first parameter expression
+	 *
+	 * @return The binders, in JDBC parameter position order
+	 */
+	public static List<ParameterBinder> buildParameterBinders(List<Expression> parameterExpressions, int firstJdbcPosition) {
+		if ( parameterExpressions.isEmpty() ) {
+			return Collections.emptyList();
+		}
+
+		final ParameterBinder[] binders = new ParameterBinder[ parameterExpressions.size() ];
+		for ( int i = 0; i < binders.length; i++ ) {
+			binders[i] = resolveParameterBinder(
+					resolveQueryParameter( parameterExpressions.get( i ) ),
+					firstJdbcPosition + i
+			);
+		}
+		return Collections.unmodifiableList( Arrays.asList( binders ) );
+	}
+
+	/**
+	 * Resolve the binder for the given query parameter at the given JDBC position
+	 *
+	 * @param queryParameter The query parameter
+	 * @param jdbcPosition The (1-based) JDBC parameter position
+	 *
+	 * @return The binder
+	 */
+	public static ParameterBinder resolveParameterBinder(QueryParameter queryParameter, int jdbcPosition) {
+		final Type expectedType = queryParameter.getExpectedType();
+		if ( expectedType instanceof LongType ) {
+			return new LongParameterBinder( queryParameter, jdbcPosition );
+		}
+		else if ( expectedType instanceof IntegerType ) {
+			return new IntegerParameterBinder( queryParameter, jdbcPosition );
+		}
+		else if ( expectedType instanceof StringType ) {
+			return new StringParameterBinder( queryParameter, jdbcPosition );
+		}
+		else if ( expectedType instanceof TimestampType ) {
+			return new TimestampParameterBinder( queryParameter, jdbcPosition );
+		}
+		else {
+			return new TypeParameterBinder( queryParameter, jdbcPosition );
+		}
+	}
+
+	private static QueryParameter resolveQueryParameter(Expression parameterExpression) {
+		if ( parameterExpression instanceof NamedParameter ) {
+			return ( (NamedParameter) parameterExpression ).getQueryParameter();
+		}
+		else if ( parameterExpression instanceof PositionalParameter ) {
+			return ( (PositionalParameter) parameterExpression ).getQueryParameter();
+		}
+
+		throw new AssertionFailure( "Unexpected parameter expression type : " + parameterExpression );
+	}
+}
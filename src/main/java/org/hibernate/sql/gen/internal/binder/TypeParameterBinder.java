@@ -0,0 +1,59 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.gen.internal.binder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import org.hibernate.QueryException;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.sql.orm.QueryOptions;
+import org.hibernate.sql.orm.QueryParameter;
+import org.hibernate.sql.orm.QueryParameterBinding;
+import org.hibernate.type.Type;
+
+/**
+ * The general ParameterBinder, binding through {@link Type#nullSafeSet} using the type of the
+ * binding.  Used for parameters whose type has no specialized binder or could not be inferred during
+ * interpretation, in which case the type is guessed from the bound value.
+ * <p/>
+ * Parameters are rendered as a single JDBC parameter, so only single-column types are supported.
+ *
+ * @author Steve Ebersole
+ */
+public final class TypeParameterBinder extends AbstractParameterBinder {
+	public TypeParameterBinder(QueryParameter queryParameter, int jdbcPosition) {
+		super( queryParameter, jdbcPosition );
+	}
+
+	@Override
+	public void bindParameterValue(PreparedStatement statement, QueryOptions queryOptions, SessionImplementor session)
+			throws SQLException {
+		bind( resolveBinding( queryOptions ), getJdbcPosition(), statement, session );
+	}
+
+	static void bind(
+			QueryParameterBinding binding,
+			int jdbcPosition,
+			PreparedStatement statement,
+			SessionImplementor session) throws SQLException {
+		final Object value = binding.getBindValue();
+
+		Type type = binding.getBindType();
+		if ( type == null ) {
+			type = session.getFactory().getTypeResolver().heuristicType( value.getClass().getName() );
+			if ( type == null ) {
+				throw new QueryException(
+						"Unable to determine the type to bind value of type [" + value.getClass().getName()
+								+ "] as query parameter"
+				);
+			}
+		}
+
+		type.nullSafeSet( statement, value, jdbcPosition, session );
+	}
+}
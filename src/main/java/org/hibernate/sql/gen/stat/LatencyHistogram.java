@@ -0,0 +1,115 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.gen.stat;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A thread-safe, fixed-size histogram of latencies.  Values are counted in power-of-2 buckets (bucket
+ * {@code n} holds the values in {@code [2^(n-1), 2^n)} nanoseconds), so recording is a couple of atomic
+ * increments and percentiles are accurate to within a factor of 2.
+ *
+ * @author Steve Ebersole
+ */
+public class LatencyHistogram {
+	private static final int BUCKET_COUNT = 64;
+
+	private final AtomicLongArray buckets = new AtomicLongArray( BUCKET_COUNT );
+	private final AtomicLong count = new AtomicLong();
+	private final AtomicLong totalNanos = new AtomicLong();
+	private final AtomicLong maxNanos = new AtomicLong();
+
+	/**
+	 * Record a latency
+	 *
+	 * @param nanos The latency, in nanoseconds
+	 */
+	public void record(long nanos) {
+		if ( nanos < 0 ) {
+			nanos = 0;
+		}
+		buckets.incrementAndGet( bucket( nanos ) );
+		count.incrementAndGet();
+		totalNanos.addAndGet( nanos );
+
+		long currentMax = maxNanos.get();
+		while ( nanos > currentMax && !maxNanos.compareAndSet( currentMax, nanos ) ) {
+			currentMax = maxNanos.get();
+		}
+	}
+
+	private static int bucket(long nanos) {
+		// 0 for 0; n for [2^(n-1), 2^n) - at most 63 for a (non-negative) long
+		return Long.SIZE - Long.numberOfLeadingZeros( nanos );
+	}
+
+	public long getCount() {
+		return count.get();
+	}
+
+	public long getTotalNanos() {
+		return totalNanos.get();
+	}
+
+	public long getMaxNanos() {
+		return maxNanos.get();
+	}
+
+	/**
+	 * The mean latency
+	 *
+	 * @return The mean, in nanoseconds; {@code 0} if nothing was recorded
+	 */
+	public long getMeanNanos() {
+		final long currentCount = count.get();
+		return currentCount == 0 ? 0 : totalNanos.get() / currentCount;
+	}
+
+	/**
+	 * An upper bound of the latency at the given percentile : the upper bound of the bucket holding it
+	 * (capped at the maximum recorded latency)
+	 *
+	 * @param percentile The percentile, between 0 and 100
+	 *
+	 * @return The latency, in nanoseconds; {@code 0} if nothing was recorded
+	 */
+	public long getValueAtPercentile(double percentile) {
+		if ( percentile < 0 || percentile > 100 ) {
+			throw new IllegalArgumentException( "Percentile must be between 0 and 100 : " + percentile );
+		}
+
+		long total = 0;
+		final long[] counts = new long[ BUCKET_COUNT ];
+		for ( int i = 0; i < BUCKET_COUNT; i++ ) {
+			counts[i] = buckets.get( i );
+			total += counts[i];
+		}
+		if ( total == 0 ) {
+			return 0;
+		}
+
+		final long rank = Math.max( 1, (long) Math.ceil( total * percentile / 100 ) );
+		long seen = 0;
+		for ( int i = 0; i < BUCKET_COUNT; i++ ) {
+			seen += counts[i];
+			if ( seen >= rank ) {
+				// (1L << 63) - 1 overflows to Long.MAX_VALUE, which is the bound of the last bucket
+				return Math.min( ( 1L << i ) - 1, maxNanos.get() );
+			}
+		}
+		return maxNanos.get();
+	}
+
+	@Override
+	public String toString() {
+		return "LatencyHistogram(count=" + getCount()
+				+ ", meanNanos=" + getMeanNanos()
+				+ ", p99Nanos=" + getValueAtPercentile( 99 )
+				+ ", maxNanos=" + getMaxNanos() + ")";
+	}
+}
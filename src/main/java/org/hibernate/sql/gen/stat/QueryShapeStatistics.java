@@ -0,0 +1,69 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.gen.stat;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.sql.gen.InterpretationPhase;
+import org.hibernate.sql.gen.PlanStatistics;
+
+/**
+ * The interpretation statistics of a single query shape : a latency histogram per
+ * {@link InterpretationPhase}, the number of plans generated and the size of the latest plan.
+ * Thread-safe.
+ *
+ * @author Steve Ebersole
+ */
+public class QueryShapeStatistics {
+	private final String queryShape;
+	private final LatencyHistogram[] phaseHistograms;
+	private final AtomicLong planCount = new AtomicLong();
+	private volatile PlanStatistics latestPlanStatistics;
+
+	public QueryShapeStatistics(String queryShape) {
+		this.queryShape = queryShape;
+		this.phaseHistograms = new LatencyHistogram[ InterpretationPhase.values().length ];
+		for ( int i = 0; i < phaseHistograms.length; i++ ) {
+			phaseHistograms[i] = new LatencyHistogram();
+		}
+	}
+
+	public String getQueryShape() {
+		return queryShape;
+	}
+
+	public LatencyHistogram getPhaseHistogram(InterpretationPhase phase) {
+		return phaseHistograms[ phase.ordinal() ];
+	}
+
+	/**
+	 * The number of plans generated for the shape
+	 *
+	 * @return The plan count
+	 */
+	public long getPlanCount() {
+		return planCount.get();
+	}
+
+	/**
+	 * The size of the most recently generated plan for the shape
+	 *
+	 * @return The plan statistics, or {@code null} if no plan was reported yet
+	 */
+	public PlanStatistics getLatestPlanStatistics() {
+		return latestPlanStatistics;
+	}
+
+	void recordPhase(InterpretationPhase phase, long durationNanos) {
+		phaseHistograms[ phase.ordinal() ].record( durationNanos );
+	}
+
+	void recordPlan(PlanStatistics statistics) {
+		latestPlanStatistics = statistics;
+		planCount.incrementAndGet();
+	}
+}
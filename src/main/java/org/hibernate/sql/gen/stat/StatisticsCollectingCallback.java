@@ -0,0 +1,116 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.gen.stat;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.hibernate.sql.gen.Callback;
+import org.hibernate.sql.gen.InterpretationPhase;
+import org.hibernate.sql.gen.PlanStatistics;
+
+import org.jboss.logging.Logger;
+
+/**
+ * The default instrumentation Callback : records {@link QueryShapeStatistics} (per-phase latency
+ * histograms and plan sizes) per query shape, for programmatic access.  Thread-safe; a single instance is
+ * meant to be shared by all interpretations.
+ * <p/>
+ * The number of distinct shapes tracked is bounded; once the bound is reached, further shapes are
+ * recorded together under {@link #OTHER_QUERY_SHAPES}.
+ *
+ * @author Steve Ebersole
+ */
+public class StatisticsCollectingCallback implements Callback {
+	private static final Logger log = Logger.getLogger( StatisticsCollectingCallback.class );
+
+	/**
+	 * The default maximum number of distinct query shapes tracked
+	 */
+	public static final int DEFAULT_MAX_QUERY_SHAPES = 1024;
+
+	/**
+	 * The shape under which query shapes beyond the maximum are recorded
+	 */
+	public static final String OTHER_QUERY_SHAPES = "<other>";
+
+	private final int maxQueryShapes;
+	private final ConcurrentMap<String,QueryShapeStatistics> statisticsByShape =
+			new ConcurrentHashMap<String, QueryShapeStatistics>();
+	private volatile QueryShapeStatistics otherShapeStatistics = new QueryShapeStatistics( OTHER_QUERY_SHAPES );
+
+	public StatisticsCollectingCallback() {
+		this( DEFAULT_MAX_QUERY_SHAPES );
+	}
+
+	public StatisticsCollectingCallback(int maxQueryShapes) {
+		if ( maxQueryShapes < 1 ) {
+			throw new IllegalArgumentException( "Maximum number of query shapes must be positive : " + maxQueryShapes );
+		}
+		this.maxQueryShapes = maxQueryShapes;
+	}
+
+	@Override
+	public void phaseCompleted(String queryShape, InterpretationPhase phase, long durationNanos) {
+		resolveStatistics( queryShape ).recordPhase( phase, durationNanos );
+	}
+
+	@Override
+	public void planGenerated(String queryShape, PlanStatistics statistics) {
+		log.tracef( "Generated plan %s : %s", statistics, queryShape );
+		resolveStatistics( queryShape ).recordPlan( statistics );
+	}
+
+	private QueryShapeStatistics resolveStatistics(String queryShape) {
+		QueryShapeStatistics statistics = statisticsByShape.get( queryShape );
+		if ( statistics != null ) {
+			return statistics;
+		}
+
+		// the bound is approximate under concurrent registration; that is fine
+		if ( statisticsByShape.size() >= maxQueryShapes ) {
+			return otherShapeStatistics;
+		}
+
+		statistics = new QueryShapeStatistics( queryShape );
+		final QueryShapeStatistics existing = statisticsByShape.putIfAbsent( queryShape, statistics );
+		return existing == null ? statistics : existing;
+	}
+
+	/**
+	 * The statistics of the given query shape
+	 *
+	 * @param queryShape The query shape (the plan's SQL)
+	 *
+	 * @return The statistics, or {@code null} if the shape was not (yet) reported
+	 */
+	public QueryShapeStatistics getStatistics(String queryShape) {
+		if ( OTHER_QUERY_SHAPES.equals( queryShape ) ) {
+			return otherShapeStatistics;
+		}
+		return statisticsByShape.get( queryShape );
+	}
+
+	/**
+	 * The statistics of all tracked query shapes (not including {@link #OTHER_QUERY_SHAPES})
+	 *
+	 * @return The statistics
+	 */
+	public Collection<QueryShapeStatistics> getAllStatistics() {
+		return Collections.unmodifiableCollection( statisticsByShape.values() );
+	}
+
+	/**
+	 * Discard all collected statistics
+	 */
+	public void clear() {
+		statisticsByShape.clear();
+		otherShapeStatistics = new QueryShapeStatistics( OTHER_QUERY_SHAPES );
+	}
+}
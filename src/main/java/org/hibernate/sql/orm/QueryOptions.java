@@ -25,6 +25,14 @@ public interface QueryOptions {
 	RowSelection getRowSelection();
 	ScrollMode getScrollMode();
 
+	/**
+	 * Should the query select the page following a given row using keyset pagination, restricting by the
+	 * sort key of that row rather than skipping rows (see {@link org.hibernate.sql.gen.KeysetPagination})?
+	 *
+	 * @return {@code true} for a keyset page; {@code false} for the first page, or when not paginating by keyset
+	 */
+	boolean isKeysetPage();
+
 	boolean isCacheable();
 	String getCacheRegion();
 
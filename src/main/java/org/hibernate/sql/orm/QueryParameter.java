@@ -14,5 +14,14 @@ import org.hibernate.type.Type;
  * @author Steve Ebersole
  */
 public interface QueryParameter {
+	/**
+	 * The dense, 0-based position of this parameter amongst the distinct parameters of its query;
+	 * assigned during interpretation in order of first appearance.  Bindings are indexed by ordinal
+	 * (see {@link QueryParameterBindings}).
+	 *
+	 * @return The ordinal
+	 */
+	int getOrdinal();
+
 	Type getExpectedType();
 }
@@ -6,74 +6,75 @@
  */
 package org.hibernate.sql.orm;
 
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Set;
 
-import org.hibernate.sql.orm.internal.NamedQueryParameter;
-import org.hibernate.sql.orm.internal.PositionalQueryParameter;
 import org.hibernate.sql.orm.internal.QueryParameterBindingImpl;
 
 /**
  * Kind of part of {@link org.hibernate.engine.spi.QueryParameters}; but partially implemented and done elsewhere too
+ * <p/>
+ * The bindings are held in an array indexed by {@link QueryParameter#getOrdinal() parameter ordinal}; name
+ * and position lookups go through the (shared) {@link QueryParameterMetadata}.  Rather than creating new
+ * bindings for each execution of a query, the bindings may be {@link #reset} and reused.
  *
  * @author Steve Ebersole
  */
 public class QueryParameterBindings {
-	private Map<QueryParameter, QueryParameterBinding> parameterBindingMap;
-
-	private Map<String,NamedQueryParameter> namedParameterMap;
-	private Map<Integer,PositionalQueryParameter> positionalParameterMap;
+	private final QueryParameterMetadata parameterMetadata;
+	private final QueryParameterBindingImpl[] bindings;
 
 	public QueryParameterBindings(Set<QueryParameter> queryParameters) {
-		if ( queryParameters == null || queryParameters.isEmpty() ) {
-			parameterBindingMap = Collections.emptyMap();
-			namedParameterMap = Collections.emptyMap();
-			positionalParameterMap = Collections.emptyMap();
+		this( QueryParameterMetadata.from( queryParameters ) );
+	}
+
+	public QueryParameterBindings(QueryParameterMetadata parameterMetadata) {
+		this.parameterMetadata = parameterMetadata;
+		this.bindings = new QueryParameterBindingImpl[ parameterMetadata.getParameterCount() ];
+		for ( int i = 0; i < bindings.length; i++ ) {
+			bindings[i] = new QueryParameterBindingImpl( parameterMetadata.getParameter( i ) );
 		}
-		else {
-			parameterBindingMap = new HashMap<QueryParameter, QueryParameterBinding>();
-			namedParameterMap = new HashMap<String, NamedQueryParameter>();
-			positionalParameterMap = new HashMap<Integer, PositionalQueryParameter>();
+	}
 
-			for ( QueryParameter queryParameter : queryParameters ) {
-				parameterBindingMap.put(
-						queryParameter,
-						new QueryParameterBindingImpl( queryParameter )
-				);
+	public QueryParameterMetadata getParameterMetadata() {
+		return parameterMetadata;
+	}
 
-				if ( queryParameter instanceof NamedQueryParameter ) {
-					final NamedQueryParameter namedQueryParameter = (NamedQueryParameter) queryParameter;
-					namedParameterMap.put( namedQueryParameter.getName(), namedQueryParameter );
-				}
-				else if ( queryParameter instanceof PositionalQueryParameter ) {
-					final PositionalQueryParameter positionalQueryParameter = (PositionalQueryParameter) queryParameter;
-					positionalParameterMap.put( positionalQueryParameter.getPosition(), positionalQueryParameter );
-				}
-			}
+	public QueryParameterBinding getBinding(QueryParameter parameter) {
+		final int ordinal = parameter.getOrdinal();
+		if ( ordinal < 0 || ordinal >= bindings.length || bindings[ordinal].getParameter() != parameter ) {
+			return null;
 		}
+		return bindings[ordinal];
 	}
 
-	public QueryParameterBinding getBinding(QueryParameter parameter) {
-		return parameterBindingMap.get( parameter );
+	public QueryParameterBinding getBinding(int ordinal) {
+		return bindings[ordinal];
 	}
 
 	public QueryParameterBinding getNamedParameterBinding(String name) {
-		final NamedQueryParameter param = namedParameterMap.get( name );
+		final QueryParameter param = parameterMetadata.resolveNamedParameter( name );
 		if ( param == null ) {
 			throw new IllegalStateException( "Unknown named parameter : " + name );
 		}
 
-		return getBinding( param );
+		return bindings[ param.getOrdinal() ];
 	}
 
 	public QueryParameterBinding getPositionalParameterBinding(Integer position) {
-		final PositionalQueryParameter param = positionalParameterMap.get( position );
+		final QueryParameter param = parameterMetadata.resolvePositionalParameter( position );
 		if ( param == null ) {
 			throw new IllegalStateException( "Unknown positional parameter : " + position );
 		}
 
-		return getBinding( param );
+		return bindings[ param.getOrdinal() ];
+	}
+
+	/**
+	 * Clear all bound values, readying the bindings for another execution of the same query
+	 */
+	public void reset() {
+		for ( QueryParameterBindingImpl binding : bindings ) {
+			binding.reset();
+		}
 	}
 }
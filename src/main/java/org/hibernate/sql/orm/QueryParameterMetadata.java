@@ -0,0 +1,121 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.orm;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.hibernate.sql.orm.internal.NamedQueryParameter;
+import org.hibernate.sql.orm.internal.PositionalQueryParameter;
+
+/**
+ * Describes the parameters of an interpreted query, indexed by {@link QueryParameter#getOrdinal() ordinal}.
+ * Immutable and built once per plan, so that the name and position lookups are shared by every execution
+ * of the plan rather than rebuilt by each {@link QueryParameterBindings}.
+ *
+ * @author Steve Ebersole
+ */
+public class QueryParameterMetadata {
+	public static final QueryParameterMetadata EMPTY = new QueryParameterMetadata( new QueryParameter[0] );
+
+	private final QueryParameter[] parameters;
+	private final Map<String,QueryParameter> namedParameterMap;
+	private final Map<Integer,QueryParameter> positionalParameterMap;
+
+	/**
+	 * @param parameters The query parameters; each at the index of its ordinal
+	 */
+	public QueryParameterMetadata(QueryParameter[] parameters) {
+		this.parameters = parameters;
+
+		if ( parameters.length == 0 ) {
+			namedParameterMap = Collections.emptyMap();
+			positionalParameterMap = Collections.emptyMap();
+			return;
+		}
+
+		namedParameterMap = new HashMap<String, QueryParameter>();
+		positionalParameterMap = new HashMap<Integer, QueryParameter>();
+		for ( int i = 0; i < parameters.length; i++ ) {
+			final QueryParameter parameter = parameters[i];
+			if ( parameter == null || parameter.getOrdinal() != i ) {
+				throw new IllegalArgumentException( "Query parameter ordinals must be dense and match their index : " + i );
+			}
+
+			if ( parameter instanceof NamedQueryParameter ) {
+				namedParameterMap.put( ( (NamedQueryParameter) parameter ).getName(), parameter );
+			}
+			else if ( parameter instanceof PositionalQueryParameter ) {
+				positionalParameterMap.put( ( (PositionalQueryParameter) parameter ).getPosition(), parameter );
+			}
+		}
+	}
+
+	/**
+	 * Build the metadata from the (unordered) parameters of a query.
+	 *
+	 * @param queryParameters The parameters
+	 *
+	 * @return The metadata
+	 */
+	public static QueryParameterMetadata from(Collection<QueryParameter> queryParameters) {
+		if ( queryParameters == null || queryParameters.isEmpty() ) {
+			return EMPTY;
+		}
+
+		final QueryParameter[] parameters = new QueryParameter[ queryParameters.size() ];
+		for ( QueryParameter queryParameter : queryParameters ) {
+			if ( queryParameter.getOrdinal() < 0 || queryParameter.getOrdinal() >= parameters.length ) {
+				throw new IllegalArgumentException( "Query parameter ordinal out of range : " + queryParameter.getOrdinal() );
+			}
+			parameters[ queryParameter.getOrdinal() ] = queryParameter;
+		}
+		return new QueryParameterMetadata( parameters );
+	}
+
+	public int getParameterCount() {
+		return parameters.length;
+	}
+
+	public QueryParameter getParameter(int ordinal) {
+		return parameters[ordinal];
+	}
+
+	/**
+	 * Resolve the named parameter
+	 *
+	 * @param name The parameter name
+	 *
+	 * @return The parameter, or {@code null} if the query defines no parameter of that name
+	 */
+	public QueryParameter resolveNamedParameter(String name) {
+		return namedParameterMap.get( name );
+	}
+
+	/**
+	 * Resolve the positional (JPA-style) parameter
+	 *
+	 * @param position The parameter position
+	 *
+	 * @return The parameter, or {@code null} if the query defines no parameter at that position
+	 */
+	public QueryParameter resolvePositionalParameter(int position) {
+		return positionalParameterMap.get( position );
+	}
+
+	/**
+	 * Create a new, empty, set of bindings for these parameters.  The bindings may be
+	 * {@link QueryParameterBindings#reset() reset} and reused for later executions.
+	 *
+	 * @return The bindings
+	 */
+	public QueryParameterBindings makeBindings() {
+		return new QueryParameterBindings( this );
+	}
+}
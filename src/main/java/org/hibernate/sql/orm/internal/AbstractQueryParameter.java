@@ -13,12 +13,19 @@ import org.hibernate.type.Type;
  * @author Steve Ebersole
  */
 public abstract class AbstractQueryParameter implements QueryParameter {
+	private final int ordinal;
 	private final Type expectedType;
 
-	public AbstractQueryParameter(Type expectedType) {
+	public AbstractQueryParameter(int ordinal, Type expectedType) {
+		this.ordinal = ordinal;
 		this.expectedType = expectedType;
 	}
 
+	@Override
+	public int getOrdinal() {
+		return ordinal;
+	}
+
 	@Override
 	public Type getExpectedType() {
 		return expectedType;
@@ -15,8 +15,8 @@ import org.hibernate.type.Type;
 public class NamedQueryParameter extends AbstractQueryParameter implements QueryParameter {
 	private final String name;
 
-	public NamedQueryParameter(String name, Type expectedType) {
-		super( expectedType );
+	public NamedQueryParameter(int ordinal, String name, Type expectedType) {
+		super( ordinal, expectedType );
 		this.name = name;
 	}
 
@@ -15,8 +15,8 @@ import org.hibernate.type.Type;
 public class PositionalQueryParameter extends AbstractQueryParameter implements QueryParameter {
 	private final int position;
 
-	public PositionalQueryParameter(int position, Type expectedType) {
-		super( expectedType );
+	public PositionalQueryParameter(int ordinal, int position, Type expectedType) {
+		super( ordinal, expectedType );
 		this.position = position;
 	}
 
@@ -24,6 +24,18 @@ public class QueryParameterBindingImpl implements QueryParameterBinding {
 		this.bindType = parameter.getExpectedType();
 	}
 
+	/**
+	 * Clear the bound value (and any clarified type), readying the binding for another execution
+	 */
+	public void reset() {
+		this.bindValue = null;
+		this.bindType = parameter.getExpectedType();
+	}
+
+	public boolean isBound() {
+		return bindValue != null;
+	}
+
 	@Override
 	public QueryParameter getParameter() {
 		return parameter;
@@ -0,0 +1,293 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.orm.internal.mapping;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.sql.ast.from.ColumnDictionary;
+import org.hibernate.sql.gen.internal.SqlAliasBaseManager;
+
+/**
+ * The table, column, key and discriminator information of an entity persister, extracted once (at boot)
+ * by {@link EntityPersisterMetadataExtractor}.  Much of this is not exposed on the persister contracts;
+ * holding it here means the SQL generator never needs to go back to the persister for it.
+ * <p/>
+ * Tables are indexed by the persister's (subclass) table number, attributes by their position in the
+ * persister's subclass attribute closure.  The arrays returned are shared and must not be modified.
+ * <p/>
+ * The known columns of each table are described by a {@link ColumnDictionary}, and the ordinal of each key,
+ * identifier, discriminator and attribute column within its table's dictionary is computed up front, so
+ * column references can be resolved by ordinal rather than by name.
+ *
+ * @author Steve Ebersole
+ */
+public class EntityPersisterMetadata {
+	private final String entityName;
+	private final char sqlAliasAcronym;
+
+	private final String[] tableExpressions;
+	private final boolean[] classOrSuperclassTableIndicators;
+	private final boolean[] nullableTableIndicators;
+	private final String[][] tableKeyColumns;
+
+	private final String[] identifierColumnNames;
+	private final String discriminatorColumnName;
+	private final String discriminatorSqlValue;
+
+	private final Map<String,Integer> attributePositionByName;
+	private final int[] attributeTableNumbers;
+	private final String[][] attributeColumnNames;
+
+	private final ColumnDictionary[] columnDictionaries;
+	private final int[][] tableKeyColumnOrdinals;
+	private final int[] identifierColumnOrdinals;
+	private final int discriminatorColumnOrdinal;
+	private final int[][] attributeColumnOrdinals;
+
+	public EntityPersisterMetadata(
+			String entityName,
+			String[] tableExpressions,
+			boolean[] classOrSuperclassTableIndicators,
+			boolean[] nullableTableIndicators,
+			String[][] tableKeyColumns,
+			String[] identifierColumnNames,
+			String discriminatorColumnName,
+			String discriminatorSqlValue,
+			String[] attributeNames,
+			int[] attributeTableNumbers,
+			String[][] attributeColumnNames) {
+		this.entityName = entityName;
+		this.sqlAliasAcronym = SqlAliasBaseManager.determineAcronym( entityName );
+		this.tableExpressions = tableExpressions;
+		this.classOrSuperclassTableIndicators = classOrSuperclassTableIndicators;
+		this.nullableTableIndicators = nullableTableIndicators;
+		this.tableKeyColumns = tableKeyColumns;
+		this.identifierColumnNames = identifierColumnNames;
+		this.discriminatorColumnName = discriminatorColumnName;
+		this.discriminatorSqlValue = discriminatorSqlValue;
+		this.attributeTableNumbers = attributeTableNumbers;
+		this.attributeColumnNames = attributeColumnNames;
+
+		final Map<String,Integer> attributePositionByName = new HashMap<String, Integer>();
+		for ( int i = 0; i < attributeNames.length; i++ ) {
+			attributePositionByName.put( attributeNames[i], i );
+		}
+		this.attributePositionByName = Collections.unmodifiableMap( attributePositionByName );
+
+		this.columnDictionaries = buildColumnDictionaries();
+		this.tableKeyColumnOrdinals = new int[tableExpressions.length][];
+		for ( int i = 0; i < tableExpressions.length; i++ ) {
+			tableKeyColumnOrdinals[i] = locateColumns( i, tableKeyColumns[i] );
+		}
+		this.identifierColumnOrdinals = locateColumns( 0, identifierColumnNames );
+		this.discriminatorColumnOrdinal = discriminatorColumnName == null
+				? -1
+				: columnDictionaries[0].locateColumn( discriminatorColumnName );
+		this.attributeColumnOrdinals = new int[attributeColumnNames.length][];
+		for ( int i = 0; i < attributeColumnNames.length; i++ ) {
+			attributeColumnOrdinals[i] = locateColumns( attributeTableNumbers[i], attributeColumnNames[i] );
+		}
+	}
+
+	private ColumnDictionary[] buildColumnDictionaries() {
+		final List<List<String>> tableColumns = new ArrayList<List<String>>( tableExpressions.length );
+		for ( int i = 0; i < tableExpressions.length; i++ ) {
+			final List<String> columns = new ArrayList<String>();
+			Collections.addAll( columns, tableKeyColumns[i] );
+			tableColumns.add( columns );
+		}
+
+		final List<String> rootTableColumns = tableColumns.get( 0 );
+		Collections.addAll( rootTableColumns, identifierColumnNames );
+		if ( discriminatorColumnName != null ) {
+			rootTableColumns.add( discriminatorColumnName );
+		}
+		for ( int i = 0; i < attributeColumnNames.length; i++ ) {
+			Collections.addAll( tableColumns.get( attributeTableNumbers[i] ), attributeColumnNames[i] );
+		}
+
+		final ColumnDictionary[] dictionaries = new ColumnDictionary[tableExpressions.length];
+		for ( int i = 0; i < tableExpressions.length; i++ ) {
+			dictionaries[i] = new ColumnDictionary( tableColumns.get( i ).toArray( new String[ tableColumns.get( i ).size() ] ) );
+		}
+		return dictionaries;
+	}
+
+	private int[] locateColumns(int tableNumber, String[] columnNames) {
+		final int[] ordinals = new int[columnNames.length];
+		for ( int i = 0; i < columnNames.length; i++ ) {
+			ordinals[i] = columnNames[i] == null ? -1 : columnDictionaries[tableNumber].locateColumn( columnNames[i] );
+		}
+		return ordinals;
+	}
+
+	public String getEntityName() {
+		return entityName;
+	}
+
+	/**
+	 * The acronym used as the base of the SQL aliases for the entity's tables
+	 *
+	 * @return The acronym
+	 *
+	 * @see SqlAliasBaseManager#determineAcronym
+	 */
+	public char getSqlAliasAcronym() {
+		return sqlAliasAcronym;
+	}
+
+	public int getTableCount() {
+		return tableExpressions.length;
+	}
+
+	public String getTableExpression(int tableNumber) {
+		return tableExpressions[tableNumber];
+	}
+
+	/**
+	 * Does the table belong to the entity itself (or one of its superclasses) as opposed to one of
+	 * its subclasses?
+	 *
+	 * @param tableNumber The persister's (subclass) table number
+	 *
+	 * @return {@code true} for the entity's own (or superclass) tables
+	 */
+	public boolean isClassOrSuperclassTable(int tableNumber) {
+		return classOrSuperclassTableIndicators[tableNumber];
+	}
+
+	/**
+	 * Is the table nullable (optional) with regard to the entity's row; e.g. an optional secondary table?
+	 *
+	 * @param tableNumber The persister's (subclass) table number
+	 *
+	 * @return {@code true} if the table may not have a row for a row of the entity
+	 */
+	public boolean isNullableTable(int tableNumber) {
+		return nullableTableIndicators[tableNumber];
+	}
+
+	/**
+	 * The table's key columns; i.e. the columns used to join the table to the entity's root table.
+	 *
+	 * @param tableNumber The persister's (subclass) table number
+	 *
+	 * @return The key column names
+	 */
+	public String[] getTableKeyColumns(int tableNumber) {
+		return tableKeyColumns[tableNumber];
+	}
+
+	/**
+	 * The ordinals of the table's key columns within the table's {@link #getColumnDictionary dictionary}
+	 *
+	 * @param tableNumber The persister's (subclass) table number
+	 *
+	 * @return The key column ordinals
+	 */
+	public int[] getTableKeyColumnOrdinals(int tableNumber) {
+		return tableKeyColumnOrdinals[tableNumber];
+	}
+
+	/**
+	 * The known columns of the table : its key columns, the identifier and discriminator columns (root table
+	 * only) and the columns of the attributes mapped to the table.
+	 *
+	 * @param tableNumber The persister's (subclass) table number
+	 *
+	 * @return The table's column dictionary
+	 */
+	public ColumnDictionary getColumnDictionary(int tableNumber) {
+		return columnDictionaries[tableNumber];
+	}
+
+	public String[] getIdentifierColumnNames() {
+		return identifierColumnNames;
+	}
+
+	/**
+	 * @return The ordinals of the identifier columns within the root table's dictionary
+	 */
+	public int[] getIdentifierColumnOrdinals() {
+		return identifierColumnOrdinals;
+	}
+
+	/**
+	 * @return The discriminator column name, or {@code null} if the entity has no discriminator column
+	 */
+	public String getDiscriminatorColumnName() {
+		return discriminatorColumnName;
+	}
+
+	/**
+	 * @return The entity's discriminator value rendered as SQL, or {@code null}
+	 */
+	public String getDiscriminatorSqlValue() {
+		return discriminatorSqlValue;
+	}
+
+	/**
+	 * @return The ordinal of the discriminator column within the root table's dictionary, or {@code -1} if
+	 * the entity has no discriminator column
+	 */
+	public int getDiscriminatorColumnOrdinal() {
+		return discriminatorColumnOrdinal;
+	}
+
+	/**
+	 * Locate the named attribute in the persister's subclass attribute closure.  The identifier is not
+	 * part of the closure.
+	 *
+	 * @param attributeName The attribute name
+	 *
+	 * @return The attribute position, or {@code -1} if the attribute is not part of the closure
+	 */
+	public int locateAttribute(String attributeName) {
+		final Integer position = attributePositionByName.get( attributeName );
+		return position == null ? -1 : position;
+	}
+
+	/**
+	 * The number of attributes in the persister's subclass attribute closure
+	 *
+	 * @return The attribute count
+	 */
+	public int getAttributeCount() {
+		return attributeTableNumbers.length;
+	}
+
+	public int getAttributeTableNumber(int attributePosition) {
+		return attributeTableNumbers[attributePosition];
+	}
+
+	/**
+	 * The attribute's column names.  Formula-based attributes have {@code null} entries.
+	 *
+	 * @param attributePosition The position (see {@link #locateAttribute})
+	 *
+	 * @return The column names
+	 */
+	public String[] getAttributeColumnNames(int attributePosition) {
+		return attributeColumnNames[attributePosition];
+	}
+
+	/**
+	 * The ordinals of the attribute's columns within the dictionary of the attribute's
+	 * {@link #getAttributeTableNumber table}.  Formula-based attributes have {@code -1} entries.
+	 *
+	 * @param attributePosition The position (see {@link #locateAttribute})
+	 *
+	 * @return The column ordinals
+	 */
+	public int[] getAttributeColumnOrdinals(int attributePosition) {
+		return attributeColumnOrdinals[attributePosition];
+	}
+}
@@ -0,0 +1,113 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.orm.internal.mapping;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.hibernate.HibernateException;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.persister.entity.Queryable;
+
+/**
+ * Extracts {@link EntityPersisterMetadata} from an entity persister.  Much of the needed information
+ * is not exposed on the persister contracts, so it is read through reflection; the reflective Methods
+ * are resolved once, and each persister is read in a single pass at boot.
+ *
+ * @author Steve Ebersole
+ */
+public class EntityPersisterMetadataExtractor {
+	/**
+	 * Singleton access
+	 */
+	public static final EntityPersisterMetadataExtractor INSTANCE = new EntityPersisterMetadataExtractor();
+
+	private final Method subclassTableSpanMethod;
+	private final Method classOrSuperclassTableMethod;
+	private final Method nullableSubclassTableMethod;
+	private final Method subclassTableKeyColumnsMethod;
+	private final Method subclassPropertyNameClosureMethod;
+	private final Method subclassPropertyColumnNameClosureMethod;
+	private final Method subclassPropertyTableNumberMethod;
+
+	private EntityPersisterMetadataExtractor() {
+		subclassTableSpanMethod = resolveMethod( "getSubclassTableSpan" );
+		classOrSuperclassTableMethod = resolveMethod( "isClassOrSuperclassTable", int.class );
+		nullableSubclassTableMethod = resolveMethod( "isNullableSubclassTable", int.class );
+		subclassTableKeyColumnsMethod = resolveMethod( "getSubclassTableKeyColumns", int.class );
+		subclassPropertyNameClosureMethod = resolveMethod( "getSubclassPropertyNameClosure" );
+		subclassPropertyColumnNameClosureMethod = resolveMethod( "getSubclassPropertyColumnNameClosure" );
+		subclassPropertyTableNumberMethod = resolveMethod( "getSubclassPropertyTableNumber", int.class );
+	}
+
+	private static Method resolveMethod(String name, Class... parameterTypes) {
+		try {
+			final Method method = AbstractEntityPersister.class.getDeclaredMethod( name, parameterTypes );
+			method.setAccessible( true );
+			return method;
+		}
+		catch (Exception e) {
+			throw new HibernateException( "Unable to initialize access to AbstractEntityPersister#" + name, e );
+		}
+	}
+
+	public EntityPersisterMetadata extract(EntityPersister persister) {
+		final Queryable queryable = (Queryable) persister;
+
+		final int tableCount = (Integer) invoke( subclassTableSpanMethod, persister );
+		final String[] tableExpressions = new String[tableCount];
+		final boolean[] classOrSuperclassTableIndicators = new boolean[tableCount];
+		final boolean[] nullableTableIndicators = new boolean[tableCount];
+		final String[][] tableKeyColumns = new String[tableCount][];
+		for ( int i = 0; i < tableCount; i++ ) {
+			tableExpressions[i] = queryable.getSubclassTableName( i );
+			classOrSuperclassTableIndicators[i] = (Boolean) invoke( classOrSuperclassTableMethod, persister, i );
+			nullableTableIndicators[i] = (Boolean) invoke( nullableSubclassTableMethod, persister, i );
+			tableKeyColumns[i] = (String[]) invoke( subclassTableKeyColumnsMethod, persister, i );
+		}
+
+		final String[] attributeNames = (String[]) invoke( subclassPropertyNameClosureMethod, persister );
+		final String[][] attributeColumnNames = (String[][]) invoke( subclassPropertyColumnNameClosureMethod, persister );
+		final int[] attributeTableNumbers = new int[attributeNames.length];
+		for ( int i = 0; i < attributeNames.length; i++ ) {
+			attributeTableNumbers[i] = (Integer) invoke( subclassPropertyTableNumberMethod, persister, i );
+		}
+
+		return new EntityPersisterMetadata(
+				persister.getEntityName(),
+				tableExpressions,
+				classOrSuperclassTableIndicators,
+				nullableTableIndicators,
+				tableKeyColumns,
+				queryable.getIdentifierColumnNames(),
+				queryable.getDiscriminatorColumnName(),
+				queryable.getDiscriminatorSQLValue(),
+				attributeNames,
+				attributeTableNumbers,
+				attributeColumnNames
+		);
+	}
+
+	private static Object invoke(Method method, EntityPersister persister, Object... args) {
+		try {
+			return method.invoke( persister, args );
+		}
+		catch (InvocationTargetException e) {
+			throw new HibernateException(
+					"Unable to access AbstractEntityPersister#" + method.getName() + " [" + persister.toString() + "]",
+					e.getTargetException()
+			);
+		}
+		catch (Exception e) {
+			throw new HibernateException(
+					"Unable to access AbstractEntityPersister#" + method.getName() + " [" + persister.toString() + "]",
+					e
+			);
+		}
+	}
+}
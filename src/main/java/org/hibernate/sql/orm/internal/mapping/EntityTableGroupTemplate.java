@@ -0,0 +1,246 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.orm.internal.mapping;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.hibernate.sql.ast.from.ColumnDictionary;
+import org.hibernate.sql.ast.from.DerivedTableSpecification;
+import org.hibernate.sql.ast.from.PhysicalTableSpecification;
+import org.hibernate.sql.ast.from.TableSpecification;
+import org.hibernate.sqm.query.JoinType;
+
+/**
+ * Immutable description of the tables making up an EntityTableSpecificationGroup for a given persister,
+ * indexed by the persister's (subclass) table number.  Computed once per persister so that building a
+ * group for a query only needs to stamp out TableSpecifications using the query's alias base.  The
+ * TableSpecifications share the template's per-table {@link ColumnDictionary}; when built from
+ * EntityPersisterMetadata these are the metadata's dictionaries, so the metadata's precomputed column
+ * ordinals can be used against the TableSpecifications directly.
+ *
+ * @author Steve Ebersole
+ */
+public class EntityTableGroupTemplate {
+	private final int tableCount;
+	private final String[] tableExpressions;
+	private final boolean[] derivedTableIndicators;
+	private final String[] aliasSuffixes;
+	private final JoinType[] joinTypes;
+	private final String[][] keyColumns;
+	private final ColumnDictionary[] columnDictionaries;
+	private final int[] classOrSuperclassJoinedTableNumbers;
+	private final Map<String,Integer> tableNumberByExpression;
+
+	/**
+	 * Builds the template from the persister's extracted metadata
+	 *
+	 * @param metadata The persister metadata
+	 *
+	 * @return The template
+	 */
+	public static EntityTableGroupTemplate from(EntityPersisterMetadata metadata) {
+		final int tableCount = metadata.getTableCount();
+		final String[] tableExpressions = new String[tableCount];
+		final boolean[] classOrSuperclassTableIndicators = new boolean[tableCount];
+		final boolean[] nullableTableIndicators = new boolean[tableCount];
+		final String[][] keyColumns = new String[tableCount][];
+		final ColumnDictionary[] columnDictionaries = new ColumnDictionary[tableCount];
+		for ( int i = 0; i < tableCount; i++ ) {
+			tableExpressions[i] = metadata.getTableExpression( i );
+			classOrSuperclassTableIndicators[i] = metadata.isClassOrSuperclassTable( i );
+			nullableTableIndicators[i] = metadata.isNullableTable( i );
+			keyColumns[i] = metadata.getTableKeyColumns( i );
+			columnDictionaries[i] = metadata.getColumnDictionary( i );
+		}
+
+		return new EntityTableGroupTemplate(
+				tableExpressions,
+				classOrSuperclassTableIndicators,
+				nullableTableIndicators,
+				keyColumns,
+				columnDictionaries
+		);
+	}
+
+	/**
+	 * Builds the template, with each table's ColumnDictionary describing just its key columns.
+	 *
+	 * @param tableExpressions The table expressions (table names or derived table subqueries)
+	 * @param classOrSuperclassTableIndicators Whether the table belongs to the entity (or a superclass)
+	 * rather than a subclass
+	 * @param nullableTableIndicators Whether the table is nullable (optional) with regard to the entity row
+	 * @param keyColumns The key columns used to join the table to the root table
+	 */
+	public EntityTableGroupTemplate(
+			String[] tableExpressions,
+			boolean[] classOrSuperclassTableIndicators,
+			boolean[] nullableTableIndicators,
+			String[][] keyColumns) {
+		this( tableExpressions, classOrSuperclassTableIndicators, nullableTableIndicators, keyColumns, keyColumns );
+	}
+
+	/**
+	 * Builds the template.  All arrays are indexed by the persister's (subclass) table number; table
+	 * number 0 is the entity's root table.
+	 *
+	 * @param tableExpressions The table expressions (table names or derived table subqueries)
+	 * @param classOrSuperclassTableIndicators Whether the table belongs to the entity (or a superclass)
+	 * rather than a subclass
+	 * @param nullableTableIndicators Whether the table is nullable (optional) with regard to the entity row
+	 * @param keyColumns The key columns used to join the table to the root table
+	 * @param tableColumns The (known) columns of each table, making up its ColumnDictionary
+	 */
+	public EntityTableGroupTemplate(
+			String[] tableExpressions,
+			boolean[] classOrSuperclassTableIndicators,
+			boolean[] nullableTableIndicators,
+			String[][] keyColumns,
+			String[][] tableColumns) {
+		this(
+				tableExpressions,
+				classOrSuperclassTableIndicators,
+				nullableTableIndicators,
+				keyColumns,
+				toColumnDictionaries( tableColumns )
+		);
+	}
+
+	private static ColumnDictionary[] toColumnDictionaries(String[][] tableColumns) {
+		final ColumnDictionary[] columnDictionaries = new ColumnDictionary[tableColumns.length];
+		for ( int i = 0; i < tableColumns.length; i++ ) {
+			columnDictionaries[i] = new ColumnDictionary( tableColumns[i] );
+		}
+		return columnDictionaries;
+	}
+
+	private EntityTableGroupTemplate(
+			String[] tableExpressions,
+			boolean[] classOrSuperclassTableIndicators,
+			boolean[] nullableTableIndicators,
+			String[][] keyColumns,
+			ColumnDictionary[] columnDictionaries) {
+		this.tableCount = tableExpressions.length;
+		this.tableExpressions = tableExpressions.clone();
+		this.keyColumns = keyColumns.clone();
+		this.columnDictionaries = columnDictionaries;
+
+		this.derivedTableIndicators = new boolean[tableCount];
+		this.aliasSuffixes = new String[tableCount];
+		this.joinTypes = new JoinType[tableCount];
+
+		final Map<String,Integer> tableNumberByExpression = new HashMap<String, Integer>();
+		int classOrSuperclassJoinedTableCount = 0;
+		for ( int i = 0; i < tableCount; i++ ) {
+			final String tableExpression = tableExpressions[i];
+			derivedTableIndicators[i] = tableExpression.startsWith( "(" ) && tableExpression.endsWith( ")" );
+			aliasSuffixes[i] = "_" + i;
+			tableNumberByExpression.put( tableExpression, i );
+
+			if ( i > 0 ) {
+				// the entity's own non-optional tables always have a row for every row of the entity
+				// (which includes superclass tables reached from a subclass); anything else may not
+				if ( classOrSuperclassTableIndicators[i] ) {
+					classOrSuperclassJoinedTableCount++;
+					joinTypes[i] = nullableTableIndicators[i] ? JoinType.LEFT : JoinType.INNER;
+				}
+				else {
+					joinTypes[i] = JoinType.LEFT;
+				}
+			}
+		}
+		this.tableNumberByExpression = Collections.unmodifiableMap( tableNumberByExpression );
+
+		this.classOrSuperclassJoinedTableNumbers = new int[classOrSuperclassJoinedTableCount];
+		int position = 0;
+		for ( int i = 1; i < tableCount; i++ ) {
+			if ( classOrSuperclassTableIndicators[i] ) {
+				classOrSuperclassJoinedTableNumbers[position++] = i;
+			}
+		}
+	}
+
+	public int getTableCount() {
+		return tableCount;
+	}
+
+	public String getTableExpression(int tableNumber) {
+		return tableExpressions[tableNumber];
+	}
+
+	/**
+	 * The type of join to use for the table within a non-optional group, when the query does not use
+	 * the table to restrict the rows of the group.
+	 *
+	 * @param tableNumber The persister's (subclass) table number
+	 *
+	 * @return The join type; {@code null} for the root table
+	 */
+	public JoinType getJoinType(int tableNumber) {
+		return joinTypes[tableNumber];
+	}
+
+	public String[] getKeyColumns(int tableNumber) {
+		return keyColumns[tableNumber];
+	}
+
+	public ColumnDictionary getColumnDictionary(int tableNumber) {
+		return columnDictionaries[tableNumber];
+	}
+
+	/**
+	 * The number of tables, other than the root table, belonging to the entity itself or one of its
+	 * superclasses.  These tables are part of every group built for the entity.
+	 *
+	 * @return The number of such tables
+	 */
+	public int getClassOrSuperclassJoinedTableCount() {
+		return classOrSuperclassJoinedTableNumbers.length;
+	}
+
+	/**
+	 * The table number of one of the tables counted by {@link #getClassOrSuperclassJoinedTableCount()}
+	 *
+	 * @param position The position, in ascending table number order
+	 *
+	 * @return The table number
+	 */
+	public int getClassOrSuperclassJoinedTableNumber(int position) {
+		return classOrSuperclassJoinedTableNumbers[position];
+	}
+
+	/**
+	 * Locate the table number for the given table expression
+	 *
+	 * @param tableExpression The table expression
+	 *
+	 * @return The table number, or {@code -1} if the table is not part of the persister's table closure
+	 */
+	public int locateTableNumber(String tableExpression) {
+		final Integer tableNumber = tableNumberByExpression.get( tableExpression );
+		return tableNumber == null ? -1 : tableNumber;
+	}
+
+	/**
+	 * Stamp out the TableSpecification for the given table, for a group with the given alias base
+	 *
+	 * @param tableNumber The persister's (subclass) table number
+	 * @param aliasBase The group's alias base
+	 *
+	 * @return The TableSpecification
+	 */
+	public TableSpecification makeTableSpecification(int tableNumber, String aliasBase) {
+		final String alias = aliasBase.concat( aliasSuffixes[tableNumber] );
+		if ( derivedTableIndicators[tableNumber] ) {
+			return new DerivedTableSpecification( tableExpressions[tableNumber], alias, columnDictionaries[tableNumber] );
+		}
+		else {
+			return new PhysicalTableSpecification( tableExpressions[tableNumber], alias, columnDictionaries[tableNumber] );
+		}
+	}
+}
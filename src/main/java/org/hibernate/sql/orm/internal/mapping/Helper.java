@@ -1,57 +0,0 @@
-/*
- * Hibernate, Relational Persistence for Idiomatic Java
- *
- * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
- * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
- */
-package org.hibernate.sql.orm.internal.mapping;
-
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-
-import org.hibernate.HibernateException;
-import org.hibernate.persister.entity.AbstractEntityPersister;
-import org.hibernate.persister.entity.EntityPersister;
-
-/**
- * For now mainly a helper for reflection into stuff not exposed on the entity/collection persister
- * contracts
- *
- * @author Steve Ebersole
- */
-public class Helper {
-	private final Method subclassTableSpanMethod;
-
-	/**
-	 * Singleton access
-	 */
-	public static final Helper INSTANCE = new Helper();
-
-	private Helper() {
-		try {
-			subclassTableSpanMethod = AbstractEntityPersister.class.getDeclaredMethod( "getSubclassTableSpan" );
-			subclassTableSpanMethod.setAccessible( true );
-		}
-		catch (Exception e) {
-			throw new HibernateException( "Unable to initialize access to AbstractEntityPersister#getSubclassTableSpan", e );
-		}
-	}
-
-	public int extractSubclassTableCount(EntityPersister persister) {
-		try {
-			return (Integer) subclassTableSpanMethod.invoke( persister );
-		}
-		catch (InvocationTargetException e) {
-			throw new HibernateException(
-					"Unable to access AbstractEntityPersister#getSubclassTableSpan [" + persister.toString() + "]",
-					e.getTargetException()
-			);
-		}
-		catch (Exception e) {
-			throw new HibernateException(
-					"Unable to access AbstractEntityPersister#getSubclassTableSpan [" + persister.toString() + "]",
-					e
-			);
-		}
-	}
-}
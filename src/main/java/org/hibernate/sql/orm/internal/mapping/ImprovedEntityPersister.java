@@ -7,12 +7,14 @@
 package org.hibernate.sql.orm.internal.mapping;
 
 import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.sql.ast.expression.Expression;
 import org.hibernate.sql.ast.from.EntityTableSpecificationGroup;
 import org.hibernate.sql.ast.from.TableSpace;
+import org.hibernate.sql.ast.from.TableSpecification;
 import org.hibernate.sql.gen.internal.FromClauseIndex;
-import org.hibernate.sql.gen.internal.SelectStatementInterpreter;
 import org.hibernate.sql.gen.internal.SqlAliasBaseManager;
 import org.hibernate.sqm.query.from.FromElement;
+import org.hibernate.type.Type;
 
 /**
  * Isolate things we think are involved in an "improved design" for EntityPersister.
@@ -30,9 +32,107 @@ public interface ImprovedEntityPersister {
 	 */
 	EntityPersister getEntityPersister();
 
+	/**
+	 * The table, column, key and discriminator information for the entity, extracted from the
+	 * EntityPersister at boot.
+	 *
+	 * @return The metadata
+	 */
+	EntityPersisterMetadata getMetadata();
+
+	/**
+	 * Build the EntityTableSpecificationGroup for a reference to this entity in the query.  Initially
+	 * the group contains only the tables of the entity itself (and its superclasses); subclass tables are
+	 * added as the query is found to need them via the {@code apply*Reference} methods.
+	 */
 	EntityTableSpecificationGroup getEntityTableSpecificationGroup(
 			FromElement fromElement,
 			TableSpace tableSpace,
 			SqlAliasBaseManager sqlAliasBaseManager,
 			FromClauseIndex fromClauseIndex);
+
+	/**
+	 * Apply a reference to the named attribute, making sure the table containing the attribute's
+	 * columns is part of the group.
+	 *
+	 * @param group The group built for the referenced FromElement
+	 * @param attributeName The name of the referenced attribute
+	 *
+	 * @return The TableSpecification containing the attribute's columns
+	 */
+	TableSpecification applyAttributeReference(EntityTableSpecificationGroup group, String attributeName);
+
+	/**
+	 * Apply a TREAT of the referenced FromElement as the given subclass, making sure all of the
+	 * subclass's tables are part of the group.
+	 *
+	 * @param group The group built for the treated FromElement
+	 * @param treatTarget The persister for the TREAT target
+	 * @param restricting Whether the TREAT restricts the rows of the group (TREAT in the FROM clause),
+	 * in which case the subclass tables are inner joined.
+	 */
+	void applyTreatReference(
+			EntityTableSpecificationGroup group,
+			ImprovedEntityPersister treatTarget,
+			boolean restricting);
+
+	/**
+	 * Apply a TYPE() reference to the FromElement, making sure the tables needed to determine the
+	 * concrete type of each row are part of the group.
+	 *
+	 * @param group The group built for the referenced FromElement
+	 */
+	void applyTypeReference(EntityTableSpecificationGroup group);
+
+	/**
+	 * Apply a reference to the entity as a whole (e.g. selecting it), making sure all subclass tables
+	 * are part of the group.
+	 *
+	 * @param group The group built for the referenced FromElement
+	 */
+	void applyEntityReference(EntityTableSpecificationGroup group);
+
+	/**
+	 * Resolve the SQL expression for a reference to the named attribute.  Applies the attribute
+	 * reference (see {@link #applyAttributeReference}) and returns the reference to the attribute's
+	 * column, or a {@link org.hibernate.sql.ast.expression.SqlTuple} of references for multi-column attributes.
+	 *
+	 * @param group The group built for the referenced FromElement
+	 * @param attributeName The name of the referenced attribute
+	 *
+	 * @return The SQL expression
+	 */
+	Expression resolveAttributeExpression(EntityTableSpecificationGroup group, String attributeName);
+
+	/**
+	 * Resolve the SQL expression for a reference to the entity as a whole.  Applies the entity reference
+	 * (see {@link #applyEntityReference}) and returns a {@link org.hibernate.sql.ast.expression.SqlTuple}
+	 * of the identifier and attribute columns.
+	 *
+	 * @param group The group built for the referenced FromElement
+	 *
+	 * @return The SQL expression
+	 */
+	Expression resolveEntityExpression(EntityTableSpecificationGroup group);
+
+	/**
+	 * Resolve the SQL expression for a TYPE() reference to the entity.  Applies the type reference
+	 * (see {@link #applyTypeReference}) and returns the discriminator column reference or, for joined
+	 * inheritance without a discriminator column, a CASE over the subclass tables yielding the
+	 * discriminator value of the concrete type.
+	 *
+	 * @param group The group built for the referenced FromElement
+	 *
+	 * @return The SQL expression
+	 */
+	Expression resolveTypeExpression(EntityTableSpecificationGroup group);
+
+	/**
+	 * Resolve the ORM Type of the named attribute (or attribute path)
+	 *
+	 * @param attributeName The name of the attribute
+	 *
+	 * @return The attribute's Type
+	 */
+	Type resolveAttributeType(String attributeName);
 }
@@ -6,18 +6,34 @@
  */
 package org.hibernate.sql.orm.internal.mapping;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.hibernate.QueryException;
 import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.persister.entity.JoinedSubclassEntityPersister;
 import org.hibernate.persister.entity.Queryable;
-import org.hibernate.sql.ast.from.DerivedTableSpecification;
+import org.hibernate.sql.SqlTreeException;
+import org.hibernate.sql.ast.expression.CaseSearchedExpression;
+import org.hibernate.sql.ast.expression.Expression;
+import org.hibernate.sql.ast.expression.QueryLiteral;
+import org.hibernate.sql.ast.expression.SqlTuple;
 import org.hibernate.sql.ast.from.EntityTableSpecificationGroup;
-import org.hibernate.sql.ast.from.PhysicalTableSpecification;
 import org.hibernate.sql.ast.from.TableSpace;
 import org.hibernate.sql.ast.from.TableSpecification;
 import org.hibernate.sql.ast.from.TableSpecificationJoin;
+import org.hibernate.sql.ast.predicate.Junction;
+import org.hibernate.sql.ast.predicate.NullnessPredicate;
+import org.hibernate.sql.ast.predicate.Predicate;
+import org.hibernate.sql.ast.predicate.RelationalPredicate;
 import org.hibernate.sql.gen.internal.FromClauseIndex;
 import org.hibernate.sql.gen.internal.SqlAliasBaseManager;
 import org.hibernate.sqm.query.JoinType;
 import org.hibernate.sqm.query.from.FromElement;
+import org.hibernate.sqm.query.from.JoinedFromElement;
+import org.hibernate.type.Type;
 
 /**
  * @author Steve Ebersole
@@ -25,12 +41,14 @@ import org.hibernate.sqm.query.from.FromElement;
 public class ImprovedEntityPersisterImpl implements ImprovedEntityPersister {
 	private final EntityPersister persister;
 	private final Queryable queryable;
-	private final int subclassTableCount;
+	private final EntityPersisterMetadata metadata;
+	private final EntityTableGroupTemplate tableGroupTemplate;
 
 	public ImprovedEntityPersisterImpl(EntityPersister persister) {
 		this.persister = persister;
 		this.queryable = (Queryable) persister;
-		this.subclassTableCount = Helper.INSTANCE.extractSubclassTableCount( persister );
+		this.metadata = EntityPersisterMetadataExtractor.INSTANCE.extract( persister );
+		this.tableGroupTemplate = EntityTableGroupTemplate.from( metadata );
 	}
 
 	@Override
@@ -38,6 +56,11 @@ public class ImprovedEntityPersisterImpl implements ImprovedEntityPersister {
 		return persister;
 	}
 
+	@Override
+	public EntityPersisterMetadata getMetadata() {
+		return metadata;
+	}
+
 	@Override
 	public EntityTableSpecificationGroup getEntityTableSpecificationGroup(
 			FromElement fromElement,
@@ -45,59 +68,312 @@ public class ImprovedEntityPersisterImpl implements ImprovedEntityPersister {
 			SqlAliasBaseManager sqlAliasBaseManager,
 			FromClauseIndex fromClauseIndex) {
 
-		// todo : limit inclusion of subclass tables.
-		// 		we should only include subclass tables in very specific circumstances (such
-		// 		as handling persister reference in select clause, JPQL TYPE cast, subclass attribute
-		// 		de-reference, etc).  In other cases it is an unnecessary overhead to include those
-		// 		table joins
-		//
-		// however... the easiest way to accomplish this is during the SQM building to have each FromElement
-		//		keep track of all needed subclass references.  The problem is that that gets tricky with the
-		// 		design goal of having SQM be completely independent from ORM.  It basically means we will end
-		// 		up needing to expose more model and mapping information in the org.hibernate.sqm.domain.ModelMetadata
-		// 		contracts
+		// Only the tables of the entity itself (and its superclasses) are included here.  Subclass
+		// tables are only needed in very specific circumstances (persister reference in select clause,
+		// TREAT, TYPE(), subclass attribute de-reference); they get added as the interpreter encounters
+		// those references via the apply*Reference methods.
 
+		// An outer joined FromElement is optional, which forces outer joins within the group : inner joins
+		// within an outer joined group would need to be rendered as a nested join to keep the outer join
+		// semantic.  An inner joined FromElement always has a row, just like a root.
+		final boolean optional = fromElement instanceof JoinedFromElement
+				&& ( (JoinedFromElement) fromElement ).getJoinType() != JoinType.INNER;
 		final EntityTableSpecificationGroup group = new EntityTableSpecificationGroup(
 				tableSpace,
-				sqlAliasBaseManager.getSqlAliasBase( fromElement ),
-				persister
+				sqlAliasBaseManager.getSqlAliasBase( fromElement, metadata.getSqlAliasAcronym() ),
+				persister,
+				tableGroupTemplate.getTableCount(),
+				optional
 		);
 
 		fromClauseIndex.crossReference( fromElement, group );
 
-		final TableSpecification drivingTable = makeTableSpecification(
-				queryable.getSubclassTableName( 0 ),
-				group.getAliasBase() + '_' + 0
-		);
-		group.setRootTableSpecification( drivingTable );
+		group.setRootTableSpecification( 0, tableGroupTemplate.makeTableSpecification( 0, group.getAliasBase() ) );
+
+		for ( int i = 0; i < tableGroupTemplate.getClassOrSuperclassJoinedTableCount(); i++ ) {
+			includeTable( group, tableGroupTemplate.getClassOrSuperclassJoinedTableNumber( i ), false );
+		}
+
+		return group;
+	}
+
+	@Override
+	public TableSpecification applyAttributeReference(EntityTableSpecificationGroup group, String attributeName) {
+		final int attributePosition = metadata.locateAttribute( attributeName );
+		final int tableNumber = attributePosition < 0
+				// not part of the attribute closure (identifier, or a path) - let the persister resolve it
+				? queryable.getSubclassPropertyTableNumber( attributeName )
+				: metadata.getAttributeTableNumber( attributePosition );
+		return includeTable( group, tableNumber, false );
+	}
+
+	@Override
+	public void applyTreatReference(
+			EntityTableSpecificationGroup group,
+			ImprovedEntityPersister treatTarget,
+			boolean restricting) {
+		final EntityPersisterMetadata treatTargetMetadata = treatTarget.getMetadata();
+		for ( int i = 0; i < treatTargetMetadata.getTableCount(); i++ ) {
+			if ( treatTargetMetadata.isClassOrSuperclassTable( i ) ) {
+				includeTable( group, locateTableNumber( treatTargetMetadata.getTableExpression( i ) ), restricting );
+			}
+		}
+	}
+
+	@Override
+	public void applyTypeReference(EntityTableSpecificationGroup group) {
+		// for joined inheritance the concrete type is determined by which subclass tables hold a row;
+		// other strategies use a discriminator (column or union "clazz_") from the entity's own table
+		if ( persister instanceof JoinedSubclassEntityPersister ) {
+			applyEntityReference( group );
+		}
+	}
+
+	@Override
+	public void applyEntityReference(EntityTableSpecificationGroup group) {
+		for ( int i = 1; i < tableGroupTemplate.getTableCount(); i++ ) {
+			includeTable( group, i, false );
+		}
+	}
+
+	@Override
+	public Expression resolveAttributeExpression(EntityTableSpecificationGroup group, String attributeName) {
+		final TableSpecification table = applyAttributeReference( group, attributeName );
+		final int attributePosition = metadata.locateAttribute( attributeName );
+		if ( attributePosition >= 0 ) {
+			final int[] ordinals = metadata.getAttributeColumnOrdinals( attributePosition );
+			for ( int ordinal : ordinals ) {
+				if ( ordinal < 0 ) {
+					throw new QueryException(
+							"Formula-based attribute [" + metadata.getEntityName() + "." + attributeName + "] cannot be referenced as a column"
+					);
+				}
+			}
+			return makeColumnsExpression( table, ordinals );
+		}
+		if ( isIdentifierReference( attributeName ) ) {
+			return makeColumnsExpression( table, metadata.getIdentifierColumnOrdinals() );
+		}
+
+		// a path (component sub-attribute, ...) - let the persister resolve the column names
+		final String[] columnNames = queryable.toColumns( attributeName );
+		if ( columnNames.length == 1 ) {
+			return table.getColumnReference( columnNames[0] );
+		}
+
+		final List<Expression> expressions = new ArrayList<Expression>( columnNames.length );
+		for ( String columnName : columnNames ) {
+			expressions.add( table.getColumnReference( columnName ) );
+		}
+		return new SqlTuple( expressions );
+	}
+
+	private boolean isIdentifierReference(String attributeName) {
+		return "id".equals( attributeName ) || attributeName.equals( persister.getIdentifierPropertyName() );
+	}
 
-		// todo : determine proper join type
-		JoinType joinType = JoinType.LEFT;
+	@Override
+	public Expression resolveEntityExpression(EntityTableSpecificationGroup group) {
+		applyEntityReference( group );
+
+		final List<Expression> expressions = new ArrayList<Expression>();
+		for ( int ordinal : metadata.getIdentifierColumnOrdinals() ) {
+			expressions.add( group.getRootTableSpecification().getColumnReference( ordinal ) );
+		}
 
-		for ( int i = 1; i < subclassTableCount; i++ ) {
-			final TableSpecification tableSpecification = makeTableSpecification(
-					queryable.getSubclassTableName( i ),
-					group.getAliasBase() + '_' + i
+		// todo : subclass attributes, needed to hydrate the subclass state
+		final String[] attributeNames = persister.getPropertyNames();
+		for ( int i = 0; i < attributeNames.length; i++ ) {
+			if ( persister.getPropertyTypes()[i].isCollectionType() ) {
+				continue;
+			}
+			final int attributePosition = metadata.locateAttribute( attributeNames[i] );
+			final TableSpecification table = group.locateTableSpecification(
+					metadata.getAttributeTableNumber( attributePosition )
 			);
+			for ( int ordinal : metadata.getAttributeColumnOrdinals( attributePosition ) ) {
+				// formulas have no column
+				if ( ordinal >= 0 ) {
+					expressions.add( table.getColumnReference( ordinal ) );
+				}
+			}
+		}
+
+		return new SqlTuple( expressions );
+	}
+
+	@Override
+	public Expression resolveTypeExpression(EntityTableSpecificationGroup group) {
+		applyTypeReference( group );
 
-			group.addTableSpecificationJoin( new TableSpecificationJoin( joinType, tableSpecification, null ) );
+		if ( metadata.getDiscriminatorColumnName() != null ) {
+			// a discriminator column, or the "clazz_" column of the union subclass derived table
+			return group.getRootTableSpecification().getColumnReference( metadata.getDiscriminatorColumnOrdinal() );
 		}
 
-		return group;
+		if ( persister instanceof JoinedSubclassEntityPersister && metadata.getDiscriminatorSqlValue() != null ) {
+			return makeImplicitDiscriminatorExpression( group );
+		}
+
+		throw new QueryException( "Entity [" + metadata.getEntityName() + "] has no discriminator to render TYPE() from" );
+	}
+
+	/**
+	 * Joined inheritance without a discriminator column : the concrete type is that of the most specific
+	 * subclass whose table holds a row, as JoinedSubclassEntityPersister does for its own loads.
+	 */
+	private Expression makeImplicitDiscriminatorExpression(EntityTableSpecificationGroup group) {
+		final List<Queryable> subclassPersisters = new ArrayList<Queryable>();
+		for ( Object subclassEntityName : persister.getEntityMetamodel().getSubclassEntityNames() ) {
+			if ( !persister.getEntityName().equals( subclassEntityName ) ) {
+				subclassPersisters.add( (Queryable) persister.getFactory().getEntityPersister( (String) subclassEntityName ) );
+			}
+		}
+
+		final QueryLiteral ownValue = new QueryLiteral( Integer.valueOf( metadata.getDiscriminatorSqlValue() ) );
+		if ( subclassPersisters.isEmpty() ) {
+			return ownValue;
+		}
+
+		Collections.sort( subclassPersisters, new Comparator<Queryable>() {
+			@Override
+			public int compare(Queryable first, Queryable second) {
+				return determineHierarchyDepth( second ) - determineHierarchyDepth( first );
+			}
+		} );
+
+		final CaseSearchedExpression caseExpression = new CaseSearchedExpression();
+		for ( Queryable subclassPersister : subclassPersisters ) {
+			final int tableNumber = locateTableNumber( subclassPersister.getTableName() );
+			final TableSpecification table = group.locateTableSpecification( tableNumber );
+			caseExpression.when(
+					new NullnessPredicate( table.getColumnReference( metadata.getTableKeyColumnOrdinals( tableNumber )[0] ), true ),
+					new QueryLiteral( Integer.valueOf( subclassPersister.getDiscriminatorSQLValue() ) )
+			);
+		}
+		return caseExpression.otherwise( ownValue );
 	}
 
-	private TableSpecification makeTableSpecification(
-			String tableExpression,
-			String alias) {
-		final TableSpecification tableSpecification;
-		if ( tableExpression.startsWith( "(" ) && tableExpression.endsWith( ")" ) ) {
-			tableSpecification = new DerivedTableSpecification( tableExpression, alias );
+	private int determineHierarchyDepth(EntityPersister entityPersister) {
+		int depth = 0;
+		String superclassEntityName = entityPersister.getEntityMetamodel().getSuperclass();
+		while ( superclassEntityName != null ) {
+			depth++;
+			superclassEntityName = persister.getFactory()
+					.getEntityPersister( superclassEntityName )
+					.getEntityMetamodel()
+					.getSuperclass();
 		}
-		else {
-			tableSpecification = new PhysicalTableSpecification( tableExpression, alias );
+		return depth;
+	}
+
+	@Override
+	public Type resolveAttributeType(String attributeName) {
+		return queryable.toType( attributeName );
+	}
+
+	private Expression makeColumnsExpression(TableSpecification table, int[] ordinals) {
+		if ( ordinals.length == 1 ) {
+			return table.getColumnReference( ordinals[0] );
 		}
 
+		final List<Expression> expressions = new ArrayList<Expression>( ordinals.length );
+		for ( int ordinal : ordinals ) {
+			expressions.add( table.getColumnReference( ordinal ) );
+		}
+		return new SqlTuple( expressions );
+	}
+
+	private Predicate makeJoinPredicate(
+			TableSpecification rootTable,
+			TableSpecification joinedTable,
+			int tableNumber) {
+		final int[] rootKeyColumns = metadata.getTableKeyColumnOrdinals( 0 );
+		final int[] joinedKeyColumns = metadata.getTableKeyColumnOrdinals( tableNumber );
+
+		if ( rootKeyColumns.length == 1 ) {
+			return makeKeyEqualityPredicate( rootTable, rootKeyColumns[0], joinedTable, joinedKeyColumns[0] );
+		}
+
+		final Junction conjunction = new Junction( Junction.Nature.CONJUNCTION );
+		for ( int i = 0; i < rootKeyColumns.length; i++ ) {
+			conjunction.add( makeKeyEqualityPredicate( rootTable, rootKeyColumns[i], joinedTable, joinedKeyColumns[i] ) );
+		}
+		return conjunction;
+	}
+
+	private Predicate makeKeyEqualityPredicate(
+			TableSpecification rootTable,
+			int rootKeyColumn,
+			TableSpecification joinedTable,
+			int joinedKeyColumn) {
+		return new RelationalPredicate(
+				RelationalPredicate.Operator.EQUAL,
+				rootTable.getColumnReference( rootKeyColumn ),
+				joinedTable.getColumnReference( joinedKeyColumn )
+		);
+	}
+
+	private int locateTableNumber(String tableName) {
+		final int tableNumber = tableGroupTemplate.locateTableNumber( tableName );
+		if ( tableNumber >= 0 ) {
+			return tableNumber;
+		}
+
+		throw new SqlTreeException(
+				"Table [" + tableName + "] is not part of the table closure for entity [" + persister.getEntityName() + "]"
+		);
+	}
+
+	private TableSpecification includeTable(EntityTableSpecificationGroup group, int tableNumber, boolean restricting) {
+		final JoinType joinType = determineJoinType( group, tableNumber, restricting );
+
+		TableSpecification tableSpecification = group.locateTableSpecification( tableNumber );
+		if ( tableSpecification == null ) {
+			tableSpecification = tableGroupTemplate.makeTableSpecification( tableNumber, group.getAliasBase() );
+			group.addTableSpecificationJoin(
+					tableNumber,
+					new TableSpecificationJoin(
+							joinType,
+							tableSpecification,
+							makeJoinPredicate( group.getRootTableSpecification(), tableSpecification, tableNumber )
+					)
+			);
+		}
+		else if ( joinType == JoinType.INNER ) {
+			// the table may have been included before as an outer join; a restricting use "upgrades" it
+			final TableSpecificationJoin existing = group.locateTableSpecificationJoin( tableNumber );
+			if ( existing != null && existing.getJoinType() != JoinType.INNER ) {
+				group.replaceTableSpecificationJoin(
+						tableNumber,
+						new TableSpecificationJoin( JoinType.INNER, tableSpecification, existing.getJoinPredicate() )
+				);
+			}
+		}
 		return tableSpecification;
 	}
 
+	/**
+	 * Determine the type of join to use in joining the given table into the group.  An inner join is
+	 * used whenever the table is guaranteed to have a row for every row of the group (see
+	 * {@link EntityTableGroupTemplate#getJoinType}), or when the query uses the table to restrict the
+	 * rows of the group (TREAT in the FROM clause).
+	 *
+	 * @param group The group the table is being joined into
+	 * @param tableNumber The persister's (subclass) table number
+	 * @param restricting Whether the query uses the table to restrict the rows of the group
+	 *
+	 * @return The join type
+	 */
+	private JoinType determineJoinType(EntityTableSpecificationGroup group, int tableNumber, boolean restricting) {
+		if ( group.isOptional() ) {
+			return JoinType.LEFT;
+		}
+
+		if ( restricting ) {
+			return JoinType.INNER;
+		}
+
+		return tableGroupTemplate.getJoinType( tableNumber );
+	}
 }
@@ -6,6 +6,7 @@
  */
 package org.hibernate.sql.orm.internal.sqm.model;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -16,16 +17,25 @@ import org.hibernate.sqm.domain.AttributeDescriptor;
 import org.hibernate.sqm.domain.EntityTypeDescriptor;
 
 /**
+ * The attribute descriptors are built on first access (see {@link #getAttributeDescriptorMap()}) rather
+ * than on construction.  Besides not paying for the attributes of entities never queried, this allows
+ * descriptors for associated entities to reference each other.
+ *
  * @author Steve Ebersole
  */
 public class EntityTypeDescriptorImpl implements EntityTypeDescriptor {
 	private final ModelMetadataImpl modelMetadata;
 	private final ImprovedEntityPersister persister;
-	private final Map<String,AttributeDescriptorImpl> attributeDescriptorMap = new HashMap<String, AttributeDescriptorImpl>();
+
+	private volatile Map<String,AttributeDescriptorImpl> attributeDescriptorMap;
 
 	public EntityTypeDescriptorImpl(ModelMetadataImpl modelMetadata, ImprovedEntityPersister persister) {
 		this.modelMetadata = modelMetadata;
 		this.persister = persister;
+	}
+
+	private Map<String,AttributeDescriptorImpl> buildAttributeDescriptorMap() {
+		final Map<String,AttributeDescriptorImpl> map = new HashMap<String, AttributeDescriptorImpl>();
 
 		// todo : not sure this pulls in subclass attributes
 		for ( AttributeDefinition attributeDefinition : persister.getEntityPersister().getAttributes() ) {
@@ -34,8 +44,10 @@ public class EntityTypeDescriptorImpl implements EntityTypeDescriptor {
 					attributeDefinition.getName(),
 					modelMetadata.toTypeDescriptor( attributeDefinition.getType() )
 			);
-			attributeDescriptorMap.put( attributeDefinition.getName(), attributeDescriptor );
+			map.put( attributeDefinition.getName(), attributeDescriptor );
 		}
+
+		return Collections.unmodifiableMap( map );
 	}
 
 	@Override
@@ -45,8 +57,9 @@ public class EntityTypeDescriptorImpl implements EntityTypeDescriptor {
 
 	@Override
 	public AttributeDescriptor getAttributeDescriptor(String attributeName) {
-		if ( attributeDescriptorMap.containsKey( attributeName ) ) {
-			return attributeDescriptorMap.get( attributeName );
+		final AttributeDescriptorImpl attributeDescriptor = getAttributeDescriptorMap().get( attributeName );
+		if ( attributeDescriptor != null ) {
+			return attributeDescriptor;
 		}
 
 		if ( "id".equals( attributeName ) ) {
@@ -64,7 +77,17 @@ public class EntityTypeDescriptorImpl implements EntityTypeDescriptor {
 	}
 
 	public Map<String, AttributeDescriptorImpl> getAttributeDescriptorMap() {
-		return attributeDescriptorMap;
+		Map<String, AttributeDescriptorImpl> map = attributeDescriptorMap;
+		if ( map == null ) {
+			synchronized ( this ) {
+				map = attributeDescriptorMap;
+				if ( map == null ) {
+					map = buildAttributeDescriptorMap();
+					attributeDescriptorMap = map;
+				}
+			}
+		}
+		return map;
 	}
 
 }
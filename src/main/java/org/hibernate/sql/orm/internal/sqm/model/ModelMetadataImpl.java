@@ -8,12 +8,25 @@ package org.hibernate.sql.orm.internal.sqm.model;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.hibernate.HibernateException;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.internal.util.config.ConfigurationHelper;
 import org.hibernate.persister.collection.CollectionPersister;
 import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.sql.gen.NotYetImplementedException;
@@ -29,28 +42,156 @@ import org.hibernate.type.CompositeType;
 import org.hibernate.type.EntityType;
 import org.hibernate.type.Type;
 
+import org.jboss.logging.Logger;
+
 /**
+ * ModelMetadata implementation backed by the SessionFactory's persisters.
+ * <p/>
+ * The entity descriptors are built according to the {@link BootstrapMode}: all up front, either
+ * one at a time ({@link BootstrapMode#EAGER}) or spread over a pool of threads
+ * ({@link BootstrapMode#PARALLEL}), or on first reference ({@link BootstrapMode#LAZY}), optionally
+ * followed by a background warm-up (see {@link #startBackgroundWarmUp()}).  For a lazy bootstrap the
+ * attribute descriptors of an entity are only built on first access.
+ * <p/>
+ * Safe for use by concurrent query interpretations.  Eagerly built entity descriptors are published as an
+ * unmodifiable map; descriptors created on demand (lazy entity descriptors, polymorphic references and
+ * non-standard basic types) are kept in concurrent maps.  Reads never lock.  Two threads may race to
+ * create the same on-demand descriptor, in which case the first one registered wins and is the one
+ * every caller sees.
+ *
  * @author Steve Ebersole
  */
 public class ModelMetadataImpl implements ModelMetadata {
+	private static final Logger log = Logger.getLogger( ModelMetadataImpl.class );
+
+	/**
+	 * Setting naming the {@link BootstrapMode} to use.  Defaults to {@link BootstrapMode#EAGER}
+	 */
+	public static final String BOOTSTRAP_MODE = "hibernate.sql.model_metadata.bootstrap_mode";
+
+	/**
+	 * Setting indicating whether to build all entity descriptors in the background after a
+	 * {@link BootstrapMode#LAZY} bootstrap.  Defaults to {@code false}
+	 */
+	public static final String BACKGROUND_WARM_UP = "hibernate.sql.model_metadata.background_warm_up";
+
+	/**
+	 * Setting for the number of threads used by a {@link BootstrapMode#PARALLEL} bootstrap.  Defaults
+	 * to the number of available processors
+	 */
+	public static final String BOOTSTRAP_PARALLELISM = "hibernate.sql.model_metadata.bootstrap_parallelism";
+
+	/**
+	 * How the entity descriptors are built
+	 */
+	public enum BootstrapMode {
+		/**
+		 * Build the descriptors for all entities up front
+		 */
+		EAGER,
+		/**
+		 * Build the descriptors for all entities up front, spreading the work over a pool of threads
+		 */
+		PARALLEL,
+		/**
+		 * Build the descriptor for an entity on first reference
+		 */
+		LAZY;
+
+		public static BootstrapMode interpret(Object setting) {
+			if ( setting == null ) {
+				return EAGER;
+			}
+			if ( setting instanceof BootstrapMode ) {
+				return (BootstrapMode) setting;
+			}
+			return valueOf( setting.toString().trim().toUpperCase( Locale.ROOT ) );
+		}
+	}
+
 	private final SessionFactoryImplementor sessionFactory;
+	private final BootstrapMode bootstrapMode;
 
-	private final Map<Class, BasicTypeDescriptor> basicTypeMap;
+	private final ConcurrentMap<Class, BasicTypeDescriptor> basicTypeMap;
 
 	private final Map<EntityPersister,EntityTypeDescriptorImpl> entityTypeDescriptorMap;
-	private Map<String,PolymorphicEntityTypeDescriptorImpl> polymorphicEntityTypeDescriptorMap;
-
+	private final ConcurrentMap<String,PolymorphicEntityTypeDescriptorImpl> polymorphicEntityTypeDescriptorMap =
+			new ConcurrentHashMap<String, PolymorphicEntityTypeDescriptorImpl>();
 
 	public ModelMetadataImpl(SessionFactoryImplementor sessionFactory) {
+		this(
+				sessionFactory,
+				BootstrapMode.interpret( sessionFactory.getProperties().get( BOOTSTRAP_MODE ) ),
+				ConfigurationHelper.getInt(
+						BOOTSTRAP_PARALLELISM,
+						sessionFactory.getProperties(),
+						Runtime.getRuntime().availableProcessors()
+				)
+		);
+
+		if ( bootstrapMode == BootstrapMode.LAZY
+				&& ConfigurationHelper.getBoolean( BACKGROUND_WARM_UP, sessionFactory.getProperties(), false ) ) {
+			startBackgroundWarmUp();
+		}
+	}
+
+	public ModelMetadataImpl(SessionFactoryImplementor sessionFactory, BootstrapMode bootstrapMode) {
+		this( sessionFactory, bootstrapMode, Runtime.getRuntime().availableProcessors() );
+	}
+
+	/**
+	 * @param sessionFactory The SessionFactory whose persisters back the metadata
+	 * @param bootstrapMode How to build the entity descriptors
+	 * @param parallelism The number of threads to use for a {@link BootstrapMode#PARALLEL} bootstrap
+	 */
+	public ModelMetadataImpl(SessionFactoryImplementor sessionFactory, BootstrapMode bootstrapMode, int parallelism) {
 		this.sessionFactory = sessionFactory;
+		this.bootstrapMode = bootstrapMode;
 		this.basicTypeMap = buildBasicTypeMaps();
 
 		// todo : better account for inheritance
-		this.entityTypeDescriptorMap = buildEntityTypeDescriptorMap();
+		if ( bootstrapMode == BootstrapMode.LAZY ) {
+			this.entityTypeDescriptorMap = new ConcurrentHashMap<EntityPersister, EntityTypeDescriptorImpl>();
+		}
+		else if ( bootstrapMode == BootstrapMode.PARALLEL ) {
+			if ( parallelism < 1 ) {
+				throw new IllegalArgumentException( "ModelMetadata bootstrap parallelism must be positive : " + parallelism );
+			}
+
+			final long start = System.nanoTime();
+			final ExecutorService executor = Executors.newFixedThreadPool(
+					parallelism,
+					daemonThreadFactory( "ModelMetadata bootstrap" )
+			);
+			try {
+				this.entityTypeDescriptorMap = buildEntityTypeDescriptorMap( executor );
+				buildAttributeDescriptorMaps( executor );
+			}
+			finally {
+				executor.shutdown();
+			}
+			log.debugf(
+					"Built ModelMetadata for %s entities using %s threads in %s ms",
+					entityTypeDescriptorMap.size(),
+					parallelism,
+					TimeUnit.NANOSECONDS.toMillis( System.nanoTime() - start )
+			);
+		}
+		else {
+			this.entityTypeDescriptorMap = buildEntityTypeDescriptorMap();
+			// the attributes can only be built once all entity descriptors are available to reference
+			for ( EntityTypeDescriptorImpl descriptor : entityTypeDescriptorMap.values() ) {
+				descriptor.getAttributeDescriptorMap();
+			}
+		}
+	}
+
+	public BootstrapMode getBootstrapMode() {
+		return bootstrapMode;
 	}
 
-	private static Map<Class, BasicTypeDescriptor> buildBasicTypeMaps() {
-		final Map<Class, BasicTypeDescriptor> map = new HashMap<Class, BasicTypeDescriptor>();
+	private static ConcurrentMap<Class, BasicTypeDescriptor> buildBasicTypeMaps() {
+		final ConcurrentMap<Class, BasicTypeDescriptor> map = new ConcurrentHashMap<Class, BasicTypeDescriptor>();
 
 		for ( Field field : StandardBasicTypeDescriptors.class.getDeclaredFields() ) {
 			if ( BasicTypeDescriptor.class.isAssignableFrom( field.getType() ) ) {
@@ -78,7 +219,118 @@ public class ModelMetadataImpl implements ModelMetadata {
 					)
 			);
 		}
-		return map;
+		return Collections.unmodifiableMap( map );
+	}
+
+	private Map<EntityPersister, EntityTypeDescriptorImpl> buildEntityTypeDescriptorMap(ExecutorService executor) {
+		final List<Future<EntityTypeDescriptorImpl>> futures = new ArrayList<Future<EntityTypeDescriptorImpl>>();
+		for ( final EntityPersister entityPersister : sessionFactory.getEntityPersisters().values() ) {
+			futures.add(
+					executor.submit(
+							new Callable<EntityTypeDescriptorImpl>() {
+								@Override
+								public EntityTypeDescriptorImpl call() {
+									return new EntityTypeDescriptorImpl(
+											ModelMetadataImpl.this,
+											new ImprovedEntityPersisterImpl( entityPersister )
+									);
+								}
+							}
+					)
+			);
+		}
+
+		// the tasks only build, the map itself is only ever touched by this thread
+		final Map<EntityPersister, EntityTypeDescriptorImpl> map = new HashMap<EntityPersister, EntityTypeDescriptorImpl>();
+		for ( Future<EntityTypeDescriptorImpl> future : futures ) {
+			final EntityTypeDescriptorImpl descriptor = await( future );
+			map.put( descriptor.getPersister().getEntityPersister(), descriptor );
+		}
+		return Collections.unmodifiableMap( map );
+	}
+
+	private void buildAttributeDescriptorMaps(ExecutorService executor) {
+		// attributes reference the descriptors of associated entities, so this needs the completed map
+		final List<Future<?>> futures = new ArrayList<Future<?>>();
+		for ( final EntityTypeDescriptorImpl descriptor : entityTypeDescriptorMap.values() ) {
+			futures.add(
+					executor.submit(
+							new Runnable() {
+								@Override
+								public void run() {
+									descriptor.getAttributeDescriptorMap();
+								}
+							}
+					)
+			);
+		}
+
+		for ( Future<?> future : futures ) {
+			await( future );
+		}
+	}
+
+	private static <T> T await(Future<T> future) {
+		try {
+			return future.get();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new HibernateException( "Interrupted while building ModelMetadata", e );
+		}
+		catch (ExecutionException e) {
+			if ( e.getCause() instanceof RuntimeException ) {
+				throw (RuntimeException) e.getCause();
+			}
+			if ( e.getCause() instanceof Error ) {
+				throw (Error) e.getCause();
+			}
+			throw new HibernateException( "Unable to build ModelMetadata", e.getCause() );
+		}
+	}
+
+	private static ThreadFactory daemonThreadFactory(final String name) {
+		final AtomicInteger threadCount = new AtomicInteger();
+		return new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable runnable) {
+				final Thread thread = new Thread( runnable, name + " " + threadCount.incrementAndGet() );
+				thread.setDaemon( true );
+				return thread;
+			}
+		};
+	}
+
+	/**
+	 * Build the descriptors (including their attributes) for all entities not yet referenced, on a
+	 * background (daemon) thread.  Queries may be interpreted concurrently; any descriptor they need
+	 * that the warm-up has not built yet is simply built on demand.
+	 *
+	 * @return Future for the completion of the warm-up
+	 */
+	public Future<?> startBackgroundWarmUp() {
+		final ExecutorService executor = Executors.newSingleThreadExecutor( daemonThreadFactory( "ModelMetadata warm-up" ) );
+		try {
+			return executor.submit(
+					new Runnable() {
+						@Override
+						public void run() {
+							final long start = System.nanoTime();
+							for ( EntityPersister entityPersister : sessionFactory.getEntityPersisters().values() ) {
+								entityType( entityPersister ).getAttributeDescriptorMap();
+							}
+							log.debugf(
+									"Warmed up ModelMetadata for %s entities in %s ms",
+									sessionFactory.getEntityPersisters().size(),
+									TimeUnit.NANOSECONDS.toMillis( System.nanoTime() - start )
+							);
+						}
+					}
+			);
+		}
+		finally {
+			executor.shutdown();
+		}
 	}
 
 	@Override
@@ -88,43 +340,39 @@ public class ModelMetadataImpl implements ModelMetadata {
 			reference = importedName;
 		}
 
-		// look at existing non-polymorphic descriptors
-		final EntityPersister persister = sessionFactory.getEntityPersister( reference );
+		// look at existing non-polymorphic descriptors (SessionFactory#getEntityPersister throws for non-entity names)
+		final EntityPersister persister = sessionFactory.getEntityPersisters().get( reference );
 		if ( persister != null ) {
-			return entityTypeDescriptorMap.get( persister );
+			return entityType( persister );
 		}
 
 		// look at existing polymorphic descriptors
-		if ( polymorphicEntityTypeDescriptorMap != null ) {
-			PolymorphicEntityTypeDescriptorImpl existingEntry = polymorphicEntityTypeDescriptorMap.get( reference );
-			if ( existingEntry != null ) {
-				return existingEntry;
-			}
+		final PolymorphicEntityTypeDescriptorImpl existingEntry = polymorphicEntityTypeDescriptorMap.get( reference );
+		if ( existingEntry != null ) {
+			return existingEntry;
 		}
 
 
 		final String[] implementors = sessionFactory.getImplementors( reference );
 		if ( implementors != null ) {
 			if ( implementors.length == 1 ) {
-				return entityTypeDescriptorMap.get( sessionFactory.getEntityPersister( implementors[0] ) );
+				return entityType( sessionFactory.getEntityPersister( implementors[0] ) );
 			}
 			else if ( implementors.length > 1 ) {
 				final List<EntityTypeDescriptor> implementDescriptors = new ArrayList<EntityTypeDescriptor>();
 				for ( String implementor : implementors ) {
-					implementDescriptors.add(
-							entityTypeDescriptorMap.get( sessionFactory.getEntityPersister( implementor ) )
-					);
-				}
-				if ( polymorphicEntityTypeDescriptorMap == null ) {
-					polymorphicEntityTypeDescriptorMap = new HashMap<String, PolymorphicEntityTypeDescriptorImpl>();
+					implementDescriptors.add( entityType( sessionFactory.getEntityPersister( implementor ) ) );
 				}
-				PolymorphicEntityTypeDescriptorImpl descriptor = new PolymorphicEntityTypeDescriptorImpl(
+				final PolymorphicEntityTypeDescriptorImpl descriptor = new PolymorphicEntityTypeDescriptorImpl(
 						this,
 						reference,
 						implementDescriptors
 				);
-				polymorphicEntityTypeDescriptorMap.put( reference, descriptor );
-				return descriptor;
+				final PolymorphicEntityTypeDescriptorImpl existing = polymorphicEntityTypeDescriptorMap.putIfAbsent(
+						reference,
+						descriptor
+				);
+				return existing == null ? descriptor : existing;
 			}
 		}
 
@@ -133,10 +381,10 @@ public class ModelMetadataImpl implements ModelMetadata {
 
 	public TypeDescriptor toTypeDescriptor(Type ormType) {
 		if ( ormType.isAnyType() ) {
-			anyType( (AnyType) ormType );
+			return anyType( (AnyType) ormType );
 		}
 		else if ( ormType.isEntityType() ) {
-			entityType( (EntityType) ormType );
+			return entityType( (EntityType) ormType );
 		}
 		else if ( ormType.isComponentType() ) {
 			return compositeType( ( CompositeType) ormType );
@@ -148,8 +396,6 @@ public class ModelMetadataImpl implements ModelMetadata {
 		else {
 			return basicType( ormType.getReturnedClass() );
 		}
-
-		throw new HibernateException( "Unexpected Type implementation : " + ormType );
 	}
 
 	public AnyTypeDescriptorImpl anyType(AnyType ormType) {
@@ -161,7 +407,18 @@ public class ModelMetadataImpl implements ModelMetadata {
 	}
 
 	public EntityTypeDescriptorImpl entityType(EntityPersister persister) {
-		return entityTypeDescriptorMap.get( persister );
+		final EntityTypeDescriptorImpl descriptor = entityTypeDescriptorMap.get( persister );
+		if ( descriptor != null || bootstrapMode != BootstrapMode.LAZY ) {
+			return descriptor;
+		}
+
+		final EntityTypeDescriptorImpl newDescriptor = new EntityTypeDescriptorImpl(
+				this,
+				new ImprovedEntityPersisterImpl( persister )
+		);
+		final EntityTypeDescriptorImpl existing = ( (ConcurrentMap<EntityPersister,EntityTypeDescriptorImpl>) entityTypeDescriptorMap )
+				.putIfAbsent( persister, newDescriptor );
+		return existing == null ? newDescriptor : existing;
 	}
 
 	public TypeDescriptor compositeType(CompositeType ormType) {
@@ -177,11 +434,13 @@ public class ModelMetadataImpl implements ModelMetadata {
 	}
 
 	public BasicTypeDescriptor basicType(Class javaType) {
-		BasicTypeDescriptor descriptor = basicTypeMap.get( javaType );
-		if ( descriptor == null ) {
-			descriptor = new BasicTypeDescriptorImpl( javaType );
-			basicTypeMap.put( javaType, descriptor );
+		final BasicTypeDescriptor descriptor = basicTypeMap.get( javaType );
+		if ( descriptor != null ) {
+			return descriptor;
 		}
-		return descriptor;
+
+		final BasicTypeDescriptor newDescriptor = new BasicTypeDescriptorImpl( javaType );
+		final BasicTypeDescriptor existing = basicTypeMap.putIfAbsent( javaType, newDescriptor );
+		return existing == null ? newDescriptor : existing;
 	}
 }
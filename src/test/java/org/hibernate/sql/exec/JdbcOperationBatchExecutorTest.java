@@ -0,0 +1,175 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.exec;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import org.hibernate.Session;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.jdbc.Work;
+import org.hibernate.sql.gen.BaseUnitTest;
+import org.hibernate.sql.gen.JdbcOperationPlan;
+import org.hibernate.sql.gen.ParameterBinder;
+import org.hibernate.sql.gen.QueryOptionBinder;
+import org.hibernate.sql.gen.QueryOptionsTestingImpl;
+import org.hibernate.sql.gen.internal.binder.ParameterBinders;
+import org.hibernate.sql.orm.QueryParameter;
+import org.hibernate.sql.orm.QueryParameterBindings;
+import org.hibernate.sql.orm.QueryParameterMetadata;
+import org.hibernate.sql.orm.internal.NamedQueryParameter;
+import org.hibernate.type.IntegerType;
+import org.hibernate.type.StringType;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @author Steve Ebersole
+ */
+public class JdbcOperationBatchExecutorTest extends BaseUnitTest {
+	@Test
+	public void testBatching() {
+		final QueryParameterMetadata parameterMetadata = new QueryParameterMetadata(
+				new QueryParameter[] {
+						new NamedQueryParameter( 0, "name", StringType.INSTANCE ),
+						new NamedQueryParameter( 1, "id", IntegerType.INSTANCE )
+				}
+		);
+		final JdbcOperationPlan updatePlan = new SimplePlan(
+				"update batched_entity set name = ? where id = ?",
+				ParameterBinders.resolveParameterBinder( parameterMetadata.getParameter( 0 ), 1 ),
+				ParameterBinders.resolveParameterBinder( parameterMetadata.getParameter( 1 ), 2 )
+		);
+
+		final List<Integer> batchSizes = new ArrayList<Integer>();
+		final Session session = getSessionFactory().openSession();
+		try {
+			executeSql( session, "create table batched_entity (id integer not null, name varchar(255), primary key (id))" );
+			for ( int i = 0; i < 25; i++ ) {
+				executeSql( session, "insert into batched_entity values (" + i + ", 'initial')" );
+			}
+
+			final JdbcOperationBatchExecutor executor = new JdbcOperationBatchExecutor(
+					(SessionImplementor) session,
+					10,
+					new BatchObserver() {
+						@Override
+						public void batchExecuted(String sql, int batchSize, long rowCount, long elapsedNanos) {
+							batchSizes.add( batchSize );
+						}
+					}
+			);
+
+			final QueryParameterBindings bindings = parameterMetadata.makeBindings();
+			final QueryOptionsTestingImpl queryOptions = new QueryOptionsTestingImpl();
+			queryOptions.setParameterBindings( bindings );
+			try {
+				for ( int i = 0; i < 25; i++ ) {
+					bindings.reset();
+					bindings.getNamedParameterBinding( "name" ).setBindValue( "updated" );
+					bindings.getNamedParameterBinding( "id" ).setBindValue( i );
+					executor.execute( updatePlan, queryOptions );
+				}
+			}
+			finally {
+				executor.close();
+			}
+
+			assertThat( batchSizes, equalTo( Arrays.asList( 10, 10, 5 ) ) );
+			assertThat( executor.getBatchCount(), equalTo( 3L ) );
+
+			session.doWork(
+					new Work() {
+						@Override
+						public void execute(Connection connection) throws SQLException {
+							final Statement statement = connection.createStatement();
+							try {
+								final ResultSet resultSet = statement.executeQuery(
+										"select count(*) from batched_entity where name = 'updated'"
+								);
+								resultSet.next();
+								assertThat( resultSet.getInt( 1 ), equalTo( 25 ) );
+							}
+							finally {
+								statement.close();
+							}
+						}
+					}
+			);
+		}
+		finally {
+			executeSql( session, "drop table batched_entity" );
+			session.close();
+		}
+	}
+
+	private static void executeSql(Session session, final String sql) {
+		session.doWork(
+				new Work() {
+					@Override
+					public void execute(Connection connection) throws SQLException {
+						final Statement statement = connection.createStatement();
+						try {
+							statement.execute( sql );
+						}
+						finally {
+							statement.close();
+						}
+					}
+				}
+		);
+	}
+
+	private static class SimplePlan implements JdbcOperationPlan {
+		private final String sql;
+		private final List<ParameterBinder> parameterBinders;
+
+		private SimplePlan(String sql, ParameterBinder... parameterBinders) {
+			this.sql = sql;
+			this.parameterBinders = Arrays.asList( parameterBinders );
+		}
+
+		@Override
+		public String getSql() {
+			return sql;
+		}
+
+		@Override
+		public List<ParameterBinder> getParameterBinders() {
+			return parameterBinders;
+		}
+
+		@Override
+		public List<QueryOptionBinder> getQueryOptionBinders() {
+			return Collections.emptyList();
+		}
+
+		@Override
+		public QueryParameterMetadata getParameterMetadata() {
+			return null;
+		}
+
+		@Override
+		public Set<String> getQuerySpaces() {
+			return Collections.singleton( "batched_entity" );
+		}
+	}
+}
@@ -0,0 +1,328 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.exec;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import org.hibernate.HibernateException;
+import org.hibernate.Session;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.jdbc.Work;
+import org.hibernate.sql.gen.BaseUnitTest;
+import org.hibernate.sql.gen.JdbcOperationPlan;
+import org.hibernate.sql.gen.JdbcSelectPlan;
+import org.hibernate.sql.gen.QueryOptionsTestingImpl;
+import org.hibernate.sql.gen.SqmJdbcInterpreter;
+import org.hibernate.sql.orm.QueryParameterBindings;
+import org.hibernate.sqm.query.NonSelectStatement;
+import org.hibernate.sqm.query.SelectStatement;
+import org.hibernate.type.DateType;
+import org.hibernate.type.TimestampType;
+import org.hibernate.type.Type;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Steve Ebersole
+ */
+public class QueryResultCacheTest extends BaseUnitTest {
+	private Session session;
+	private QueryResultCache resultCache;
+
+	@Before
+	public void createData() {
+		session = getSessionFactory().openSession();
+		executeSql( "create table cached_entity (id integer not null, name varchar(255), primary key (id))" );
+		executeSql( "create table unrelated_entity (id integer not null, name varchar(255), primary key (id))" );
+		executeSql( "insert into cached_entity values (1, 'initial')" );
+		executeSql( "insert into cached_entity values (2, 'initial')" );
+		executeSql( "insert into unrelated_entity values (1, 'initial')" );
+
+		resultCache = new QueryResultCache();
+	}
+
+	@After
+	public void dropData() {
+		try {
+			executeSql( "drop table unrelated_entity" );
+			executeSql( "drop table cached_entity" );
+		}
+		finally {
+			session.close();
+		}
+	}
+
+	@Test
+	public void testQuerySpaces() {
+		final JdbcSelectPlan plan = interpretSelect( "select e.name from CachedEntity e where e.id = :id" );
+		assertThat( plan.getQuerySpaces(), equalTo( Collections.singleton( "cached_entity" ) ) );
+
+		final JdbcOperationPlan[] updatePlans = interpretMutation( "update UnrelatedEntity u set u.name = :name" );
+		assertThat( updatePlans[0].getQuerySpaces(), equalTo( Collections.singleton( "unrelated_entity" ) ) );
+	}
+
+	@Test
+	public void testCaching() {
+		final JdbcSelectPlan plan = interpretSelect( "select e.name from CachedEntity e where e.id = :id" );
+
+		assertThat( list( plan, 1 ), equalTo( Collections.<Object>singletonList( "initial" ) ) );
+		assertThat( list( plan, 1 ), equalTo( Collections.<Object>singletonList( "initial" ) ) );
+		assertThat( resultCache.getMissCount(), equalTo( 1L ) );
+		assertThat( resultCache.getHitCount(), equalTo( 1L ) );
+
+		// other bound values are cached separately
+		list( plan, 2 );
+		assertThat( resultCache.getMissCount(), equalTo( 2L ) );
+		assertThat( resultCache.size(), equalTo( 2 ) );
+
+		// not cacheable
+		final QueryOptionsTestingImpl queryOptions = options( plan, 1 );
+		queryOptions.setCacheable( false );
+		new JdbcSelectExecutor( (SessionImplementor) session, resultCache ).list( plan, queryOptions );
+		assertThat( resultCache.getHitCount(), equalTo( 1L ) );
+	}
+
+	@Test
+	public void testInvalidation() {
+		final JdbcSelectPlan plan = interpretSelect( "select e.name from CachedEntity e where e.id = :id" );
+		list( plan, 1 );
+		list( plan, 2 );
+
+		// writing another table leaves the results cached
+		mutate( interpretMutation( "update UnrelatedEntity u set u.name = :name" ) );
+		assertThat( resultCache.size(), equalTo( 2 ) );
+		assertThat( resultCache.getInvalidationCount(), equalTo( 0L ) );
+
+		mutate( interpretMutation( "update CachedEntity e set e.name = :name" ) );
+		assertThat( resultCache.size(), equalTo( 0 ) );
+		assertThat( resultCache.getInvalidationCount(), equalTo( 2L ) );
+
+		assertThat( list( plan, 1 ), equalTo( Collections.<Object>singletonList( "updated" ) ) );
+	}
+
+	@Test
+	public void testConcurrentInvalidation() {
+		final JdbcSelectPlan plan = interpretSelect( "select e.name from CachedEntity e where e.id = :id" );
+		final QueryResultCacheKey key = QueryResultCacheKey.from( plan, options( plan, 1 ), getSessionFactory() );
+
+		// results read before the table was written are not cached
+		final long timestamp = resultCache.getTimestamp();
+		resultCache.invalidate( Collections.singleton( "cached_entity" ) );
+		assertThat( resultCache.put( key, plan, Collections.<Object>singletonList( "stale" ), timestamp ), equalTo( false ) );
+		assertThat( resultCache.get( key ) == null, equalTo( true ) );
+
+		assertThat(
+				resultCache.put( key, plan, Collections.<Object>singletonList( "initial" ), resultCache.getTimestamp() ),
+				equalTo( true )
+		);
+	}
+
+	@Test
+	public void testPreInvalidation() {
+		final JdbcSelectPlan plan = interpretSelect( "select e.name from CachedEntity e where e.id = :id" );
+		final QueryResultCacheKey key = QueryResultCacheKey.from( plan, options( plan, 1 ), getSessionFactory() );
+
+		// while the table is in flight, not even results read after the pre-invalidation are cached
+		resultCache.preInvalidate( Collections.singleton( "cached_entity" ) );
+		final long timestamp = resultCache.getTimestamp();
+		assertThat( resultCache.put( key, plan, Collections.<Object>singletonList( "uncommitted" ), timestamp ), equalTo( false ) );
+
+		// nor are results read in flight, once completed
+		resultCache.invalidateAfterCompletion( Collections.singleton( "cached_entity" ) );
+		assertThat( resultCache.put( key, plan, Collections.<Object>singletonList( "uncommitted" ), timestamp ), equalTo( false ) );
+
+		assertThat(
+				resultCache.put( key, plan, Collections.<Object>singletonList( "committed" ), resultCache.getTimestamp() ),
+				equalTo( true )
+		);
+	}
+
+	@Test
+	public void testTransactionalInvalidation() {
+		final JdbcSelectPlan plan = interpretSelect( "select e.name from CachedEntity e where e.id = :id" );
+		list( plan, 1 );
+		assertThat( resultCache.size(), equalTo( 1 ) );
+
+		session.beginTransaction();
+		mutate( interpretMutation( "update CachedEntity e set e.name = :name" ) );
+		assertThat( resultCache.size(), equalTo( 0 ) );
+
+		// the uncommitted row is read, but not cached
+		assertThat( list( plan, 1 ), equalTo( Collections.<Object>singletonList( "updated" ) ) );
+		assertThat( resultCache.size(), equalTo( 0 ) );
+
+		session.getTransaction().commit();
+		list( plan, 1 );
+		assertThat( resultCache.size(), equalTo( 1 ) );
+	}
+
+	@Test
+	public void testRowsAreCopied() {
+		final JdbcSelectPlan plan = interpretSelect( "select e.id, e.name from CachedEntity e where e.id = :id" );
+
+		final Object[] row = (Object[]) list( plan, 1 ).get( 0 );
+		row[1] = "modified";
+
+		final Object[] cachedRow = (Object[]) list( plan, 1 ).get( 0 );
+		assertThat( resultCache.getHitCount(), equalTo( 1L ) );
+		assertThat( cachedRow[1], equalTo( (Object) "initial" ) );
+		cachedRow[1] = "modified";
+		assertThat( ( (Object[]) list( plan, 1 ).get( 0 ) )[1], equalTo( (Object) "initial" ) );
+	}
+
+	@Test
+	public void testKeyCopiesBindValues() {
+		final JdbcSelectPlan plan = interpretSelect( "select e.name from CachedEntity e where :value is not null" );
+		final Date bound = new Date( 0 );
+		final QueryResultCacheKey key = QueryResultCacheKey.from( plan, options( plan, bound, null ), getSessionFactory() );
+
+		// mutating the bound value after execution does not affect the key
+		bound.setTime( 1000 );
+		assertThat(
+				QueryResultCacheKey.from( plan, options( plan, new Date( 0 ), null ), getSessionFactory() ),
+				equalTo( key )
+		);
+	}
+
+	@Test
+	public void testKeyIncludesBindType() {
+		final JdbcSelectPlan plan = interpretSelect( "select e.name from CachedEntity e where :value is not null" );
+		final Date value = new Date( 0 );
+		assertThat(
+				QueryResultCacheKey.from( plan, options( plan, value, DateType.INSTANCE ), getSessionFactory() ).equals(
+						QueryResultCacheKey.from( plan, options( plan, value, TimestampType.INSTANCE ), getSessionFactory() )
+				),
+				equalTo( false )
+		);
+	}
+
+	@Test
+	public void testEvictionSetting() {
+		final Map<String,String> settings = new HashMap<String, String>();
+		settings.put( QueryResultCache.EVICTION, "lirs" );
+		new QueryResultCache( settings );
+
+		settings.put( QueryResultCache.EVICTION, "fifo" );
+		try {
+			new QueryResultCache( settings );
+			fail( "Expecting HibernateException" );
+		}
+		catch (HibernateException expected) {
+		}
+	}
+
+	private List<Object> list(JdbcSelectPlan plan, int id) {
+		return new JdbcSelectExecutor( (SessionImplementor) session, resultCache ).list( plan, options( plan, id ) );
+	}
+
+	private static QueryOptionsTestingImpl options(JdbcSelectPlan plan, int id) {
+		final QueryOptionsTestingImpl queryOptions = new QueryOptionsTestingImpl();
+		final QueryParameterBindings bindings = plan.getParameterMetadata().makeBindings();
+		bindings.getNamedParameterBinding( "id" ).setBindValue( id );
+		queryOptions.setParameterBindings( bindings );
+		queryOptions.setCacheable( true );
+		return queryOptions;
+	}
+
+	private static QueryOptionsTestingImpl options(JdbcSelectPlan plan, Object value, Type type) {
+		final QueryOptionsTestingImpl queryOptions = new QueryOptionsTestingImpl();
+		final QueryParameterBindings bindings = plan.getParameterMetadata().makeBindings();
+		if ( type == null ) {
+			bindings.getNamedParameterBinding( "value" ).setBindValue( value );
+		}
+		else {
+			bindings.getNamedParameterBinding( "value" ).setBindValue( value, type );
+		}
+		queryOptions.setParameterBindings( bindings );
+		queryOptions.setCacheable( true );
+		return queryOptions;
+	}
+
+	private void mutate(JdbcOperationPlan[] plans) {
+		final QueryParameterBindings bindings = plans[0].getParameterMetadata().makeBindings();
+		bindings.getNamedParameterBinding( "name" ).setBindValue( "updated" );
+		final QueryOptionsTestingImpl queryOptions = new QueryOptionsTestingImpl();
+		queryOptions.setParameterBindings( bindings );
+
+		final JdbcOperationBatchExecutor executor = new JdbcOperationBatchExecutor(
+				(SessionImplementor) session,
+				JdbcOperationBatchExecutor.DEFAULT_BATCH_SIZE,
+				null,
+				resultCache
+		);
+		try {
+			executor.execute( plans, queryOptions );
+		}
+		finally {
+			executor.close();
+		}
+	}
+
+	private JdbcSelectPlan interpretSelect(String query) {
+		return SqmJdbcInterpreter.interpret( (SelectStatement) interpret( query ), new QueryOptionsTestingImpl(), null );
+	}
+
+	private JdbcOperationPlan[] interpretMutation(String query) {
+		return SqmJdbcInterpreter.interpret( (NonSelectStatement) interpret( query ), new QueryOptionsTestingImpl(), null );
+	}
+
+	private void executeSql(final String sql) {
+		session.doWork(
+				new Work() {
+					@Override
+					public void execute(Connection connection) throws SQLException {
+						final Statement statement = connection.createStatement();
+						try {
+							statement.execute( sql );
+						}
+						finally {
+							statement.close();
+						}
+					}
+				}
+		);
+	}
+
+	@Override
+	protected void applyMetadataSources(MetadataSources metadataSources) {
+		metadataSources.addAnnotatedClass( CachedEntity.class );
+		metadataSources.addAnnotatedClass( UnrelatedEntity.class );
+	}
+
+	@Entity( name = "CachedEntity" )
+	@Table( name = "cached_entity" )
+	public static class CachedEntity {
+		@Id
+		public Integer id;
+		public String name;
+	}
+
+	@Entity( name = "UnrelatedEntity" )
+	@Table( name = "unrelated_entity" )
+	public static class UnrelatedEntity {
+		@Id
+		public Integer id;
+		public String name;
+	}
+}
@@ -0,0 +1,299 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.exec;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import org.hibernate.QueryException;
+import org.hibernate.ScrollMode;
+import org.hibernate.Session;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.jdbc.Work;
+import org.hibernate.sql.gen.BaseUnitTest;
+import org.hibernate.sql.gen.JdbcSelectPlan;
+import org.hibernate.sql.gen.KeysetPagination;
+import org.hibernate.sql.gen.QueryOptionsTestingImpl;
+import org.hibernate.sql.gen.SqmJdbcInterpreter;
+import org.hibernate.sql.orm.QueryParameterBindings;
+import org.hibernate.sqm.query.SelectStatement;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Steve Ebersole
+ */
+public class ResultCursorTest extends BaseUnitTest {
+	private static final int ROW_COUNT = 100;
+
+	private Session session;
+
+	@Before
+	public void createData() {
+		session = getSessionFactory().openSession();
+		executeSql( "create table streamed_entity (id integer not null, name varchar(255), primary key (id))" );
+		for ( int i = 1; i <= ROW_COUNT; i++ ) {
+			executeSql( "insert into streamed_entity values (" + i + ", " + ( i % 10 == 0 ? "null" : "'name" + i + "'" ) + ")" );
+		}
+	}
+
+	@After
+	public void dropData() {
+		try {
+			executeSql( "drop table streamed_entity" );
+		}
+		finally {
+			session.close();
+		}
+	}
+
+	@Test
+	public void testIteration() {
+		final JdbcSelectPlan plan = interpretSelect( "select e.id, e.name from StreamedEntity e where e.id > :min" );
+		final QueryOptionsTestingImpl queryOptions = new QueryOptionsTestingImpl();
+		final QueryParameterBindings bindings = plan.getParameterMetadata().makeBindings();
+		bindings.getNamedParameterBinding( "min" ).setBindValue( 50 );
+		queryOptions.setParameterBindings( bindings );
+
+		final ResultCursor cursor = new JdbcSelectExecutor( (SessionImplementor) session ).open( plan, queryOptions );
+		int count = 0;
+		for ( Object row : cursor ) {
+			final Object[] values = (Object[]) row;
+			assertThat( values[0], instanceOf( Integer.class ) );
+			final int id = (Integer) values[0];
+			assertThat( values[1], equalTo( (Object) ( id % 10 == 0 ? null : "name" + id ) ) );
+			count++;
+		}
+
+		assertThat( count, equalTo( 50 ) );
+		assertThat( cursor.getRowsRead(), equalTo( 50L ) );
+		// exhausting a forward-only cursor releases it
+		assertThat( cursor.isClosed(), equalTo( true ) );
+	}
+
+	@Test
+	public void testSingleReturn() {
+		final JdbcSelectPlan plan = interpretSelect( "select count(e.id) from StreamedEntity e" );
+		final ResultCursor cursor = new JdbcSelectExecutor( (SessionImplementor) session ).open(
+				plan,
+				new QueryOptionsTestingImpl()
+		);
+		try {
+			assertThat( cursor.next(), equalTo( true ) );
+			assertThat( cursor.get(), equalTo( (Object) (long) ROW_COUNT ) );
+			assertThat( cursor.next(), equalTo( false ) );
+		}
+		finally {
+			cursor.close();
+		}
+	}
+
+	@Test
+	public void testArithmeticSelection() {
+		// ordered by a reference to the selection; typed like ORM types integer arithmetic
+		final JdbcSelectPlan plan = interpretSelect(
+				"select e.id + e.id as s from StreamedEntity e where e.id < 4 order by e.id + e.id"
+		);
+		final List<Object> values = new ArrayList<Object>();
+		for ( Object value : new JdbcSelectExecutor( (SessionImplementor) session ).open( plan, new QueryOptionsTestingImpl() ) ) {
+			values.add( value );
+		}
+		assertThat( values, equalTo( (List<Object>) Arrays.<Object>asList( 2, 4, 6 ) ) );
+	}
+
+	@Test
+	public void testUntypedSelection() {
+		// reported when interpreting, not when reading
+		try {
+			interpretSelect( "select :value from StreamedEntity e" );
+			fail( "Expecting QueryException" );
+		}
+		catch (QueryException expected) {
+		}
+	}
+
+	@Test
+	public void testScrolling() {
+		final JdbcSelectPlan plan = interpretSelect( "select e.id from StreamedEntity e order by e.id" );
+		final QueryOptionsTestingImpl queryOptions = new QueryOptionsTestingImpl();
+		queryOptions.setScrollMode( ScrollMode.SCROLL_INSENSITIVE );
+
+		final ResultCursor cursor = new JdbcSelectExecutor( (SessionImplementor) session ).open( plan, queryOptions );
+		try {
+			assertThat( cursor.absolute( 10 ), equalTo( true ) );
+			assertThat( cursor.get(), equalTo( (Object) 10 ) );
+			assertThat( cursor.scroll( -5 ), equalTo( true ) );
+			assertThat( cursor.get(), equalTo( (Object) 5 ) );
+			assertThat( cursor.absolute( -1 ), equalTo( true ) );
+			assertThat( cursor.get(), equalTo( (Object) ROW_COUNT ) );
+			assertThat( cursor.getRowsRead(), equalTo( 3L ) );
+		}
+		finally {
+			cursor.close();
+		}
+	}
+
+	@Test
+	public void testPagination() {
+		final QueryOptionsTestingImpl pagedOptions = new QueryOptionsTestingImpl();
+		pagedOptions.getRowSelection().setFirstRow( 1 );
+		pagedOptions.getRowSelection().setMaxRows( 1 );
+		final JdbcSelectPlan plan = SqmJdbcInterpreter.interpret(
+				(SelectStatement) interpret( "select e.id from StreamedEntity e where e.id > :min order by e.id" ),
+				pagedOptions,
+				null
+		);
+		assertThat( plan.getSql().endsWith( " limit ? offset ?" ), equalTo( true ) );
+
+		// every page shares the plan; only the bound limit and offset differ
+		assertThat( readIds( plan, 2, 5 ), equalTo( new int[] { 13, 14, 15, 16, 17 } ) );
+		assertThat( readIds( plan, 85, 5 ), equalTo( new int[] { 96, 97, 98, 99, 100 } ) );
+	}
+
+	@Test
+	public void testFirstRowOnly() {
+		// rendered in the SQL as well, with an unbounded limit; never skipped in memory
+		final QueryOptionsTestingImpl offsetOptions = new QueryOptionsTestingImpl();
+		offsetOptions.getRowSelection().setFirstRow( 1 );
+		final JdbcSelectPlan plan = SqmJdbcInterpreter.interpret(
+				(SelectStatement) interpret( "select e.id from StreamedEntity e where e.id > :min order by e.id" ),
+				offsetOptions,
+				null
+		);
+		assertThat( plan.getSql().endsWith( " limit ? offset ?" ), equalTo( true ) );
+
+		assertThat( readIds( plan, 87, null ), equalTo( new int[] { 98, 99, 100 } ) );
+	}
+
+	@Test
+	public void testKeysetPagination() {
+		final QueryOptionsTestingImpl pageOptions = new QueryOptionsTestingImpl();
+		pageOptions.setKeysetPage( true );
+		pageOptions.getRowSelection().setMaxRows( 5 );
+		final JdbcSelectPlan plan = SqmJdbcInterpreter.interpret(
+				(SelectStatement) interpret( "select e.id from StreamedEntity e order by e.id" ),
+				pageOptions,
+				null
+		);
+
+		// every page after the first shares the plan; only the boundary differs
+		int boundary = 0;
+		for ( int page = 0; page < 3; page++ ) {
+			final QueryParameterBindings bindings = plan.getParameterMetadata().makeBindings();
+			KeysetPagination.bindBoundary( bindings, boundary );
+			pageOptions.setParameterBindings( bindings );
+
+			final ResultCursor cursor = new JdbcSelectExecutor( (SessionImplementor) session ).open( plan, pageOptions );
+			int count = 0;
+			for ( Object id : cursor ) {
+				assertThat( id, equalTo( (Object) ( boundary + 1 ) ) );
+				boundary = (Integer) id;
+				count++;
+			}
+			assertThat( count, equalTo( 5 ) );
+		}
+		assertThat( boundary, equalTo( 15 ) );
+	}
+
+	private int[] readIds(JdbcSelectPlan plan, int firstRow, Integer maxRows) {
+		final QueryOptionsTestingImpl queryOptions = new QueryOptionsTestingImpl();
+		final QueryParameterBindings bindings = plan.getParameterMetadata().makeBindings();
+		bindings.getNamedParameterBinding( "min" ).setBindValue( 10 );
+		queryOptions.setParameterBindings( bindings );
+		queryOptions.getRowSelection().setFirstRow( firstRow );
+		queryOptions.getRowSelection().setMaxRows( maxRows );
+
+		final List<Integer> ids = new ArrayList<Integer>();
+		for ( Object id : new JdbcSelectExecutor( (SessionImplementor) session ).open( plan, queryOptions ) ) {
+			ids.add( (Integer) id );
+		}
+
+		final int[] result = new int[ ids.size() ];
+		for ( int i = 0; i < result.length; i++ ) {
+			result[i] = ids.get( i );
+		}
+		return result;
+	}
+
+	@Test
+	public void testForwardOnlyCannotScroll() {
+		final JdbcSelectPlan plan = interpretSelect( "select e.id from StreamedEntity e" );
+		final ResultCursor cursor = new JdbcSelectExecutor( (SessionImplementor) session ).open(
+				plan,
+				new QueryOptionsTestingImpl()
+		);
+		try {
+			cursor.absolute( 10 );
+			fail( "Expecting IllegalStateException" );
+		}
+		catch (IllegalStateException expected) {
+		}
+		finally {
+			cursor.close();
+		}
+	}
+
+	@Test
+	public void testEntitySelectionNotReadable() {
+		final JdbcSelectPlan plan = interpretSelect( "from StreamedEntity" );
+		try {
+			new JdbcSelectExecutor( (SessionImplementor) session ).open( plan, new QueryOptionsTestingImpl() );
+			fail( "Expecting QueryException" );
+		}
+		catch (QueryException expected) {
+		}
+	}
+
+	private JdbcSelectPlan interpretSelect(String query) {
+		return SqmJdbcInterpreter.interpret( (SelectStatement) interpret( query ), new QueryOptionsTestingImpl(), null );
+	}
+
+	private void executeSql(final String sql) {
+		session.doWork(
+				new Work() {
+					@Override
+					public void execute(Connection connection) throws SQLException {
+						final Statement statement = connection.createStatement();
+						try {
+							statement.execute( sql );
+						}
+						finally {
+							statement.close();
+						}
+					}
+				}
+		);
+	}
+
+	@Override
+	protected void applyMetadataSources(MetadataSources metadataSources) {
+		metadataSources.addAnnotatedClass( StreamedEntity.class );
+	}
+
+	@Entity( name = "StreamedEntity" )
+	@Table( name = "streamed_entity" )
+	public static class StreamedEntity {
+		@Id
+		public Integer id;
+		public String name;
+	}
+}
@@ -0,0 +1,62 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.gen;
+
+import org.hibernate.sql.ast.expression.AggregateFunction;
+import org.hibernate.sql.ast.expression.BinaryArithmeticExpression;
+import org.hibernate.sql.ast.expression.Expression;
+import org.hibernate.sql.ast.expression.QueryLiteral;
+import org.hibernate.sql.gen.internal.ExpressionInterner;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @author Steve Ebersole
+ */
+public class ExpressionInternerTest {
+	@Test
+	public void testStructuralEquality() {
+		assertThat( sum( 1, 2 ), equalTo( sum( 1, 2 ) ) );
+		assertThat( sum( 1, 2 ).hashCode(), equalTo( sum( 1, 2 ).hashCode() ) );
+		assertThat( sum( 1, 2 ), not( equalTo( sum( 2, 1 ) ) ) );
+		assertThat(
+				new AggregateFunction( "max", new QueryLiteral( 1 ), false ),
+				not( equalTo( (Object) new AggregateFunction( "max", new QueryLiteral( 1 ), true ) ) )
+		);
+	}
+
+	@Test
+	public void testInterning() {
+		final ExpressionInterner interner = new ExpressionInterner();
+
+		final BinaryArithmeticExpression first = interner.intern( sum( 1, 2 ) );
+		final BinaryArithmeticExpression other = interner.intern( sum( 2, 1 ) );
+		assertThat( interner.getCommonSubexpressions().isEmpty(), equalTo( true ) );
+
+		final BinaryArithmeticExpression second = interner.intern( sum( 1, 2 ) );
+		assertThat( second, sameInstance( first ) );
+		assertThat( other, not( sameInstance( first ) ) );
+		assertThat( interner.size(), equalTo( 2 ) );
+		assertThat( interner.isCommonSubexpression( first ), equalTo( true ) );
+		assertThat( interner.isCommonSubexpression( other ), equalTo( false ) );
+		assertThat( interner.getCommonSubexpressions().size(), equalTo( 1 ) );
+		assertThat( interner.getCommonSubexpressions().get( 0 ), sameInstance( (Expression) first ) );
+	}
+
+	private static BinaryArithmeticExpression sum(int lhs, int rhs) {
+		return new BinaryArithmeticExpression(
+				BinaryArithmeticExpression.Operation.ADD,
+				new QueryLiteral( lhs ),
+				new QueryLiteral( rhs )
+		);
+	}
+}
@@ -0,0 +1,155 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.gen;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Inheritance;
+import javax.persistence.InheritanceType;
+import javax.persistence.Table;
+
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.sql.gen.stat.LatencyHistogram;
+import org.hibernate.sql.gen.stat.QueryShapeStatistics;
+import org.hibernate.sql.gen.stat.StatisticsCollectingCallback;
+import org.hibernate.sqm.query.NonSelectStatement;
+import org.hibernate.sqm.query.SelectStatement;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @author Steve Ebersole
+ */
+public class InterpretationStatisticsTest extends BaseUnitTest {
+	@Test
+	public void testSelectStatistics() {
+		final StatisticsCollectingCallback callback = new StatisticsCollectingCallback();
+		final String query = "select e.name, e.subState from MeasuredBase e where e.id = :id order by e.name";
+
+		JdbcSelectPlan plan = null;
+		for ( int i = 0; i < 3; i++ ) {
+			plan = SqmJdbcInterpreter.interpret(
+					(SelectStatement) interpret( query ),
+					new QueryOptionsTestingImpl(),
+					callback
+			);
+		}
+
+		final QueryShapeStatistics statistics = callback.getStatistics( plan.getSql() );
+		assertThat( statistics, notNullValue() );
+		assertThat( statistics.getPlanCount(), equalTo( 3L ) );
+		for ( InterpretationPhase phase : InterpretationPhase.values() ) {
+			// the SQM is built outside of the interpreter (see JdbcSelectPlanCache)
+			final long expected = phase == InterpretationPhase.SQM_BUILD ? 0L : 3L;
+			assertThat( phase.name(), statistics.getPhaseHistogram( phase ).getCount(), equalTo( expected ) );
+		}
+
+		final PlanStatistics planStatistics = statistics.getLatestPlanStatistics();
+		assertThat( planStatistics.getStatementCount(), equalTo( 1 ) );
+		assertThat( planStatistics.getTableSpaceCount(), equalTo( 1 ) );
+		// measured_base left outer join measured_sub
+		assertThat( planStatistics.getTableJoinCount(), equalTo( 1 ) );
+		assertThat( planStatistics.getColumnCount(), equalTo( 2 ) );
+		assertThat( planStatistics.getParameterCount(), equalTo( 1 ) );
+	}
+
+	@Test
+	public void testMutationStatistics() {
+		final StatisticsCollectingCallback callback = new StatisticsCollectingCallback();
+		final JdbcOperationPlan[] plans = SqmJdbcInterpreter.interpret(
+				(NonSelectStatement) interpret( "update MeasuredSub s set s.name = :name, s.subState = :subState" ),
+				new QueryOptionsTestingImpl(),
+				callback
+		);
+
+		assertThat( plans.length, equalTo( 2 ) );
+		final QueryShapeStatistics statistics = callback.getStatistics(
+				plans[0].getSql() + "; " + plans[1].getSql()
+		);
+		assertThat( statistics, notNullValue() );
+		assertThat( statistics.getPhaseHistogram( InterpretationPhase.SELECT_CLAUSE ).getCount(), equalTo( 1L ) );
+		assertThat( statistics.getPhaseHistogram( InterpretationPhase.RENDERING ).getCount(), equalTo( 1L ) );
+		// no where clause
+		assertThat( statistics.getPhaseHistogram( InterpretationPhase.WHERE_CLAUSE ).getCount(), equalTo( 0L ) );
+		assertThat( statistics.getLatestPlanStatistics().getStatementCount(), equalTo( 2 ) );
+		assertThat( statistics.getLatestPlanStatistics().getParameterCount(), equalTo( 2 ) );
+	}
+
+	@Test
+	public void testNoCallback() {
+		final StatisticsCollectingCallback callback = new StatisticsCollectingCallback();
+		final JdbcSelectPlan plan = SqmJdbcInterpreter.interpret(
+				(SelectStatement) interpret( "select e.name from MeasuredBase e" ),
+				new QueryOptionsTestingImpl(),
+				null
+		);
+		assertThat( callback.getStatistics( plan.getSql() ), nullValue() );
+	}
+
+	@Test
+	public void testQueryShapeLimit() {
+		final StatisticsCollectingCallback callback = new StatisticsCollectingCallback( 1 );
+		callback.planGenerated( "select 1", new PlanStatistics( 1, 0, 0, 1, 0 ) );
+		callback.planGenerated( "select 2", new PlanStatistics( 1, 0, 0, 1, 0 ) );
+		callback.planGenerated( "select 3", new PlanStatistics( 1, 0, 0, 1, 0 ) );
+
+		assertThat( callback.getStatistics( "select 1" ).getPlanCount(), equalTo( 1L ) );
+		assertThat( callback.getStatistics( "select 2" ), nullValue() );
+		assertThat(
+				callback.getStatistics( StatisticsCollectingCallback.OTHER_QUERY_SHAPES ).getPlanCount(),
+				equalTo( 2L )
+		);
+	}
+
+	@Test
+	public void testLatencyHistogram() {
+		final LatencyHistogram histogram = new LatencyHistogram();
+		assertThat( histogram.getValueAtPercentile( 50 ), equalTo( 0L ) );
+
+		for ( int i = 0; i < 90; i++ ) {
+			histogram.record( 1000 );
+		}
+		for ( int i = 0; i < 10; i++ ) {
+			histogram.record( 1000000 );
+		}
+
+		assertThat( histogram.getCount(), equalTo( 100L ) );
+		assertThat( histogram.getMaxNanos(), equalTo( 1000000L ) );
+		assertThat( histogram.getMeanNanos(), equalTo( 100900L ) );
+		// upper bound of the [512, 1024) bucket
+		assertThat( histogram.getValueAtPercentile( 50 ), equalTo( 1023L ) );
+		assertThat( histogram.getValueAtPercentile( 90 ), equalTo( 1023L ) );
+		// capped at the maximum
+		assertThat( histogram.getValueAtPercentile( 99 ), equalTo( 1000000L ) );
+	}
+
+	@Override
+	protected void applyMetadataSources(MetadataSources metadataSources) {
+		metadataSources.addAnnotatedClass( MeasuredBase.class );
+		metadataSources.addAnnotatedClass( MeasuredSub.class );
+	}
+
+	@Entity( name = "MeasuredBase" )
+	@Table( name = "measured_base" )
+	@Inheritance( strategy = InheritanceType.JOINED )
+	public static class MeasuredBase {
+		@Id
+		public Integer id;
+		public String name;
+	}
+
+	@Entity( name = "MeasuredSub" )
+	@Table( name = "measured_sub" )
+	public static class MeasuredSub extends MeasuredBase {
+		public String subState;
+	}
+}
@@ -0,0 +1,152 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.gen;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.engine.spi.RowSelection;
+import org.hibernate.sql.gen.internal.SelectPlanCacheKey;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @author Steve Ebersole
+ */
+public class JdbcSelectPlanCacheTest extends BaseUnitTest {
+	@Test
+	public void testHitsAndMisses() {
+		final JdbcSelectPlanCache cache = new JdbcSelectPlanCache();
+		final QueryOptionsTestingImpl queryOptions = new QueryOptionsTestingImpl();
+
+		final JdbcSelectPlan first = cache.getSelectPlan( "from CachedEntity", queryOptions, null, getConsumerContext() );
+		assertThat( first, notNullValue() );
+		assertThat( cache.getMissCount(), equalTo( 1L ) );
+		assertThat( cache.getHitCount(), equalTo( 0L ) );
+
+		// differs only in whitespace, should be a hit
+		final JdbcSelectPlan second = cache.getSelectPlan( "  from   CachedEntity\n", queryOptions, null, getConsumerContext() );
+		assertThat( second, sameInstance( first ) );
+		assertThat( cache.getMissCount(), equalTo( 1L ) );
+		assertThat( cache.getHitCount(), equalTo( 1L ) );
+		assertThat( cache.size(), equalTo( 1 ) );
+	}
+
+	@Test
+	public void testPlanRelevantOptions() {
+		final JdbcSelectPlanCache cache = new JdbcSelectPlanCache();
+
+		final QueryOptionsTestingImpl queryOptions = new QueryOptionsTestingImpl();
+		final JdbcSelectPlan plain = cache.getSelectPlan( "from CachedEntity", queryOptions, null, getConsumerContext() );
+
+		// a different comment is a different plan
+		final QueryOptionsTestingImpl commentedOptions = new QueryOptionsTestingImpl();
+		commentedOptions.setComment( "a comment" );
+		final JdbcSelectPlan commented = cache.getSelectPlan( "from CachedEntity", commentedOptions, null, getConsumerContext() );
+		assertThat( commented, not( sameInstance( plain ) ) );
+
+		// different pages of the same query share the plan
+		final QueryOptionsTestingImpl firstPageOptions = new QueryOptionsTestingImpl();
+		firstPageOptions.getRowSelection().setMaxRows( 10 );
+		final JdbcSelectPlan firstPage = cache.getSelectPlan( "from CachedEntity", firstPageOptions, null, getConsumerContext() );
+		assertThat( firstPage, not( sameInstance( plain ) ) );
+
+		final QueryOptionsTestingImpl secondPageOptions = new QueryOptionsTestingImpl();
+		secondPageOptions.getRowSelection().setMaxRows( 20 );
+		final JdbcSelectPlan secondPage = cache.getSelectPlan( "from CachedEntity", secondPageOptions, null, getConsumerContext() );
+		assertThat( secondPage, sameInstance( firstPage ) );
+
+		assertThat( cache.getMissCount(), equalTo( 3L ) );
+		assertThat( cache.getHitCount(), equalTo( 1L ) );
+	}
+
+	@Test
+	public void testStructurallyEqualPlansShared() {
+		final JdbcSelectPlanCache cache = new JdbcSelectPlanCache();
+		final QueryOptionsTestingImpl queryOptions = new QueryOptionsTestingImpl();
+
+		final JdbcSelectPlan first = cache.getSelectPlan(
+				"select e.name from CachedEntity e where e.id = :id",
+				queryOptions,
+				null,
+				getConsumerContext()
+		);
+		// only the identification variable differs : same SQL, same parameters
+		final JdbcSelectPlan second = cache.getSelectPlan(
+				"select c.name from CachedEntity c where c.id = :id",
+				queryOptions,
+				null,
+				getConsumerContext()
+		);
+		assertThat( second, sameInstance( first ) );
+		assertThat( cache.getMissCount(), equalTo( 2L ) );
+		assertThat( cache.getSharedPlanCount(), equalTo( 1L ) );
+
+		// same SQL, but the parameter is bound by a different name
+		final JdbcSelectPlan third = cache.getSelectPlan(
+				"select e.name from CachedEntity e where e.id = :key",
+				queryOptions,
+				null,
+				getConsumerContext()
+		);
+		assertThat( third, not( sameInstance( first ) ) );
+		assertThat( third.getSql(), equalTo( first.getSql() ) );
+		assertThat( cache.getSharedPlanCount(), equalTo( 1L ) );
+	}
+
+	@Test
+	public void testEviction() {
+		final JdbcSelectPlanCache cache = new JdbcSelectPlanCache( 4 );
+		final QueryOptionsTestingImpl queryOptions = new QueryOptionsTestingImpl();
+
+		for ( int i = 0; i < 20; i++ ) {
+			cache.getSelectPlan( "from CachedEntity e" + i, queryOptions, null, getConsumerContext() );
+		}
+
+		assertThat( cache.getMissCount(), equalTo( 20L ) );
+		assertThat( cache.getEvictionCount() > 0, equalTo( true ) );
+		assertThat( cache.size() <= 4, equalTo( true ) );
+	}
+
+	@Test
+	public void testKeyNormalization() {
+		assertThat(
+				SelectPlanCacheKey.normalize( " select e\n\tfrom  CachedEntity e where e.name = 'a  b' " ),
+				equalTo( "select e from CachedEntity e where e.name = 'a  b'" )
+		);
+
+		final RowSelection rowSelection = new RowSelection();
+		rowSelection.setFirstRow( 0 );
+		final QueryOptionsTestingImpl options = new QueryOptionsTestingImpl();
+		options.setRowSelection( rowSelection );
+		assertThat(
+				new SelectPlanCacheKey( "from CachedEntity", options ),
+				equalTo( new SelectPlanCacheKey( "from CachedEntity", new QueryOptionsTestingImpl() ) )
+		);
+	}
+
+	@Override
+	protected void applyMetadataSources(MetadataSources metadataSources) {
+		metadataSources.addAnnotatedClass( CachedEntity.class );
+	}
+
+	@Entity( name = "CachedEntity" )
+	@Table( name = "cached_entity" )
+	public static class CachedEntity {
+		@Id
+		public Integer id;
+		public String name;
+	}
+}
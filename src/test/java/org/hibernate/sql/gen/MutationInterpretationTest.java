@@ -0,0 +1,295 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.gen;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Inheritance;
+import javax.persistence.InheritanceType;
+import javax.persistence.Table;
+
+import org.hibernate.Session;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.MySQL5InnoDBDialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.dialect.PostgreSQL92Dialect;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.jdbc.Work;
+import org.hibernate.sql.exec.JdbcOperationBatchExecutor;
+import org.hibernate.sql.gen.internal.MutationStatementInterpreter;
+import org.hibernate.sql.orm.QueryParameterBindings;
+import org.hibernate.sqm.query.NonSelectStatement;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @author Steve Ebersole
+ */
+public class MutationInterpretationTest extends BaseUnitTest {
+	private static final String SUB_ID_SELECTION = "select m1_0.id from mutated_base m1_0 " +
+			"inner join mutated_sub m1_1 on m1_0.id = m1_1.id";
+
+	@Test
+	public void testDeleteRendering() {
+		final JdbcOperationPlan[] plans = interpretMutation( "delete from MutatedBase b where b.name = :name" );
+
+		// subclass table rows first; the id selection only refers to the root table, deleted last
+		assertThat( plans.length, equalTo( 2 ) );
+		assertThat(
+				plans[0].getSql(),
+				equalTo( "delete from mutated_sub where id in (select m1_0.id from mutated_base m1_0 where m1_0.name = ?)" )
+		);
+		assertThat(
+				plans[1].getSql(),
+				equalTo( "delete from mutated_base where id in (select m1_0.id from mutated_base m1_0 where m1_0.name = ?)" )
+		);
+		assertThat( plans[0].getParameterBinders().size(), equalTo( 1 ) );
+		assertThat( plans[0].getParameterMetadata().getParameterCount(), equalTo( 1 ) );
+	}
+
+	@Test
+	public void testUpdateRendering() {
+		final JdbcOperationPlan[] plans = interpretMutation(
+				"update MutatedSub s set s.name = :name, s.subState = :subState where s.id = :id"
+		);
+
+		assertThat( plans.length, equalTo( 2 ) );
+		assertThat(
+				plans[0].getSql(),
+				equalTo( "update mutated_base set name = ? where id in (" + SUB_ID_SELECTION + " where m1_0.id = ?)" )
+		);
+		assertThat(
+				plans[1].getSql(),
+				equalTo( "update mutated_sub set subState = ? where id in (" + SUB_ID_SELECTION + " where m1_0.id = ?)" )
+		);
+		assertThat( plans[0].getParameterMetadata().getParameterCount(), equalTo( 3 ) );
+	}
+
+	@Test
+	public void testUpdateOfRestrictedColumnLast() {
+		final JdbcOperationPlan[] plans = interpretMutation(
+				"update MutatedSub s set s.name = :newName, s.subState = :subState where s.name = :oldName"
+		);
+
+		// updating mutated_base.name first would change which rows the second statement selects
+		assertThat( plans.length, equalTo( 2 ) );
+		assertThat( plans[0].getSql().startsWith( "update mutated_sub " ), equalTo( true ) );
+		assertThat( plans[1].getSql().startsWith( "update mutated_base " ), equalTo( true ) );
+	}
+
+	@Test
+	public void testCteRendering() {
+		final JdbcOperationPlan[] plans = MutationStatementInterpreter.interpret(
+				(NonSelectStatement) interpret( "delete from MutatedSub" ),
+				new QueryOptionsTestingImpl(),
+				null,
+				MultiTableMutationStrategy.CTE
+		);
+
+		assertThat( plans.length, equalTo( 1 ) );
+		assertThat(
+				plans[0].getSql(),
+				equalTo(
+						"with mutation_ids (id) as (" + SUB_ID_SELECTION + "), " +
+								"mutation_1 as (delete from mutated_sub where id in (select id from mutation_ids)) " +
+								"delete from mutated_base where id in (select id from mutation_ids)"
+				)
+		);
+	}
+
+	@Test
+	public void testInSubqueryConflict() {
+		// the id selection needs mutated_sub, whose rows are deleted first; the ids are selected up front
+		final JdbcOperationPlan[] plans = interpretMutation( "delete from MutatedSub s where s.name = :name" );
+
+		assertThat( plans.length, equalTo( 1 ) );
+		assertThat( plans[0], instanceOf( JdbcSelectedIdsMutationPlan.class ) );
+		assertThat( plans[0].getSql(), equalTo( SUB_ID_SELECTION + " where m1_0.name = ?" ) );
+
+		final List<JdbcOperationPlan> tableMutationPlans = ( (JdbcSelectedIdsMutationPlan) plans[0] ).getTableMutationPlans();
+		assertThat( tableMutationPlans.size(), equalTo( 2 ) );
+		assertThat( tableMutationPlans.get( 0 ).getSql(), equalTo( "delete from mutated_sub where id = ?" ) );
+		assertThat( tableMutationPlans.get( 1 ).getSql(), equalTo( "delete from mutated_base where id = ?" ) );
+	}
+
+	@Test
+	public void testSelectedIdsUpdateRendering() {
+		final JdbcOperationPlan[] plans = MutationStatementInterpreter.interpret(
+				(NonSelectStatement) interpret( "update MutatedSub s set s.name = :name, s.subState = :subState where s.id = :id" ),
+				new QueryOptionsTestingImpl(),
+				null,
+				MultiTableMutationStrategy.SELECTED_IDS
+		);
+
+		assertThat( plans.length, equalTo( 1 ) );
+		final List<JdbcOperationPlan> tableMutationPlans = ( (JdbcSelectedIdsMutationPlan) plans[0] ).getTableMutationPlans();
+		assertThat( tableMutationPlans.get( 0 ).getSql(), equalTo( "update mutated_base set name = ? where id = ?" ) );
+		assertThat( tableMutationPlans.get( 0 ).getParameterBinders().size(), equalTo( 1 ) );
+		assertThat( tableMutationPlans.get( 1 ).getSql(), equalTo( "update mutated_sub set subState = ? where id = ?" ) );
+	}
+
+	@Test
+	public void testStrategyResolution() {
+		assertThat( MultiTableMutationStrategy.resolve( null, new H2Dialect() ), equalTo( MultiTableMutationStrategy.IN_SUBQUERY ) );
+		assertThat( MultiTableMutationStrategy.resolve( null, new PostgreSQL92Dialect() ), equalTo( MultiTableMutationStrategy.CTE ) );
+		// MySQL cannot select from the table being mutated
+		assertThat( MultiTableMutationStrategy.resolve( null, new MySQLDialect() ), equalTo( MultiTableMutationStrategy.SELECTED_IDS ) );
+		assertThat(
+				MultiTableMutationStrategy.resolve( null, new MySQL5InnoDBDialect() ),
+				equalTo( MultiTableMutationStrategy.SELECTED_IDS )
+		);
+		// an explicit setting always wins
+		assertThat(
+				MultiTableMutationStrategy.resolve( "in_subquery", new MySQLDialect() ),
+				equalTo( MultiTableMutationStrategy.IN_SUBQUERY )
+		);
+	}
+
+	@Test
+	public void testExecution() {
+		final Session session = getSessionFactory().openSession();
+		try {
+			executeSql( session, "create table mutated_base (id integer not null, name varchar(255), primary key (id))" );
+			executeSql(
+					session,
+					"create table mutated_sub (subState varchar(255), id integer not null, primary key (id), " +
+							"foreign key (id) references mutated_base)"
+			);
+			for ( int i = 0; i < 4; i++ ) {
+				executeSql( session, "insert into mutated_base values (" + i + ", 'name" + ( i % 2 ) + "')" );
+				executeSql( session, "insert into mutated_sub values ('initial', " + i + ")" );
+			}
+			// a MutatedBase which is not a MutatedSub
+			executeSql( session, "insert into mutated_base values (10, 'name1')" );
+
+			final JdbcOperationPlan[] updatePlans = interpretMutation(
+					"update MutatedSub s set s.name = :name, s.subState = :subState where s.id = :id"
+			);
+			final QueryParameterBindings updateBindings = updatePlans[0].getParameterMetadata().makeBindings();
+			updateBindings.getNamedParameterBinding( "name" ).setBindValue( "updated" );
+			updateBindings.getNamedParameterBinding( "subState" ).setBindValue( "updated" );
+			updateBindings.getNamedParameterBinding( "id" ).setBindValue( 3 );
+			execute( session, updatePlans, updateBindings );
+
+			assertThat( count( session, "select count(*) from mutated_base where name = 'updated'" ), equalTo( 1 ) );
+			assertThat( count( session, "select count(*) from mutated_sub where subState = 'updated'" ), equalTo( 1 ) );
+
+			final JdbcOperationPlan[] deletePlans = interpretMutation( "delete from MutatedBase b where b.name = :name" );
+			final QueryParameterBindings deleteBindings = deletePlans[0].getParameterMetadata().makeBindings();
+			deleteBindings.getNamedParameterBinding( "name" ).setBindValue( "name0" );
+			execute( session, deletePlans, deleteBindings );
+
+			assertThat( count( session, "select count(*) from mutated_base" ), equalTo( 3 ) );
+			assertThat( count( session, "select count(*) from mutated_sub" ), equalTo( 2 ) );
+
+			final JdbcOperationPlan[] subDeletePlans = interpretMutation( "delete from MutatedSub s where s.name = :name" );
+			final QueryParameterBindings subDeleteBindings = subDeletePlans[0].getParameterMetadata().makeBindings();
+			subDeleteBindings.getNamedParameterBinding( "name" ).setBindValue( "name1" );
+			execute( session, subDeletePlans, subDeleteBindings );
+
+			// row 1 is deleted from both tables; row 10 has the name, but is no MutatedSub
+			assertThat( count( session, "select count(*) from mutated_base" ), equalTo( 2 ) );
+			assertThat( count( session, "select count(*) from mutated_sub" ), equalTo( 1 ) );
+			assertThat( count( session, "select count(*) from mutated_base where id = 10" ), equalTo( 1 ) );
+		}
+		finally {
+			executeSql( session, "drop table mutated_sub" );
+			executeSql( session, "drop table mutated_base" );
+			session.close();
+		}
+	}
+
+	private JdbcOperationPlan[] interpretMutation(String query) {
+		return SqmJdbcInterpreter.interpret(
+				(NonSelectStatement) interpret( query ),
+				new QueryOptionsTestingImpl(),
+				null
+		);
+	}
+
+	private static void execute(Session session, JdbcOperationPlan[] plans, QueryParameterBindings bindings) {
+		final QueryOptionsTestingImpl queryOptions = new QueryOptionsTestingImpl();
+		queryOptions.setParameterBindings( bindings );
+
+		final JdbcOperationBatchExecutor executor = new JdbcOperationBatchExecutor( (SessionImplementor) session );
+		try {
+			executor.execute( plans, queryOptions );
+		}
+		finally {
+			executor.close();
+		}
+	}
+
+	private static int count(Session session, final String sql) {
+		final int[] count = new int[1];
+		session.doWork(
+				new Work() {
+					@Override
+					public void execute(Connection connection) throws SQLException {
+						final Statement statement = connection.createStatement();
+						try {
+							final ResultSet resultSet = statement.executeQuery( sql );
+							resultSet.next();
+							count[0] = resultSet.getInt( 1 );
+						}
+						finally {
+							statement.close();
+						}
+					}
+				}
+		);
+		return count[0];
+	}
+
+	private static void executeSql(Session session, final String sql) {
+		session.doWork(
+				new Work() {
+					@Override
+					public void execute(Connection connection) throws SQLException {
+						final Statement statement = connection.createStatement();
+						try {
+							statement.execute( sql );
+						}
+						finally {
+							statement.close();
+						}
+					}
+				}
+		);
+	}
+
+	@Override
+	protected void applyMetadataSources(MetadataSources metadataSources) {
+		metadataSources.addAnnotatedClass( MutatedBase.class );
+		metadataSources.addAnnotatedClass( MutatedSub.class );
+	}
+
+	@Entity( name = "MutatedBase" )
+	@Table( name = "mutated_base" )
+	@Inheritance( strategy = InheritanceType.JOINED )
+	public static class MutatedBase {
+		@Id
+		public Integer id;
+		public String name;
+	}
+
+	@Entity( name = "MutatedSub" )
+	@Table( name = "mutated_sub" )
+	public static class MutatedSub extends MutatedBase {
+		public String subState;
+	}
+}
@@ -0,0 +1,176 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.gen;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Date;
+import java.util.List;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+
+import org.hibernate.QueryException;
+import org.hibernate.Session;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.jdbc.Work;
+import org.hibernate.sql.gen.internal.binder.AbstractParameterBinder;
+import org.hibernate.sql.gen.internal.binder.IntegerParameterBinder;
+import org.hibernate.sql.gen.internal.binder.LongParameterBinder;
+import org.hibernate.sql.gen.internal.binder.StringParameterBinder;
+import org.hibernate.sql.gen.internal.binder.TimestampParameterBinder;
+import org.hibernate.sql.gen.internal.binder.TypeParameterBinder;
+import org.hibernate.sql.orm.QueryParameterBindings;
+import org.hibernate.sqm.query.SelectStatement;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Steve Ebersole
+ */
+public class ParameterBinderTest extends BaseUnitTest {
+	private static final String QUERY = "select e.name from BoundValueEntity e"
+			+ " where e.id = :id and e.quantity > :quantity and e.created < :before and e.name = :name"
+			+ " and e.id <> :id and e.name is not null";
+
+	@Test
+	public void testBinderResolution() {
+		final List<ParameterBinder> binders = interpretPlan( QUERY ).getParameterBinders();
+
+		// one binder per JDBC parameter, so the repeated :id gets 2
+		assertThat( binders.size(), equalTo( 5 ) );
+		assertThat( binders.get( 0 ), instanceOf( LongParameterBinder.class ) );
+		assertThat( binders.get( 1 ), instanceOf( IntegerParameterBinder.class ) );
+		assertThat( binders.get( 2 ), instanceOf( TimestampParameterBinder.class ) );
+		assertThat( binders.get( 3 ), instanceOf( StringParameterBinder.class ) );
+		assertThat( binders.get( 4 ), instanceOf( LongParameterBinder.class ) );
+
+		for ( int i = 0; i < binders.size(); i++ ) {
+			assertThat( ( (AbstractParameterBinder) binders.get( i ) ).getJdbcPosition(), equalTo( i + 1 ) );
+		}
+		assertThat( ( (AbstractParameterBinder) binders.get( 4 ) ).getQueryParameter().getOrdinal(), equalTo( 0 ) );
+	}
+
+	@Test
+	public void testUntypedParameter() {
+		// nothing to infer the parameter type from
+		final List<ParameterBinder> binders = interpretPlan(
+				"select e.name from BoundValueEntity e where :value is not null"
+		).getParameterBinders();
+		assertThat( binders.get( 0 ), instanceOf( TypeParameterBinder.class ) );
+	}
+
+	@Test
+	public void testBinding() {
+		final JdbcSelectPlan plan = interpretPlan(
+				"select e.name from BoundValueEntity e"
+						+ " where e.id = :id and e.quantity > :quantity and e.created < :before and e.name = :name"
+		);
+
+		final QueryOptionsTestingImpl queryOptions = new QueryOptionsTestingImpl();
+		final QueryParameterBindings bindings = plan.getParameterMetadata().makeBindings();
+		bindings.getNamedParameterBinding( "id" ).setBindValue( 1L );
+		bindings.getNamedParameterBinding( "quantity" ).setBindValue( 5 );
+		bindings.getNamedParameterBinding( "before" ).setBindValue( new Date() );
+		bindings.getNamedParameterBinding( "name" ).setBindValue( "first" );
+		queryOptions.setParameterBindings( bindings );
+
+		final Session session = getSessionFactory().openSession();
+		try {
+			session.doWork(
+					new Work() {
+						@Override
+						public void execute(Connection connection) throws SQLException {
+							final Statement ddl = connection.createStatement();
+							try {
+								ddl.execute(
+										"create table bound_value_entity (id bigint not null, quantity integer, " +
+												"name varchar(255), created timestamp, primary key (id))"
+								);
+								ddl.execute(
+										"insert into bound_value_entity values (1, 10, 'first', '2015-01-01 00:00:00')"
+								);
+							}
+							finally {
+								ddl.close();
+							}
+
+							final PreparedStatement statement = connection.prepareStatement( plan.getSql() );
+							try {
+								for ( ParameterBinder binder : plan.getParameterBinders() ) {
+									binder.bindParameterValue( statement, queryOptions, (SessionImplementor) session );
+								}
+								final ResultSet resultSet = statement.executeQuery();
+								assertThat( resultSet.next(), equalTo( true ) );
+								assertThat( resultSet.getString( 1 ), equalTo( "first" ) );
+							}
+							finally {
+								statement.close();
+								connection.createStatement().execute( "drop table bound_value_entity" );
+							}
+						}
+					}
+			);
+		}
+		finally {
+			session.close();
+		}
+	}
+
+	@Test
+	public void testBindValueOfUnexpectedType() throws SQLException {
+		final JdbcSelectPlan plan = interpretPlan( "select e.name from BoundValueEntity e where e.id = :id" );
+
+		final QueryOptionsTestingImpl queryOptions = new QueryOptionsTestingImpl();
+		final QueryParameterBindings bindings = plan.getParameterMetadata().makeBindings();
+		bindings.getNamedParameterBinding( "id" ).setBindValue( "1" );
+		queryOptions.setParameterBindings( bindings );
+
+		// the value is checked before the statement is touched
+		try {
+			plan.getParameterBinders().get( 0 ).bindParameterValue( null, queryOptions, null );
+			fail( "Expecting QueryException" );
+		}
+		catch (QueryException expected) {
+			assertThat( expected.getMessage(), containsString( "name=id" ) );
+			assertThat( expected.getMessage(), containsString( String.class.getName() ) );
+		}
+	}
+
+	private JdbcSelectPlan interpretPlan(String query) {
+		final SelectStatement statement = (SelectStatement) interpret( query );
+		return SqmJdbcInterpreter.interpret( statement, new QueryOptionsTestingImpl(), null );
+	}
+
+	@Override
+	protected void applyMetadataSources(MetadataSources metadataSources) {
+		metadataSources.addAnnotatedClass( BoundValueEntity.class );
+	}
+
+	@Entity( name = "BoundValueEntity" )
+	@Table( name = "bound_value_entity" )
+	public static class BoundValueEntity {
+		@Id
+		public Long id;
+		public Integer quantity;
+		public String name;
+		@Temporal( TemporalType.TIMESTAMP )
+		public Date created;
+	}
+}
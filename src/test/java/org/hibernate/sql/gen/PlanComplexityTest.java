@@ -0,0 +1,135 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.gen;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Inheritance;
+import javax.persistence.InheritanceType;
+import javax.persistence.Table;
+
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.sqm.query.SelectStatement;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @author Steve Ebersole
+ */
+public class PlanComplexityTest extends BaseUnitTest {
+	@Test
+	public void testSubclassJoins() {
+		final PlanComplexity complexity = interpretSelect(
+				"select b.aState, b.bState, b.cState from ComplexBase b where b.name = :name"
+		).getComplexity();
+
+		assertThat( complexity.getTableSpaceCount(), equalTo( 1 ) );
+		assertThat( complexity.getTableJoinCount(), equalTo( 3 ) );
+		assertThat( complexity.getMaxEntityTableJoinCount(), equalTo( 3 ) );
+		assertThat( complexity.getOuterJoinCount(), equalTo( 3 ) );
+		assertThat( complexity.getInnerJoinCount(), equalTo( 0 ) );
+		assertThat( complexity.getDerivedTableCount(), equalTo( 0 ) );
+		assertThat( complexity.getSubqueryDepth(), equalTo( 0 ) );
+		assertThat( complexity.getParameterCount(), equalTo( 1 ) );
+	}
+
+	@Test
+	public void testTableSpaces() {
+		final PlanComplexity complexity = interpretSelect(
+				"select b.name from ComplexBase b, ComplexBase c where b.id = c.id and b.name = :first and c.name = :second"
+		).getComplexity();
+
+		assertThat( complexity.getTableSpaceCount(), equalTo( 2 ) );
+		assertThat( complexity.getTableJoinCount(), equalTo( 0 ) );
+		assertThat( complexity.getParameterCount(), equalTo( 2 ) );
+	}
+
+	@Test
+	public void testSlowPlanReporting() {
+		final Map<String,String> settings = new HashMap<String, String>();
+		settings.put( SlowPlanReporter.MAX_ENTITY_TABLE_JOINS, "2" );
+		final SlowPlanReporter reporter = new SlowPlanReporter( settings );
+
+		final String query = "select b.aState, b.bState, b.cState from ComplexBase b";
+		final JdbcSelectPlan plan = interpretSelect( query );
+		assertThat(
+				reporter.determineExceededLimits( plan.getComplexity() ),
+				equalTo( Collections.singletonList( SlowPlanReporter.MAX_ENTITY_TABLE_JOINS ) )
+		);
+
+		// logged once per query shape
+		assertThat( reporter.report( query, plan ), equalTo( true ) );
+		assertThat( reporter.report( query, plan ), equalTo( false ) );
+		assertThat( reporter.getReportCount(), equalTo( 1L ) );
+
+		// within limits
+		final String simpleQuery = "select b.name from ComplexBase b";
+		assertThat( reporter.report( simpleQuery, interpretSelect( simpleQuery ) ), equalTo( false ) );
+		assertThat( reporter.getReportCount(), equalTo( 1L ) );
+	}
+
+	@Test
+	public void testSlowPlanReportingThroughCache() {
+		final Map<String,String> settings = new HashMap<String, String>();
+		settings.put( SlowPlanReporter.MAX_ENTITY_TABLE_JOINS, "2" );
+		final SlowPlanReporter reporter = new SlowPlanReporter( settings );
+		final JdbcSelectPlanCache cache = new JdbcSelectPlanCache( 16, reporter );
+
+		final QueryOptionsTestingImpl queryOptions = new QueryOptionsTestingImpl();
+		cache.getSelectPlan( "select b.aState, b.bState, b.cState from ComplexBase b", queryOptions, null, getConsumerContext() );
+		// textually different, same shape
+		cache.getSelectPlan( "select x.aState, x.bState, x.cState from ComplexBase x", queryOptions, null, getConsumerContext() );
+
+		assertThat( cache.getMissCount(), equalTo( 2L ) );
+		assertThat( reporter.getReportCount(), equalTo( 1L ) );
+	}
+
+	private JdbcSelectPlan interpretSelect(String query) {
+		return SqmJdbcInterpreter.interpret( (SelectStatement) interpret( query ), new QueryOptionsTestingImpl(), null );
+	}
+
+	@Override
+	protected void applyMetadataSources(MetadataSources metadataSources) {
+		metadataSources.addAnnotatedClass( ComplexBase.class );
+		metadataSources.addAnnotatedClass( ComplexA.class );
+		metadataSources.addAnnotatedClass( ComplexB.class );
+		metadataSources.addAnnotatedClass( ComplexC.class );
+	}
+
+	@Entity( name = "ComplexBase" )
+	@Table( name = "complex_base" )
+	@Inheritance( strategy = InheritanceType.JOINED )
+	public static class ComplexBase {
+		@Id
+		public Integer id;
+		public String name;
+	}
+
+	@Entity( name = "ComplexA" )
+	@Table( name = "complex_a" )
+	public static class ComplexA extends ComplexBase {
+		public String aState;
+	}
+
+	@Entity( name = "ComplexB" )
+	@Table( name = "complex_b" )
+	public static class ComplexB extends ComplexBase {
+		public String bState;
+	}
+
+	@Entity( name = "ComplexC" )
+	@Table( name = "complex_c" )
+	public static class ComplexC extends ComplexBase {
+		public String cState;
+	}
+}
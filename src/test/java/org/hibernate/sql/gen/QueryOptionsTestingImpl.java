@@ -0,0 +1,115 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.gen;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.LockOptions;
+import org.hibernate.ScrollMode;
+import org.hibernate.engine.spi.RowSelection;
+import org.hibernate.sql.orm.QueryOptions;
+import org.hibernate.sql.orm.QueryParameterBindings;
+import org.hibernate.sql.orm.QueryParameterMetadata;
+
+/**
+ * Simple mutable QueryOptions implementation for testing
+ *
+ * @author Steve Ebersole
+ */
+public class QueryOptionsTestingImpl implements QueryOptions {
+	private QueryParameterBindings parameterBindings = QueryParameterMetadata.EMPTY.makeBindings();
+	private LockOptions lockOptions = new LockOptions();
+	private RowSelection rowSelection = new RowSelection();
+	private ScrollMode scrollMode;
+	private boolean keysetPage;
+	private boolean cacheable;
+	private String cacheRegion;
+	private String comment;
+	private List<String> sqlHints = new ArrayList<String>();
+
+	@Override
+	public QueryParameterBindings getParameterBindings() {
+		return parameterBindings;
+	}
+
+	public void setParameterBindings(QueryParameterBindings parameterBindings) {
+		this.parameterBindings = parameterBindings;
+	}
+
+	@Override
+	public LockOptions getLockOptions() {
+		return lockOptions;
+	}
+
+	public void setLockOptions(LockOptions lockOptions) {
+		this.lockOptions = lockOptions;
+	}
+
+	@Override
+	public RowSelection getRowSelection() {
+		return rowSelection;
+	}
+
+	public void setRowSelection(RowSelection rowSelection) {
+		this.rowSelection = rowSelection;
+	}
+
+	@Override
+	public ScrollMode getScrollMode() {
+		return scrollMode;
+	}
+
+	public void setScrollMode(ScrollMode scrollMode) {
+		this.scrollMode = scrollMode;
+	}
+
+	@Override
+	public boolean isKeysetPage() {
+		return keysetPage;
+	}
+
+	public void setKeysetPage(boolean keysetPage) {
+		this.keysetPage = keysetPage;
+	}
+
+	@Override
+	public boolean isCacheable() {
+		return cacheable;
+	}
+
+	public void setCacheable(boolean cacheable) {
+		this.cacheable = cacheable;
+	}
+
+	@Override
+	public String getCacheRegion() {
+		return cacheRegion;
+	}
+
+	public void setCacheRegion(String cacheRegion) {
+		this.cacheRegion = cacheRegion;
+	}
+
+	@Override
+	public String getComment() {
+		return comment;
+	}
+
+	public void setComment(String comment) {
+		this.comment = comment;
+	}
+
+	@Override
+	public List<String> getSqlHints() {
+		return sqlHints;
+	}
+
+	public void addSqlHint(String hint) {
+		sqlHints.add( hint );
+	}
+}
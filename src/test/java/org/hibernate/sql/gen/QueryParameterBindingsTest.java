@@ -0,0 +1,98 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.gen;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.sql.orm.QueryParameterBinding;
+import org.hibernate.sql.orm.QueryParameterBindings;
+import org.hibernate.sql.orm.QueryParameterMetadata;
+import org.hibernate.sqm.query.SelectStatement;
+import org.hibernate.type.StringType;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @author Steve Ebersole
+ */
+public class QueryParameterBindingsTest extends BaseUnitTest {
+	@Test
+	public void testOrdinals() {
+		final QueryParameterMetadata parameterMetadata = interpretPlan(
+				"select e.name from BoundEntity e where e.id = :id or e.name = :name or e.id = :id"
+		).getParameterMetadata();
+
+		// :id is referenced twice but is a single parameter
+		assertThat( parameterMetadata.getParameterCount(), equalTo( 2 ) );
+		assertThat( parameterMetadata.resolveNamedParameter( "id" ).getOrdinal(), equalTo( 0 ) );
+		assertThat( parameterMetadata.resolveNamedParameter( "name" ).getOrdinal(), equalTo( 1 ) );
+		assertThat( parameterMetadata.resolveNamedParameter( "other" ), nullValue() );
+	}
+
+	@Test
+	public void testNoParameters() {
+		final QueryParameterMetadata parameterMetadata = interpretPlan( "select e.name from BoundEntity e" )
+				.getParameterMetadata();
+		assertThat( parameterMetadata, sameInstance( QueryParameterMetadata.EMPTY ) );
+	}
+
+	@Test
+	public void testBindingReuse() {
+		final QueryParameterMetadata parameterMetadata = interpretPlan(
+				"select e.name from BoundEntity e where e.id = :id and e.name = :name"
+		).getParameterMetadata();
+		final QueryParameterBindings bindings = parameterMetadata.makeBindings();
+
+		final QueryParameterBinding idBinding = bindings.getNamedParameterBinding( "id" );
+		assertThat( idBinding, sameInstance( bindings.getBinding( parameterMetadata.resolveNamedParameter( "id" ) ) ) );
+
+		idBinding.setBindValue( 1 );
+		bindings.getNamedParameterBinding( "name" ).setBindValue( "a name", StringType.INSTANCE );
+		assertThat( bindings.getBinding( 0 ).getBindValue(), equalTo( (Object) 1 ) );
+		assertThat( bindings.getBinding( 1 ).getBindType(), equalTo( (Object) StringType.INSTANCE ) );
+
+		// the next execution starts from a clean slate, using the same binding instances
+		bindings.reset();
+		assertThat( bindings.getNamedParameterBinding( "id" ), sameInstance( idBinding ) );
+		assertThat( idBinding.getBindValue(), nullValue() );
+		assertThat( bindings.getBinding( 1 ).getBindType(), nullValue() );
+	}
+
+	@Test( expected = IllegalStateException.class )
+	public void testUnknownParameter() {
+		interpretPlan( "select e.name from BoundEntity e where e.id = :id" )
+				.getParameterMetadata()
+				.makeBindings()
+				.getNamedParameterBinding( "name" );
+	}
+
+	private JdbcSelectPlan interpretPlan(String query) {
+		final SelectStatement statement = (SelectStatement) interpret( query );
+		return SqmJdbcInterpreter.interpret( statement, new QueryOptionsTestingImpl(), null );
+	}
+
+	@Override
+	protected void applyMetadataSources(MetadataSources metadataSources) {
+		metadataSources.addAnnotatedClass( BoundEntity.class );
+	}
+
+	@Entity( name = "BoundEntity" )
+	@Table( name = "bound_entity" )
+	public static class BoundEntity {
+		@Id
+		public Integer id;
+		public String name;
+	}
+}
@@ -0,0 +1,250 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.gen;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Inheritance;
+import javax.persistence.InheritanceType;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+
+import org.hibernate.QueryException;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.persister.entity.Queryable;
+import org.hibernate.sql.gen.internal.SqlAliasBaseManager;
+import org.hibernate.sqm.query.SelectStatement;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Steve Ebersole
+ */
+public class SelectRenderingTest extends BaseUnitTest {
+	@Test
+	public void testSimpleSelection() {
+		assertThat(
+				render( "select e.name from RenderedEntity e" ),
+				equalTo( "select r1_0.name from rendered_entity r1_0" )
+		);
+	}
+
+	@Test
+	public void testRestrictions() {
+		assertThat(
+				render( "select e.name from RenderedEntity e where e.id = :id and e.name is not null" ),
+				equalTo( "select r1_0.name from rendered_entity r1_0 where r1_0.id = ? and r1_0.name is not null" )
+		);
+	}
+
+	@Test
+	public void testOrdering() {
+		assertThat(
+				render( "select e.name from RenderedEntity e order by e.name desc" ),
+				equalTo( "select r1_0.name from rendered_entity r1_0 order by r1_0.name desc" )
+		);
+	}
+
+	@Test
+	public void testOrderingBySelectedExpression() {
+		assertThat(
+				render( "select e.id + e.id as s from RenderedEntity e order by e.id + e.id desc" ),
+				equalTo( "select r1_0.id + r1_0.id as \"s\" from rendered_entity r1_0 order by \"s\" desc" )
+		);
+	}
+
+	@Test
+	public void testOrderingBySelectedExpressionWithReservedResultVariable() {
+		assertThat(
+				render( "select count(e.id) as count from RenderedEntity e order by count(e.id)" ),
+				equalTo( "select count(r1_0.id) as \"count\" from rendered_entity r1_0 order by \"count\" asc" )
+		);
+	}
+
+	@Test
+	public void testOrderingBySelectedExpressionWithoutResultVariable() {
+		assertThat(
+				render( "select e.name, max(e.id) from RenderedEntity e order by max(e.id)" ),
+				equalTo( "select r1_0.name, max(r1_0.id) as col_2_ from rendered_entity r1_0 order by col_2_ asc" )
+		);
+	}
+
+	@Test
+	public void testSubclassTableJoin() {
+		assertThat(
+				render( "select e.subState from RenderedBase e" ),
+				equalTo(
+						"select r1_1.subState from rendered_base r1_0 " +
+								"left outer join rendered_sub r1_1 on r1_0.id = r1_1.id"
+				)
+		);
+	}
+
+	@Test
+	public void testTypeExpression() {
+		// joined inheritance without a discriminator column : the most specific table holding a row
+		assertThat(
+				render( "select type(e) from RenderedBase e" ),
+				equalTo(
+						"select case when r1_1.id is not null then " + discriminatorValue( RenderedSub.class ) +
+								" else " + discriminatorValue( RenderedBase.class ) + " end from rendered_base r1_0 " +
+								"left outer join rendered_sub r1_1 on r1_0.id = r1_1.id"
+				)
+		);
+	}
+
+	@Test
+	public void testTreatedJoin() {
+		// TREAT restricts the joined rows to the subclass, so its table is inner joined...
+		assertThat(
+				render( "select s.subState from RenderedHolder h join treat(h.base as RenderedSub) s" ),
+				equalTo(
+						"select r2_1.subState from rendered_holder r1_0 " +
+								"inner join rendered_base r2_0 on r1_0.base_id = r2_0.id " +
+								"inner join rendered_sub r2_1 on r2_0.id = r2_1.id"
+				)
+		);
+
+		// ...unless the join itself is an outer join
+		assertThat(
+				render( "select s.subState from RenderedHolder h left join treat(h.base as RenderedSub) s" ),
+				equalTo(
+						"select r2_1.subState from rendered_holder r1_0 " +
+								"left outer join rendered_base r2_0 on r1_0.base_id = r2_0.id " +
+								"left outer join rendered_sub r2_1 on r2_0.id = r2_1.id"
+				)
+		);
+	}
+
+	@Test
+	public void testAliasGeneration() {
+		final String query = "select e.name from RenderedEntity e, RenderedBase b where b.id = e.id";
+		final String expected = "select r1_0.name from rendered_entity r1_0, rendered_base r2_0 where r2_0.id = r1_0.id";
+		assertThat( render( query ), equalTo( expected ) );
+		// stable across interpretations
+		assertThat( render( query ), equalTo( expected ) );
+
+		assertThat( SqlAliasBaseManager.determineAcronym( "org.hibernate.Person" ), equalTo( 'p' ) );
+		assertThat( SqlAliasBaseManager.determineAcronym( "Outer$inner" ), equalTo( 'i' ) );
+		assertThat( SqlAliasBaseManager.determineAcronym( "_Hidden" ), equalTo( 't' ) );
+		assertThat( SqlAliasBaseManager.determineAcronym( "\u00c9tat" ), equalTo( 't' ) );
+	}
+
+	@Test
+	public void testPagination() {
+		final QueryOptionsTestingImpl queryOptions = new QueryOptionsTestingImpl();
+		queryOptions.getRowSelection().setFirstRow( 20 );
+		queryOptions.getRowSelection().setMaxRows( 10 );
+
+		final JdbcSelectPlan plan = SqmJdbcInterpreter.interpret(
+				(SelectStatement) interpret( "select e.name from RenderedEntity e where e.id > :id" ),
+				queryOptions,
+				null
+		);
+		assertThat(
+				plan.getSql(),
+				equalTo( "select r1_0.name from rendered_entity r1_0 where r1_0.id > ? limit ? offset ?" )
+		);
+		// the query parameter, plus the binder of both limit parameters
+		assertThat( plan.getParameterBinders().size(), equalTo( 2 ) );
+
+		// no RowSelection, no limit
+		assertThat( render( "select e.name from RenderedEntity e" ), equalTo( "select r1_0.name from rendered_entity r1_0" ) );
+	}
+
+	@Test
+	public void testKeysetPage() {
+		final QueryOptionsTestingImpl queryOptions = new QueryOptionsTestingImpl();
+		queryOptions.setKeysetPage( true );
+
+		final JdbcSelectPlan plan = SqmJdbcInterpreter.interpret(
+				(SelectStatement) interpret( "select e.name from RenderedEntity e where e.id > :id order by e.name desc, e.id" ),
+				queryOptions,
+				null
+		);
+		// mixed sort directions cannot use a row value comparison
+		assertThat(
+				plan.getSql(),
+				equalTo(
+						"select r1_0.name from rendered_entity r1_0 " +
+								"where r1_0.id > ? and (r1_0.name < ? or (r1_0.name = ? and r1_0.id > ?)) " +
+								"order by r1_0.name desc, r1_0.id asc"
+				)
+		);
+		assertThat( plan.getParameterMetadata().getParameterCount(), equalTo( 3 ) );
+	}
+
+	@Test
+	public void testKeysetPageRequiresUniqueSortKey() {
+		final QueryOptionsTestingImpl queryOptions = new QueryOptionsTestingImpl();
+		queryOptions.setKeysetPage( true );
+
+		try {
+			SqmJdbcInterpreter.interpret(
+					(SelectStatement) interpret( "select e.name from RenderedEntity e order by e.name" ),
+					queryOptions,
+					null
+			);
+			fail( "Expecting QueryException" );
+		}
+		catch (QueryException expected) {
+		}
+	}
+
+	private String discriminatorValue(Class entityClass) {
+		return ( (Queryable) getSessionFactory().getEntityPersister( entityClass.getName() ) ).getDiscriminatorSQLValue();
+	}
+
+	private String render(String query) {
+		final SelectStatement statement = (SelectStatement) interpret( query );
+		return SqmJdbcInterpreter.interpret( statement, new QueryOptionsTestingImpl(), null ).getSql();
+	}
+
+	@Override
+	protected void applyMetadataSources(MetadataSources metadataSources) {
+		metadataSources.addAnnotatedClass( RenderedEntity.class );
+		metadataSources.addAnnotatedClass( RenderedBase.class );
+		metadataSources.addAnnotatedClass( RenderedSub.class );
+		metadataSources.addAnnotatedClass( RenderedHolder.class );
+	}
+
+	@Entity( name = "RenderedEntity" )
+	@Table( name = "rendered_entity" )
+	public static class RenderedEntity {
+		@Id
+		public Integer id;
+		public String name;
+	}
+
+	@Entity( name = "RenderedBase" )
+	@Table( name = "rendered_base" )
+	@Inheritance( strategy = InheritanceType.JOINED )
+	public static class RenderedBase {
+		@Id
+		public Integer id;
+		public String name;
+	}
+
+	@Entity( name = "RenderedSub" )
+	@Table( name = "rendered_sub" )
+	public static class RenderedSub extends RenderedBase {
+		public String subState;
+	}
+
+	@Entity( name = "RenderedHolder" )
+	@Table( name = "rendered_holder" )
+	public static class RenderedHolder {
+		@Id
+		public Integer id;
+		@ManyToOne
+		public RenderedBase base;
+	}
+}
@@ -0,0 +1,94 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.orm.internal.mapping;
+
+import org.hibernate.sql.ast.expression.ColumnReference;
+import org.hibernate.sql.ast.from.AbstractTableSpecification;
+import org.hibernate.sql.ast.from.ColumnDictionary;
+import org.hibernate.sql.ast.from.DerivedTableSpecification;
+import org.hibernate.sql.ast.from.PhysicalTableSpecification;
+import org.hibernate.sql.ast.from.TableSpecification;
+import org.hibernate.sqm.query.JoinType;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @author Steve Ebersole
+ */
+public class EntityTableGroupTemplateTest {
+	@Test
+	public void testTemplate() {
+		final EntityTableGroupTemplate template = new EntityTableGroupTemplate(
+				new String[] { "the_entity", "the_superclass", "the_secondary", "(select * from the_subclass)" },
+				new boolean[] { true, true, true, false },
+				new boolean[] { false, false, true, false },
+				new String[][] { { "id" }, { "id" }, { "entity_id" }, { "id" } }
+		);
+
+		assertThat( template.getTableCount(), equalTo( 4 ) );
+
+		// own (and superclass) tables joined as part of every group
+		assertThat( template.getClassOrSuperclassJoinedTableCount(), equalTo( 2 ) );
+		assertThat( template.getClassOrSuperclassJoinedTableNumber( 0 ), equalTo( 1 ) );
+		assertThat( template.getClassOrSuperclassJoinedTableNumber( 1 ), equalTo( 2 ) );
+
+		assertThat( template.getJoinType( 0 ), nullValue() );
+		assertThat( template.getJoinType( 1 ), equalTo( JoinType.INNER ) );
+		assertThat( template.getJoinType( 2 ), equalTo( JoinType.LEFT ) );
+		assertThat( template.getJoinType( 3 ), equalTo( JoinType.LEFT ) );
+
+		assertThat( template.getKeyColumns( 2 )[0], equalTo( "entity_id" ) );
+		assertThat( template.locateTableNumber( "the_secondary" ), equalTo( 2 ) );
+		assertThat( template.locateTableNumber( "not_a_table" ), equalTo( -1 ) );
+
+		final TableSpecification root = template.makeTableSpecification( 0, "t1" );
+		assertThat( root, instanceOf( PhysicalTableSpecification.class ) );
+		assertThat( root.getCorrelationName(), equalTo( "t1_0" ) );
+
+		final TableSpecification derived = template.makeTableSpecification( 3, "t2" );
+		assertThat( derived, instanceOf( DerivedTableSpecification.class ) );
+		assertThat( derived.getCorrelationName(), equalTo( "t2_3" ) );
+	}
+
+	@Test
+	public void testColumnDictionary() {
+		final EntityTableGroupTemplate template = new EntityTableGroupTemplate(
+				new String[] { "the_entity", "the_secondary" },
+				new boolean[] { true, true },
+				new boolean[] { false, true },
+				new String[][] { { "id" }, { "entity_id" } },
+				new String[][] { { "id", "name", null, "id" }, { "entity_id", "detail" } }
+		);
+
+		// formulas (null) and duplicates are not part of the dictionary
+		final ColumnDictionary dictionary = template.getColumnDictionary( 0 );
+		assertThat( dictionary.getColumnCount(), equalTo( 2 ) );
+		assertThat( dictionary.locateColumn( "name" ), equalTo( 1 ) );
+		assertThat( dictionary.locateColumn( "detail" ), equalTo( -1 ) );
+
+		// the dictionary is shared by every TableSpecification of the table
+		final AbstractTableSpecification first = (AbstractTableSpecification) template.makeTableSpecification( 0, "t1" );
+		final AbstractTableSpecification second = (AbstractTableSpecification) template.makeTableSpecification( 0, "t2" );
+		assertThat( second.getColumnDictionary(), sameInstance( first.getColumnDictionary() ) );
+
+		final ColumnReference name = first.getColumnReference( "name" );
+		assertThat( first.getColumnReference( 1 ), sameInstance( name ) );
+		assertThat( first.getColumnReference( "name" ), sameInstance( name ) );
+		assertThat( second.getColumnReference( "name" ) == name, equalTo( false ) );
+
+		// columns not known to the dictionary are still supported
+		final ColumnReference undeclared = first.getColumnReference( "undeclared" );
+		assertThat( undeclared.getName(), equalTo( "undeclared" ) );
+		assertThat( first.getColumnReference( "undeclared" ), sameInstance( undeclared ) );
+	}
+}
@@ -15,19 +15,25 @@ import javax.persistence.Table;
 import org.hibernate.boot.MetadataSources;
 import org.hibernate.persister.entity.JoinedSubclassEntityPersister;
 import org.hibernate.sql.ast.QuerySpec;
+import org.hibernate.sql.ast.expression.ColumnReference;
 import org.hibernate.sql.ast.from.EntityTableSpecificationGroup;
 import org.hibernate.sql.ast.from.PhysicalTableSpecification;
+import org.hibernate.sql.ast.from.TableSpecification;
 import org.hibernate.sql.gen.BaseUnitTest;
 import org.hibernate.sql.gen.internal.FromClauseIndex;
 import org.hibernate.sql.gen.internal.SqlAliasBaseManager;
 import org.hibernate.sql.orm.internal.sqm.model.EntityTypeDescriptorImpl;
+import org.hibernate.sqm.query.JoinType;
 import org.hibernate.sqm.query.SelectStatement;
+import org.hibernate.sqm.query.from.FromElement;
 
 import org.junit.Test;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 /**
@@ -57,6 +63,9 @@ public class JoinedEntitySimpleTest extends BaseUnitTest {
 		assertThat( result, notNullValue() );
 		assertThat( result.getAliasBase(), equalTo( "j1" ) );
 
+		// the query implicitly selects the entity, which needs all of its subclass tables
+		improvedEntityPersister.applyEntityReference( result );
+
 		assertThat( result.getRootTableSpecification(), notNullValue() );
 		assertThat( result.getRootTableSpecification(), instanceOf( PhysicalTableSpecification.class ) );
 		final PhysicalTableSpecification tableSpec = (PhysicalTableSpecification) result.getRootTableSpecification();
@@ -105,6 +114,9 @@ public class JoinedEntitySimpleTest extends BaseUnitTest {
 		assertThat( result, notNullValue() );
 		assertThat( result.getAliasBase(), equalTo( "j1" ) );
 
+		// the query implicitly selects the entity, which needs all of its subclass tables
+		improvedEntityPersister.applyEntityReference( result );
+
 		assertThat( result.getRootTableSpecification(), notNullValue() );
 		assertThat( result.getRootTableSpecification(), instanceOf( PhysicalTableSpecification.class ) );
 		final PhysicalTableSpecification tableSpec = (PhysicalTableSpecification) result.getRootTableSpecification();
@@ -153,6 +165,9 @@ public class JoinedEntitySimpleTest extends BaseUnitTest {
 		assertThat( result, notNullValue() );
 		assertThat( result.getAliasBase(), equalTo( "j1" ) );
 
+		// the query implicitly selects the entity, which needs all of its subclass tables
+		improvedEntityPersister.applyEntityReference( result );
+
 		assertThat( result.getRootTableSpecification(), notNullValue() );
 		assertThat( result.getRootTableSpecification(), instanceOf( PhysicalTableSpecification.class ) );
 		final PhysicalTableSpecification tableSpec = (PhysicalTableSpecification) result.getRootTableSpecification();
@@ -178,6 +193,218 @@ public class JoinedEntitySimpleTest extends BaseUnitTest {
 		assertThat( secondSubclassTable.getCorrelationName(), equalTo( "j1_2" ) );
 	}
 
+	@Test
+	public void testIdReferenceNeedsNoSubclassTables() {
+		final EntityTableSpecificationGroup result = buildBaseGroup( "select e.id from JoinedEntityBase e" );
+
+		assertThat( result.getRootTableSpecification().getCorrelationName(), equalTo( "j1_0" ) );
+		assertThat( result.getTableSpecificationJoins().size(), equalTo( 0 ) );
+	}
+
+	@Test
+	public void testSuperclassAttributeReferenceNeedsNoSubclassTables() {
+		final EntityTableSpecificationGroup result = buildBaseGroup( "select e.name from JoinedEntityBase e" );
+
+		final ImprovedEntityPersister persister = resolvePersister( "JoinedEntityBase" );
+		final TableSpecification table = persister.applyAttributeReference( result, "name" );
+		assertThat( table, sameInstance( result.getRootTableSpecification() ) );
+		assertThat( result.getTableSpecificationJoins().size(), equalTo( 0 ) );
+	}
+
+	@Test
+	public void testSubclassAttributeReference() {
+		final EntityTableSpecificationGroup result = buildBaseGroup( "select e.branchSpecificState from JoinedEntityBase e" );
+
+		final ImprovedEntityPersister persister = resolvePersister( "JoinedEntityBase" );
+		final TableSpecification table = persister.applyAttributeReference( result, "branchSpecificState" );
+		assertThat( result.getTableSpecificationJoins().size(), equalTo( 1 ) );
+		assertThat( table, sameInstance( result.getTableSpecificationJoins().get( 0 ).getJoinedTable() ) );
+		assertThat( ( (PhysicalTableSpecification) table ).getTableName(), equalTo( "joined_entity_branch" ) );
+		assertThat( table.getCorrelationName(), equalTo( "j1_1" ) );
+		assertThat( result.getTableSpecificationJoins().get( 0 ).getJoinType(), equalTo( JoinType.LEFT ) );
+
+		// referencing it again should not add another join
+		persister.applyAttributeReference( result, "branchSpecificState" );
+		assertThat( result.getTableSpecificationJoins().size(), equalTo( 1 ) );
+	}
+
+	@Test
+	public void testLeafAttributeReference() {
+		final EntityTableSpecificationGroup result = buildBaseGroup( "select e.leafSpecificState from JoinedEntityBase e" );
+
+		final ImprovedEntityPersister persister = resolvePersister( "JoinedEntityBase" );
+		final TableSpecification table = persister.applyAttributeReference( result, "leafSpecificState" );
+		assertThat( result.getTableSpecificationJoins().size(), equalTo( 1 ) );
+		assertThat( ( (PhysicalTableSpecification) table ).getTableName(), equalTo( "joined_entity_leaf" ) );
+		assertThat( table.getCorrelationName(), equalTo( "j1_2" ) );
+	}
+
+	@Test
+	public void testFromClauseIndexLookups() {
+		final SelectStatement sqm = (SelectStatement) interpret( "select e.branchSpecificState from JoinedEntityBase e" );
+		final FromElement fromElement = sqm.getQuerySpec().getFromClause().getFromElementSpaces().get( 0 ).getRoot();
+
+		final FromClauseIndex fromClauseIndex = new FromClauseIndex();
+		assertThat( fromClauseIndex.currentFromClause(), nullValue() );
+		assertThat( fromClauseIndex.popFromClause(), nullValue() );
+
+		final QuerySpec querySpec = new QuerySpec();
+		fromClauseIndex.pushFromClause( querySpec.getFromClause() );
+		final ImprovedEntityPersister persister = resolvePersister( "JoinedEntityBase" );
+		final EntityTableSpecificationGroup group = persister.getEntityTableSpecificationGroup(
+				fromElement,
+				querySpec.getFromClause().makeTableSpace(),
+				new SqlAliasBaseManager(),
+				fromClauseIndex
+		);
+
+		assertThat( fromClauseIndex.findResolvedTableSpecificationGroup( fromElement ), sameInstance( (Object) group ) );
+		assertThat( fromClauseIndex.findFromElement( group ), sameInstance( fromElement ) );
+
+		// a column of a (subclass) table added to the group after it was indexed
+		final ColumnReference columnReference =
+				(ColumnReference) persister.resolveAttributeExpression( group, "branchSpecificState" );
+		assertThat( columnReference.getTable().getCorrelationName(), equalTo( "j1_1" ) );
+		assertThat( fromClauseIndex.findTableSpecificationGroup( columnReference ), sameInstance( (Object) group ) );
+		assertThat( fromClauseIndex.findFromElement( columnReference ), sameInstance( fromElement ) );
+		// looked up by table identity, not by alias
+		assertThat(
+				fromClauseIndex.findTableSpecificationGroup(
+						new PhysicalTableSpecification( "joined_entity_branch", "j1_1" ).getColumnReference( "branchSpecificState" )
+				),
+				nullValue()
+		);
+
+		assertThat( fromClauseIndex.findResolvedAttributeExpression( fromElement, "branchSpecificState" ), nullValue() );
+		fromClauseIndex.crossReference( fromElement, "branchSpecificState", columnReference );
+		assertThat(
+				fromClauseIndex.findResolvedAttributeExpression( fromElement, "branchSpecificState" ),
+				sameInstance( (Object) columnReference )
+		);
+
+		assertThat( fromClauseIndex.popFromClause(), sameInstance( querySpec.getFromClause() ) );
+		assertThat( fromClauseIndex.currentFromClause(), nullValue() );
+	}
+
+	@Test
+	public void testTreatReference() {
+		final EntityTableSpecificationGroup result = buildBaseGroup( "select e.id from JoinedEntityBase e" );
+
+		final ImprovedEntityPersister persister = resolvePersister( "JoinedEntityBase" );
+		persister.applyTreatReference( result, resolvePersister( "JoinedEntityBranch" ), false );
+		assertThat( result.getTableSpecificationJoins().size(), equalTo( 1 ) );
+		assertThat(
+				( (PhysicalTableSpecification) result.getTableSpecificationJoins().get( 0 ).getJoinedTable() ).getTableName(),
+				equalTo( "joined_entity_branch" )
+		);
+		assertThat( result.getTableSpecificationJoins().get( 0 ).getJoinType(), equalTo( JoinType.LEFT ) );
+
+		// treating as the leaf needs the leaf table as well; the branch table is already there
+		persister.applyTreatReference( result, resolvePersister( "JoinedEntityLeaf" ), false );
+		assertThat( result.getTableSpecificationJoins().size(), equalTo( 2 ) );
+	}
+
+	@Test
+	public void testRestrictingTreatReferenceUsesInnerJoins() {
+		final EntityTableSpecificationGroup result = buildBaseGroup( "select e.id from JoinedEntityBase e" );
+
+		final ImprovedEntityPersister persister = resolvePersister( "JoinedEntityBase" );
+
+		// a subclass attribute reference alone outer joins the subclass table...
+		persister.applyAttributeReference( result, "branchSpecificState" );
+		assertThat( result.getTableSpecificationJoins().get( 0 ).getJoinType(), equalTo( JoinType.LEFT ) );
+
+		// ...but a TREAT in the FROM clause restricts the rows to that subclass
+		persister.applyTreatReference( result, resolvePersister( "JoinedEntityLeaf" ), true );
+		assertThat( result.getTableSpecificationJoins().size(), equalTo( 2 ) );
+		assertThat( result.getTableSpecificationJoins().get( 0 ).getJoinType(), equalTo( JoinType.INNER ) );
+		assertThat( result.getTableSpecificationJoins().get( 1 ).getJoinType(), equalTo( JoinType.INNER ) );
+	}
+
+	@Test
+	public void testTypeReference() {
+		final EntityTableSpecificationGroup result = buildBaseGroup( "select e.id from JoinedEntityBase e where type(e) = JoinedEntityLeaf" );
+
+		resolvePersister( "JoinedEntityBase" ).applyTypeReference( result );
+		assertThat( result.getTableSpecificationJoins().size(), equalTo( 2 ) );
+	}
+
+	@Test
+	public void testBranchIdReferenceKeepsSuperclassTable() {
+		SelectStatement sqm = (SelectStatement) interpret( "select e.id from JoinedEntityBranch e" );
+
+		final QuerySpec querySpec = new QuerySpec();
+		final EntityTableSpecificationGroup result = resolvePersister( "JoinedEntityBranch" ).getEntityTableSpecificationGroup(
+				sqm.getQuerySpec().getFromClause().getFromElementSpaces().get( 0 ).getRoot(),
+				querySpec.getFromClause().makeTableSpace(),
+				new SqlAliasBaseManager(),
+				new FromClauseIndex()
+		);
+
+		// the superclass table is always part of the group, the subclass (leaf) table is not
+		assertThat( result.getTableSpecificationJoins().size(), equalTo( 1 ) );
+		assertThat(
+				( (PhysicalTableSpecification) result.getTableSpecificationJoins().get( 0 ).getJoinedTable() ).getTableName(),
+				equalTo( "joined_entity_base" )
+		);
+		// every branch row has a base row
+		assertThat( result.getTableSpecificationJoins().get( 0 ).getJoinType(), equalTo( JoinType.INNER ) );
+	}
+
+	@Test
+	public void testExtractedMetadata() {
+		final EntityPersisterMetadata metadata = resolvePersister( "JoinedEntityBranch" ).getMetadata();
+
+		// [branch, base, leaf]
+		assertThat( metadata.getTableCount(), equalTo( 3 ) );
+		assertThat( metadata.getTableExpression( 0 ), equalTo( "joined_entity_branch" ) );
+		assertThat( metadata.isClassOrSuperclassTable( 1 ), equalTo( true ) );
+		assertThat( metadata.isClassOrSuperclassTable( 2 ), equalTo( false ) );
+		assertThat( metadata.getTableKeyColumns( 2 )[0], equalTo( "id" ) );
+		assertThat( metadata.getIdentifierColumnNames()[0], equalTo( "id" ) );
+
+		final int leafAttribute = metadata.locateAttribute( "leafSpecificState" );
+		assertThat( metadata.getAttributeTableNumber( leafAttribute ), equalTo( 2 ) );
+		assertThat( metadata.getAttributeColumnNames( leafAttribute )[0], equalTo( "leafSpecificState" ) );
+		assertThat( metadata.locateAttribute( "notAnAttribute" ), equalTo( -1 ) );
+
+		// column ordinals index the table's ColumnDictionary
+		assertThat(
+				metadata.getColumnDictionary( 2 ).getColumnName( metadata.getAttributeColumnOrdinals( leafAttribute )[0] ),
+				equalTo( "leafSpecificState" )
+		);
+		assertThat(
+				metadata.getColumnDictionary( 2 ).getColumnName( metadata.getTableKeyColumnOrdinals( 2 )[0] ),
+				equalTo( "id" )
+		);
+		assertThat(
+				metadata.getColumnDictionary( 0 ).getColumnName( metadata.getIdentifierColumnOrdinals()[0] ),
+				equalTo( "id" )
+		);
+		// the root table's key column is the identifier column
+		assertThat( metadata.getIdentifierColumnOrdinals()[0], equalTo( metadata.getTableKeyColumnOrdinals( 0 )[0] ) );
+	}
+
+	private ImprovedEntityPersister resolvePersister(String entityName) {
+		final EntityTypeDescriptorImpl entityTypeDescriptor =
+				(EntityTypeDescriptorImpl) getConsumerContext().resolveEntityReference( entityName );
+		return entityTypeDescriptor.getPersister();
+	}
+
+	private EntityTableSpecificationGroup buildBaseGroup(String query) {
+		SelectStatement sqm = (SelectStatement) interpret( query );
+
+		final QuerySpec querySpec = new QuerySpec();
+		final EntityTableSpecificationGroup result = resolvePersister( "JoinedEntityBase" ).getEntityTableSpecificationGroup(
+				sqm.getQuerySpec().getFromClause().getFromElementSpaces().get( 0 ).getRoot(),
+				querySpec.getFromClause().makeTableSpace(),
+				new SqlAliasBaseManager(),
+				new FromClauseIndex()
+		);
+		assertThat( result, notNullValue() );
+		assertThat( result.getAliasBase(), equalTo( "j1" ) );
+		return result;
+	}
 
 	@Override
 	protected void applyMetadataSources(MetadataSources metadataSources) {
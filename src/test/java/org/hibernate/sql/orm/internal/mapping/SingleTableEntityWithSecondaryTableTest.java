@@ -21,6 +21,7 @@ import org.hibernate.sql.gen.BaseUnitTest;
 import org.hibernate.sql.gen.internal.FromClauseIndex;
 import org.hibernate.sql.gen.internal.SqlAliasBaseManager;
 import org.hibernate.sql.orm.internal.sqm.model.EntityTypeDescriptorImpl;
+import org.hibernate.sqm.query.JoinType;
 import org.hibernate.sqm.query.SelectStatement;
 
 import org.junit.Test;
@@ -74,6 +75,8 @@ public class SingleTableEntityWithSecondaryTableTest extends BaseUnitTest {
 		final PhysicalTableSpecification secondaryTable = (PhysicalTableSpecification) result.getTableSpecificationJoins().get( 0 ).getJoinedTable();
 		assertThat( secondaryTable.getTableName(), equalTo( "stwst_secondary" ) );
 		assertThat( secondaryTable.getCorrelationName(), equalTo( "s1_1" ) );
+		// secondary tables are optional by default
+		assertThat( result.getTableSpecificationJoins().get( 0 ).getJoinType(), equalTo( JoinType.LEFT ) );
 
 	}
 	@Test
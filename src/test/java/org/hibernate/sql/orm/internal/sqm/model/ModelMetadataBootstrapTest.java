@@ -0,0 +1,111 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.orm.internal.sqm.model;
+
+import java.util.concurrent.TimeUnit;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.sql.gen.BaseUnitTest;
+import org.hibernate.sqm.domain.EntityTypeDescriptor;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @author Steve Ebersole
+ */
+public class ModelMetadataBootstrapTest extends BaseUnitTest {
+	@Test
+	public void testEagerBootstrap() {
+		final ModelMetadataImpl modelMetadata = new ModelMetadataImpl(
+				getSessionFactory(),
+				ModelMetadataImpl.BootstrapMode.EAGER
+		);
+		assertAssociatedDescriptors( modelMetadata );
+	}
+
+	@Test
+	public void testParallelBootstrap() {
+		final ModelMetadataImpl modelMetadata = new ModelMetadataImpl(
+				getSessionFactory(),
+				ModelMetadataImpl.BootstrapMode.PARALLEL,
+				4
+		);
+		assertAssociatedDescriptors( modelMetadata );
+	}
+
+	@Test
+	public void testLazyBootstrap() {
+		final ModelMetadataImpl modelMetadata = new ModelMetadataImpl(
+				getSessionFactory(),
+				ModelMetadataImpl.BootstrapMode.LAZY
+		);
+		assertAssociatedDescriptors( modelMetadata );
+	}
+
+	@Test
+	public void testBackgroundWarmUp() throws Exception {
+		final ModelMetadataImpl modelMetadata = new ModelMetadataImpl(
+				getSessionFactory(),
+				ModelMetadataImpl.BootstrapMode.LAZY
+		);
+
+		// interpretation may run while the warm-up is still in progress
+		final EntityTypeDescriptor parent = modelMetadata.resolveEntityReference( "Parent" );
+		modelMetadata.startBackgroundWarmUp().get( 30, TimeUnit.SECONDS );
+
+		assertThat( modelMetadata.resolveEntityReference( "Parent" ), sameInstance( parent ) );
+		assertAssociatedDescriptors( modelMetadata );
+	}
+
+	@Test
+	public void testBootstrapModeSetting() {
+		assertThat( ModelMetadataImpl.BootstrapMode.interpret( null ), equalTo( ModelMetadataImpl.BootstrapMode.EAGER ) );
+		assertThat( ModelMetadataImpl.BootstrapMode.interpret( " lazy" ), equalTo( ModelMetadataImpl.BootstrapMode.LAZY ) );
+		assertThat( ModelMetadataImpl.BootstrapMode.interpret( "PARALLEL" ), equalTo( ModelMetadataImpl.BootstrapMode.PARALLEL ) );
+	}
+
+	private void assertAssociatedDescriptors(ModelMetadataImpl modelMetadata) {
+		final EntityTypeDescriptor parent = modelMetadata.resolveEntityReference( "Parent" );
+		final EntityTypeDescriptor child = modelMetadata.resolveEntityReference( "Child" );
+
+		// the association attributes reference the (single) descriptor of the associated entity
+		assertThat( parent.getAttributeDescriptor( "favoriteChild" ).getType(), sameInstance( (Object) child ) );
+		assertThat( child.getAttributeDescriptor( "parent" ).getType(), sameInstance( (Object) parent ) );
+	}
+
+	@Override
+	protected void applyMetadataSources(MetadataSources metadataSources) {
+		metadataSources.addAnnotatedClass( Parent.class );
+		metadataSources.addAnnotatedClass( Child.class );
+	}
+
+	@Entity( name = "Parent" )
+	@Table( name = "parent" )
+	public static class Parent {
+		@Id
+		public Integer id;
+		@ManyToOne
+		public Child favoriteChild;
+	}
+
+	@Entity( name = "Child" )
+	@Table( name = "child" )
+	public static class Child {
+		@Id
+		public Integer id;
+		@ManyToOne
+		public Parent parent;
+	}
+}
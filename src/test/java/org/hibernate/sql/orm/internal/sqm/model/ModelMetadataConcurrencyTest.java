@@ -0,0 +1,164 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.orm.internal.sqm.model;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.sql.gen.BaseUnitTest;
+import org.hibernate.sqm.domain.EntityTypeDescriptor;
+import org.hibernate.sqm.domain.PolymorphicEntityTypeDescriptor;
+import org.hibernate.sqm.domain.TypeDescriptor;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Resolves entity, polymorphic and basic type descriptors from many threads at once, asserting
+ * that every thread sees the same descriptor instances.
+ *
+ * @author Steve Ebersole
+ */
+public class ModelMetadataConcurrencyTest extends BaseUnitTest {
+	private static final int THREAD_COUNT = 16;
+	private static final int ITERATIONS = 2000;
+
+	private static final Class[] BASIC_TYPES = new Class[] {
+			String.class,
+			Integer.class,
+			BigDecimal.class,
+			// not a standard basic type; registered on first use
+			StringBuilder.class,
+			Thread.State.class
+	};
+
+	@Test
+	public void testConcurrentResolution() throws Exception {
+		final ModelMetadataImpl modelMetadata = new ModelMetadataImpl( getSessionFactory() );
+		final CountDownLatch startLatch = new CountDownLatch( 1 );
+
+		final ExecutorService executor = Executors.newFixedThreadPool( THREAD_COUNT );
+		try {
+			final List<Future<Object[]>> futures = new ArrayList<Future<Object[]>>();
+			for ( int i = 0; i < THREAD_COUNT; i++ ) {
+				futures.add(
+						executor.submit(
+								new Callable<Object[]>() {
+									@Override
+									public Object[] call() throws Exception {
+										startLatch.await();
+										return resolveAll( modelMetadata );
+									}
+								}
+						)
+				);
+			}
+
+			startLatch.countDown();
+
+			final Object[] expected = futures.get( 0 ).get( 30, TimeUnit.SECONDS );
+			assertThat( expected[0], instanceOf( EntityTypeDescriptorImpl.class ) );
+			assertThat( expected[2], instanceOf( PolymorphicEntityTypeDescriptor.class ) );
+			assertThat(
+					( (PolymorphicEntityTypeDescriptor) expected[2] ).getImplementors().size(),
+					equalTo( 2 )
+			);
+
+			for ( Future<Object[]> future : futures ) {
+				final Object[] resolved = future.get( 30, TimeUnit.SECONDS );
+				assertThat( resolved.length, equalTo( expected.length ) );
+				for ( int i = 0; i < resolved.length; i++ ) {
+					assertThat( resolved[i], sameInstance( expected[i] ) );
+				}
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static Object[] resolveAll(ModelMetadataImpl modelMetadata) {
+		Object[] resolved = null;
+		for ( int i = 0; i < ITERATIONS; i++ ) {
+			final EntityTypeDescriptor first = modelMetadata.resolveEntityReference( "FirstNamed" );
+			final EntityTypeDescriptor second = modelMetadata.resolveEntityReference( "SecondNamed" );
+			final EntityTypeDescriptor polymorphic = modelMetadata.resolveEntityReference( Named.class.getName() );
+
+			final Object[] current = new Object[3 + BASIC_TYPES.length];
+			current[0] = first;
+			current[1] = second;
+			current[2] = polymorphic;
+			for ( int j = 0; j < BASIC_TYPES.length; j++ ) {
+				final TypeDescriptor basicType = modelMetadata.basicType( BASIC_TYPES[j] );
+				current[3 + j] = basicType;
+			}
+
+			if ( resolved == null ) {
+				resolved = current;
+			}
+			else {
+				for ( int j = 0; j < current.length; j++ ) {
+					if ( current[j] != resolved[j] ) {
+						throw new AssertionError( "Resolution #" + j + " returned a different descriptor instance" );
+					}
+				}
+			}
+		}
+		return resolved;
+	}
+
+	@Override
+	protected void applyMetadataSources(MetadataSources metadataSources) {
+		metadataSources.addAnnotatedClass( FirstNamed.class );
+		metadataSources.addAnnotatedClass( SecondNamed.class );
+	}
+
+	public interface Named {
+		String getName();
+	}
+
+	@Entity( name = "FirstNamed" )
+	@Table( name = "first_named" )
+	public static class FirstNamed implements Named {
+		@Id
+		public Integer id;
+		public String name;
+
+		@Override
+		public String getName() {
+			return name;
+		}
+	}
+
+	@Entity( name = "SecondNamed" )
+	@Table( name = "second_named" )
+	public static class SecondNamed implements Named {
+		@Id
+		public Integer id;
+		public String name;
+
+		@Override
+		public String getName() {
+			return name;
+		}
+	}
+}